@@ -186,7 +186,8 @@ functionCall : functionName '(' argumentList? ')' ;
 functionName        locals [ Typespec type = null, SymTableEntry entry = null ] 
     : IDENTIFIER ;
      
-number          : sign? unsignedNumber ;
+number          locals [ Object value = null ]
+    : sign? unsignedNumber ;
 unsignedNumber  : integerConstant | realConstant ;
 integerConstant : INTEGER ;
 realConstant    : REAL;
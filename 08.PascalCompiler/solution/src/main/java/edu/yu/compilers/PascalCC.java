@@ -3,8 +3,20 @@ package edu.yu.compilers;
 import antlr4.PascalLexer;
 import antlr4.PascalParser;
 import edu.yu.compilers.backend.compiler.Compiler;
+import edu.yu.compilers.backend.compiler.ObjectCode;
+import edu.yu.compilers.backend.compiler.ProgramClassLoader;
 import edu.yu.compilers.backend.converter.Converter;
+import edu.yu.compilers.backend.interpreter.ExecutionAbortedException;
 import edu.yu.compilers.backend.interpreter.Executor;
+import edu.yu.compilers.backend.interpreter.NodeExecutor;
+import edu.yu.compilers.backend.interpreter.InputReader;
+import edu.yu.compilers.backend.interpreter.OutputSink;
+import edu.yu.compilers.backend.interpreter.MemoTable;
+import edu.yu.compilers.backend.interpreter.Profiler;
+import edu.yu.compilers.backend.interpreter.ResourceLimits;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler;
+import edu.yu.compilers.backend.interpreter.RuntimeStack;
+import edu.yu.compilers.frontend.SemanticErrorHandler;
 import edu.yu.compilers.frontend.Semantics;
 import edu.yu.compilers.frontend.SyntaxErrorHandler;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
@@ -16,40 +28,169 @@ import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.Vocabulary;
 import org.antlr.v4.runtime.tree.ParseTree;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static edu.yu.compilers.intermediate.util.BackendMode.*;
 
 public class PascalCC {
+    private static final long DEFAULT_STACK_SIZE = 1L << 30;  // execution thread's stack
 
     public static void main(String[] args) throws Exception {
         String usageMessageString = """
-            USAGE: PascalCC <option> <sourceFileName>
+            USAGE: PascalCC <option> [<executeOption> ...] <sourceFileName>
+                   PascalCC -batch[=visitor] [<executeOption> ...] <directoryName>
             Options:
                 -tokens
                 -parse
                 -symbols 
                 -ast 
                 -execute
+                -execute=visitor
+                -profile
+                -profile=visitor
+                -batch
+                -batch=visitor
                 -convert
                 -compile
+                -compile=class          write class files directly, without Jasmin
+                -run                    compile, assemble, and load in memory,
+                                        and run with the time of each phase
+                -run=class              the same, emitting the class files directly
+            Execute options:
+                -flush=line|size|exit   when to write buffered output (default size)
+                -collapsed=<fileName>   with -profile, also write the call stacks
+                                        in the collapsed format of flame graphs
+                -stack=<size>[k|m|g]    JVM stack size of the execution (default 1g)
+                -depth=<count>          maximum depth of routine calls (default 1000000)
+                -memo[=<entries>]       cache the values of pure functions, in tables
+                                        of the given size (default 65536 entries)
+                -statements=<count>     abort after executing this many statements
+                -time=<ms>              abort after running this many milliseconds
+                -cells=<count>          abort if the stack frames would have more
+                                        memory cells, counting array elements,
+                                        or a string would have more characters
+                                        than the frames leave
+                -output=<size>[k|m|g]   abort after writing this many characters
+                -parallel[=<threads>]   with -execute=visitor, execute the FOR loops
+                                        whose iterations are independent in parallel
+                                        (default number of processors)
+                -threads=<count>        with -batch, number of programs executed at
+                                        a time (default number of processors)
+            Batch execution:
+                Executes each program <name>.pas of the directory with standard
+                input from <name>.in, if it exists, and writes its output and
+                error messages to <name>.out.
             """;
                     
-        if (args.length != 2) {
+        if (args.length < 2) {
             System.out.println(usageMessageString);
             System.exit(-1);
         }
 
         String operation = args[0];
-        String sourceFileName = args[1];
+        String sourceFileName = args[args.length - 1];
+        OutputSink.Flush flush = OutputSink.Flush.SIZE;
+        String collapsedFileName = null;
+        long stackSize = DEFAULT_STACK_SIZE;
+        int maxCallDepth = RuntimeStack.DEFAULT_MAX_DEPTH;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int memoCapacity = 0;
+        int parallelism = 1;
+        ResourceLimits limits = new ResourceLimits();
 
         if (invalidOperation(operation)) {
             System.out.println(usageMessageString);
             System.exit(-1);
         }
 
+        boolean batch = operation.startsWith("-batch");
+        boolean executing = operation.startsWith("-execute") || operation.startsWith("-profile") || batch;
+        boolean profiling = operation.startsWith("-profile");
+
+        for (int i = 1; i < args.length - 1; i++) {
+            String option = args[i];
+            boolean valid = executing;
+
+            if (option.startsWith("-flush=")) {
+                flush = OutputSink.Flush.named(option.substring("-flush=".length()));
+                valid = valid && (flush != null);
+            } else if (option.startsWith("-collapsed=")) {
+                collapsedFileName = option.substring("-collapsed=".length());
+                valid = valid && profiling && !collapsedFileName.isEmpty();
+            } else if (option.startsWith("-stack=")) {
+                stackSize = parseSize(option.substring("-stack=".length()));
+                valid = valid && (stackSize > 0);
+            } else if (option.startsWith("-depth=")) {
+                maxCallDepth = (int) Math.min(parseSize(option.substring("-depth=".length())),
+                                              Integer.MAX_VALUE);
+                valid = valid && (maxCallDepth > 0);
+            } else if (option.equals("-memo")) {
+                memoCapacity = MemoTable.DEFAULT_CAPACITY;
+            } else if (option.startsWith("-memo=")) {
+                memoCapacity = (int) Math.min(parseSize(option.substring("-memo=".length())),
+                                              Integer.MAX_VALUE);
+                valid = valid && (memoCapacity > 0);
+            } else if (option.startsWith("-statements=")) {
+                limits.setMaxStatements(parseSize(option.substring("-statements=".length())));
+                valid = valid && (limits.getMaxStatements() > 0);
+            } else if (option.startsWith("-time=")) {
+                limits.setMaxMillis(parseSize(option.substring("-time=".length())));
+                valid = valid && (limits.getMaxMillis() > 0);
+            } else if (option.startsWith("-cells=")) {
+                limits.setMaxCells(parseSize(option.substring("-cells=".length())));
+                valid = valid && (limits.getMaxCells() > 0);
+            } else if (option.startsWith("-output=")) {
+                limits.setMaxOutput(parseSize(option.substring("-output=".length())));
+                valid = valid && (limits.getMaxOutput() > 0);
+            } else if (option.equals("-parallel")) {
+                parallelism = Runtime.getRuntime().availableProcessors();
+                valid = valid && operation.equals("-execute=visitor");
+            } else if (option.startsWith("-parallel=")) {
+                parallelism = (int) Math.min(parseSize(option.substring("-parallel=".length())),
+                                             Integer.MAX_VALUE);
+                valid = valid && operation.equals("-execute=visitor") && (parallelism > 0);
+            } else if (option.startsWith("-threads=")) {
+                threads = (int) Math.min(parseSize(option.substring("-threads=".length())),
+                                         Integer.MAX_VALUE);
+                valid = batch && (threads > 0);
+            } else {
+                valid = false;
+            }
+
+            if (!valid) {
+                System.out.println(usageMessageString);
+                System.exit(-1);
+            }
+        }
+
+        if (batch) {
+            int failures = executeBatch(sourceFileName, operation.endsWith("=visitor"),
+                                        threads, stackSize, maxCallDepth, memoCapacity,
+                                        limits.isLimited() ? limits : null);
+            System.exit(failures);
+        }
+
+        LinkedHashMap<String, Long> phaseTimes = new LinkedHashMap<>();  // ns by phase
+        long phaseStart = System.nanoTime();
         SyntaxErrorHandler syntaxErrorHandler = new SyntaxErrorHandler();
 
         PascalLexer lexer = createLexer(sourceFileName, syntaxErrorHandler);
@@ -70,6 +211,8 @@ public class PascalCC {
         PascalParser parser = createParser(lexer, syntaxErrorHandler);
         ParseTree tree = parser.program();
         int errorCount = syntaxErrorHandler.getCount();
+        int syntaxErrorCount = errorCount;
+        phaseStart = endPhase("parse", phaseStart, phaseTimes);
 
         if (operation.equals("-parse")) {
             System.out.printf("\nThere were %d syntax errors.\n", errorCount);
@@ -83,6 +226,7 @@ public class PascalCC {
         Semantics pass2 = new Semantics(mode);
         pass2.visit(tree);
         errorCount = pass2.getErrorCount();
+        phaseStart = endPhase("semantics", phaseStart, phaseTimes);
 
         if (operation.equals("-symbols")) {
             System.out.printf("\nThere were %d semantic errors.\n", errorCount);
@@ -96,8 +240,47 @@ public class PascalCC {
             case EXECUTOR -> {
                 // Pass 3: Execute the Pascal program.
                 SymTableEntry programId = pass2.getProgramId();
-                Executor pass3 = new Executor(programId);
-                pass3.visit(tree);
+                OutputSink output = new OutputSink(System.out, flush, OutputSink.DEFAULT_CAPACITY);
+                InputReader input = InputReader.standardInput(output);
+                Profiler profiler = profiling ? new Profiler() : null;
+                int maxDepth = maxCallDepth;
+                int memoEntries = memoCapacity;
+                int forThreads = parallelism;
+                long forStackSize = stackSize;
+                ResourceLimits executionLimits = limits.isLimited() ? limits : null;
+
+                // Execute on a thread whose stack is large enough for deep recursion.
+                try {
+                    executeOnStack(stackSize, () -> {
+                        if (operation.endsWith("=visitor")) {
+                            // Walk the parse tree directly.
+                            Executor pass3 = new Executor(programId, output, input);
+                            if (profiling) pass3.setProfiler(profiler);
+                            pass3.setMaxCallDepth(maxDepth);
+                            pass3.setMemoCapacity(memoEntries);
+                            pass3.setLimits(executionLimits);
+                            pass3.setParallelism(forThreads, forStackSize);
+                            pass3.visit(tree);
+                        } else {
+                            // Build and execute the executable nodes.
+                            NodeExecutor pass3 = new NodeExecutor(programId,
+                                                                  RoutineCompiler.DEFAULT_THRESHOLD,
+                                                                  output, input);
+                            if (profiling) pass3.setProfiler(profiler);
+                            pass3.setMaxCallDepth(maxDepth);
+                            pass3.setMemoCapacity(memoEntries);
+                            pass3.setLimits(executionLimits);
+                            pass3.execute(tree);
+                        }
+                    });
+                } catch (ExecutionAbortedException ex) {
+                    System.exit(-1);
+                }
+
+                if (profiling) {
+                    profiler.report(System.out);
+                    if (collapsedFileName != null) profiler.writeCollapsed(collapsedFileName);
+                }
             }
             case CONVERTER -> {
                 // Convert from Pascal to Java.
@@ -108,6 +291,22 @@ public class PascalCC {
             case COMPILER -> {
                 // Pass 3: Compile the Pascal program.
                 SymTableEntry programId = pass2.getProgramId();
+
+                String sourceName = Paths.get(sourceFileName).getFileName().toString();
+
+                if (operation.startsWith("-run")) {
+                    if (syntaxErrorCount + errorCount > 0) System.exit(syntaxErrorCount + errorCount);
+
+                    ObjectCode objectCode = new ObjectCode(operation.equals("-run=class"), sourceName);
+                    System.exit(compileAndRun(programId.getName(), tree, objectCode,
+                                              phaseStart, phaseTimes));
+                }
+
+                if (operation.equals("-compile=class")) {
+                    if (syntaxErrorCount + errorCount > 0) System.exit(syntaxErrorCount + errorCount);
+                    System.exit(writeClassFiles(programId.getName(), tree, sourceName));
+                }
+
                 Compiler pass3 = new Compiler(programId.getName());
                 String objectCode = (String) pass3.visit(tree);
                 System.out.println(objectCode);
@@ -115,8 +314,307 @@ public class PascalCC {
         }
     }
 
+    /**
+     * Compile a program to Jasmin in memory, assemble it, load its classes,
+     * and run it. The time of each phase is reported on standard error
+     * after the program ends. With direct emission, the classes are compiled
+     * to class files and the assembly phase only collects them.
+     *
+     * @param programName the program name.
+     * @param tree        the program's decorated parse tree.
+     * @param objectCode  the in-memory object code to compile into.
+     * @param phaseStart  System.nanoTime() at the start of compilation.
+     * @param phaseTimes  the times of the earlier phases in ns, by phase.
+     * @return 0 if the program ran to completion, else -1.
+     */
+    private static int compileAndRun(String programName, ParseTree tree, ObjectCode objectCode,
+                                     long phaseStart, LinkedHashMap<String, Long> phaseTimes) {
+        int status = 0;
+
+        try {
+            new Compiler(programName, objectCode).visit(tree);
+            phaseStart = endPhase("generate", phaseStart, phaseTimes);
+
+            Map<String, byte[]> classFiles = objectCode.assemble();
+            phaseStart = endPhase("assemble", phaseStart, phaseTimes);
+
+            Class<?> programClass = new ProgramClassLoader(classFiles).loadAll();
+            phaseStart = endPhase("load", phaseStart, phaseTimes);
+
+            try {
+                programClass.getMethod("main", String[].class).invoke(null, (Object) new String[0]);
+            } finally {
+                System.out.flush();
+                endPhase("execute", phaseStart, phaseTimes);
+            }
+        } catch (InvocationTargetException ex) {
+            ex.getCause().printStackTrace();
+            status = -1;
+        } catch (Exception | LinkageError ex) {
+            System.err.println("Run error: " + ex);
+            status = -1;
+        }
+
+        long total = 0;
+        System.err.println();
+        for (Map.Entry<String, Long> phase : phaseTimes.entrySet()) {
+            System.err.printf("%-10s %10.1f ms%n", phase.getKey(), phase.getValue()/1e6);
+            total += phase.getValue();
+        }
+        System.err.printf("%-10s %10.1f ms%n", "total", total/1e6);
+
+        return status;
+    }
+
+    /**
+     * Compile a program directly to class files in the current directory,
+     * each record class in the subdirectory of its package.
+     *
+     * @param programName the program name.
+     * @param tree        the program's decorated parse tree.
+     * @param sourceName  the name of the source file recorded in the class files.
+     * @return 0 if the class files were written, else -1.
+     */
+    private static int writeClassFiles(String programName, ParseTree tree, String sourceName) {
+        try {
+            ObjectCode objectCode = new ObjectCode(true, sourceName);
+            new Compiler(programName, objectCode).visit(tree);
+
+            for (Map.Entry<String, byte[]> classFile : objectCode.assemble().entrySet()) {
+                Path path = Paths.get(classFile.getKey().replace('.', '/') + ".class");
+
+                if (path.getParent() != null) Files.createDirectories(path.getParent());
+                Files.write(path, classFile.getValue());
+            }
+
+            return 0;
+        } catch (Exception ex) {
+            System.err.println("Compile error: " + ex);
+            return -1;
+        }
+    }
+
+    /**
+     * Record the time of a phase.
+     *
+     * @param phase      the phase name.
+     * @param phaseStart System.nanoTime() at the start of the phase.
+     * @param phaseTimes the phase times in ns, by phase.
+     * @return System.nanoTime() at the end of the phase.
+     */
+    private static long endPhase(String phase, long phaseStart, Map<String, Long> phaseTimes) {
+        long now = System.nanoTime();
+        phaseTimes.put(phase, now - phaseStart);
+
+        return now;
+    }
+
+    /**
+     * Parse a count or size with an optional k, m, or g suffix.
+     *
+     * @param text the text of the size.
+     * @return the size, or -1 if the text is invalid.
+     */
+    private static long parseSize(String text) {
+        if (text.isEmpty()) return -1;
+
+        long unit = switch (Character.toLowerCase(text.charAt(text.length() - 1))) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        String digits = (unit > 1) ? text.substring(0, text.length() - 1) : text;
+
+        try {
+            return Math.multiplyExact(Long.parseLong(digits), unit);
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Run an execution on a new thread with the given stack size,
+     * and wait for it to finish. An exception that ends the execution
+     * is rethrown.
+     *
+     * @param stackSize the thread's stack size in bytes.
+     * @param execution the execution.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static void executeOnStack(long stackSize, Runnable execution)
+            throws InterruptedException {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                execution.run();
+            } catch (Throwable ex) {
+                failure[0] = ex;
+            }
+        }, "PascalCC-execute", stackSize);
+
+        thread.start();
+        thread.join();
+
+        if (failure[0] instanceof RuntimeException ex) throw ex;
+        if (failure[0] instanceof Error error) throw error;
+    }
+
+    /**
+     * Execute every Pascal program in a directory on a pool of threads,
+     * each with the given stack size. Each program has its own symbol
+     * tables, error handlers, runtime input, and runtime output, so the
+     * programs do not affect each other. Print each program's status
+     * and time in the order of the program names.
+     *
+     * @param directoryName the directory name.
+     * @param visitor       true to walk the parse trees directly.
+     * @param threads       the number of threads.
+     * @param stackSize     each thread's stack size in bytes.
+     * @param maxCallDepth  the maximum depth of routine calls.
+     * @param memoCapacity  the number of entries of each memo table, or 0.
+     * @param limits        the resource limits of each program, or null.
+     * @return the number of programs that did not execute successfully.
+     * @throws IOException          if the directory cannot be read.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static int executeBatch(String directoryName, boolean visitor, int threads,
+                                    long stackSize, int maxCallDepth, int memoCapacity,
+                                    ResourceLimits limits)
+            throws IOException, InterruptedException {
+        List<Path> sourcePaths;
+        try (Stream<Path> paths = Files.list(Paths.get(directoryName))) {
+            sourcePaths = paths.filter(path -> path.toString().endsWith(".pas")).sorted().toList();
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task ->
+                new Thread(null, task, "PascalCC-batch-" + threadCount.incrementAndGet(), stackSize));
+        long start = System.nanoTime();
+
+        List<Future<BatchResult>> futures = new ArrayList<>();
+        for (Path sourcePath : sourcePaths) {
+            futures.add(pool.submit(() -> executeProgram(sourcePath, visitor, maxCallDepth,
+                                                              memoCapacity, limits)));
+        }
+        pool.shutdown();
+
+        int failures = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            String fileName = sourcePaths.get(i).getFileName().toString();
+            BatchResult result;
+
+            try {
+                result = futures.get(i).get();
+            } catch (ExecutionException ex) {
+                result = new BatchResult("FAILED: " + ex.getCause(), false, 0);
+            }
+
+            if (!result.success) failures++;
+            System.out.printf("%-30s %10.1f ms  %s\n", fileName, result.nanos/1e6, result.status);
+        }
+
+        System.out.printf("\n%d programs, %d failed, %.1f ms with %d threads.\n",
+                          sourcePaths.size(), failures, (System.nanoTime() - start)/1e6, threads);
+        return failures;
+    }
+
+    /**
+     * Parse, check, and execute a Pascal program of a batch.
+     *
+     * @param sourcePath   the path of the source file.
+     * @param visitor      true to walk the parse tree directly.
+     * @param maxCallDepth the maximum depth of routine calls.
+     * @param memoCapacity the number of entries of each memo table, or 0.
+     * @param limits       the resource limits, or null.
+     * @return the result.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private static BatchResult executeProgram(Path sourcePath, boolean visitor,
+                                              int maxCallDepth, int memoCapacity,
+                                              ResourceLimits limits)
+            throws IOException {
+        String baseName = sourcePath.getFileName().toString().replaceFirst("\\.pas$", "");
+        Path inputPath = sourcePath.resolveSibling(baseName + ".in");
+        Path outputPath = sourcePath.resolveSibling(baseName + ".out");
+        long start = System.nanoTime();
+
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(Files.newOutputStream(outputPath)),
+                                               false, StandardCharsets.UTF_8);
+             InputStream in = Files.exists(inputPath) ? Files.newInputStream(inputPath)
+                                                      : InputStream.nullInputStream()) {
+            // Pass 1: Parse.
+            SyntaxErrorHandler syntaxErrorHandler = new SyntaxErrorHandler(out);
+            PascalLexer lexer = new PascalLexer(CharStreams.fromPath(sourcePath));
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(syntaxErrorHandler);
+            PascalParser parser = new PascalParser(new CommonTokenStream(lexer));
+            parser.removeErrorListeners();
+            parser.addErrorListener(syntaxErrorHandler);
+            ParseTree tree = parser.program();
+
+            if (syntaxErrorHandler.getCount() > 0) {
+                return new BatchResult(syntaxErrorHandler.getCount() + " syntax errors",
+                                       false, System.nanoTime() - start);
+            }
+
+            // Pass 2: Semantic operations.
+            Semantics pass2 = new Semantics(EXECUTOR, new SemanticErrorHandler(out));
+            pass2.visit(tree);
+
+            if (pass2.getErrorCount() > 0) {
+                return new BatchResult(pass2.getErrorCount() + " semantic errors",
+                                       false, System.nanoTime() - start);
+            }
+
+            // Pass 3: Execute.
+            SymTableEntry programId = pass2.getProgramId();
+            OutputSink output = new OutputSink(out, OutputSink.Flush.SIZE, OutputSink.DEFAULT_CAPACITY);
+            InputReader input = new InputReader(in, output);
+
+            try {
+                if (visitor) {
+                    Executor pass3 = new Executor(programId, output, input);
+                    pass3.setMaxCallDepth(maxCallDepth);
+                    pass3.setMemoCapacity(memoCapacity);
+                    pass3.setLimits(limits);
+                    pass3.visit(tree);
+                } else {
+                    NodeExecutor pass3 = new NodeExecutor(programId,
+                                                          RoutineCompiler.DEFAULT_THRESHOLD,
+                                                          output, input);
+                    pass3.setMaxCallDepth(maxCallDepth);
+                    pass3.setMemoCapacity(memoCapacity);
+                    pass3.setLimits(limits);
+                    pass3.execute(tree);
+                }
+            } catch (ExecutionAbortedException ex) {
+                return new BatchResult("aborted: " + ex.getMessage(), false, System.nanoTime() - start);
+            } finally {
+                output.flush();
+            }
+
+            return new BatchResult("ok", true, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The result of executing a program of a batch.
+     */
+    private static class BatchResult {
+        private final String status;    // ok, or why the execution failed
+        private final boolean success;  // true if the program executed
+        private final long nanos;       // time to parse, check, and execute
+
+        BatchResult(String status, boolean success, long nanos) {
+            this.status = status;
+            this.success = success;
+            this.nanos = nanos;
+        }
+    }
+
     private static boolean invalidOperation(String operation) {
-        var validOperations = Set.of("-tokens", "-parse", "-symbols", "-ast", "-execute", "-convert", "-compile");
+        var validOperations = Set.of("-tokens", "-parse", "-symbols", "-ast", "-execute", "-execute=visitor", "-profile", "-profile=visitor", "-batch", "-batch=visitor", "-convert", "-compile", "-compile=class", "-run", "-run=class");
         return !validOperations.contains(operation);
     }
 
@@ -125,6 +623,9 @@ public class PascalCC {
             case "-convert":
                 return CONVERTER;
             case "-compile":
+            case "-compile=class":
+            case "-run":
+            case "-run=class":
                 return COMPILER;
             default:
                 return EXECUTOR;
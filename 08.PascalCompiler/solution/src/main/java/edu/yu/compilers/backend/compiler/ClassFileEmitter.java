@@ -0,0 +1,979 @@
+package edu.yu.compilers.backend.compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static edu.yu.compilers.backend.compiler.Instruction.*;
+
+/**
+ * <h1>ClassFileEmitter</h1>
+ * <p>Builds the class file of one class directly from the directives,
+ * instructions, and labels that the code generators emit, instead of
+ * printing them as Jasmin text to be assembled later. It keeps the
+ * constant pool, encodes the bytecode of each method, resolves the branch
+ * offsets when the method ends, computes its maximum stack depth and
+ * number of locals, and records a line number table from the statement
+ * comments and a local variable table from the .var directives.</p>
+ * <p>The class file version is Jasmin's, 46.0, so the methods
+ * need no stack map tables.</p>
+ */
+public class ClassFileEmitter {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int MAJOR_VERSION = 46;
+    private static final int MINOR_VERSION = 0;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int LDC_W = 19;
+    private static final int WIDE = 196;
+
+    // Constant pool tags.
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELDREF = 9;
+    private static final int METHODREF = 10;
+    private static final int NAME_AND_TYPE = 12;
+
+    private final String sourceFileName;         // or null
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final HashMap<String, Integer> poolIndexes = new HashMap<>();
+    private int poolCount = 1;                    // index of the next entry
+
+    private int thisClass;                        // constant pool indexes
+    private int superClass;
+
+    private final ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+    private final DataOutputStream fields = new DataOutputStream(fieldBytes);
+    private int fieldCount;
+
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+    private final DataOutputStream methods = new DataOutputStream(methodBytes);
+    private int methodCount;
+
+    private String error;                         // the first error, or null
+
+    // The method being emitted.
+    private boolean inMethod;
+    private int methodAccess;
+    private String methodName;
+    private String methodDescriptor;
+    private ByteArrayOutputStream code;
+    private int limitLocals;                      // from the .limit directives
+    private int limitStack;
+    private int localsUsed;                       // 1 + the highest local slot
+    private final HashMap<Label, Integer> labelOffsets = new HashMap<>();
+    private final HashMap<Label, Integer> labelSteps = new HashMap<>();
+    private final ArrayList<Fixup> fixups = new ArrayList<>();
+    private final ArrayList<Step> steps = new ArrayList<>();
+    private final ArrayList<int[]> lineNumbers = new ArrayList<>();      // pc, line
+    private final ArrayList<int[]> localVariables = new ArrayList<>();  // slot, name, descriptor
+
+    // The LOOKUPSWITCH being emitted, which takes its
+    // value-label pairs and default label from emitLabel.
+    private int switchOffset = -1;
+    private TreeMap<Integer, Label> switchPairs;
+
+    /**
+     * A branch offset to fill in when the method ends.
+     */
+    private static class Fixup {
+        final int position;   // of the offset in the code
+        final int base;       // offset of the branch instruction
+        final Label label;    // the branch target
+        final boolean wide;   // 4-byte offset, else 2-byte
+
+        Fixup(int position, int base, Label label, boolean wide) {
+            this.position = position;
+            this.base = base;
+            this.label = label;
+            this.wide = wide;
+        }
+    }
+
+    /**
+     * The operand stack effect and control flow of an instruction.
+     */
+    private static class Step {
+        final int effect;             // change in the stack depth
+        final boolean fallsThrough;   // to the next instruction
+        final List<Label> targets;    // branch targets
+
+        Step(int effect, boolean fallsThrough, List<Label> targets) {
+            this.effect = effect;
+            this.fallsThrough = fallsThrough;
+            this.targets = targets;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sourceFileName the name of the source file for stack traces, or null.
+     */
+    public ClassFileEmitter(String sourceFileName) {
+        this.sourceFileName = sourceFileName;
+    }
+
+    // ==========
+    // Directives
+    // ==========
+
+    /**
+     * Emit a directive.
+     *
+     * @param directive the directive code.
+     * @param operands  the directive operands.
+     */
+    public void emitDirective(Directive directive, String... operands) {
+        switch (directive) {
+            case CLASS_PUBLIC -> thisClass = classRef(operands[0]);
+            case SUPER -> superClass = classRef(operands[0]);
+            case FIELD -> emitField(0, operands);
+            case FIELD_PRIVATE_STATIC -> emitField(ACC_PRIVATE | ACC_STATIC, operands);
+            case METHOD_PUBLIC -> beginMethod(ACC_PUBLIC, operands[0]);
+            case METHOD_STATIC -> beginMethod(ACC_STATIC, operands[0]);
+            case METHOD_PUBLIC_STATIC -> beginMethod(ACC_PUBLIC | ACC_STATIC, operands[0]);
+            case METHOD_PRIVATE_STATIC -> beginMethod(ACC_PRIVATE | ACC_STATIC, operands[0]);
+            case END_METHOD -> endMethod();
+            case LIMIT_LOCALS -> limitLocals = Integer.parseInt(operands[0]);
+            case LIMIT_STACK -> limitStack = Integer.parseInt(operands[0]);
+            case VAR -> emitVariable(String.join(" ", operands));
+            case LINE -> emitLineNumber(Integer.parseInt(operands[0]));
+            case END_CLASS -> {}
+        }
+    }
+
+    /**
+     * Record the source line number of the following instructions.
+     *
+     * @param lineNumber the line number.
+     */
+    public void emitLineNumber(int lineNumber) {
+        if (!inMethod) return;
+
+        int pc = code.size();
+        int last = lineNumbers.size() - 1;
+
+        if ((last >= 0) && (lineNumbers.get(last)[0] == pc)) lineNumbers.get(last)[1] = lineNumber;
+        else lineNumbers.add(new int[] {pc, lineNumber});
+    }
+
+    /**
+     * Emit a field.
+     *
+     * @param access   the access flags.
+     * @param operands the field name and type descriptor.
+     */
+    private void emitField(int access, String[] operands) {
+        try {
+            fields.writeShort(access);
+            fields.writeShort(utf8(operands[0]));
+            fields.writeShort(utf8(operands[1]));
+            fields.writeShort(0);  // attributes
+            fieldCount++;
+        } catch (IOException ignored) {
+            // A byte array stream does not throw.
+        }
+    }
+
+    /**
+     * Emit a .var directive: "slot is name descriptor".
+     *
+     * @param text the directive operands.
+     */
+    private void emitVariable(String text) {
+        String[] parts = text.trim().split("\\s+");
+        int slot = Integer.parseInt(parts[0]);
+
+        localVariables.add(new int[] {slot, utf8(parts[2]), utf8(parts[3])});
+        useLocal(slot, parts[3]);
+    }
+
+    /**
+     * Begin a method.
+     *
+     * @param access the access flags.
+     * @param spec   the method name and descriptor, "name(...)...".
+     */
+    private void beginMethod(int access, String spec) {
+        int paren = spec.indexOf('(');
+
+        inMethod = true;
+        methodAccess = access;
+        methodName = spec.substring(0, paren);
+        methodDescriptor = spec.substring(paren);
+        code = new ByteArrayOutputStream();
+        limitLocals = 0;
+        limitStack = 0;
+        localsUsed = argumentSize(methodDescriptor) + (((access & ACC_STATIC) != 0) ? 0 : 1);
+
+        labelOffsets.clear();
+        labelSteps.clear();
+        fixups.clear();
+        steps.clear();
+        lineNumbers.clear();
+        localVariables.clear();
+        switchOffset = -1;
+    }
+
+    /**
+     * End a method: resolve its branch offsets and write its method_info.
+     */
+    private void endMethod() {
+        byte[] bytecode = code.toByteArray();
+        inMethod = false;
+
+        for (Fixup fixup : fixups) {
+            Integer target = labelOffsets.get(fixup.label);
+
+            if (target == null) {
+                fail("undefined label " + fixup.label + " in method " + methodName);
+                return;
+            }
+
+            int offset = target - fixup.base;
+
+            if (fixup.wide) {
+                bytecode[fixup.position] = (byte) (offset >> 24);
+                bytecode[fixup.position + 1] = (byte) (offset >> 16);
+                bytecode[fixup.position + 2] = (byte) (offset >> 8);
+                bytecode[fixup.position + 3] = (byte) offset;
+            } else if ((offset < Short.MIN_VALUE) || (offset > Short.MAX_VALUE)) {
+                fail("branch to " + fixup.label + " is too far in method " + methodName);
+                return;
+            } else {
+                bytecode[fixup.position] = (byte) (offset >> 8);
+                bytecode[fixup.position + 1] = (byte) offset;
+            }
+        }
+
+        if (bytecode.length > 65535) {
+            fail("method " + methodName + " is too large");
+            return;
+        }
+
+        try {
+            ByteArrayOutputStream attributeBytes = new ByteArrayOutputStream();
+            DataOutputStream attribute = new DataOutputStream(attributeBytes);
+
+            attribute.writeShort(Math.max(limitStack, maxStackDepth()));
+            attribute.writeShort(Math.max(limitLocals, localsUsed));
+            attribute.writeInt(bytecode.length);
+            attribute.write(bytecode);
+            attribute.writeShort(0);  // exception table
+
+            int attributeCount = (lineNumbers.isEmpty() ? 0 : 1) + (localVariables.isEmpty() ? 0 : 1);
+            attribute.writeShort(attributeCount);
+
+            if (!lineNumbers.isEmpty()) {
+                attribute.writeShort(utf8("LineNumberTable"));
+                attribute.writeInt(2 + 4*lineNumbers.size());
+                attribute.writeShort(lineNumbers.size());
+                for (int[] entry : lineNumbers) {
+                    attribute.writeShort(entry[0]);
+                    attribute.writeShort(entry[1]);
+                }
+            }
+
+            if (!localVariables.isEmpty()) {
+                attribute.writeShort(utf8("LocalVariableTable"));
+                attribute.writeInt(2 + 10*localVariables.size());
+                attribute.writeShort(localVariables.size());
+                for (int[] entry : localVariables) {
+                    attribute.writeShort(0);
+                    attribute.writeShort(bytecode.length);
+                    attribute.writeShort(entry[1]);
+                    attribute.writeShort(entry[2]);
+                    attribute.writeShort(entry[0]);
+                }
+            }
+
+            methods.writeShort(methodAccess);
+            methods.writeShort(utf8(methodName));
+            methods.writeShort(utf8(methodDescriptor));
+            methods.writeShort(1);  // attributes
+            methods.writeShort(utf8("Code"));
+            methods.writeInt(attributeBytes.size());
+            attributeBytes.writeTo(methods);
+            methodCount++;
+        } catch (IOException ignored) {
+            // A byte array stream does not throw.
+        }
+    }
+
+    /**
+     * Compute the maximum operand stack depth of the method by following
+     * its control flow from the first instruction.
+     *
+     * @return the maximum depth.
+     */
+    private int maxStackDepth() {
+        int[] depths = new int[steps.size()];
+        Arrays.fill(depths, -1);
+
+        ArrayDeque<Integer> work = new ArrayDeque<>();
+        int max = 0;
+
+        if (!steps.isEmpty()) {
+            depths[0] = 0;
+            work.push(0);
+        }
+
+        while (!work.isEmpty()) {
+            int index = work.pop();
+            Step step = steps.get(index);
+            int depth = depths[index] + step.effect;
+            max = Math.max(max, depth);
+
+            if (step.fallsThrough && (index + 1 < steps.size()) && (depths[index + 1] < 0)) {
+                depths[index + 1] = depth;
+                work.push(index + 1);
+            }
+
+            for (Label label : step.targets) {
+                Integer target = labelSteps.get(label);
+
+                if ((target != null) && (target < steps.size()) && (depths[target] < 0)) {
+                    depths[target] = depth;
+                    work.push(target);
+                }
+            }
+        }
+
+        return max;
+    }
+
+    // ======
+    // Labels
+    // ======
+
+    /**
+     * Emit a label.
+     *
+     * @param label the label.
+     */
+    public void emitLabel(Label label) {
+        labelOffsets.put(label, code.size());
+        labelSteps.put(label, steps.size());
+    }
+
+    /**
+     * Emit a value and label pair of the LOOKUPSWITCH being emitted.
+     *
+     * @param value the value.
+     * @param label the label.
+     */
+    public void emitLabel(int value, Label label) {
+        switchPairs.put(value, label);
+    }
+
+    /**
+     * Emit the default label of the LOOKUPSWITCH being emitted,
+     * which completes the instruction.
+     *
+     * @param value "default".
+     * @param label the label.
+     */
+    public void emitLabel(String value, Label label) {
+        int position = code.size();
+        while (position % 4 != 0) position++;  // padding to a 4-byte boundary
+        code.write(new byte[position - code.size()], 0, position - code.size());
+
+        fixups.add(new Fixup(code.size(), switchOffset, label, true));
+        put4(0);
+        put4(switchPairs.size());
+
+        for (Map.Entry<Integer, Label> pair : switchPairs.entrySet()) {
+            put4(pair.getKey());
+            fixups.add(new Fixup(code.size(), switchOffset, pair.getValue(), true));
+            put4(0);
+        }
+
+        ArrayList<Label> targets = new ArrayList<>(switchPairs.values());
+        targets.add(label);
+        steps.add(new Step(LOOKUPSWITCH.stackUse, false, targets));
+
+        switchOffset = -1;
+        switchPairs = null;
+    }
+
+    // ============
+    // Instructions
+    // ============
+
+    /**
+     * Emit a 0-operand instruction.
+     *
+     * @param instruction the operation code.
+     */
+    public void emit(Instruction instruction) {
+        if (instruction == LOOKUPSWITCH) {
+            switchOffset = code.size();
+            switchPairs = new TreeMap<>();
+            code.write(instruction.opcode);
+            return;
+        }
+
+        code.write(instruction.opcode);
+
+        int effect = switch (instruction) {
+            case I2D, F2D -> 1;
+            case D2F -> -1;
+            default -> instruction.stackUse;
+        };
+        boolean returns = (instruction == RETURN) || (instruction == IRETURN)
+                || (instruction == FRETURN) || (instruction == ARETURN)
+                || (instruction == ATHROW);
+
+        steps.add(new Step(effect, !returns, List.of()));
+        useImplicitLocal(instruction);
+    }
+
+    /**
+     * Emit a 1-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param operand     the operand text.
+     */
+    public void emit(Instruction instruction, String operand) {
+        switch (instruction) {
+            case GETSTATIC, PUTSTATIC, GETFIELD, PUTFIELD -> {
+                int space = operand.indexOf(' ');
+                emit(instruction, operand.substring(0, space), operand.substring(space + 1).trim());
+            }
+            case INVOKESTATIC, INVOKESPECIAL, INVOKEVIRTUAL, INVOKENONVIRTUAL -> {
+                int paren = operand.indexOf('(');
+                String descriptor = operand.substring(paren);
+                int split = memberSplit(operand.substring(0, paren));
+                int effect = returnSize(descriptor) - argumentSize(descriptor)
+                             - ((instruction == INVOKESTATIC) ? 0 : 1);
+
+                code.write(instruction.opcode);
+                put2(memberRef(METHODREF, operand.substring(0, split),
+                               operand.substring(split + 1, paren), descriptor));
+                steps.add(new Step(effect, true, List.of()));
+            }
+            case LDC -> {
+                if (operand.startsWith("\"")) emitLdc(string(unquote(operand)));
+                else if (operand.matches("-?\\d+")) emitLdc(integer(Integer.parseInt(operand)));
+                else emitLdc(floatConstant(Float.parseFloat(operand)));
+            }
+            case NEWARRAY -> {
+                code.write(instruction.opcode);
+                code.write(switch (operand) {
+                    case "boolean" -> 4;
+                    case "char" -> 5;
+                    case "float" -> 6;
+                    case "double" -> 7;
+                    case "byte" -> 8;
+                    case "short" -> 9;
+                    case "int" -> 10;
+                    default -> 11;  // long
+                });
+                steps.add(new Step(instruction.stackUse, true, List.of()));
+            }
+            default -> {  // NEW, ANEWARRAY, CHECKCAST
+                code.write(instruction.opcode);
+                put2(classRef(operand));
+                steps.add(new Step(instruction.stackUse, true, List.of()));
+            }
+        }
+    }
+
+    /**
+     * Emit a 1-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param operand     the operand value.
+     */
+    public void emit(Instruction instruction, int operand) {
+        switch (instruction) {
+            case BIPUSH -> {
+                code.write(instruction.opcode);
+                code.write(operand);
+            }
+            case SIPUSH -> {
+                code.write(instruction.opcode);
+                put2(operand);
+            }
+            case LDC -> {
+                emitLdc(integer(operand));
+                return;
+            }
+            default -> {  // loads and stores of locals
+                if (operand > 255) {
+                    code.write(WIDE);
+                    code.write(instruction.opcode);
+                    put2(operand);
+                } else {
+                    code.write(instruction.opcode);
+                    code.write(operand);
+                }
+                useLocal(operand, "I");
+            }
+        }
+
+        steps.add(new Step(instruction.stackUse, true, List.of()));
+    }
+
+    /**
+     * Emit a 1-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param operand     the operand value.
+     */
+    public void emit(Instruction instruction, double operand) {
+        emitLdc(floatConstant((float) operand));
+    }
+
+    /**
+     * Emit a 1-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param label       the label operand.
+     */
+    public void emit(Instruction instruction, Label label) {
+        int base = code.size();
+
+        code.write(instruction.opcode);
+        fixups.add(new Fixup(code.size(), base, label, false));
+        put2(0);
+
+        steps.add(new Step(instruction.stackUse, instruction != GOTO, List.of(label)));
+    }
+
+    /**
+     * Emit a 2-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param operand1    the value of the first operand.
+     * @param operand2    the value of the second operand.
+     */
+    public void emit(Instruction instruction, int operand1, int operand2) {
+        if ((operand1 > 255) || (operand2 < Byte.MIN_VALUE) || (operand2 > Byte.MAX_VALUE)) {
+            code.write(WIDE);
+            code.write(instruction.opcode);
+            put2(operand1);
+            put2(operand2);
+        } else {
+            code.write(instruction.opcode);
+            code.write(operand1);
+            code.write(operand2);
+        }
+
+        useLocal(operand1, "I");
+        steps.add(new Step(instruction.stackUse, true, List.of()));
+    }
+
+    /**
+     * Emit a 2-operand instruction.
+     *
+     * @param instruction the operation code.
+     * @param operand1    the text of the first operand.
+     * @param operand2    the text of the second operand.
+     */
+    public void emit(Instruction instruction, String operand1, String operand2) {
+        if (instruction == MULTIANEWARRAY) {
+            int dimensions = Integer.parseInt(operand2);
+
+            code.write(instruction.opcode);
+            put2(classRef(operand1));
+            code.write(dimensions);
+            steps.add(new Step(1 - dimensions, true, List.of()));
+        } else if (operand1.contains("(")) {
+            emit(instruction, operand1 + " " + operand2);
+        } else {
+            int split = memberSplit(operand1);
+            int size = typeSize(operand2);
+            int effect = switch (instruction) {
+                case GETSTATIC -> size;
+                case PUTSTATIC -> -size;
+                case GETFIELD -> size - 1;
+                default -> -size - 1;  // PUTFIELD
+            };
+
+            code.write(instruction.opcode);
+            put2(memberRef(FIELDREF, operand1.substring(0, split),
+                           operand1.substring(split + 1), operand2));
+            steps.add(new Step(effect, true, List.of()));
+        }
+    }
+
+    /**
+     * Emit LDC or LDC_W of a constant.
+     *
+     * @param index the constant's index in the constant pool.
+     */
+    private void emitLdc(int index) {
+        if (index > 255) {
+            code.write(LDC_W);
+            put2(index);
+        } else {
+            code.write(LDC.opcode);
+            code.write(index);
+        }
+
+        steps.add(new Step(LDC.stackUse, true, List.of()));
+    }
+
+    /**
+     * Note the local slot of an xLOAD_n or xSTORE_n instruction.
+     *
+     * @param instruction the instruction.
+     */
+    private void useImplicitLocal(Instruction instruction) {
+        String name = instruction.name();
+        int underscore = name.lastIndexOf('_');
+
+        if ((underscore > 0) && (name.contains("LOAD_") || name.contains("STORE_"))) {
+            useLocal(name.charAt(underscore + 1) - '0', name.startsWith("L") ? "J" : "I");
+        }
+    }
+
+    /**
+     * Note that a local slot is used.
+     *
+     * @param slot       the slot number.
+     * @param descriptor the type descriptor of its value.
+     */
+    private void useLocal(int slot, String descriptor) {
+        localsUsed = Math.max(localsUsed, slot + typeSize(descriptor));
+    }
+
+    // =============
+    // Constant pool
+    // =============
+
+    /**
+     * Get the constant pool index of a UTF8 constant, adding it if it is new.
+     */
+    private int utf8(String text) {
+        Integer index = poolIndexes.get("U" + text);
+        if (index != null) return index;
+
+        poolBytes.write(UTF8);
+        try {
+            pool.writeUTF(text);
+        } catch (IOException ex) {
+            fail("constant is too long: " + ex.getMessage());
+        }
+
+        return newEntry("U" + text, 1);
+    }
+
+    /**
+     * Get the constant pool index of a class, adding it if it is new.
+     */
+    private int classRef(String name) {
+        Integer index = poolIndexes.get("C" + name);
+        if (index != null) return index;
+
+        int nameIndex = utf8(name);
+        poolBytes.write(CLASS);
+        put2(poolBytes, nameIndex);
+
+        return newEntry("C" + name, 1);
+    }
+
+    /**
+     * Get the constant pool index of a string constant, adding it if it is new.
+     */
+    private int string(String text) {
+        Integer index = poolIndexes.get("S" + text);
+        if (index != null) return index;
+
+        int textIndex = utf8(text);
+        poolBytes.write(STRING);
+        put2(poolBytes, textIndex);
+
+        return newEntry("S" + text, 1);
+    }
+
+    /**
+     * Get the constant pool index of an integer constant, adding it if it is new.
+     */
+    private int integer(int value) {
+        Integer index = poolIndexes.get("I" + value);
+        if (index != null) return index;
+
+        poolBytes.write(INTEGER);
+        put4(poolBytes, value);
+
+        return newEntry("I" + value, 1);
+    }
+
+    /**
+     * Get the constant pool index of a float constant, adding it if it is new.
+     */
+    private int floatConstant(float value) {
+        int bits = Float.floatToIntBits(value);
+        Integer index = poolIndexes.get("F" + bits);
+        if (index != null) return index;
+
+        poolBytes.write(FLOAT);
+        put4(poolBytes, bits);
+
+        return newEntry("F" + bits, 1);
+    }
+
+    /**
+     * Get the constant pool index of a field or method reference, adding it if it is new.
+     */
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        String key = tag + owner + "." + name + ":" + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index != null) return index;
+
+        int classIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        poolBytes.write(tag);
+        put2(poolBytes, classIndex);
+        put2(poolBytes, nameAndTypeIndex);
+
+        return newEntry(key, 1);
+    }
+
+    /**
+     * Get the constant pool index of a name and type, adding it if it is new.
+     */
+    private int nameAndType(String name, String descriptor) {
+        String key = "N" + name + ":" + descriptor;
+        Integer index = poolIndexes.get(key);
+        if (index != null) return index;
+
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        poolBytes.write(NAME_AND_TYPE);
+        put2(poolBytes, nameIndex);
+        put2(poolBytes, descriptorIndex);
+
+        return newEntry(key, 1);
+    }
+
+    /**
+     * Record the index of the constant pool entry just written.
+     */
+    private int newEntry(String key, int size) {
+        int index = poolCount;
+        poolCount += size;
+        poolIndexes.put(key, index);
+
+        if (poolCount > 65535) fail("too many constants");
+        return index;
+    }
+
+    // ==========
+    // Class file
+    // ==========
+
+    /**
+     * Get the bytes of the class file.
+     *
+     * @return the bytes.
+     * @throws IOException if the class could not be emitted.
+     */
+    public byte[] toByteArray() throws IOException {
+        if (error != null) throw new IOException(error);
+
+        int sourceFile = (sourceFileName != null) ? utf8(sourceFileName) : 0;
+        int sourceFileAttribute = (sourceFileName != null) ? utf8("SourceFile") : 0;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(MINOR_VERSION);
+        out.writeShort(MAJOR_VERSION);
+        out.writeShort(poolCount);
+        poolBytes.writeTo(out);
+
+        out.writeShort(ACC_PUBLIC | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0);  // interfaces
+
+        out.writeShort(fieldCount);
+        fieldBytes.writeTo(out);
+        out.writeShort(methodCount);
+        methodBytes.writeTo(out);
+
+        if (sourceFileName != null) {
+            out.writeShort(1);
+            out.writeShort(sourceFileAttribute);
+            out.writeInt(2);
+            out.writeShort(sourceFile);
+        } else {
+            out.writeShort(0);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    // =========
+    // Utilities
+    // =========
+
+    /**
+     * Record an error, which toByteArray reports. Only the first is kept.
+     */
+    private void fail(String message) {
+        if (error == null) error = message;
+    }
+
+    /**
+     * Append a 2-byte value to the code.
+     */
+    private void put2(int value) {
+        code.write(value >> 8);
+        code.write(value);
+    }
+
+    /**
+     * Append a 4-byte value to the code.
+     */
+    private void put4(int value) {
+        put2(value >> 16);
+        put2(value);
+    }
+
+    /**
+     * Append a 2-byte value to a stream.
+     */
+    private static void put2(ByteArrayOutputStream stream, int value) {
+        stream.write(value >> 8);
+        stream.write(value);
+    }
+
+    /**
+     * Append a 4-byte value to a stream.
+     */
+    private static void put4(ByteArrayOutputStream stream, int value) {
+        put2(stream, value >> 16);
+        put2(stream, value);
+    }
+
+    /**
+     * Find where the class name ends in a member specification such as
+     * "java/io/PrintStream/println" or "java/io/PrintStream.println".
+     *
+     * @param spec the specification.
+     * @return the index of the separator before the member name.
+     */
+    private static int memberSplit(String spec) {
+        return Math.max(spec.lastIndexOf('/'), spec.lastIndexOf('.'));
+    }
+
+    /**
+     * Get the number of stack slots of a value of a type.
+     *
+     * @param descriptor the type descriptor.
+     * @return 0, 1, or 2.
+     */
+    private static int typeSize(String descriptor) {
+        return switch (descriptor.charAt(0)) {
+            case 'V' -> 0;
+            case 'J', 'D' -> 2;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Get the number of stack slots of the arguments of a method.
+     *
+     * @param descriptor the method descriptor.
+     * @return the number of slots.
+     */
+    private static int argumentSize(String descriptor) {
+        int size = 0;
+        int i = 1;  // after the (
+
+        while (descriptor.charAt(i) != ')') {
+            char ch = descriptor.charAt(i);
+            size += (ch == 'J' || ch == 'D') ? 2 : 1;
+
+            while (descriptor.charAt(i) == '[') i++;
+            if (descriptor.charAt(i) == 'L') i = descriptor.indexOf(';', i);
+            i++;
+        }
+
+        return size;
+    }
+
+    /**
+     * Get the number of stack slots of the return value of a method.
+     *
+     * @param descriptor the method descriptor.
+     * @return 0, 1, or 2.
+     */
+    private static int returnSize(String descriptor) {
+        return typeSize(descriptor.substring(descriptor.indexOf(')') + 1));
+    }
+
+    /**
+     * Remove the quotes of a Jasmin string constant and
+     * replace its escape sequences.
+     *
+     * @param quoted the quoted string.
+     * @return the string.
+     */
+    private static String unquote(String quoted) {
+        StringBuilder text = new StringBuilder();
+        int end = quoted.length() - 1;
+
+        for (int i = 1; i < end; i++) {
+            char ch = quoted.charAt(i);
+
+            if ((ch != '\\') || (i + 1 >= end)) {
+                text.append(ch);
+                continue;
+            }
+
+            ch = quoted.charAt(++i);
+            switch (ch) {
+                case 'n' -> text.append('\n');
+                case 't' -> text.append('\t');
+                case 'r' -> text.append('\r');
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'u' -> {
+                    text.append((char) Integer.parseInt(quoted.substring(i + 1, i + 5), 16));
+                    i += 4;
+                }
+                default -> {
+                    if ((ch >= '0') && (ch <= '7')) {
+                        int value = 0;
+                        int digits = 0;
+
+                        while ((digits < 3) && (i < end) && (quoted.charAt(i) >= '0') && (quoted.charAt(i) <= '7')) {
+                            value = 8*value + (quoted.charAt(i++) - '0');
+                            digits++;
+                        }
+
+                        text.append((char) value);
+                        i--;
+                    } else {
+                        text.append(ch);
+                    }
+                }
+            }
+        }
+
+        return text.toString();
+    }
+}
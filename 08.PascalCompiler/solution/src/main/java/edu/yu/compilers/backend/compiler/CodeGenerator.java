@@ -18,8 +18,9 @@ import static edu.yu.compilers.intermediate.type.Typespec.Form.*;
 
 public class CodeGenerator {
     private static final String SUFFIX = ".j";
-    protected static int count = 0;
     protected PrintWriter objectFile;
+    protected ClassFileEmitter classFile;  // direct emission, else null
+    protected InstructionList methodCode;  // code of the method being generated
     protected String programName;
     protected LocalVariables localVariables;
     protected LocalStack localStack;
@@ -47,6 +48,42 @@ public class CodeGenerator {
         if (compiler.getOutputPath().isPresent())
             file = new File(compiler.getOutputPath().get().toFile(), objectFileName);
         this.objectFile = new PrintWriter(new FileWriter(file));
+        this.methodCode = new InstructionList();
+    }
+
+    /**
+     * Constructor for generating into an object file that is already open,
+     * such as one in memory.
+     *
+     * @param programName the name of the program.
+     * @param objectFile  the object file print writer.
+     * @param compiler    the compiler to use.
+     */
+    CodeGenerator(String programName, PrintWriter objectFile, Compiler compiler) {
+        this.programName = programName;
+        this.localVariables = null;
+        this.localStack = null;
+        this.compiler = compiler;
+        this.objectFileName = programName + SUFFIX;
+        this.objectFile = objectFile;
+        this.methodCode = new InstructionList();
+    }
+
+    /**
+     * Constructor for emitting a class file directly instead of Jasmin.
+     *
+     * @param programName the name of the program.
+     * @param classFile   the class file emitter.
+     * @param compiler    the compiler to use.
+     */
+    CodeGenerator(String programName, ClassFileEmitter classFile, Compiler compiler) {
+        this.programName = programName;
+        this.localVariables = null;
+        this.localStack = null;
+        this.compiler = compiler;
+        this.objectFileName = programName + ".class";
+        this.classFile = classFile;
+        this.methodCode = new InstructionList();
     }
 
     /**
@@ -58,6 +95,8 @@ public class CodeGenerator {
     public CodeGenerator(CodeGenerator parent, Compiler compiler) {
         this.compiler = compiler;
         this.objectFile = parent.objectFile;
+        this.classFile = parent.classFile;
+        this.methodCode = parent.methodCode;
         this.objectFileName = parent.objectFileName;
         this.programName = parent.programName;
         this.localVariables = parent.localVariables;
@@ -77,7 +116,7 @@ public class CodeGenerator {
      * Close the object file.
      */
     public void close() {
-        objectFile.close();
+        if (objectFile != null) objectFile.close();
     }
 
     /**
@@ -107,8 +146,7 @@ public class CodeGenerator {
      * Emit a blank line.
      */
     public void emitLine() {
-        objectFile.println();
-        objectFile.flush();
+        if (classFile == null) emitEntry(InstructionList.blankLine());
     }
 
     /**
@@ -117,18 +155,21 @@ public class CodeGenerator {
      * @param text the comment text.
      */
     public void emitComment(String text) {
-        objectFile.println(";");
-        objectFile.println("; " + text);
-        objectFile.println(";");
-        objectFile.flush();
+        if (classFile == null) emitEntry(InstructionList.comment(text));
     }
 
     /**
-     * Emit a statement comment.
+     * Emit a statement comment, or in a class file,
+     * the line number of the statement.
      *
      * @param ctx the StatementContext.
      */
     public void emitComment(PascalParser.StatementContext ctx) {
+        if (classFile != null) {
+            emitEntry(InstructionList.lineNumber(ctx.getStart().getLine()));
+            return;
+        }
+
         String text = String.format("%03d %s", ctx.getStart().getLine(), ctx.getText());
 
         if (text.length() <= 72) emitComment(text);
@@ -141,8 +182,7 @@ public class CodeGenerator {
      * @param label the label.
      */
     public void emitLabel(Label label) {
-        objectFile.println(label + ":");
-        objectFile.flush();
+        emitEntry(InstructionList.label(label));
     }
 
     /**
@@ -151,8 +191,7 @@ public class CodeGenerator {
      * @param label the label.
      */
     public void emitLabel(int value, Label label) {
-        objectFile.println("\t  " + value + ": " + label);
-        objectFile.flush();
+        emitEntry(InstructionList.switchLabel(value, label));
     }
 
     /**
@@ -161,8 +200,7 @@ public class CodeGenerator {
      * @param label the label.
      */
     public void emitLabel(String value, Label label) {
-        objectFile.println("\t  " + value + ": " + label);
-        objectFile.flush();
+        emitEntry(InstructionList.switchLabel(value, label));
     }
 
     /**
@@ -171,9 +209,7 @@ public class CodeGenerator {
      * @param directive the directive code.
      */
     public void emitDirective(Directive directive) {
-        objectFile.println(directive.toString());
-        objectFile.flush();
-        ++count;
+        emitEntry(InstructionList.directive(directive));
     }
 
     /**
@@ -183,9 +219,7 @@ public class CodeGenerator {
      * @param operand   the directive operand.
      */
     public void emitDirective(Directive directive, String operand) {
-        objectFile.println(directive.toString() + " " + operand);
-        objectFile.flush();
-        ++count;
+        emitEntry(InstructionList.directive(directive, operand));
     }
 
     /**
@@ -195,9 +229,7 @@ public class CodeGenerator {
      * @param operand   the directive operand.
      */
     public void emitDirective(Directive directive, int operand) {
-        objectFile.println(directive.toString() + " " + operand);
-        objectFile.flush();
-        ++count;
+        emitEntry(InstructionList.directive(directive, operand));
     }
 
     /**
@@ -208,9 +240,7 @@ public class CodeGenerator {
      * @param operand2  the second operand.
      */
     public void emitDirective(Directive directive, String operand1, String operand2) {
-        objectFile.println(directive.toString() + " " + operand1 + " " + operand2);
-        objectFile.flush();
-        ++count;
+        emitEntry(InstructionList.directive(directive, operand1, operand2));
     }
 
     /**
@@ -222,9 +252,7 @@ public class CodeGenerator {
      * @param operand3  the third operand.
      */
     public void emitDirective(Directive directive, String operand1, String operand2, String operand3) {
-        objectFile.println(directive.toString() + " " + operand1 + " " + operand2 + " " + operand3);
-        objectFile.flush();
-        ++count;
+        emitEntry(InstructionList.directive(directive, operand1, operand2, operand3));
     }
 
     /**
@@ -233,11 +261,8 @@ public class CodeGenerator {
      * @param instruction the operation code.
      */
     public void emit(Instruction instruction) {
-        objectFile.println("\t" + instruction.toString());
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -247,11 +272,8 @@ public class CodeGenerator {
      * @param operand     the operand text.
      */
     public void emit(Instruction instruction, String operand) {
-        objectFile.println("\t" + instruction.toString() + "\t" + operand);
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction, operand));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -261,11 +283,8 @@ public class CodeGenerator {
      * @param operand     the operand value.
      */
     public void emit(Instruction instruction, int operand) {
-        objectFile.println("\t" + instruction.toString() + "\t" + operand);
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction, operand));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -275,11 +294,8 @@ public class CodeGenerator {
      * @param operand     the operand value.
      */
     public void emit(Instruction instruction, double operand) {
-        objectFile.println("\t" + instruction.toString() + "\t" + operand);
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction, operand));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -289,11 +305,8 @@ public class CodeGenerator {
      * @param label       the label operand.
      */
     public void emit(Instruction instruction, Label label) {
-        objectFile.println("\t" + instruction.toString() + "\t" + label);
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction, label));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -304,11 +317,8 @@ public class CodeGenerator {
      * @param operand2    the value of the second operand.
      */
     public void emit(Instruction instruction, int operand1, int operand2) {
-        objectFile.println("\t" + instruction.toString() + "\t" + operand1 + " " + operand2);
-        objectFile.flush();
-
+        emitEntry(InstructionList.instruction(instruction, operand1, operand2));
         localStack.increase(instruction.stackUse);
-        ++count;
     }
 
     /**
@@ -319,11 +329,109 @@ public class CodeGenerator {
      * @param operand2    the text of the second operand.
      */
     public void emit(Instruction instruction, String operand1, String operand2) {
-        objectFile.println("\t" + instruction.toString() + "\t" + operand1 + " " + operand2);
+        emitEntry(InstructionList.instruction(instruction, operand1, operand2));
+        localStack.increase(instruction.stackUse);
+    }
+
+    /**
+     * Add an entry to the code of the method being generated, or write it
+     * if it is outside a method. The method's code is written after the
+     * peephole optimizer when its .end method directive is emitted.
+     *
+     * @param entry the entry.
+     */
+    private void emitEntry(InstructionList.Entry entry) {
+        boolean directive = entry.kind == InstructionList.Kind.DIRECTIVE;
+
+        if (methodCode.isOpen()) {
+            if (directive && (entry.directive == Directive.END_METHOD)) {
+                for (InstructionList.Entry code : methodCode.close()) write(code);
+                write(entry);
+            } else {
+                methodCode.add(entry);
+            }
+        } else {
+            write(entry);
+            if (directive && entry.directive.toString().startsWith(".method")) methodCode.open();
+        }
+    }
+
+    /**
+     * Write an entry to the object file or the class file.
+     *
+     * @param entry the entry.
+     */
+    private void write(InstructionList.Entry entry) {
+        Object[] operands = entry.operands;
+
+        if (classFile != null) {
+            switch (entry.kind) {
+                case INSTRUCTION -> writeInstruction(entry.instruction, operands);
+                case LABEL -> classFile.emitLabel(entry.label);
+                case SWITCH_LABEL -> {
+                    if (operands[0] instanceof Integer value) classFile.emitLabel(value, entry.label);
+                    else classFile.emitLabel((String) operands[0], entry.label);
+                }
+                case DIRECTIVE -> {
+                    String[] texts = new String[operands.length];
+                    for (int i = 0; i < operands.length; i++) texts[i] = operands[i].toString();
+                    classFile.emitDirective(entry.directive, texts);
+                }
+                case LINE_NUMBER -> classFile.emitLineNumber((Integer) operands[0]);
+                default -> {}
+            }
+
+            return;
+        }
+
+        switch (entry.kind) {
+            case INSTRUCTION -> {
+                StringBuilder text = new StringBuilder("\t").append(entry.instruction);
+                for (int i = 0; i < operands.length; i++) {
+                    text.append((i == 0) ? "\t" : " ").append(operands[i]);
+                }
+                objectFile.println(text);
+            }
+            case LABEL -> objectFile.println(entry.label + ":");
+            case SWITCH_LABEL -> objectFile.println("\t  " + operands[0] + ": " + entry.label);
+            case DIRECTIVE -> {
+                StringBuilder text = new StringBuilder(entry.directive.toString());
+                for (Object operand : operands) text.append(" ").append(operand);
+                objectFile.println(text);
+            }
+            case COMMENT -> {
+                objectFile.println(";");
+                objectFile.println("; " + entry.text);
+                objectFile.println(";");
+            }
+            case BLANK_LINE -> objectFile.println();
+            default -> {}
+        }
+
         objectFile.flush();
+    }
 
-        localStack.increase(instruction.stackUse);
-        ++count;
+    /**
+     * Write an instruction to the class file.
+     *
+     * @param instruction the operation code.
+     * @param operands    the operands.
+     */
+    private void writeInstruction(Instruction instruction, Object[] operands) {
+        if (operands.length == 0) {
+            classFile.emit(instruction);
+        } else if (operands.length == 2) {
+            if (operands[0] instanceof Integer operand1) classFile.emit(instruction, operand1, (Integer) operands[1]);
+            else classFile.emit(instruction, (String) operands[0], (String) operands[1]);
+        } else if (operands[0] instanceof String operand) {
+            classFile.emit(instruction, operand);
+        } else if (operands[0] instanceof Integer operand) {
+            classFile.emit(instruction, (int) operand);
+        } else if (operands[0] instanceof Double operand) {
+            classFile.emit(instruction, (double) operand);
+        } else {
+            classFile.emit(instruction, (Label) operands[0]);
+        }
     }
 
     // =====
@@ -407,6 +515,11 @@ public class CodeGenerator {
             emitLoadConstant((Integer) value);
         }
 
+        // Program variable held in a local variable.
+        else if ((nestingLevel == 1) && (compiler.getVariableSlot(variableId) != null)) {
+            emitLoadLocal(type, compiler.getVariableSlot(variableId));
+        }
+
         // Program variable.
         else if (nestingLevel == 1) {
             String variableName = variableId.getName();
@@ -493,8 +606,14 @@ public class CodeGenerator {
         int nestingLevel = targetId.getSymTable().getNestingLevel();
         int slot = targetId.getSlotNumber();
 
+        // Program variable held in a local variable.
+        if ((nestingLevel == 1) && (compiler.getVariableSlot(targetId) != null)) {
+            emitRangeCheck(targetType);
+            emitStoreLocal(targetType.baseType(), compiler.getVariableSlot(targetId));
+        }
+
         // Program variable.
-        if (nestingLevel == 1) {
+        else if (nestingLevel == 1) {
             String targetName = targetId.getName();
             String name = programName + "/" + targetName;
 
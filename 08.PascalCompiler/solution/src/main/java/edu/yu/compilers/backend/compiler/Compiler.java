@@ -6,7 +6,10 @@ import edu.yu.compilers.intermediate.symtable.Predefined;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,9 +19,14 @@ public class Compiler extends PascalBaseVisitor<Object> {
     private String programName;     // the program name
     private final CodeGenerator code;            // base code generator
     private final Optional<Path> outputPath;
+    private final ObjectCode objectCode;         // in-memory object files, or null
     private ProgramGenerator programCode;     // program code generator
     private StatementGenerator statementCode;   // statement code generator
     private ExpressionGenerator expressionCode;  // expression code generator
+    private final Compiler parent;               // parent compiler, or null
+    private int labelIndex;                      // index of the last label
+    private boolean countingCalls;               // true if routines count their calls left
+    private final HashMap<SymTableEntry, Integer> variableSlots = new HashMap<>();  // program variables in locals
 
     /**
      * Constructor for the base compiler.
@@ -26,7 +34,7 @@ public class Compiler extends PascalBaseVisitor<Object> {
      * @param programName the program name.
      */
     public Compiler(String programName) throws IOException  {
-        this(programName, null);
+        this(programName, (Path) null);
     }
 
     /**
@@ -37,9 +45,41 @@ public class Compiler extends PascalBaseVisitor<Object> {
     public Compiler(String programName, Path outputPath) throws IOException {
         this.programName = programName;
         this.outputPath = Optional.ofNullable(outputPath);
+        this.objectCode = null;
+        this.parent = null;
         code = new CodeGenerator(programName, this);
     }
 
+    /**
+     * Constructor for a compiler that writes its object code
+     * to a print writer instead of to a file.
+     *
+     * @param programName the program name.
+     * @param objectFile  the print writer for the object code.
+     */
+    public Compiler(String programName, PrintWriter objectFile) {
+        this.programName = programName;
+        this.outputPath = Optional.empty();
+        this.objectCode = null;
+        this.parent = null;
+        code = new CodeGenerator(programName, objectFile, this);
+    }
+
+    /**
+     * Constructor for a compiler that keeps the object code of the
+     * program class and its record classes in memory.
+     *
+     * @param programName the program name.
+     * @param objectCode  the in-memory object files.
+     */
+    public Compiler(String programName, ObjectCode objectCode) {
+        this.programName = programName;
+        this.outputPath = Optional.empty();
+        this.objectCode = objectCode;
+        this.parent = null;
+        code = newCodeGenerator(programName);
+    }
+
     /**
      * Constructor for child compilers of procedures and functions.
      *
@@ -47,25 +87,46 @@ public class Compiler extends PascalBaseVisitor<Object> {
      */
     public Compiler(Compiler parent) {
         this.outputPath = Optional.empty();
+        this.objectCode = parent.objectCode;
+        this.parent = parent;
         this.code = parent.code;
         this.programCode = parent.programCode;
         this.programName = parent.programName;
+        this.countingCalls = parent.countingCalls;
     }
 
     /**
      * Constructor for child compilers of records.
      *
      * @param recordId the symbol table entry of the name of the record to compile.
+     * @param owner    the compiler of the program or record that declares the record.
      */
-    protected Compiler(SymTableEntry recordId, Optional<Path> outputPath) throws IOException {
-        this.outputPath = outputPath;
+    protected Compiler(SymTableEntry recordId, Compiler owner) throws IOException {
+        this.outputPath = owner.outputPath;
+        this.objectCode = owner.objectCode;
+        this.parent = null;
         String recordTypePath = recordId.getType().getRecordTypePath();
-        code = new CodeGenerator(recordTypePath, this);
+        code = (objectCode != null)
+                ? newCodeGenerator(recordTypePath)
+                : new CodeGenerator(recordTypePath, this);
         createNewGenerators(code);
 
         programCode.emitRecord(recordId, recordTypePath);
     }
 
+    /**
+     * Create the code generator of a class whose object code is kept in memory,
+     * either as Jasmin or as a class file emitted directly.
+     *
+     * @param className the class name, which may be a record type path.
+     * @return the code generator.
+     */
+    private CodeGenerator newCodeGenerator(String className) {
+        return objectCode.isDirect()
+                ? new CodeGenerator(className, objectCode.newClassFile(className), this)
+                : new CodeGenerator(className, objectCode.newObjectFile(className), this);
+    }
+
     /**
      * Create new child code generators.
      *
@@ -86,6 +147,59 @@ public class Compiler extends PascalBaseVisitor<Object> {
         return code.getObjectFileName();
     }
 
+    /**
+     * Create a new label. The labels of a program and its procedures
+     * and functions are numbered by the program's compiler.
+     *
+     * @return the label.
+     */
+    public Label newLabel() {
+        return (parent != null) ? parent.newLabel() : new Label(++labelIndex);
+    }
+
+    /**
+     * Check whether the compiled routines count down their calls left.
+     *
+     * @return true if they do.
+     */
+    public boolean isCountingCalls() {
+        return countingCalls;
+    }
+
+    /**
+     * Get the local variables of the method being compiled: the main
+     * method's, or the routine's once its code generator has them.
+     *
+     * @return the local variables.
+     */
+    public LocalVariables getLocalVariables() {
+        return programCode.getLocalVariables();
+    }
+
+    /**
+     * Get the local variable that holds a program variable in place
+     * of its static field, such as the control variable of a FOR loop.
+     *
+     * @param variableId the symbol table entry of the program variable.
+     * @return the slot number, or null if the variable is in its field.
+     */
+    public Integer getVariableSlot(SymTableEntry variableId) {
+        return variableSlots.get(variableId);
+    }
+
+    /**
+     * Hold a program variable in a local variable, or return it to its
+     * static field. The caller stores the variable's value back to the
+     * field when it is returned.
+     *
+     * @param variableId the symbol table entry of the program variable.
+     * @param slot       the slot number, or null to return the variable to its field.
+     */
+    public void setVariableSlot(SymTableEntry variableId, Integer slot) {
+        if (slot != null) variableSlots.put(variableId, slot);
+        else variableSlots.remove(variableId);
+    }
+
     public Optional<Path> getOutputPath() {
         return outputPath;
     }
@@ -97,6 +211,19 @@ public class Compiler extends PascalBaseVisitor<Object> {
         return null;
     }
 
+    /**
+     * Compile only some of the program's routines into a class
+     * named after the program. The routines count down the calls
+     * left before the maximum call depth, which the caller sets.
+     *
+     * @param routineCtxs the RoutineDefinitionContexts of the routines.
+     */
+    public void compileRoutines(List<PascalParser.RoutineDefinitionContext> routineCtxs) {
+        countingCalls = true;
+        createNewGenerators(code);
+        programCode.emitRoutineClass(routineCtxs);
+    }
+
     @Override
     public Object visitRoutineDefinition(
             PascalParser.RoutineDefinitionContext ctx) {
@@ -159,6 +286,19 @@ public class Compiler extends PascalBaseVisitor<Object> {
         return null;
     }
 
+    /**
+     * Compile a condition that branches to a label when it is true,
+     * or when it is false, instead of leaving a boolean value.
+     *
+     * @param ctx          the ExpressionContext of the condition.
+     * @param label        the label to branch to.
+     * @param branchIfTrue true to branch if the condition is true,
+     *                     false to branch if it is false.
+     */
+    public void compileCondition(PascalParser.ExpressionContext ctx, Label label, boolean branchIfTrue) {
+        expressionCode.emitCondition(ctx, label, branchIfTrue);
+    }
+
     @Override
     public Object visitExpression(PascalParser.ExpressionContext ctx) {
         expressionCode.emitExpression(ctx);
@@ -13,6 +13,8 @@ import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 import edu.yu.compilers.intermediate.type.Typespec;
 import edu.yu.compilers.intermediate.type.Typespec.Form;
 
+import java.util.List;
+
 import static edu.yu.compilers.backend.compiler.Instruction.*;
 import static edu.yu.compilers.intermediate.type.Typespec.Form.*;
 
@@ -33,98 +35,244 @@ public class ExpressionGenerator extends CodeGenerator
      * @param ctx the ExpressionContext.
      */
     public void emitExpression(PascalParser.ExpressionContext ctx)
+    {
+        // More than one simple expression?
+        if (ctx.relOp() != null)
+        {
+            Label trueLabel = compiler.newLabel();
+            Label exitLabel = compiler.newLabel();
+
+            emit(emitComparison(ctx), trueLabel);
+            emit(ICONST_0); // false
+            emit(GOTO, exitLabel);
+            emitLabel(trueLabel);
+            emit(ICONST_1); // true
+            emitLabel(exitLabel);
+            
+            localStack.decrease(1);  // only one branch will be taken
+        }
+        else
+        {
+            emitSimpleExpression(ctx.simpleExpression().get(0));
+        }
+    }
+
+    /**
+     * Emit code to evaluate and compare the two simple expressions
+     * of a relational expression.
+     * @param ctx the ExpressionContext.
+     * @return the branch instruction that branches if the relation is true.
+     */
+    private Instruction emitComparison(PascalParser.ExpressionContext ctx)
     {
         PascalParser.SimpleExpressionContext simpleCtx1 = 
                                                 ctx.simpleExpression().get(0);
-        PascalParser.RelOpContext relOpCtx = ctx.relOp();
+        PascalParser.SimpleExpressionContext simpleCtx2 = 
+                                                ctx.simpleExpression().get(1);
+        String op = ctx.relOp().getText();
         Typespec type1 = simpleCtx1.type;
+        Typespec type2 = simpleCtx2.type;
+
+        boolean integerMode   = false;
+        boolean realMode      = false;
+        boolean characterMode = false;
+
+        if (   (type1 == Predefined.integerType)
+            && (type2 == Predefined.integerType)) 
+        {
+            integerMode = true;
+        }
+        else if (   (type1 == Predefined.realType) 
+                 || (type2 == Predefined.realType))
+        {
+            realMode = true;
+        }
+        else if (   (type1 == Predefined.charType) 
+                 && (type2 == Predefined.charType))
+        {
+            characterMode = true;
+        }
+
         emitSimpleExpression(simpleCtx1);
-        
-        // More than one simple expression?
-        if (relOpCtx != null)
+
+        if (integerMode || characterMode) 
         {
-            String op = relOpCtx.getText();
-            PascalParser.SimpleExpressionContext simpleCtx2 = 
-                                                ctx.simpleExpression().get(1);
-            Typespec type2 = simpleCtx2.type;
+            emitSimpleExpression(simpleCtx2);
+
+            return switch (op) {
+                case "=" -> IF_ICMPEQ;
+                case "<>" -> IF_ICMPNE;
+                case "<" -> IF_ICMPLT;
+                case "<=" -> IF_ICMPLE;
+                case ">" -> IF_ICMPGT;
+                default -> IF_ICMPGE;  // >=
+            };
+        }
+        else if (realMode)
+        {
+            if (type1 == Predefined.integerType) emit(I2F);
+            emitSimpleExpression(simpleCtx2);
+            if (type2 == Predefined.integerType) emit(I2F);
+            
+            emit(FCMPG);
+        }
+        else  // stringMode
+        {
+            emitSimpleExpression(simpleCtx2);
+            emit(INVOKEVIRTUAL,
+                 "java/lang/String.compareTo(Ljava/lang/String;)I");
+            localStack.decrease(1);
+        }
 
-            boolean integerMode   = false;
-            boolean realMode      = false;
-            boolean characterMode = false;
+        return switch (op) {
+            case "=" -> IFEQ;
+            case "<>" -> IFNE;
+            case "<" -> IFLT;
+            case "<=" -> IFLE;
+            case ">" -> IFGT;
+            default -> IFGE;  // >=
+        };
+    }
 
-            if (   (type1 == Predefined.integerType)
-                && (type2 == Predefined.integerType)) 
-            {
-                integerMode = true;
-            }
-            else if (   (type1 == Predefined.realType) 
-                     || (type2 == Predefined.realType))
+    /**
+     * Emit code for a condition that branches to a label when the
+     * condition is true, or when it is false, instead of leaving its
+     * boolean value on the operand stack. Comparisons branch directly,
+     * and AND and OR are short-circuited.
+     * @param ctx the ExpressionContext of the condition.
+     * @param label the label to branch to.
+     * @param branchIfTrue true to branch if the condition is true,
+     *                     false to branch if it is false.
+     */
+    public void emitCondition(PascalParser.ExpressionContext ctx,
+                              Label label, boolean branchIfTrue)
+    {
+        if (ctx.relOp() != null)
+        {
+            Instruction branch = emitComparison(ctx);
+            emit(branchIfTrue ? branch : branch.inverse(), label);
+        }
+        else
+        {
+            emitCondition(ctx.simpleExpression().get(0), label, branchIfTrue);
+        }
+    }
+
+    /**
+     * Emit code for a condition that is a simple expression.
+     * @param ctx the SimpleExpressionContext.
+     * @param label the label to branch to.
+     * @param branchIfTrue true to branch if the condition is true.
+     */
+    private void emitCondition(PascalParser.SimpleExpressionContext ctx,
+                               Label label, boolean branchIfTrue)
+    {
+        List<PascalParser.TermContext> termCtxs = ctx.term();
+        boolean disjunction = ctx.sign() == null;
+
+        for (PascalParser.AddOpContext opCtx : ctx.addOp())
+        {
+            disjunction = disjunction && opCtx.OR() != null;
+        }
+
+        if (!disjunction)
+        {
+            emitSimpleExpression(ctx);
+            emit(branchIfTrue ? IFNE : IFEQ, label);
+        }
+
+        // Branch if any term is true, or if the last one is false
+        // after none of the others was true.
+        else if (branchIfTrue)
+        {
+            for (PascalParser.TermContext termCtx : termCtxs)
             {
-                realMode = true;
+                emitCondition(termCtx, label, true);
             }
-            else if (   (type1 == Predefined.charType) 
-                     && (type2 == Predefined.charType))
+        }
+        else
+        {
+            Label trueLabel = compiler.newLabel();
+            int last = termCtxs.size() - 1;
+
+            for (int i = 0; i < last; i++)
             {
-                characterMode = true;
+                emitCondition(termCtxs.get(i), trueLabel, true);
             }
 
-            Label trueLabel = new Label();
-            Label exitLabel = new Label();
+            emitCondition(termCtxs.get(last), label, false);
+            emitLabel(trueLabel);
+        }
+    }
 
-            if (integerMode || characterMode) 
-            {
-                emitSimpleExpression(simpleCtx2);
+    /**
+     * Emit code for a condition that is a term.
+     * @param ctx the TermContext.
+     * @param label the label to branch to.
+     * @param branchIfTrue true to branch if the condition is true.
+     */
+    private void emitCondition(PascalParser.TermContext ctx,
+                               Label label, boolean branchIfTrue)
+    {
+        List<PascalParser.FactorContext> factorCtxs = ctx.factor();
+        boolean conjunction = true;
 
-                switch (op) {
-                    case "=" -> emit(IF_ICMPEQ, trueLabel);
-                    case "<>" -> emit(IF_ICMPNE, trueLabel);
-                    case "<" -> emit(IF_ICMPLT, trueLabel);
-                    case "<=" -> emit(IF_ICMPLE, trueLabel);
-                    case ">" -> emit(IF_ICMPGT, trueLabel);
-                    case ">=" -> emit(IF_ICMPGE, trueLabel);
-                }
-            }
-            else if (realMode)
-            {
-                if (type1 == Predefined.integerType) emit(I2F);
-                emitSimpleExpression(simpleCtx2);
-                if (type2 == Predefined.integerType) emit(I2F);
-                
-                emit(FCMPG);
+        for (PascalParser.MulOpContext opCtx : ctx.mulOp())
+        {
+            conjunction = conjunction && opCtx.AND() != null;
+        }
 
-                switch (op) {
-                    case "=" -> emit(IFEQ, trueLabel);
-                    case "<>" -> emit(IFNE, trueLabel);
-                    case "<" -> emit(IFLT, trueLabel);
-                    case "<=" -> emit(IFLE, trueLabel);
-                    case ">" -> emit(IFGT, trueLabel);
-                    case ">=" -> emit(IFGE, trueLabel);
-                }
-            }
-            else  // stringMode
+        if (!conjunction)
+        {
+            emitTerm(ctx);
+            emit(branchIfTrue ? IFNE : IFEQ, label);
+        }
+
+        // Branch if any factor is false, or if the last one is true
+        // after none of the others was false.
+        else if (!branchIfTrue)
+        {
+            for (PascalParser.FactorContext factorCtx : factorCtxs)
             {
-                emitSimpleExpression(simpleCtx2);
-                emit(INVOKEVIRTUAL,
-                     "java/lang/String.compareTo(Ljava/lang/String;)I");
-                localStack.decrease(1);
+                emitCondition(factorCtx, label, false);
+            }
+        }
+        else
+        {
+            Label falseLabel = compiler.newLabel();
+            int last = factorCtxs.size() - 1;
 
-                switch (op) {
-                    case "=" -> emit(IFEQ, trueLabel);
-                    case "<>" -> emit(IFNE, trueLabel);
-                    case "<" -> emit(IFLT, trueLabel);
-                    case "<=" -> emit(IFLE, trueLabel);
-                    case ">" -> emit(IFGT, trueLabel);
-                    case ">=" -> emit(IFGE, trueLabel);
-                }
+            for (int i = 0; i < last; i++)
+            {
+                emitCondition(factorCtxs.get(i), falseLabel, false);
             }
 
-            emit(ICONST_0); // false
-            emit(GOTO, exitLabel);
-            emitLabel(trueLabel);
-            emit(ICONST_1); // true
-            emitLabel(exitLabel);
-            
-            localStack.decrease(1);  // only one branch will be taken
+            emitCondition(factorCtxs.get(last), label, true);
+            emitLabel(falseLabel);
+        }
+    }
+
+    /**
+     * Emit code for a condition that is a factor.
+     * @param ctx the FactorContext.
+     * @param label the label to branch to.
+     * @param branchIfTrue true to branch if the condition is true.
+     */
+    private void emitCondition(PascalParser.FactorContext ctx,
+                               Label label, boolean branchIfTrue)
+    {
+        if (ctx instanceof PascalParser.NotFactorContext notCtx)
+        {
+            emitCondition(notCtx.factor(), label, !branchIfTrue);
+        }
+        else if (ctx instanceof PascalParser.ParenthesizedFactorContext parenCtx)
+        {
+            emitCondition(parenCtx.expression(), label, branchIfTrue);
+        }
+        else
+        {
+            compiler.visit(ctx);
+            emit(branchIfTrue ? IFNE : IFEQ, label);
         }
     }
     
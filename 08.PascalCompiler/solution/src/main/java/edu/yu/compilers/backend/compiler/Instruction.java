@@ -8,62 +8,88 @@ package edu.yu.compilers.backend.compiler;
  */
 public enum Instruction {
     // Load constant
-    ICONST_0(1), ICONST_1(1), ICONST_2(1), ICONST_3(1),
-    ICONST_4(1), ICONST_5(1), ICONST_M1(1),
-    FCONST_0(1), FCONST_1(1), FCONST_2(1), ACONST_NULL(1),
-    BIPUSH(1), SIPUSH(1), LDC(1),
+    ICONST_0(1, 3), ICONST_1(1, 4), ICONST_2(1, 5), ICONST_3(1, 6),
+    ICONST_4(1, 7), ICONST_5(1, 8), ICONST_M1(1, 2),
+    FCONST_0(1, 11), FCONST_1(1, 12), FCONST_2(1, 13), ACONST_NULL(1, 1),
+    BIPUSH(1, 16), SIPUSH(1, 17), LDC(1, 18),
 
     // Load value or address
-    ILOAD_0(1), ILOAD_1(1), ILOAD_2(1), ILOAD_3(1),
-    FLOAD_0(1), FLOAD_1(1), FLOAD_2(1), FLOAD_3(1),
-    ALOAD_0(1), ALOAD_1(1), ALOAD_2(1), ALOAD_3(1),
-    LLOAD_0(2), LLOAD_1(2), LLOAD_2(2), LLOAD_3(2),
-    ILOAD(1), FLOAD(1), ALOAD(1),
-    GETSTATIC(1), GETFIELD(0),
+    ILOAD_0(1, 26), ILOAD_1(1, 27), ILOAD_2(1, 28), ILOAD_3(1, 29),
+    FLOAD_0(1, 34), FLOAD_1(1, 35), FLOAD_2(1, 36), FLOAD_3(1, 37),
+    ALOAD_0(1, 42), ALOAD_1(1, 43), ALOAD_2(1, 44), ALOAD_3(1, 45),
+    LLOAD_0(2, 30), LLOAD_1(2, 31), LLOAD_2(2, 32), LLOAD_3(2, 33),
+    ILOAD(1, 21), FLOAD(1, 23), ALOAD(1, 25),
+    GETSTATIC(1, 178), GETFIELD(0, 180),
 
     // Store value or address
-    ISTORE_0(-1), ISTORE_1(-1), ISTORE_2(-1), ISTORE_3(-1),
-    FSTORE_0(-1), FSTORE_1(-1), FSTORE_2(-1), FSTORE_3(-1),
-    ASTORE_0(-1), ASTORE_1(-1), ASTORE_2(-1), ASTORE_3(-1),
-    LSTORE_0(-2), LSTORE_1(-2), LSTORE_2(-2), LSTORE_3(-2),
-    ISTORE(-1), FSTORE(-1), ASTORE(-1),
-    PUTSTATIC(-1), PUTFIELD(-2),
+    ISTORE_0(-1, 59), ISTORE_1(-1, 60), ISTORE_2(-1, 61), ISTORE_3(-1, 62),
+    FSTORE_0(-1, 67), FSTORE_1(-1, 68), FSTORE_2(-1, 69), FSTORE_3(-1, 70),
+    ASTORE_0(-1, 75), ASTORE_1(-1, 76), ASTORE_2(-1, 77), ASTORE_3(-1, 78),
+    LSTORE_0(-2, 63), LSTORE_1(-2, 64), LSTORE_2(-2, 65), LSTORE_3(-2, 66),
+    ISTORE(-1, 54), FSTORE(-1, 56), ASTORE(-1, 58),
+    PUTSTATIC(-1, 179), PUTFIELD(-2, 181),
 
     // Operand stack
-    POP(-1), SWAP(0), DUP(1), DUP_X1(1), DUP_X2(1),
+    POP(-1, 87), SWAP(0, 95), DUP(1, 89), DUP_X1(1, 90), DUP_X2(1, 91),
 
     // Arithmetic and logical
-    IADD(-1), FADD(-1), ISUB(-1), FSUB(-1), IMUL(-1), FMUL(-1),
-    IDIV(-1), FDIV(-1), IREM(-1), FREM(-1), INEG(0), FNEG(0),
-    IINC(0), IAND(-1), IOR(-1), IXOR(-1),
+    IADD(-1, 96), FADD(-1, 98), ISUB(-1, 100), FSUB(-1, 102), IMUL(-1, 104), FMUL(-1, 106),
+    IDIV(-1, 108), FDIV(-1, 110), IREM(-1, 112), FREM(-1, 114), INEG(0, 116), FNEG(0, 118),
+    IINC(0, 132), IAND(-1, 126), IOR(-1, 128), IXOR(-1, 130),
 
     // Type conversion and checking
-    I2F(0), I2C(0), I2D(0), F2I(0), F2D(0), D2F(0),
-    CHECKCAST(0),
+    I2F(0, 134), I2C(0, 146), I2D(0, 135), F2I(0, 139), F2D(0, 141), D2F(0, 144),
+    CHECKCAST(0, 192),
 
     // Objects and arrays
-    NEW(1), NEWARRAY(0), ANEWARRAY(0), MULTIANEWARRAY(0),
-    IALOAD(-1), FALOAD(-1), BALOAD(-1), CALOAD(-1), AALOAD(-1),
-    IASTORE(-3), FASTORE(-3), BASTORE(-3), CASTORE(-3), AASTORE(-3),
+    NEW(1, 187), NEWARRAY(0, 188), ANEWARRAY(0, 189), MULTIANEWARRAY(0, 197),
+    IALOAD(-1, 46), FALOAD(-1, 48), BALOAD(-1, 51), CALOAD(-1, 52), AALOAD(-1, 50),
+    IASTORE(-3, 79), FASTORE(-3, 81), BASTORE(-3, 84), CASTORE(-3, 85), AASTORE(-3, 83),
 
     // Compare and branch
-    IFEQ(-1), IFNE(-1), IFLT(-1), IFLE(-1), IFGT(-1), IFGE(-1),
-    IF_ICMPEQ(-2), IF_ICMPNE(-2), IF_ICMPLT(-2),
-    IF_ICMPLE(-2), IF_ICMPGT(-2), IF_ICMPGE(-2),
-    FCMPG(-1), GOTO(0), LOOKUPSWITCH(-1),
+    IFEQ(-1, 153), IFNE(-1, 154), IFLT(-1, 155), IFLE(-1, 158), IFGT(-1, 157), IFGE(-1, 156),
+    IF_ICMPEQ(-2, 159), IF_ICMPNE(-2, 160), IF_ICMPLT(-2, 161),
+    IF_ICMPLE(-2, 164), IF_ICMPGT(-2, 163), IF_ICMPGE(-2, 162),
+    FCMPG(-1, 150), GOTO(0, 167), LOOKUPSWITCH(-1, 171),
 
     // Call and return
-    INVOKESTATIC(0), INVOKESPECIAL(0),
-    INVOKEVIRTUAL(0), INVOKENONVIRTUAL(0),
-    RETURN(0), IRETURN(-1), FRETURN(-1), ARETURN(-1),
+    INVOKESTATIC(0, 184), INVOKESPECIAL(0, 183),
+    INVOKEVIRTUAL(0, 182), INVOKENONVIRTUAL(0, 183),
+    RETURN(0, 177), IRETURN(-1, 172), FRETURN(-1, 174), ARETURN(-1, 176),
+    ATHROW(-1, 191),
 
     // No operation
-    NOP(0);
+    NOP(0, 0);
 
     public int stackUse;
+    public final int opcode;  // the JVM opcode
 
-    Instruction(int stackUse) {
+    Instruction(int stackUse, int opcode) {
         this.stackUse = stackUse;
+        this.opcode = opcode;
+    }
+
+    /**
+     * Get the conditional branch that branches on the opposite condition.
+     *
+     * @return the branch, or null if this is not a conditional branch.
+     */
+    public Instruction inverse() {
+        return switch (this) {
+            case IFEQ -> IFNE;
+            case IFNE -> IFEQ;
+            case IFLT -> IFGE;
+            case IFGE -> IFLT;
+            case IFGT -> IFLE;
+            case IFLE -> IFGT;
+            case IF_ICMPEQ -> IF_ICMPNE;
+            case IF_ICMPNE -> IF_ICMPEQ;
+            case IF_ICMPLT -> IF_ICMPGE;
+            case IF_ICMPGE -> IF_ICMPLT;
+            case IF_ICMPGT -> IF_ICMPLE;
+            case IF_ICMPLE -> IF_ICMPGT;
+            default -> null;
+        };
     }
 
     /**
@@ -0,0 +1,142 @@
+/**
+ * <h1>InstructionList</h1>
+ * <p>The code of the method being generated, collected between its
+ * .method and .end method directives instead of being written at once,
+ * so that the peephole optimizer can rewrite the method before it goes
+ * to the object file or class file.</p>
+ */
+
+package edu.yu.compilers.backend.compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InstructionList {
+
+    /**
+     * The kinds of entries.
+     */
+    enum Kind {
+        INSTRUCTION, LABEL, SWITCH_LABEL, DIRECTIVE, COMMENT, LINE_NUMBER, BLANK_LINE
+    }
+
+    /**
+     * An entry of the list: what one emit call produced.
+     */
+    static class Entry {
+        final Kind kind;
+        final Instruction instruction;  // of an INSTRUCTION
+        final Directive directive;      // of a DIRECTIVE
+        final Object[] operands;        // String, Integer, Double, or Label values
+        final Label label;              // of a LABEL or SWITCH_LABEL
+        final String text;              // of a COMMENT
+
+        private Entry(Kind kind, Instruction instruction, Directive directive,
+                      Object[] operands, Label label, String text) {
+            this.kind = kind;
+            this.instruction = instruction;
+            this.directive = directive;
+            this.operands = operands;
+            this.label = label;
+            this.text = text;
+        }
+
+        /**
+         * Check whether this entry is code: an instruction or a label.
+         *
+         * @return true if code.
+         */
+        boolean isCode() {
+            return (kind == Kind.INSTRUCTION) || (kind == Kind.LABEL) || (kind == Kind.SWITCH_LABEL);
+        }
+
+        /**
+         * Check whether this entry is a given instruction.
+         *
+         * @param which the instruction.
+         * @return true if it is.
+         */
+        boolean is(Instruction which) {
+            return instruction == which;
+        }
+
+        /**
+         * Get the branch target of a branch instruction.
+         *
+         * @return the target label, or null if not a branch.
+         */
+        Label target() {
+            return ((kind == Kind.INSTRUCTION) && (operands.length == 1)
+                    && (operands[0] instanceof Label)) ? (Label) operands[0] : null;
+        }
+    }
+
+    // Entries of each kind.
+
+    static Entry instruction(Instruction instruction, Object... operands) {
+        return new Entry(Kind.INSTRUCTION, instruction, null, operands, null, null);
+    }
+
+    static Entry label(Label label) {
+        return new Entry(Kind.LABEL, null, null, new Object[0], label, null);
+    }
+
+    static Entry switchLabel(Object value, Label label) {
+        return new Entry(Kind.SWITCH_LABEL, null, null, new Object[] {value}, label, null);
+    }
+
+    static Entry directive(Directive directive, Object... operands) {
+        return new Entry(Kind.DIRECTIVE, null, directive, operands, null, null);
+    }
+
+    static Entry comment(String text) {
+        return new Entry(Kind.COMMENT, null, null, new Object[0], null, text);
+    }
+
+    static Entry lineNumber(int lineNumber) {
+        return new Entry(Kind.LINE_NUMBER, null, null, new Object[] {lineNumber}, null, null);
+    }
+
+    static Entry blankLine() {
+        return new Entry(Kind.BLANK_LINE, null, null, new Object[0], null, null);
+    }
+
+    private ArrayList<Entry> entries;  // null if no method is being collected
+
+    /**
+     * Check whether the code of a method is being collected.
+     *
+     * @return true if it is.
+     */
+    public boolean isOpen() {
+        return entries != null;
+    }
+
+    /**
+     * Start collecting the code of a method.
+     */
+    public void open() {
+        entries = new ArrayList<>();
+    }
+
+    /**
+     * Add an entry to the method's code.
+     *
+     * @param entry the entry.
+     */
+    void add(Entry entry) {
+        entries.add(entry);
+    }
+
+    /**
+     * Stop collecting the method's code.
+     *
+     * @return the method's code after the peephole optimizer.
+     */
+    List<Entry> close() {
+        List<Entry> code = PeepholeOptimizer.optimize(entries);
+        entries = null;
+
+        return code;
+    }
+}
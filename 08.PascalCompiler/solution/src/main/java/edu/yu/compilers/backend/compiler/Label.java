@@ -7,14 +7,15 @@ package edu.yu.compilers.backend.compiler;
  * <p>Copyright (c) 2020 by Ronald Mak</p>
  */
 public class Label {
-    private static int index = 0;  // index for generating label strings
     private final String label;          // the label string
 
     /**
      * Constructor.
+     *
+     * @param index the index for generating the label string.
      */
-    public Label() {
-        this.label = "L" + String.format("%03d", ++index);
+    public Label(int index) {
+        this.label = "L" + String.format("%03d", index);
     }
 
     /**
@@ -0,0 +1,137 @@
+/**
+ * <h1>ObjectCode</h1>
+ * <p>The Jasmin object code of a compiled program kept in memory, one
+ * buffer per class instead of one .j file per class, and its assembly
+ * into class files. Or, for direct emission, the class file emitter of
+ * each class, which need no assembly.</p>
+ */
+
+package edu.yu.compilers.backend.compiler;
+
+import jasmin.ClassFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class ObjectCode {
+    private final LinkedHashMap<String, StringWriter> objectFiles;  // by class name
+    private final LinkedHashMap<String, ClassFileEmitter> classFiles;  // by class name
+    private final boolean direct;           // emit class files directly
+    private final String sourceFileName;    // for direct emission, or null
+
+    /**
+     * Constructor.
+     */
+    public ObjectCode() {
+        this(false, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param direct         true to emit class files directly instead of Jasmin.
+     * @param sourceFileName the name of the source file recorded in the class files,
+     *                       or null.
+     */
+    public ObjectCode(boolean direct, String sourceFileName) {
+        this.objectFiles = new LinkedHashMap<>();
+        this.classFiles = new LinkedHashMap<>();
+        this.direct = direct;
+        this.sourceFileName = sourceFileName;
+    }
+
+    /**
+     * Check whether the class files are emitted directly.
+     *
+     * @return true if directly, false if assembled from Jasmin.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Create the object file of a class.
+     *
+     * @param className the class name, which may be a record type path.
+     * @return the print writer of the object file.
+     */
+    PrintWriter newObjectFile(String className) {
+        StringWriter objectFile = new StringWriter();
+        objectFiles.put(className, objectFile);
+
+        return new PrintWriter(objectFile);
+    }
+
+    /**
+     * Create the class file emitter of a class.
+     *
+     * @param className the class name, which may be a record type path.
+     * @return the emitter.
+     */
+    ClassFileEmitter newClassFile(String className) {
+        ClassFileEmitter classFile = new ClassFileEmitter(sourceFileName);
+        classFiles.put(className, classFile);
+
+        return classFile;
+    }
+
+    /**
+     * Get the names of the classes, the program's first.
+     *
+     * @return the names.
+     */
+    public Set<String> getClassNames() {
+        return direct ? classFiles.keySet() : objectFiles.keySet();
+    }
+
+    /**
+     * Get the Jasmin object code of a class.
+     *
+     * @param className the class name.
+     * @return the object code.
+     */
+    public String getJasmin(String className) {
+        return objectFiles.get(className).toString();
+    }
+
+    /**
+     * Assemble the object code of each class,
+     * or get the class files that were emitted directly.
+     *
+     * @return the class files by binary class name, the program's first.
+     * @throws Exception if the object code of a class has errors.
+     */
+    public Map<String, byte[]> assemble() throws Exception {
+        LinkedHashMap<String, byte[]> classFiles = new LinkedHashMap<>();
+
+        if (direct) {
+            for (Map.Entry<String, ClassFileEmitter> entry : this.classFiles.entrySet()) {
+                classFiles.put(entry.getKey().replace('/', '.'), entry.getValue().toByteArray());
+            }
+
+            return classFiles;
+        }
+
+        for (String className : objectFiles.keySet()) {
+            ClassFile classFile = new ClassFile();
+            classFile.readJasmin(new StringReader(getJasmin(className)), className, true);
+
+            if (classFile.errorCount() > 0) {
+                throw new IOException(String.format("%d Jasmin errors in class %s",
+                                                    classFile.errorCount(), className));
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            classFile.write(bytes);
+            classFiles.put(classFile.getClassName().replace('/', '.'), bytes.toByteArray());
+        }
+
+        return classFiles;
+    }
+}
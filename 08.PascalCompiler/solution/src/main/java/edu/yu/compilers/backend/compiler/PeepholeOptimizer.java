@@ -0,0 +1,364 @@
+/**
+ * <h1>PeepholeOptimizer</h1>
+ * <p>Rewrite short sequences of the generated code of a method:</p>
+ * <ul>
+ * <li>A comparison whose boolean value is materialized only to be
+ * tested, cond L1; iconst_0; goto L2; L1: iconst_1; L2: ifne L3,
+ * becomes cond L3 (or the inverse condition for ifeq).</li>
+ * <li>A boolean not that is tested, iconst_1; ixor; ifeq L,
+ * becomes ifne L.</li>
+ * <li>A conditional branch over a goto, cond L1; goto L2; L1:,
+ * becomes the inverse condition to L2.</li>
+ * <li>A branch to a goto is retargeted to the goto's target.</li>
+ * <li>A goto to the label that follows it is removed.</li>
+ * <li>iload n; iconst k; iadd; istore n becomes iinc n k,
+ * and likewise for isub and for bipush and sipush constants.</li>
+ * </ul>
+ * <p>Labels that are no longer branch targets are removed.</p>
+ */
+
+package edu.yu.compilers.backend.compiler;
+
+import edu.yu.compilers.backend.compiler.InstructionList.Entry;
+import edu.yu.compilers.backend.compiler.InstructionList.Kind;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static edu.yu.compilers.backend.compiler.Instruction.*;
+
+public class PeepholeOptimizer {
+    private static final int MAX_PASSES = 8;
+
+    private final ArrayList<Entry> code;                          // deleted entries are null
+    private final HashMap<Label, Integer> references = new HashMap<>();  // by branch target
+    private final HashMap<Label, Integer> positions = new HashMap<>();   // of the labels
+
+    private PeepholeOptimizer(List<Entry> code) {
+        this.code = new ArrayList<>(code);
+    }
+
+    /**
+     * Optimize the code of a method.
+     *
+     * @param code the method's code.
+     * @return the optimized code.
+     */
+    static List<Entry> optimize(List<Entry> code) {
+        PeepholeOptimizer optimizer = new PeepholeOptimizer(code);
+        boolean changed = true;
+
+        for (int pass = 0; changed && (pass < MAX_PASSES); pass++) {
+            changed = optimizer.pass();
+        }
+
+        return optimizer.code;
+    }
+
+    /**
+     * Make one pass over the code.
+     *
+     * @return true if the code changed.
+     */
+    private boolean pass() {
+        boolean changed = false;
+
+        references.clear();
+        positions.clear();
+
+        for (int i = 0; i < code.size(); i++) {
+            Entry entry = code.get(i);
+
+            if ((entry.kind == Kind.LABEL) && !positions.containsKey(entry.label)) {
+                positions.put(entry.label, i);
+            }
+            if (entry.kind == Kind.SWITCH_LABEL) reference(entry.label, 1);
+            else if (entry.target() != null) reference(entry.target(), 1);
+        }
+
+        for (int i = 0; i < code.size(); i++) {
+            Entry entry = code.get(i);
+            if ((entry == null) || (entry.kind != Kind.INSTRUCTION)) continue;
+
+            changed |= foldBooleanTest(i) || foldNotTest(i) || foldBranchOverGoto(i)
+                       || threadBranch(i) || removeGotoNext(i) || foldIncrement(i);
+        }
+
+        // Remove deleted entries and the labels that are no longer targets.
+        ArrayList<Entry> kept = new ArrayList<>();
+        for (Entry entry : code) {
+            if ((entry == null) || ((entry.kind == Kind.LABEL) && !references.containsKey(entry.label))) {
+                changed |= (entry != null);
+                continue;
+            }
+
+            kept.add(entry);
+        }
+
+        code.clear();
+        code.addAll(kept);
+
+        return changed;
+    }
+
+    /**
+     * cond L1; iconst_0; goto L2; L1: iconst_1; L2: ifne|ifeq L3
+     * becomes cond L3 or its inverse.
+     */
+    private boolean foldBooleanTest(int i) {
+        int[] at = codeAt(i, 7);
+        if (at == null) return false;
+
+        Entry branch = code.get(at[0]);
+        Entry test = code.get(at[6]);
+        Label trueLabel = branch.target();
+
+        if ((branch.instruction.inverse() == null)
+                || !code.get(at[1]).is(ICONST_0)
+                || !code.get(at[2]).is(GOTO)
+                || !isLabel(at[3], trueLabel)
+                || !code.get(at[4]).is(ICONST_1)
+                || !isLabel(at[5], code.get(at[2]).target())
+                || !(test.is(IFNE) || test.is(IFEQ))
+                || (references(trueLabel) != 1)
+                || (references(code.get(at[2]).target()) != 1)) {
+            return false;
+        }
+
+        Instruction folded = test.is(IFNE) ? branch.instruction : branch.instruction.inverse();
+        replace(at[0], InstructionList.instruction(folded, test.target()));
+        for (int k = 1; k < 7; k++) delete(at[k]);
+
+        return true;
+    }
+
+    /**
+     * iconst_1; ixor; ifeq|ifne L becomes ifne|ifeq L.
+     */
+    private boolean foldNotTest(int i) {
+        int[] at = codeAt(i, 3);
+        if (at == null) return false;
+
+        Entry test = code.get(at[2]);
+
+        if (!code.get(at[0]).is(ICONST_1) || !code.get(at[1]).is(IXOR)
+                || !(test.is(IFEQ) || test.is(IFNE))) {
+            return false;
+        }
+
+        delete(at[0]);
+        delete(at[1]);
+        replace(at[2], InstructionList.instruction(test.instruction.inverse(), test.target()));
+
+        return true;
+    }
+
+    /**
+     * cond L1; goto L2; L1: becomes the inverse of cond to L2; L1:.
+     */
+    private boolean foldBranchOverGoto(int i) {
+        int[] at = codeAt(i, 3);
+        if (at == null) return false;
+
+        Entry branch = code.get(at[0]);
+        Entry jump = code.get(at[1]);
+
+        if ((branch.instruction.inverse() == null) || !jump.is(GOTO)
+                || !isLabel(at[2], branch.target())) {
+            return false;
+        }
+
+        replace(at[0], InstructionList.instruction(branch.instruction.inverse(), jump.target()));
+        delete(at[1]);
+
+        return true;
+    }
+
+    /**
+     * A branch to L where L: goto M is retargeted to M.
+     */
+    private boolean threadBranch(int i) {
+        Entry branch = code.get(i);
+        Label target = branch.target();
+        if (target == null) return false;
+
+        Integer position = positions.get(target);
+        if ((position == null) || (code.get(position) == null)) return false;
+
+        int next = nextCode(position);
+        while ((next >= 0) && (code.get(next).kind == Kind.LABEL)) next = nextCode(next);
+        if ((next < 0) || (next == i) || !code.get(next).is(GOTO)) return false;
+
+        Label newTarget = code.get(next).target();
+        if (newTarget == target) return false;
+
+        replace(i, InstructionList.instruction(branch.instruction, newTarget));
+        return true;
+    }
+
+    /**
+     * goto L; L: drops the goto.
+     */
+    private boolean removeGotoNext(int i) {
+        Entry jump = code.get(i);
+        if (!jump.is(GOTO)) return false;
+
+        for (int next = nextCode(i); next >= 0; next = nextCode(next)) {
+            Entry entry = code.get(next);
+            if (entry.kind != Kind.LABEL) return false;
+
+            if (entry.label == jump.target()) {
+                delete(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * iload n; const k; iadd|isub; istore n becomes iinc n k|-k.
+     */
+    private boolean foldIncrement(int i) {
+        int[] at = codeAt(i, 4);
+        if (at == null) return false;
+
+        int slot = localSlot(code.get(at[0]), true);
+        Integer constant = constant(code.get(at[1]));
+        Entry operation = code.get(at[2]);
+
+        if ((slot < 0) || (slot > 255) || (constant == null)
+                || !(operation.is(IADD) || operation.is(ISUB))
+                || (localSlot(code.get(at[3]), false) != slot)) {
+            return false;
+        }
+
+        int increment = operation.is(IADD) ? constant : -constant;
+        if ((increment < Byte.MIN_VALUE) || (increment > Byte.MAX_VALUE)) return false;
+
+        replace(at[0], InstructionList.instruction(IINC, slot, increment));
+        for (int k = 1; k < 4; k++) delete(at[k]);
+
+        return true;
+    }
+
+    // =========
+    // Utilities
+    // =========
+
+    /**
+     * Find consecutive code entries, skipping comments and line numbers.
+     *
+     * @param i     the index of the first entry.
+     * @param count the number of code entries.
+     * @return their indexes, or null if there are fewer.
+     */
+    private int[] codeAt(int i, int count) {
+        int[] at = new int[count];
+        at[0] = i;
+
+        for (int k = 1; k < count; k++) {
+            at[k] = nextCode(at[k - 1]);
+            if (at[k] < 0) return null;
+        }
+
+        return at;
+    }
+
+    /**
+     * Find the next code entry.
+     *
+     * @param i the index of an entry.
+     * @return the index of the next code entry, or -1 if none.
+     */
+    private int nextCode(int i) {
+        for (int next = i + 1; next < code.size(); next++) {
+            Entry entry = code.get(next);
+
+            if (entry == null) continue;
+            if (entry.kind == Kind.DIRECTIVE) return -1;  // .limit, .end method
+            if (entry.isCode()) return next;
+        }
+
+        return -1;
+    }
+
+    private boolean isLabel(int i, Label label) {
+        Entry entry = code.get(i);
+        return (entry.kind == Kind.LABEL) && (entry.label == label);
+    }
+
+    private int references(Label label) {
+        return references.getOrDefault(label, 0);
+    }
+
+    private void reference(Label label, int delta) {
+        int count = references(label) + delta;
+
+        if (count > 0) references.put(label, count);
+        else references.remove(label);
+    }
+
+    /**
+     * Replace an entry, updating the reference counts of the branch targets.
+     */
+    private void replace(int i, Entry entry) {
+        if (code.get(i).target() != null) reference(code.get(i).target(), -1);
+        if (entry.target() != null) reference(entry.target(), 1);
+
+        code.set(i, entry);
+    }
+
+    /**
+     * Delete an entry, updating the reference counts of the branch targets.
+     */
+    private void delete(int i) {
+        if (code.get(i).target() != null) reference(code.get(i).target(), -1);
+
+        code.set(i, null);
+    }
+
+    /**
+     * Get the local slot of an integer load or store.
+     *
+     * @param entry the entry.
+     * @param load  true for a load, false for a store.
+     * @return the slot, or -1 if not such an instruction.
+     */
+    private static int localSlot(Entry entry, boolean load) {
+        if (entry.kind != Kind.INSTRUCTION) return -1;
+
+        Instruction instruction = entry.instruction;
+
+        if (instruction == (load ? ILOAD : ISTORE)) return (Integer) entry.operands[0];
+        if (instruction == (load ? ILOAD_0 : ISTORE_0)) return 0;
+        if (instruction == (load ? ILOAD_1 : ISTORE_1)) return 1;
+        if (instruction == (load ? ILOAD_2 : ISTORE_2)) return 2;
+        if (instruction == (load ? ILOAD_3 : ISTORE_3)) return 3;
+
+        return -1;
+    }
+
+    /**
+     * Get the value of an integer constant load.
+     *
+     * @param entry the entry.
+     * @return the value, or null if not a constant load.
+     */
+    private static Integer constant(Entry entry) {
+        if (entry.kind != Kind.INSTRUCTION) return null;
+
+        return switch (entry.instruction) {
+            case ICONST_M1 -> -1;
+            case ICONST_0 -> 0;
+            case ICONST_1 -> 1;
+            case ICONST_2 -> 2;
+            case ICONST_3 -> 3;
+            case ICONST_4 -> 4;
+            case ICONST_5 -> 5;
+            case BIPUSH, SIPUSH -> (Integer) entry.operands[0];
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * <h1>ProgramClassLoader</h1>
+ * <p>Class loader for the classes of one compiled program, the program
+ * class and its record classes, from class files in memory. It defines
+ * those classes itself rather than delegating, since a program can have
+ * the name of a class on the class path.</p>
+ */
+
+package edu.yu.compilers.backend.compiler;
+
+import java.util.Map;
+
+public class ProgramClassLoader extends ClassLoader {
+    private final Map<String, byte[]> classFiles;  // by binary class name
+
+    /**
+     * Constructor.
+     *
+     * @param classFiles the class files by binary class name.
+     */
+    public ProgramClassLoader(Map<String, byte[]> classFiles) {
+        super(ProgramClassLoader.class.getClassLoader());
+        this.classFiles = classFiles;
+    }
+
+    /**
+     * Load, link, and initialize each of the program's classes, which
+     * verifies their bytecode.
+     *
+     * @return the program class, whose class file is the first.
+     * @throws ClassNotFoundException if there are no classes.
+     */
+    public Class<?> loadAll() throws ClassNotFoundException {
+        Class<?> programClass = null;
+
+        for (String className : classFiles.keySet()) {
+            Class<?> loaded = Class.forName(className, true, this);
+            if (programClass == null) programClass = loaded;
+        }
+
+        if (programClass == null) throw new ClassNotFoundException("no program class");
+        return programClass;
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+        byte[] bytes = classFiles.get(name);
+        if (bytes == null) return super.loadClass(name, resolve);
+
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) loaded = defineClass(name, bytes, 0, bytes.length);
+        if (resolve) resolveClass(loaded);
+
+        return loaded;
+    }
+}
@@ -8,6 +8,7 @@ import edu.yu.compilers.intermediate.type.Typespec;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import static edu.yu.compilers.backend.compiler.Directive.*;
 import static edu.yu.compilers.backend.compiler.Instruction.*;
@@ -16,6 +17,8 @@ import static edu.yu.compilers.intermediate.type.Typespec.Form.RECORD;
 
 
 public class ProgramGenerator extends CodeGenerator {
+    public static final String CALLS_LEFT_FIELD = "_callsLeft";  // of a routine class
+
     private final int programLocalsCount;  // count of program local variables
     private SymTableEntry programId;   // symbol table entry of the program name
 
@@ -56,6 +59,26 @@ public class ProgramGenerator extends CodeGenerator {
         emitMainMethod(ctx);
     }
 
+    /**
+     * Emit a class that contains only the given routines,
+     * without the program's variables and main method, but with
+     * the count of calls left before the maximum call depth.
+     *
+     * @param routineCtxs the RoutineDefinitionContexts of the routines.
+     */
+    public void emitRoutineClass(List<PascalParser.RoutineDefinitionContext> routineCtxs) {
+        emitDirective(CLASS_PUBLIC, programName);
+        emitDirective(SUPER, "java/lang/Object");
+        emitLine();
+        emitDirective(FIELD_PRIVATE_STATIC, CALLS_LEFT_FIELD, "I");
+
+        for (PascalParser.RoutineDefinitionContext defnCtx : routineCtxs) {
+            new Compiler(compiler).visit(defnCtx);
+        }
+
+        close();  // the object file
+    }
+
     /**
      * Create a new compiler instance for a record.
      *
@@ -65,7 +88,7 @@ public class ProgramGenerator extends CodeGenerator {
         for (SymTableEntry id : SymTable.sortedEntries()) {
             if ((id.getKind() == TYPE) && (id.getType().getForm() == RECORD)) {
                 try {
-                    new Compiler(id, this.compiler.getOutputPath());
+                    new Compiler(id, this.compiler);
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
@@ -234,16 +257,21 @@ public class ProgramGenerator extends CodeGenerator {
         emitRoutineHeader(routineId);
         emitRoutineLocals(routineId);
 
+        // The routine's temporaries follow its parameters and variables.
+        localVariables = new LocalVariables(routineSymTable.getMaxSlotNumber());
+
         // Generate code to allocate any arrays, records, and strings.
         StructuredDataGenerator structuredCode = new StructuredDataGenerator(this, compiler);
         structuredCode.emitData(routineId);
 
-        localVariables = new LocalVariables(routineSymTable.getMaxSlotNumber());
+        if (compiler.isCountingCalls()) emitCallCountDown();
 
         // Emit code for the compound statement.
         PascalParser.CompoundStatementContext stmtCtx = (PascalParser.CompoundStatementContext) routineId.getExecutable();
         compiler.visit(stmtCtx);
 
+        if (compiler.isCountingCalls()) emitCallCountUp();
+
         emitRoutineReturn(routineId);
         emitRoutineEpilogue();
     }
@@ -304,6 +332,41 @@ public class ProgramGenerator extends CodeGenerator {
         }
     }
 
+    /**
+     * Emit code to count down the calls left at the routine's entry,
+     * or to throw a StackOverflowError if there are none left.
+     */
+    private void emitCallCountDown() {
+        String field = programName + "/" + CALLS_LEFT_FIELD;
+        Label callLabel = compiler.newLabel();
+
+        emitLine();
+        emit(GETSTATIC, field, "I");
+        emit(IFGT, callLabel);
+        emit(NEW, "java/lang/StackOverflowError");
+        emit(DUP);
+        emit(INVOKESPECIAL, "java/lang/StackOverflowError/<init>()V");
+        emit(ATHROW);
+        emitLabel(callLabel);
+        emit(GETSTATIC, field, "I");
+        emit(ICONST_1);
+        emit(ISUB);
+        emit(PUTSTATIC, field, "I");
+    }
+
+    /**
+     * Emit code to count the call back up when the routine returns.
+     */
+    private void emitCallCountUp() {
+        String field = programName + "/" + CALLS_LEFT_FIELD;
+
+        emitLine();
+        emit(GETSTATIC, field, "I");
+        emit(ICONST_1);
+        emit(IADD);
+        emit(PUTSTATIC, field, "I");
+    }
+
     /**
      * Emit the routine's return code.
      *
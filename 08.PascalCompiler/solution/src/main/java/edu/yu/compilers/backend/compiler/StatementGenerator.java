@@ -12,6 +12,7 @@ import edu.yu.compilers.intermediate.symtable.Predefined;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 import edu.yu.compilers.intermediate.type.Typespec;
 import edu.yu.compilers.intermediate.type.Typespec.Form;
+import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.util.*;
 
@@ -82,18 +83,17 @@ public class StatementGenerator extends CodeGenerator {
      */
     public void emitIf(PascalParser.IfStatementContext ctx) {
         /***** Complete this method. *****/
-        Label nextLabel = new Label();
-        compiler.visit(ctx.expression());
+        Label nextLabel = compiler.newLabel();
         if (ctx.ELSE() != null) {
-            Label falseLabel = new Label();
-            emit(IFEQ, falseLabel);
+            Label falseLabel = compiler.newLabel();
+            compiler.compileCondition(ctx.expression(), falseLabel, false);
             compiler.visit(ctx.trueStatement());
             emit(GOTO, nextLabel);
             emitLabel(falseLabel);
             compiler.visit(ctx.falseStatement());
             emitLabel(nextLabel);
         } else {
-            emit(IFEQ, nextLabel);
+            compiler.compileCondition(ctx.expression(), nextLabel, false);
             compiler.visit(ctx.trueStatement());
         }
         emitLabel(nextLabel);
@@ -115,7 +115,7 @@ public class StatementGenerator extends CodeGenerator {
         Map<PascalParser.StatementContext, Label> statementToLabel = new HashMap<>();
         for (PascalParser.StatementContext s : ctx.jumpTable.values()) {
             if (!statementToLabel.containsKey(s)) {
-                Label l = new Label();
+                Label l = compiler.newLabel();
                 statementToLabel.put(s, l);
             }
         }
@@ -144,7 +144,7 @@ public class StatementGenerator extends CodeGenerator {
         for (Integer i : constantsSorted) {
             emitLabel(i, statementToLabel.get(tempJumpTable.get(i)));
         }
-        Label defaultLabel = new Label();
+        Label defaultLabel = compiler.newLabel();
         emitLabel("default", defaultLabel);
         for (PascalParser.StatementContext s : statementToLabel.keySet()) {
             emitLabel(statementToLabel.get(s));
@@ -161,17 +161,12 @@ public class StatementGenerator extends CodeGenerator {
      * @param ctx the RepeatStatementContext.
      */
     public void emitRepeat(PascalParser.RepeatStatementContext ctx) {
-        Label loopTopLabel = new Label();
-        Label loopExitLabel = new Label();
+        Label loopTopLabel = compiler.newLabel();
 
         emitLabel(loopTopLabel);
 
         compiler.visit(ctx.statementList());
-        compiler.visit(ctx.expression());
-        emit(IFNE, loopExitLabel);
-        emit(GOTO, loopTopLabel);
-
-        emitLabel(loopExitLabel);
+        compiler.compileCondition(ctx.expression(), loopTopLabel, false);
     }
 
     /**
@@ -181,13 +176,12 @@ public class StatementGenerator extends CodeGenerator {
      */
     public void emitWhile(PascalParser.WhileStatementContext ctx) {
         /***** Complete this method. *****/
-        Label loopTopLabel = new Label();
-        Label loopExitLabel = new Label();
+        Label loopTopLabel = compiler.newLabel();
+        Label loopExitLabel = compiler.newLabel();
 
         emitLabel(loopTopLabel);
 
-        compiler.visit(ctx.expression());
-        emit(IFEQ, loopExitLabel);
+        compiler.compileCondition(ctx.expression(), loopExitLabel, false);
         compiler.visit(ctx.statement());
         emit(GOTO, loopTopLabel);
 
@@ -195,85 +189,98 @@ public class StatementGenerator extends CodeGenerator {
     }
 
     /**
-     * Emit code for a FOR statement.
+     * Emit code for a FOR statement. The final value is evaluated once
+     * into a local variable. A program variable as the control variable
+     * is held in a local variable during the loop and stored back to its
+     * field afterwards, unless the body calls a routine that could use it.
      *
      * @param ctx the ForStatementContext.
      */
     public void emitFor(PascalParser.ForStatementContext ctx) {
-        /***** Complete this method. *****/
-        emitForAssign(ctx);
-        Label topLabel = new Label();
-        // emit topLabel
-        emitLabel(topLabel);
-        // evaluate boolean
-        // if TO VS DOWN
-        emitLoadValue(ctx.variable().entry);
+        PascalParser.VariableContext varCtx = ctx.variable();
+        SymTableEntry controlId = varCtx.entry;
+        LocalVariables locals = compiler.getLocalVariables();
+        Label topLabel = compiler.newLabel();
+        Label exitLabel = compiler.newLabel();
+
+        // Evaluate the initial and final values before assigning either.
+        int stopSlot = locals.reserve();
+        compiler.visit(ctx.expression(0));
         compiler.visit(ctx.expression(1));
-        Label continueLabel = new Label(); // L003
-        if (ctx.TO() != null) {
-            emit(IF_ICMPGT, continueLabel);
-        } else {
-            emit(IF_ICMPLT, continueLabel);
-        }
-        emit(ICONST_0);
-        Label endForLabel = new Label();
-        emit(GOTO, endForLabel);
-        emitLabel(continueLabel);
-        emit(ICONST_1);
-        emitLabel(endForLabel);
-        Label goodbyeForLoop = new Label();
-        emit(IFNE, goodbyeForLoop);
-        compiler.visit(ctx.statement());
-        emitLoadValue(ctx.variable().entry);
-        emit(ICONST_1);
-        if (ctx.TO() != null) {
-            emit(IADD);
-        } else {
-            emit(ISUB);
+        emitStoreLocal(Predefined.integerType, stopSlot);
+
+        Integer controlSlot = null;
+        if (isHeldInLocal(varCtx) && !callsRoutine(ctx.statement())) {
+            controlSlot = locals.reserve();
+            compiler.setVariableSlot(controlId, controlSlot);
         }
-        emitStoreValue(ctx.variable().entry, ctx.variable().type);
-        emit(GOTO, topLabel);
-        emitLabel(goodbyeForLoop);
-    }
 
-    private void emitForAssign(PascalParser.ForStatementContext ctx) {
-        PascalParser.VariableContext varCtx = ctx.variable();
-        PascalParser.ExpressionContext exprCtx = ctx.expression(0);
-        SymTableEntry varId = varCtx.entry;
-        Typespec varType = varCtx.type;
-        Typespec exprType = exprCtx.type;
+        emitStoreValue(controlId, varCtx.type);
 
-        // The last modifier, if any, is the variable's last subscript or field.
-        int modifierCount = varCtx.modifier().size();
-        PascalParser.ModifierContext lastModCtx = modifierCount == 0 ? null : varCtx.modifier().get(modifierCount - 1);
+        // Loop test.
+        emitLabel(topLabel);
+        emitLoadValue(controlId);
+        emitLoadLocal(Predefined.integerType, stopSlot);
+        emit(ctx.TO() != null ? IF_ICMPGT : IF_ICMPLT, exitLabel);
 
-        // The target variable has subscripts and/or fields.
-        if (modifierCount > 0) {
-            lastModCtx = varCtx.modifier().get(modifierCount - 1);
-            compiler.visit(varCtx);
-        }
+        compiler.visit(ctx.statement());
 
-        // Emit code to evaluate the expression.
-        compiler.visit(exprCtx);
+        // Next value.
+        emitLoadValue(controlId);
+        emit(ICONST_1);
+        emit(ctx.TO() != null ? IADD : ISUB);
+        emitStoreValue(controlId, varCtx.type);
+        emit(GOTO, topLabel);
+        emitLabel(exitLabel);
+
+        // Store the control variable back to its field.
+        if (controlSlot != null) {
+            compiler.setVariableSlot(controlId, null);
+            emitLoadLocal(Predefined.integerType, controlSlot);
+            emitStoreValue(controlId, varCtx.type);
+            locals.release(controlSlot);
+        }
 
-        // float variable := integer constant
-        if ((varType == Predefined.realType) && (exprType.baseType() == Predefined.integerType))
-            emit(I2F);
+        locals.release(stopSlot);
+    }
 
-        // Emit code to store the expression value into the target variable.
-        // The target variable has no subscripts or fields.
-        if (lastModCtx == null)
-            emitStoreValue(varId, varId.getType());
+    /**
+     * Check whether a FOR statement's control variable can be held in a
+     * local variable: an unmodified integer or character program variable
+     * that is not already held by an enclosing FOR statement.
+     *
+     * @param varCtx the VariableContext of the control variable.
+     * @return true if it can.
+     */
+    private boolean isHeldInLocal(PascalParser.VariableContext varCtx) {
+        SymTableEntry controlId = varCtx.entry;
+        Typespec type = controlId.getType().baseType();
+
+        return varCtx.modifier().isEmpty()
+                && (controlId.getSymTable().getNestingLevel() == 1)
+                && (compiler.getVariableSlot(controlId) == null)
+                && ((type == Predefined.integerType) || (type == Predefined.charType));
+    }
 
-        // The target variable is a field.
-        else if (lastModCtx.field() != null) {
-            emitStoreValue(lastModCtx.field().entry, lastModCtx.field().type);
+    /**
+     * Check whether a statement calls a declared procedure or function.
+     *
+     * @param tree the parse tree of the statement.
+     * @return true if it does.
+     */
+    private static boolean callsRoutine(ParseTree tree) {
+        if (tree instanceof PascalParser.ProcedureCallStatementContext) return true;
+        if ((tree instanceof PascalParser.FunctionCallContext)
+                && (((PascalParser.FunctionCallContext) tree).functionName().entry.getRoutineCode()
+                    == SymTableEntry.Routine.DECLARED)) {
+            return true;
         }
 
-        // The target variable is an array element.
-        else {
-            emitStoreValue(null, varType);
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (callsRoutine(tree.getChild(i))) return true;
         }
+
+        return false;
     }
 
     /**
@@ -293,7 +300,85 @@ public class StatementGenerator extends CodeGenerator {
      */
     public void emitFunctionCall(PascalParser.FunctionCallContext ctx) {
         /***** Complete this method. *****/
-        emitCall(ctx.functionName().entry, ctx.argumentList());
+        SymTableEntry functionId = ctx.functionName().entry;
+
+        if (functionId.getRoutineCode() != SymTableEntry.Routine.DECLARED) {
+            emitStandardFunctionCall(functionId, ctx.argumentList().argument(0).expression());
+        } else {
+            emitCall(functionId, ctx.argumentList());
+        }
+    }
+
+    /**
+     * Emit inline code for a call to a standard function. Real values
+     * are floats, so a java.lang.Math function that takes a double gets
+     * its argument converted and its value converted back.
+     *
+     * @param functionId the function name's symbol table entry.
+     * @param argCtx     the ExpressionContext of the argument.
+     */
+    private void emitStandardFunctionCall(SymTableEntry functionId,
+                                          PascalParser.ExpressionContext argCtx) {
+        Typespec argType = argCtx.type.baseType();
+        boolean real = argType == Predefined.realType;
+
+        compiler.visitExpression(argCtx);
+
+        switch (functionId.getRoutineCode()) {
+            case ABS -> emit(INVOKESTATIC, real ? "java/lang/Math/abs(F)F" : "java/lang/Math/abs(I)I");
+            case SQR -> {
+                emit(DUP);
+                emit(real ? FMUL : IMUL);
+            }
+            case ARCTAN -> emitMathCall(real, "atan");
+            case COS -> emitMathCall(real, "cos");
+            case EXP -> emitMathCall(real, "exp");
+            case LN -> emitMathCall(real, "log");
+            case SIN -> emitMathCall(real, "sin");
+            case SQRT -> emitMathCall(real, "sqrt");
+            case CHR -> emit(I2C);
+            case ODD -> {
+                emit(ICONST_1);
+                emit(IAND);
+            }
+            case ORD -> {
+            }
+            case PRED, SUCC -> {
+                emit(ICONST_1);
+                emit(functionId.getRoutineCode() == SymTableEntry.Routine.SUCC ? IADD : ISUB);
+                if (argType == Predefined.charType) emit(I2C);
+            }
+            case ROUND -> {
+                // Round half away from zero: round(abs(x))*sign(x)
+                if (!real) break;
+                emit(DUP);
+                emit(INVOKESTATIC, "java/lang/Math/abs(F)F");
+                emit(INVOKESTATIC, "java/lang/Math/round(F)I");
+                emit(SWAP);
+                emit(INVOKESTATIC, "java/lang/Math/signum(F)F");
+                emit(F2I);
+                emit(IMUL);
+            }
+            case TRUNC -> {
+                if (real) emit(F2I);
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Emit a call to a java.lang.Math function of a double.
+     *
+     * @param real true if the argument is real, false if integer.
+     * @param name the function name.
+     */
+    private void emitMathCall(boolean real, String name) {
+        emit(real ? F2D : I2D);
+        localStack.increase(1);
+        emit(INVOKESTATIC, "java/lang/Math/" + name + "(D)D");
+        emit(D2F);
+        localStack.decrease(1);
     }
 
     /**
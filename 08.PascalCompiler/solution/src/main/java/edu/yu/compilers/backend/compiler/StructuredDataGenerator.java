@@ -128,8 +128,8 @@ public class StructuredDataGenerator extends CodeGenerator {
     private void emitAllocateArrayElements(SymTableEntry targetId, Typespec elmtType, int dimensionIndex, int dimensionCount) {
         int count = elmtType.getArrayElementCount();
         int tempIndex = localVariables.reserve();  // temporary loop variable
-        Label loopStartLabel = new Label();
-        Label loopExitLabel = new Label();
+        Label loopStartLabel = compiler.newLabel();
+        Label loopExitLabel = compiler.newLabel();
 
         // Initialize temporary variable to 0.
         emitLoadConstant(0);
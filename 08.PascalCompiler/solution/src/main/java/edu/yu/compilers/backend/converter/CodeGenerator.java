@@ -6,12 +6,7 @@ import java.io.PrintWriter;
  * Emit code for the Pascal-to-Java converter.
  */
 public class CodeGenerator {
-    private static String blanks;    // 80 blanks
-
-    static {
-        blanks = "";
-        for (int i = 0; i < 8; i++) blanks += "          ";
-    }
+    private static final String blanks = " ".repeat(80);  // 80 blanks
 
     private final PrintWriter objectFile;
     private int length;          // length of the code line
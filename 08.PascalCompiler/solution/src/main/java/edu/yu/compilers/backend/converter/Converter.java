@@ -11,6 +11,7 @@ import edu.yu.compilers.intermediate.type.Typespec.Form;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Hashtable;
+import java.util.LinkedHashSet;
 
 import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
 import static edu.yu.compilers.intermediate.type.Typespec.Form.*;
@@ -39,6 +40,9 @@ public class Converter extends PascalBaseVisitor<Object> {
     private boolean recordFields = false;
     private String currentSeparator = "";
 
+    // Methods that the converted standard function calls use.
+    private final LinkedHashSet<String> helperMethods = new LinkedHashSet<>();
+
     public String getProgramName() {
         return programName;
     }
@@ -78,6 +82,10 @@ public class Converter extends PascalBaseVisitor<Object> {
         code.dedent();
         code.emitLine("}");
 
+        // Helper methods of standard functions.
+        if (!helperMethods.isEmpty()) code.emitLine();
+        for (String method : helperMethods) code.emitLine(method);
+
         code.dedent();
         code.emitLine("}");
 
@@ -919,6 +927,11 @@ public class Converter extends PascalBaseVisitor<Object> {
         PascalParser.FunctionNameContext funcNameCtx = callCtx.functionName();
         String functionName = funcNameCtx.entry.getName();
 
+        if (funcNameCtx.entry.getRoutineCode() != SymTableEntry.Routine.DECLARED) {
+            return convertStandardFunctionCall(funcNameCtx.entry,
+                    callCtx.argumentList().argument(0).expression());
+        }
+
         String text = functionName + "(";
 
         if (callCtx.argumentList() != null) {
@@ -929,6 +942,56 @@ public class Converter extends PascalBaseVisitor<Object> {
         return text;
     }
 
+    /**
+     * Convert a call to a standard function into a Java expression.
+     * The argument is evaluated only once.
+     *
+     * @param functionId the function name's symbol table entry.
+     * @param argCtx     the ExpressionContext of the argument.
+     * @return the Java expression.
+     */
+    private String convertStandardFunctionCall(SymTableEntry functionId,
+                                               PascalParser.ExpressionContext argCtx) {
+        String arg = (String) visit(argCtx);
+        Typespec argType = argCtx.type.baseType();
+        String javaType = (argType == Predefined.realType) ? "double" : "int";
+        boolean succ = functionId.getRoutineCode() == SymTableEntry.Routine.SUCC;
+
+        return switch (functionId.getRoutineCode()) {
+            case ABS -> "Math.abs(" + arg + ")";
+            case SQR -> {
+                helperMethods.add("private static " + javaType + " _sqr(" + javaType
+                        + " x) { return x*x; }");
+                yield "_sqr(" + arg + ")";
+            }
+            case ARCTAN -> "Math.atan(" + arg + ")";
+            case COS -> "Math.cos(" + arg + ")";
+            case EXP -> "Math.exp(" + arg + ")";
+            case LN -> "Math.log(" + arg + ")";
+            case SIN -> "Math.sin(" + arg + ")";
+            case SQRT -> "Math.sqrt(" + arg + ")";
+            case CHR -> "(char) (" + arg + ")";
+            case ODD -> "((" + arg + ") % 2 != 0)";
+            case ORD -> (argType == Predefined.booleanType) ? "((" + arg + ") ? 1 : 0)"
+                      : (argType.getForm() == ENUMERATION) ? "(" + arg + ").ordinal()"
+                      : "(int) (" + arg + ")";
+            case PRED, SUCC -> (argType == Predefined.booleanType) ? "!(" + arg + ")"
+                      : (argType.getForm() == ENUMERATION)
+                              ? argType.getIdentifier().getName() + ".values()[(" + arg
+                                + ").ordinal()" + (succ ? " + 1]" : " - 1]")
+                      : (argType == Predefined.charType)
+                              ? "(char) ((" + arg + ")" + (succ ? " + 1)" : " - 1)")
+                      : "((" + arg + ")" + (succ ? " + 1)" : " - 1)");
+            case ROUND -> {
+                helperMethods.add("private static int _round(double x) "
+                        + "{ return (int) ((x < 0) ? -Math.round(-x) : Math.round(x)); }");
+                yield "_round(" + arg + ")";
+            }
+            case TRUNC -> "(int) (" + arg + ")";
+            default -> functionId.getName() + "(" + arg + ")";
+        };
+    }
+
     @Override
     public Object visitNotFactor(PascalParser.NotFactorContext ctx) {
         return "!" + visit(ctx.factor());
@@ -0,0 +1,431 @@
+/**
+ * <h1>ArrayValue</h1>
+ * <p>The interpreter's runtime value of a Pascal array.</p>
+ * <p>Elements of scalar types are kept in one contiguous primitive array:
+ * integer, boolean, character, and enumeration values in an int array,
+ * and real values in a double array. The elements of an array of records
+ * are kept by field, each field in a column that is itself an array, so
+ * that scalar fields are also in primitive storage. Elements of other
+ * types are kept in memory cells. A multidimensional array is flattened in row-major order
+ * into the storage of its outermost dimension, and a subarray such as a
+ * row is a view of that storage.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ARRAY;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.RECORD;
+
+public class ArrayValue {
+    private static final byte CELLS   = 0;
+    private static final byte INTEGER = 1;
+    private static final byte REAL    = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte CHAR    = 4;
+    private static final byte RECORDS = 5;
+
+    private final Typespec type;   // the array type
+    private final byte form;       // which storage holds the elements
+    private final int[] ints;      // integer, boolean, or character storage
+    private final double[] reals;  // real storage
+    private final Cell[] cells;    // storage of other elements
+    private final ArrayValue[] columns;  // record storage by field slot number
+    private final int offset;      // storage index of the first element
+
+    /**
+     * Constructor.
+     * Allocate the storage of an array.
+     *
+     * @param type the array type.
+     */
+    public ArrayValue(Typespec type) {
+        Typespec baseType = type.getArrayBaseType();
+        int count = flatCount(type);
+
+        this.type = type;
+        this.offset = 0;
+
+        if (baseType == Predefined.realType) form = REAL;
+        else if (baseType == Predefined.booleanType) form = BOOLEAN;
+        else if (baseType == Predefined.charType) form = CHAR;
+        else if (   (baseType == Predefined.integerType)
+                 || (baseType.getForm() == ENUMERATION)) form = INTEGER;
+        else if (baseType.getForm() == RECORD) form = RECORDS;
+        else form = CELLS;
+
+        ints = ((form == INTEGER) || (form == BOOLEAN) || (form == CHAR)) ? new int[count] : null;
+        reals = (form == REAL) ? new double[count] : null;
+        cells = (form == CELLS) ? new Cell[count] : null;
+        columns = (form == RECORDS) ? new ArrayValue[RecordValue.fieldCount(baseType)] : null;
+
+        if (form == CELLS) {
+            for (int i = 0; i < count; i++) {
+                cells[i] = new Cell(Cell.allocateValue(baseType));
+            }
+        } else if (form == RECORDS) {
+            // Each column is an array, indexed by storage index,
+            // of one field's values.
+            for (SymTableEntry fieldId : baseType.getRecordSymTable().values()) {
+                Typespec columnType = new Typespec(ARRAY);
+                columnType.setArrayIndexType(Predefined.integerType);
+                columnType.setArrayElementType(fieldId.getType());
+                columnType.setArrayElementCount(count);
+
+                columns[fieldId.getSlotNumber()] = new ArrayValue(columnType);
+            }
+        }
+    }
+
+    /**
+     * Constructor for a subarray view of an array's storage.
+     *
+     * @param array  the array.
+     * @param type   the subarray type.
+     * @param offset the storage index of the subarray's first element.
+     */
+    private ArrayValue(ArrayValue array, Typespec type, int offset) {
+        this.type = type;
+        this.form = array.form;
+        this.ints = array.ints;
+        this.reals = array.reals;
+        this.cells = array.cells;
+        this.columns = array.columns;
+        this.offset = offset;
+    }
+
+    /**
+     * Get the number of scalar elements of an array type
+     * after flattening all its dimensions.
+     *
+     * @param type the array type, or an element type which counts as 1.
+     * @return the count.
+     */
+    public static int flatCount(Typespec type) {
+        int count = 1;
+
+        while (type.getForm() == ARRAY) {
+            count *= type.getArrayElementCount();
+            type = type.getArrayElementType();
+        }
+
+        return count;
+    }
+
+    /**
+     * Get the array type.
+     *
+     * @return the type.
+     */
+    public Typespec getType() {
+        return type;
+    }
+
+    /**
+     * Get the storage index of the array's first element.
+     *
+     * @return the index.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Determine whether this array and another one may share elements,
+     * as the subarrays of an array do.
+     *
+     * @param other the other array.
+     * @return true if they have the same storage.
+     */
+    public boolean sharesStorage(ArrayValue other) {
+        return    ((ints != null) && (ints == other.ints))
+               || ((reals != null) && (reals == other.reals))
+               || ((cells != null) && (cells == other.cells))
+               || ((columns != null) && (columns == other.columns));
+    }
+
+    /**
+     * Get a subarray view.
+     *
+     * @param subType the subarray type.
+     * @param index   the storage index of the subarray's first element.
+     * @return the subarray.
+     */
+    public ArrayValue subarray(Typespec subType, int index) {
+        return new ArrayValue(this, subType, index);
+    }
+
+    /**
+     * Get the column of an array of records that keeps a field's values.
+     * A record element and its field have the same storage index.
+     *
+     * @param field the field's slot number.
+     * @return the column.
+     */
+    public ArrayValue getColumn(int field) {
+        return columns[field];
+    }
+
+    /**
+     * Get a view of a record element of an array of records.
+     *
+     * @param index the element's storage index.
+     * @return the record.
+     */
+    private RecordValue getRecord(int index) {
+        Cell[] fields = new Cell[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] != null) fields[i] = columns[i].getCell(index);
+        }
+
+        return new RecordValue(type.getArrayBaseType(), fields);
+    }
+
+    /**
+     * Copy the elements of another array of the same type into this array.
+     *
+     * @param source the other array.
+     */
+    public void copyFrom(ArrayValue source) {
+        int count = flatCount(type);
+
+        switch (form) {
+            case INTEGER, BOOLEAN, CHAR ->
+                    System.arraycopy(source.ints, source.offset, ints, offset, count);
+            case REAL -> System.arraycopy(source.reals, source.offset, reals, offset, count);
+            case RECORDS -> {
+                for (int i = 0; i < count; i++) {
+                    getRecord(offset + i).copyFrom(source.getRecord(source.offset + i));
+                }
+            }
+            default -> {
+                for (int i = 0; i < count; i++) {
+                    cells[offset + i].setValue(source.cells[source.offset + i].getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the memory cell of an element of the first dimension. An
+     * element that is a subarray is a view of the storage, and an element
+     * kept in primitive storage or in columns is a cell that accesses it.
+     *
+     * @param index the element's zero-based index in the first dimension.
+     * @return the cell.
+     */
+    public Cell getCell(int index) {
+        Typespec elemType = type.getArrayElementType();
+        int count = flatCount(elemType);
+        int storageIndex = offset + index*count;
+
+        return (elemType.getForm() == ARRAY)
+                ? new Cell(subarray(elemType, storageIndex))
+                : elementCell(storageIndex);
+    }
+
+    /**
+     * Get the memory cell of an element that is not a subarray.
+     *
+     * @param index the element's storage index.
+     * @return the cell.
+     */
+    public Cell elementCell(int index) {
+        return (form == CELLS) ? cells[index] : new ElementCell(this, index);
+    }
+
+    /**
+     * Get an element value, boxing a scalar value.
+     * A record element is a view of the array's columns.
+     *
+     * @param index the element's storage index.
+     * @return the value.
+     */
+    public Object getValue(int index) {
+        return switch (form) {
+            case INTEGER -> ints[index];
+            case REAL -> reals[index];
+            case BOOLEAN -> ints[index] != 0;
+            case CHAR -> (char) ints[index];
+            case RECORDS -> getRecord(index);
+            default -> cells[index].getValue();
+        };
+    }
+
+    /**
+     * Set an element value, unboxing a scalar value.
+     * A record value is copied into the array's columns.
+     *
+     * @param index    the element's storage index.
+     * @param newValue the new value.
+     */
+    public void setValue(int index, Object newValue) {
+        switch (form) {
+            case REAL -> reals[index] = ((Number) newValue).doubleValue();
+            case BOOLEAN -> ints[index] = (Boolean) newValue ? 1 : 0;
+            case CHAR -> ints[index] = (newValue instanceof Character c) ? c : (Integer) newValue;
+            case INTEGER -> ints[index] = (Integer) newValue;
+            case RECORDS -> getRecord(index).copyFrom((RecordValue) newValue);
+            default -> cells[index].setValue(newValue);
+        }
+    }
+
+    /**
+     * Get an integer, boolean, or character element value.
+     *
+     * @param index the element's storage index.
+     * @return the value.
+     */
+    public int getInteger(int index) {
+        return (form == CELLS) ? cells[index].getInteger() : ints[index];
+    }
+
+    /**
+     * Set an integer element value.
+     *
+     * @param index    the element's storage index.
+     * @param newValue the new value.
+     */
+    public void setInteger(int index, int newValue) {
+        if (form == CELLS) cells[index].setInteger(newValue);
+        else ints[index] = newValue;
+    }
+
+    /**
+     * Get a real element value, converting an integer value.
+     *
+     * @param index the element's storage index.
+     * @return the value.
+     */
+    public double getReal(int index) {
+        return switch (form) {
+            case REAL -> reals[index];
+            case CELLS -> cells[index].getReal();
+            default -> ints[index];
+        };
+    }
+
+    /**
+     * Set a real element value.
+     *
+     * @param index    the element's storage index.
+     * @param newValue the new value.
+     */
+    public void setReal(int index, double newValue) {
+        if (form == CELLS) cells[index].setReal(newValue);
+        else reals[index] = newValue;
+    }
+
+    /**
+     * Get a boolean element value.
+     *
+     * @param index the element's storage index.
+     * @return the value.
+     */
+    public boolean getBoolean(int index) {
+        return (form == CELLS) ? cells[index].getBoolean() : ints[index] != 0;
+    }
+
+    /**
+     * Set a boolean element value.
+     *
+     * @param index    the element's storage index.
+     * @param newValue the new value.
+     */
+    public void setBoolean(int index, boolean newValue) {
+        if (form == CELLS) cells[index].setBoolean(newValue);
+        else ints[index] = newValue ? 1 : 0;
+    }
+
+    /**
+     * Get a character element value.
+     *
+     * @param index the element's storage index.
+     * @return the value.
+     */
+    public char getCharacter(int index) {
+        return (form == CELLS) ? cells[index].getCharacter() : (char) ints[index];
+    }
+
+    /**
+     * Set a character element value.
+     *
+     * @param index    the element's storage index.
+     * @param newValue the new value.
+     */
+    public void setCharacter(int index, char newValue) {
+        if (form == CELLS) cells[index].setCharacter(newValue);
+        else ints[index] = newValue;
+    }
+
+    /**
+     * A memory cell that accesses an element kept in primitive storage
+     * or in the columns of an array of records,
+     * for when an element must be shared as a cell, such as
+     * a VAR argument or a READ target.
+     */
+    private static class ElementCell extends Cell {
+        private final ArrayValue array;  // the array
+        private final int index;         // the element's storage index
+
+        ElementCell(ArrayValue array, int index) {
+            this.array = array;
+            this.index = index;
+        }
+
+        @Override
+        public Object getValue() {
+            return array.getValue(index);
+        }
+
+        @Override
+        public void setValue(Object newValue) {
+            array.setValue(index, newValue);
+        }
+
+        @Override
+        public int getInteger() {
+            return array.getInteger(index);
+        }
+
+        @Override
+        public void setInteger(int newValue) {
+            array.setInteger(index, newValue);
+        }
+
+        @Override
+        public double getReal() {
+            return array.getReal(index);
+        }
+
+        @Override
+        public void setReal(double newValue) {
+            array.setReal(index, newValue);
+        }
+
+        @Override
+        public boolean getBoolean() {
+            return array.getBoolean(index);
+        }
+
+        @Override
+        public void setBoolean(boolean newValue) {
+            array.setBoolean(index, newValue);
+        }
+
+        @Override
+        public char getCharacter() {
+            return array.getCharacter(index);
+        }
+
+        @Override
+        public void setCharacter(char newValue) {
+            array.setCharacter(index, newValue);
+        }
+    }
+}
@@ -1,14 +1,28 @@
 /**
  * <h1>Cell</h1>
  * <p>The interpreter's runtime memory cell.</p>
+ * <p>Scalar values are kept unboxed in the cell: integer, boolean,
+ * character, and enumeration values in an int, and real values in a
+ * double. Strings, arrays, and records are kept as objects.</p>
  * <p>Adapted from</p>
  * <p>Copyright (c) 2020 by Ronald Mak</p>
  */
 
 package edu.yu.compilers.backend.interpreter;
 
+import edu.yu.compilers.intermediate.type.Typespec;
+
 public class Cell {
-    private Object value;  // value contained in the memory cell
+    private static final byte OBJECT  = 0;
+    private static final byte INTEGER = 1;
+    private static final byte REAL    = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte CHAR    = 4;
+
+    private Object value;      // object value contained in the memory cell
+    private int intValue;      // unboxed integer, boolean or character value
+    private double realValue;  // unboxed real value
+    private byte form;         // which of the fields holds the value
 
     /**
      * Constructor.
@@ -16,24 +30,143 @@ public class Cell {
      * @param value the value for the cell.
      */
     public Cell(Object value) {
-        this.value = value;
+        setValue(value);
+    }
+
+    /**
+     * Constructor for subclasses that keep the value elsewhere.
+     */
+    protected Cell() {
+    }
+
+    /**
+     * Make an allocation for a value of a given data type for a memory cell.
+     *
+     * @param type the data type.
+     * @return the allocation.
+     */
+    static Object allocateValue(Typespec type) {
+        return switch (type.getForm()) {
+            case ARRAY -> new ArrayValue(type);
+            case RECORD -> new RecordValue(type);
+            default -> null;  // uninitialized scalar value
+        };
+    }
+
+    /**
+     * Make the cell uninitialized, as a newly allocated cell is.
+     */
+    public void clear() {
+        value = null;
+        intValue = 0;
+        realValue = 0;
+        form = OBJECT;
     }
 
     /**
-     * Get the value in the cell.
+     * Get the value in the cell, boxing a scalar value.
      *
      * @return the value.
      */
     public Object getValue() {
-        return value;
+        return switch (form) {
+            case INTEGER -> intValue;
+            case REAL -> realValue;
+            case BOOLEAN -> intValue != 0;
+            case CHAR -> (char) intValue;
+            default -> value;
+        };
     }
 
     /**
-     * Set a new value into the cell.
+     * Set a new value into the cell, unboxing a scalar value.
      *
      * @param newValue the new value.
      */
     public void setValue(Object newValue) {
-        value = newValue;
+        if (newValue instanceof Integer i) setInteger(i);
+        else if (newValue instanceof Double d) setReal(d);
+        else if (newValue instanceof Boolean b) setBoolean(b);
+        else if (newValue instanceof Character c) setCharacter(c);
+        else {
+            value = newValue;
+            form = OBJECT;
+        }
+    }
+
+    /**
+     * Get the integer value in the cell.
+     *
+     * @return the value.
+     */
+    public int getInteger() {
+        return intValue;
+    }
+
+    /**
+     * Set a new integer value into the cell.
+     *
+     * @param newValue the new value.
+     */
+    public void setInteger(int newValue) {
+        intValue = newValue;
+        form = INTEGER;
+    }
+
+    /**
+     * Get the real value in the cell, converting an integer value.
+     *
+     * @return the value.
+     */
+    public double getReal() {
+        return (form == REAL) ? realValue : intValue;
+    }
+
+    /**
+     * Set a new real value into the cell.
+     *
+     * @param newValue the new value.
+     */
+    public void setReal(double newValue) {
+        realValue = newValue;
+        form = REAL;
+    }
+
+    /**
+     * Get the boolean value in the cell.
+     *
+     * @return the value.
+     */
+    public boolean getBoolean() {
+        return intValue != 0;
+    }
+
+    /**
+     * Set a new boolean value into the cell.
+     *
+     * @param newValue the new value.
+     */
+    public void setBoolean(boolean newValue) {
+        intValue = newValue ? 1 : 0;
+        form = BOOLEAN;
+    }
+
+    /**
+     * Get the character value in the cell.
+     *
+     * @return the value.
+     */
+    public char getCharacter() {
+        return (char) intValue;
+    }
+
+    /**
+     * Set a new character value into the cell.
+     *
+     * @param newValue the new value.
+     */
+    public void setCharacter(char newValue) {
+        intValue = newValue;
+        form = CHAR;
     }
 }
@@ -0,0 +1,21 @@
+/**
+ * <h1>ExecutionAbortedException</h1>
+ * <p>Thrown by the runtime error handler to end the execution of a
+ * Pascal program after a fatal runtime error or too many runtime errors.
+ * The error messages have already been written to the runtime output.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+public class ExecutionAbortedException extends RuntimeException {
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * Constructor.
+     *
+     * @param message the reason for the abort.
+     */
+    public ExecutionAbortedException(String message) {
+        super(message);
+    }
+}
@@ -2,16 +2,30 @@ package edu.yu.compilers.backend.interpreter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Scanner;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import antlr4.*;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
 import edu.yu.compilers.intermediate.symtable.Predefined;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine;
 import edu.yu.compilers.intermediate.type.Typespec;
+import edu.yu.compilers.backend.interpreter.ParallelLoopAnalyzer.ParallelLoop;
 
 import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.DIVISION_BY_ZERO;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.INVALID_INPUT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.INVALID_STANDARD_FUNCTION_ARGUMENT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.VALUE_RANGE;
 import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
 import static edu.yu.compilers.intermediate.type.Typespec.Form.SUBRANGE;
 
 /**
@@ -19,38 +33,213 @@ import static edu.yu.compilers.intermediate.type.Typespec.Form.SUBRANGE;
  */
 public class Executor extends PascalBaseVisitor<Object>
 {
-    private int executionCount = 0;     // count of executed statements
+    // Token types of the operators that have no symbolic token name.
+    private static final int EQ    = literalTokenType("'='");
+    private static final int NE    = literalTokenType("'<>'");
+    private static final int LT    = literalTokenType("'<'");
+    private static final int LE    = literalTokenType("'<='");
+    private static final int GT    = literalTokenType("'>'");
+    private static final int GE    = literalTokenType("'>='");
+    private static final int PLUS  = literalTokenType("'+'");
+    private static final int MINUS = literalTokenType("'-'");
+    private static final int STAR  = literalTokenType("'*'");
+    private static final int SLASH = literalTokenType("'/'");
+    
+    // Fewest iterations of a parallel FOR loop whose body has no loop or call.
+    private static final int MIN_PARALLEL_ITERATIONS = 1 << 12;
+    
+    // Chunks of a parallel FOR loop per thread, to balance the work.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private long executionCount = 0;    // count of executed statements
+    private long nextLimitCheck = Long.MAX_VALUE;  // count of the next limits check
     private long elapsedTime = 0L;          // elapsed time in ms
     private final SymTableEntry programId;      // program identifier's symbol table entry
     private final RuntimeStack runtimeStack;  // runtime stack
-    private final Scanner scanner;              // runtime input
+    private final InputReader input;            // runtime input
+    private final OutputSink output;            // runtime output
     private final RuntimeErrorHandler error;  // runtime error handler
+    private final HashMap<SymTableEntry, FrameTemplate> frameTemplates;  // by routine
+    private final HashMap<ParserRuleContext, CallSite> callSites;        // by call
+    private final HashMap<SymTableEntry, MemoTable> memoTables;          // by function
+    private int memoCapacity;                   // entries per memo table, or 0
+    private Profiler profiler;                  // execution profile, or null
+    private ResourceLimits limits;              // execution limits, or null
+    private ResourceGovernor governor;          // enforces the limits, or null
+    private int parallelism;                    // threads of parallel FOR loops
+    private long workerStackSize;               // JVM stack size of those threads
+    private ExecutorService workers;            // runs parallel FOR loops, or null
+    private final HashMap<PascalParser.ForStatementContext, ParallelLoop> parallelLoops;
+    private final HashMap<PascalParser.WriteArgumentContext, WriteFormat> writeFormats;
+    private final HashMap<PascalParser.CaseStatementContext,
+                          JumpTable<PascalParser.StatementContext>> jumpTables;
     
     public Executor(SymTableEntry programId)
+    {
+        this(programId, new OutputSink());
+    }
+
+    public Executor(SymTableEntry programId, OutputSink output)
+    {
+        this(programId, output, new InputReader(System.in, output));
+    }
+
+    public Executor(SymTableEntry programId, OutputSink output, InputReader input)
     {
         this.programId = programId;
+        this.output = output;
+        this.input = input;
+        runtimeStack = new RuntimeStack();
+        error = new RuntimeErrorHandler(output);
+        frameTemplates = new HashMap<>();
+        callSites = new HashMap<>();
+        memoTables = new HashMap<>();
+        writeFormats = new HashMap<>();
+        jumpTables = new HashMap<>();
+        parallelLoops = new HashMap<>();
+    }
+
+    /**
+     * Constructor for an executor of a chunk of the iterations of a
+     * parallel FOR loop. Its stack has the frames of the enclosing
+     * routines, with the given frame in place of the routine that contains
+     * the loop, and it keeps its runtime errors for the parent to report.
+     * @param parent the executor of the loop.
+     * @param frame the frame of the routine that contains the loop.
+     */
+    private Executor(Executor parent, StackFrame frame)
+    {
+        this.programId = parent.programId;
+        this.output = parent.output;
+        this.input = parent.input;
         runtimeStack = new RuntimeStack();
-        scanner = new Scanner(System.in);
         error = new RuntimeErrorHandler();
+        frameTemplates = new HashMap<>();
+        callSites = new HashMap<>();
+        memoTables = new HashMap<>();
+        writeFormats = new HashMap<>();
+        jumpTables = new HashMap<>();
+        parallelLoops = new HashMap<>();
+        
+        runtimeStack.setMaxDepth(parent.runtimeStack.getMaxDepth());
+        
+        for (int level = 1; level < frame.getNestingLevel(); level++)
+        {
+            runtimeStack.push(parent.runtimeStack.getTopmost(level));
+        }
+        
+        runtimeStack.push(frame);
     }
     
+    /**
+     * Look up the token type of a literal operator such as '+'.
+     * @param literal the quoted literal.
+     * @return the token type.
+     */
+    private static int literalTokenType(String literal)
+    {
+        Vocabulary vocabulary = PascalLexer.VOCABULARY;
+        
+        for (int type = 1; type <= vocabulary.getMaxTokenType(); type++)
+        {
+            if (literal.equals(vocabulary.getLiteralName(type))) return type;
+        }
+        
+        return Token.INVALID_TYPE;
+    }
+
     public int getExecutionCount() {
-        return executionCount;
+        return (int) executionCount;
     }
 
     public long getElapsedTime() {
         return elapsedTime;
     }
 
+    /**
+     * Profile the execution.
+     * @param profiler the execution profile.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Set the maximum depth of routine calls.
+     * @param maxDepth the maximum number of unfinished calls.
+     */
+    public void setMaxCallDepth(int maxDepth) {
+        runtimeStack.setMaxDepth(maxDepth);
+    }
+
+    /**
+     * Govern the execution by resource limits.
+     * @param limits the limits.
+     */
+    public void setLimits(ResourceLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Execute in parallel the FOR loops whose iterations are independent.
+     * @param threads the number of threads, or 1 to execute sequentially.
+     * @param stackSize the JVM stack size of each thread.
+     */
+    public void setParallelism(int threads, long stackSize) {
+        this.parallelism = threads;
+        this.workerStackSize = stackSize;
+    }
+
+    /**
+     * Memoize the pure functions.
+     * @param memoCapacity the number of entries of each function's
+     *                     memo table, or 0 to not memoize.
+     */
+    public void setMemoCapacity(int memoCapacity) {
+        this.memoCapacity = memoCapacity;
+    }
+
     @Override 
     public Object visitProgram(PascalParser.ProgramContext ctx) 
     { 
         long startTime = System.currentTimeMillis();
+        FrameTemplate programTemplate = new FrameTemplate(programId);
+        
+        if (limits != null)
+        {
+            governor = new ResourceGovernor(limits, output, error);
+            nextLimitCheck = governor.check(0, ctx);
+            governor.allocate(programTemplate, ctx);
+        }
         
-        StackFrame programFrame = new StackFrame(programId);
+        StackFrame programFrame = programTemplate.newFrame();
         runtimeStack.push(programFrame);
         
-        visit(ctx.block().compoundStatement());
+        if (parallelism > 1)
+        {
+            workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(null, runnable, "parallel-for", 
+                                           workerStackSize);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        try
+        {
+            if (profiler != null) profiler.enter(programId);
+            visit(ctx.block().compoundStatement());
+            if (profiler != null) profiler.exit();
+        }
+        catch (StackOverflowError ex)
+        {
+            error.abortOverflow(ctx);
+        }
+        finally
+        {
+            if (workers != null) workers.shutdownNow();
+            output.flush();
+        }
 
         elapsedTime = System.currentTimeMillis() - startTime;
 
@@ -60,7 +249,13 @@ public class Executor extends PascalBaseVisitor<Object>
     @Override 
     public Object visitStatement(PascalParser.StatementContext ctx) 
     {
-        executionCount++;
+        if (++executionCount > nextLimitCheck)
+        {
+            nextLimitCheck = governor.check(executionCount, ctx);
+        }
+        
+        if (profiler != null) profiler.countLine(ctx.getStart().getLine());
+        
         visitChildren(ctx);
         
         return null;
@@ -70,13 +265,47 @@ public class Executor extends PascalBaseVisitor<Object>
     public Object visitAssignmentStatement(
                                     PascalParser.AssignmentStatementContext ctx) 
     {
-        PascalParser.ExpressionContext exprCtx = ctx.rhs().expression();
-        Object value = visit(exprCtx);
-        assignValue(ctx.lhs().variable(), value, exprCtx.type);
+        PascalParser.VariableContext varCtx = ctx.lhs().variable();
+        Cell targetCell = (Cell) visit(varCtx);
+        assignValue(targetCell, varCtx.type, ctx.rhs().expression());
         
         return null;
     }
     
+    /**
+     * Evaluate an expression and assign its value to a target variable's
+     * memory cell. Integer, real, and boolean values are assigned unboxed.
+     * @param targetCell the target variable's memory cell.
+     * @param targetType the datatype of the target variable.
+     * @param exprCtx the ExpressionContext of the value.
+     */
+    private void assignValue(Cell targetCell, Typespec targetType,
+                             PascalParser.ExpressionContext exprCtx)
+    {
+        Typespec valueType = exprCtx.type;
+        
+        if (   (targetType == Predefined.integerType)
+            && (valueType  == Predefined.integerType))
+        {
+            targetCell.setInteger(evaluateInteger(exprCtx));
+        }
+        else if (   (targetType == Predefined.realType)
+                 && (   (valueType == Predefined.integerType)
+                     || (valueType == Predefined.realType)))
+        {
+            targetCell.setReal(evaluateReal(exprCtx));
+        }
+        else if (   (targetType == Predefined.booleanType)
+                 && (valueType  == Predefined.booleanType))
+        {
+            targetCell.setBoolean(evaluateBoolean(exprCtx));
+        }
+        else
+        {
+            assignValue(targetCell, targetType, visit(exprCtx), valueType);
+        }
+    }
+    
     /**
      * Assign a value to a target variable's memory cell.
      *
@@ -130,7 +359,7 @@ public class Executor extends PascalBaseVisitor<Object>
     {
         PascalParser.TrueStatementContext  trueCtx  = ctx.trueStatement();
         PascalParser.FalseStatementContext falseCtx = ctx.falseStatement();
-        boolean value = (Boolean) visit(ctx.expression());
+        boolean value = evaluateBoolean(ctx.expression());
         
         if      (value)            visit(trueCtx);
         else if (falseCtx != null) visit(falseCtx);
@@ -145,15 +374,17 @@ public class Executor extends PascalBaseVisitor<Object>
         PascalParser.CaseBranchListContext branchListCtx = ctx.caseBranchList();
         
         // First time: Create the jump table.
-        if (ctx.jumpTable == null) 
+        JumpTable<PascalParser.StatementContext> jumpTable = jumpTables.get(ctx);
+        if (jumpTable == null) 
         {
-            ctx.jumpTable = createJumpTable(branchListCtx);
+            jumpTable = new JumpTable<>(createJumpTable(branchListCtx));
+            jumpTables.put(ctx, jumpTable);
         }
         
         Object value = visit(exprCtx);
 
         // From the jump table obtain the statement corresponding to the value.
-        PascalParser.StatementContext stmtCtx = ctx.jumpTable.get(value);
+        PascalParser.StatementContext stmtCtx = jumpTable.get(value);
         if (stmtCtx != null) visit(stmtCtx);
 
         return null;
@@ -200,7 +431,7 @@ public class Executor extends PascalBaseVisitor<Object>
         do
         {
             visit(listCtx);
-            value = (Boolean) visit(ctx.expression());
+            value = evaluateBoolean(ctx.expression());
         } while (!value);
         
         return null;
@@ -210,12 +441,12 @@ public class Executor extends PascalBaseVisitor<Object>
     public Object visitWhileStatement(PascalParser.WhileStatementContext ctx) 
     {
         PascalParser.StatementContext stmtCtx = ctx.statement();
-        boolean value = (Boolean) visit(ctx.expression());
+        boolean value = evaluateBoolean(ctx.expression());
         
         while (value)
         {
             visit(stmtCtx);
-            value = (Boolean) visit(ctx.expression());
+            value = evaluateBoolean(ctx.expression());
         }
         
         return null;
@@ -228,27 +459,29 @@ public class Executor extends PascalBaseVisitor<Object>
         PascalParser.ExpressionContext startExprCtx = ctx.expression().get(0);
         PascalParser.ExpressionContext stopExprCtx  = ctx.expression().get(1);
 
-        // Initial control value.
-        Object startValue = visit(startExprCtx);
-        assignValue(controlCtx, startValue, startExprCtx.type);
-        
-        // Terminal control value.
+        // The control variable's memory cell.
+        Cell controlCell = (Cell) visit(controlCtx);
         boolean to = ctx.TO() != null;
-        Object stopValue = visit(stopExprCtx);
         
         // Integer control values.
         if (controlCtx.type.baseType() == Predefined.integerType)
         {
-            int control = (Integer) startValue;
-            int stop    = (Integer) stopValue;
+            int control = evaluateOrdinal(startExprCtx);
+            int stop    = evaluateOrdinal(stopExprCtx);
+            controlCell.setInteger(control);
+            
+            if (   (workers != null) 
+                && executeParallel(ctx, controlCell, control, stop, to))
+            {
+                return null;
+            }
             
             if (to)
             {
                 while (control <= stop)
                 {
                     visit(ctx.statement());
-                    Object nextValue = ++control;
-                    assignValue(controlCtx, nextValue, Predefined.integerType);
+                    controlCell.setInteger(++control);
                 }
             }
             else  // downto
@@ -256,8 +489,7 @@ public class Executor extends PascalBaseVisitor<Object>
                 while (control >= stop)
                 {
                     visit(ctx.statement());
-                    Object nextValue = --control;
-                    assignValue(controlCtx, nextValue, Predefined.integerType);
+                    controlCell.setInteger(--control);
                 }
             }
         }
@@ -265,16 +497,16 @@ public class Executor extends PascalBaseVisitor<Object>
         // Character control values.
         else
         {
-            char control = (Character) startValue;
-            char stop    = (Character) stopValue;
+            char control = (Character) visit(startExprCtx);
+            char stop    = (Character) visit(stopExprCtx);
+            controlCell.setCharacter(control);
             
             if (to)
             {
                 while (control <= stop)
                 {
                     visit(ctx.statement());
-                    Object nextValue = ++control;
-                    assignValue(controlCtx, nextValue, Predefined.charType);
+                    controlCell.setCharacter(++control);
                 }
             }
             else  // downto
@@ -282,8 +514,7 @@ public class Executor extends PascalBaseVisitor<Object>
                 while (control >= stop)
                 {
                     visit(ctx.statement());
-                    Object nextValue = --control;
-                    assignValue(controlCtx, nextValue, Predefined.charType);
+                    controlCell.setCharacter(--control);
                 }
             }
         }
@@ -291,81 +522,391 @@ public class Executor extends PascalBaseVisitor<Object>
         return null;
     }
 
+    /**
+     * Execute the iterations of a FOR loop in parallel, in chunks of
+     * consecutive iterations, if they are independent and there are
+     * enough of them. Each chunk has its own copies of the variables
+     * that the iterations assign, and the values left by the last
+     * chunk that assigned them are copied back. Runtime errors are
+     * reported in the order of the chunks, and so in the order of
+     * sequential execution.
+     * @param ctx the ForStatementContext.
+     * @param controlCell the control variable's memory cell.
+     * @param start the initial control value.
+     * @param stop the final control value.
+     * @param to true if TO, false if DOWNTO.
+     * @return true if executed, false to execute sequentially.
+     */
+    private boolean executeParallel(PascalParser.ForStatementContext ctx,
+                                    Cell controlCell, int start, int stop,
+                                    boolean to)
+    {
+        if ((profiler != null) || (governor != null)) return false;
+        
+        ParallelLoop loop = parallelLoop(ctx);
+        long count = to ? (long) stop - start + 1 : (long) start - stop + 1;
+        
+        if (   (loop == null) 
+            || (count < (loop.isHeavy() ? 2*parallelism : MIN_PARALLEL_ITERATIONS))
+            || sharedArrays(loop))
+        {
+            return false;
+        }
+        
+        List<SymTableEntry> privates = loop.getPrivates();
+        int step = to ? 1 : -1;
+        int chunks = (int) Math.min(count, (long) CHUNKS_PER_THREAD*parallelism);
+        long chunkSize = (count + chunks - 1)/chunks;
+        StackFrame frame = runtimeStack.getTopmost(
+                                privates.get(0).getSymTable().getNestingLevel());
+        ArrayList<Future<Executor>> results = new ArrayList<>();
+        
+        for (long first = 0; first < count; first += chunkSize)
+        {
+            StackFrame chunkFrame = new StackFrame(frame);
+            int chunkStart = (int) (start + step*first);
+            long iterations = Math.min(chunkSize, count - first);
+            
+            for (SymTableEntry variableId : privates)
+            {
+                chunkFrame.replaceCell(variableId.getSlotNumber(), new Cell(null));
+            }
+            
+            Executor chunk = new Executor(this, chunkFrame);
+            results.add(workers.submit(() -> chunk.executeChunk(ctx.statement(), 
+                                chunkFrame.getCell(privates.get(0).getSlotNumber()), 
+                                chunkStart, step, iterations)));
+        }
+        
+        for (Future<Executor> result : results)
+        {
+            Executor chunk = join(result);
+            StackFrame chunkFrame = chunk.runtimeStack.get(chunk.runtimeStack.size() - 1);
+            
+            error.report(chunk.error);
+            executionCount += chunk.executionCount;
+            
+            for (SymTableEntry variableId : privates)
+            {
+                Object value = chunkFrame.getCell(variableId.getSlotNumber()).getValue();
+                if (value != null) frame.getCell(variableId.getSlotNumber()).setValue(value);
+            }
+        }
+        
+        controlCell.setInteger(stop + step);
+        return true;
+    }
+    
+    /**
+     * Get the analysis of a FOR loop, analyzing it at its first execution.
+     * @param ctx the ForStatementContext.
+     * @return the parallel loop, or null if its iterations may depend
+     *         on each other.
+     */
+    private ParallelLoop parallelLoop(PascalParser.ForStatementContext ctx)
+    {
+        if (!parallelLoops.containsKey(ctx))
+        {
+            parallelLoops.put(ctx, ParallelLoopAnalyzer.analyze(ctx, 
+                                        runtimeStack.currentNestingLevel()));
+        }
+        
+        return parallelLoops.get(ctx);
+    }
+    
+    /**
+     * Determine whether an array whose elements a parallel loop assigns
+     * shares storage with another array that the loop uses, as a VAR
+     * parameter and its argument or two rows of a matrix do.
+     * @param loop the parallel loop.
+     * @return true if so.
+     */
+    private boolean sharedArrays(ParallelLoop loop)
+    {
+        for (SymTableEntry assignedId : loop.getAssignedArrays())
+        {
+            ArrayValue assigned = arrayValue(assignedId);
+            
+            for (SymTableEntry arrayId : loop.getArrays())
+            {
+                if (   (arrayId != assignedId) 
+                    && assigned.sharesStorage(arrayValue(arrayId)))
+                {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Get the current value of an array variable.
+     * @param arrayId the variable's symbol table entry.
+     * @return the array.
+     */
+    private ArrayValue arrayValue(SymTableEntry arrayId)
+    {
+        StackFrame frame = runtimeStack.getTopmost(
+                                        arrayId.getSymTable().getNestingLevel());
+        return (ArrayValue) frame.getCell(arrayId.getSlotNumber()).getValue();
+    }
+    
+    /**
+     * Execute a chunk of the iterations of a parallel FOR loop.
+     * A runtime error that ends the execution ends the chunk.
+     * @param stmtCtx the loop's body.
+     * @param controlCell the chunk's control variable cell.
+     * @param start the control value of the chunk's first iteration.
+     * @param step 1 for TO, or -1 for DOWNTO.
+     * @param iterations the number of iterations.
+     * @return this executor.
+     */
+    private Executor executeChunk(PascalParser.StatementContext stmtCtx,
+                                  Cell controlCell, int start, int step,
+                                  long iterations)
+    {
+        int control = start;
+        
+        try
+        {
+            for (long i = 0; i < iterations; i++, control += step)
+            {
+                controlCell.setInteger(control);
+                visit(stmtCtx);
+            }
+        }
+        catch (ExecutionAbortedException ex)
+        {
+            // The error is reported by the loop's executor.
+        }
+        catch (StackOverflowError ex)
+        {
+            try
+            {
+                error.abortOverflow(stmtCtx);
+            }
+            catch (ExecutionAbortedException aborted)
+            {
+                // The error is reported by the loop's executor.
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Wait for a chunk of a parallel FOR loop to finish.
+     * @param result the chunk's future result.
+     * @return the chunk's executor.
+     */
+    private static Executor join(Future<Executor> result)
+    {
+        try
+        {
+            return result.get();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new ExecutionAbortedException("Interrupted");
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
     @Override 
     public Object visitProcedureCallStatement(
                                 PascalParser.ProcedureCallStatementContext ctx) 
     {
-        SymTableEntry routineId = ctx.procedureName().entry;
-        PascalParser.ArgumentListContext argListCtx = ctx.argumentList();
-        StackFrame newFrame = new StackFrame(routineId);
+        CallSite site = callSite(ctx, ctx.procedureName().entry, 
+                                 ctx.argumentList());
+        executeCall(site, ctx);
+        
+        return null;
+    }
+
+    /**
+     * Get the resolved call site of a call, resolving it at the first call.
+     * @param callCtx the context of the call.
+     * @param routineId the symbol table entry of the called routine's name.
+     * @param argListCtx the ArgumentListContext, or null if no arguments.
+     * @return the call site.
+     */
+    private CallSite callSite(ParserRuleContext callCtx, SymTableEntry routineId,
+                              PascalParser.ArgumentListContext argListCtx)
+    {
+        CallSite site = callSites.get(callCtx);
+        
+        if (site == null)
+        {
+            site = new CallSite(frameTemplate(routineId), memoTable(routineId), 
+                                argListCtx);
+            callSites.put(callCtx, site);
+        }
+        
+        return site;
+    }
+
+    /**
+     * Get the memo table of a function, creating it at the first call.
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the table, or null if the routine is not memoized.
+     */
+    private MemoTable memoTable(SymTableEntry routineId)
+    {
+        if ((memoCapacity == 0) || (routineId.getKind() != FUNCTION)) return null;
+        
+        return memoTables.computeIfAbsent(routineId, 
+                                          id -> MemoTable.create(id, memoCapacity));
+    }
+
+    /**
+     * Execute a procedure or function call: pass the arguments, push the
+     * routine's new stack frame, execute the routine, and pop the frame.
+     * A call of a memoized function with the arguments of an earlier call
+     * gets the function value from the memo table instead.
+     * @param site the resolved call site.
+     * @param ctx the context of the call.
+     * @return the function value, or null for a procedure.
+     */
+    private Object executeCall(CallSite site, ParserRuleContext ctx)
+    {
+        if (governor != null) governor.allocate(site.template, ctx);
+        StackFrame newFrame = site.template.newFrame();
         
         // Execute any actual parameters and initialize
         // the formal parameters in the routine's new stack frame.
-        if (argListCtx != null) 
+        executeCallArguments(site, newFrame);
+        
+        long key = 0;
+        if (site.memo != null)
         {
-            ArrayList<SymTableEntry> parameters = routineId.getRoutineParameters();
-            executeCallArguments(argListCtx, parameters, newFrame);
+            key = site.memo.key(newFrame);
+            Object value = site.memo.get(key);
+            
+            if (value != null)
+            {
+                site.template.release(newFrame);
+                if (governor != null) governor.free(site.template);
+                return value;
+            }
         }
 
         // Push the routine's stack frame onto the runtime stack 
-        // and execute the procedure.
+        // and execute the routine.
+        if (runtimeStack.isFull())
+        {
+            error.noteOverflow(ctx);
+            throw new StackOverflowError();
+        }
         runtimeStack.push(newFrame);
 
-        // Execute the routine.
-        PascalParser.CompoundStatementContext stmtCtx = 
-            (PascalParser.CompoundStatementContext) routineId.getExecutable();
-        visit(stmtCtx);
+        if (profiler != null) profiler.enter(site.routineId);
+        executeBody(site.body, ctx);
+        if (profiler != null) profiler.exit();
+        
+        // Get any function value from its associated variable.
+        Object functionValue = (site.valueSlot >= 0) 
+                ? newFrame.getCell(site.valueSlot).getValue() 
+                : null;
 
         // Pop off the routine's stack frame.
         runtimeStack.pop();
+        site.template.release(newFrame);
+        if (governor != null) governor.free(site.template);
         
-        return null;
+        if (site.memo != null) site.memo.put(key, functionValue);
+        
+        return functionValue;
+    }
+
+    /**
+     * Execute the body of a called routine. Running out of JVM stack
+     * is a runtime stack overflow, which is noted at the deepest call
+     * and reported once the stack has unwound.
+     * @param stmtCtx the routine's CompoundStatementContext.
+     * @param callCtx the context of the call.
+     */
+    private void executeBody(PascalParser.CompoundStatementContext stmtCtx,
+                             ParserRuleContext callCtx)
+    {
+        try
+        {
+            visit(stmtCtx);
+        }
+        catch (StackOverflowError ex)
+        {
+            error.noteOverflow(callCtx);
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the frame template of a routine, creating it at the first call.
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the frame template.
+     */
+    private FrameTemplate frameTemplate(SymTableEntry routineId)
+    {
+        return frameTemplates.computeIfAbsent(routineId, FrameTemplate::new);
     }
 
     /**
      * Execute procedure and function call arguments.
-     * @param argListCtx the ArgumentListContext
-     * @param parameters the routine's parameters.
+     * @param site the resolved call site.
      * @param frame the routine's stack frame.
      */
-    private void executeCallArguments(PascalParser.ArgumentListContext argListCtx,
-                                     ArrayList<SymTableEntry> parameters,
-                                     StackFrame frame)
+    private void executeCallArguments(CallSite site, StackFrame frame)
     {
-        // Loop over the parameters.
-        for (int i = 0; i < parameters.size(); i++)
+        for (int i = 0; i < site.slots.length; i++)
         {
-            SymTableEntry paramId = parameters.get(i);
-            String paramName = paramId.getName();
-            Kind paramKind = paramId.getKind();
-            Cell paramCell = frame.getCell(paramName);
-            PascalParser.ArgumentContext argCtx = argListCtx.argument().get(i);
-            Object value = visit(argCtx);
-            
-            // Value parameter: Copy the argument's value.
-            if (paramKind == VALUE_PARAMETER)
-            {
-                assignValue(paramCell, paramId.getType(),
-                            value, argCtx.expression().type);
-            }
+            int slot = site.slots[i];
             
-            // Reference parameter: Copy the argument's cell.
-            else
+            switch (site.passing[i])
             {
-                PascalParser.FactorContext factorCtx =
-                        argCtx.expression().simpleExpression().get(0)
-                              .term().get(0).factor().get(0);
-                PascalParser.VariableContext varCtx =
-                    ((PascalParser.VariableFactorContext) factorCtx).variable();
+                case INTEGER -> frame.getCell(slot).setInteger(
+                                        evaluateInteger(site.expressions[i]));
+                case REAL    -> frame.getCell(slot).setReal(
+                                        evaluateReal(site.expressions[i]));
+                case BOOLEAN -> frame.getCell(slot).setBoolean(
+                                        evaluateBoolean(site.expressions[i]));
+                case VALUE   -> assignValue(frame.getCell(slot), site.types[i],
+                                            visit(site.expressions[i]),
+                                            site.expressions[i].type);
                 
-                Cell argCell = (Cell) visitVariable(varCtx);
-                frame.replaceCell(paramName, argCell);
+                // Reference parameter: Copy the argument's cell.
+                case REFERENCE -> frame.replaceCell(slot, 
+                                        (Cell) visitVariable(site.variables[i]));
             }
         }
     }
 
     @Override 
     public Object visitExpression(PascalParser.ExpressionContext ctx) 
+    {
+        // Use the typed evaluation paths where possible.
+        if (ctx.type == Predefined.integerType) return evaluateInteger(ctx);
+        if (ctx.type == Predefined.realType)    return evaluateReal(ctx);
+        if (ctx.type == Predefined.booleanType) return evaluateBoolean(ctx);
+        
+        // Character, string, or other expression.
+        if (ctx.relOp() == null) return visit(ctx.simpleExpression().get(0));
+        
+        return evaluateComparison(ctx);
+    }
+    
+    /**
+     * Evaluate a relational expression whose operands are not
+     * both integer or real values.
+     * @param ctx the ExpressionContext.
+     * @return the boolean value.
+     */
+    private boolean evaluateComparison(PascalParser.ExpressionContext ctx)
     {
         PascalParser.SimpleExpressionContext simpleCtx1 = 
                                                 ctx.simpleExpression().get(0);
@@ -373,95 +914,92 @@ public class Executor extends PascalBaseVisitor<Object>
         Object operand1 = visit(simpleCtx1);
         Typespec type1 = simpleCtx1.type;
         
-        // More than one simple expression?
-        if (relOpCtx != null)
+        String op = relOpCtx.getText();
+        PascalParser.SimpleExpressionContext simpleCtx2 = 
+                                            ctx.simpleExpression().get(1);
+        Object operand2 = visit(simpleCtx2);
+        Typespec type2 = simpleCtx2.type;
+
+        boolean integerMode   = false;
+        boolean realMode      = false;
+        boolean characterMode = false;
+
+        if (   (type1 == Predefined.integerType)
+            && (type2 == Predefined.integerType)) 
         {
-            String op = relOpCtx.getText();
-            PascalParser.SimpleExpressionContext simpleCtx2 = 
-                                                ctx.simpleExpression().get(1);
-            Object operand2 = visit(simpleCtx2);
-            Typespec type2 = simpleCtx2.type;
+            integerMode = true;
+        }
+        else if (   (type1 == Predefined.realType) 
+                 || (type2 == Predefined.realType))
+        {
+            realMode = true;
+        }
+        else if (   (type1 == Predefined.charType) 
+                 && (type2 == Predefined.charType))
+        {
+            characterMode = true;
+        }
 
-            boolean integerMode   = false;
-            boolean realMode      = false;
-            boolean characterMode = false;
+        if (integerMode || characterMode) 
+        {
+            int value1 = type1 == Predefined.integerType
+                    ? (Integer) operand1 : (Character) operand1;
+            int value2 = type2 == Predefined.integerType
+                    ? (Integer) operand2 : (Character) operand2;
 
-            if (   (type1 == Predefined.integerType)
-                && (type2 == Predefined.integerType)) 
-            {
-                integerMode = true;
-            }
-            else if (   (type1 == Predefined.realType) 
-                     || (type2 == Predefined.realType))
-            {
-                realMode = true;
-            }
-            else if (   (type1 == Predefined.charType) 
-                     && (type2 == Predefined.charType))
-            {
-                characterMode = true;
-            }
+            return switch (op) {
+                case "=" -> value1 == value2;
+                case "<>" -> value1 != value2;
+                case "<" -> value1 < value2;
+                case "<=" -> value1 <= value2;
+                case ">" -> value1 > value2;
+                case ">=" -> value1 >= value2;
+                default -> false;
+            };
+        }
+        else if (realMode)
+        {
+            double value1 = type1 == Predefined.integerType
+                    ? (Integer) operand1 : (Double) operand1;
+            double value2 = type2 == Predefined.integerType
+                    ? (Integer) operand2 : (Double) operand2;
 
-            if (integerMode || characterMode) 
-            {
-                int value1 = type1 == Predefined.integerType
-                        ? (Integer) operand1 : (Character) operand1;
-                int value2 = type2 == Predefined.integerType
-                        ? (Integer) operand2 : (Character) operand2;
+            return switch (op) {
+                case "=" -> value1 == value2;
+                case "<>" -> value1 != value2;
+                case "<" -> value1 < value2;
+                case "<=" -> value1 <= value2;
+                case ">" -> value1 > value2;
+                case ">=" -> value1 >= value2;
+                default -> false;
+            };
+        }
+        else  // stringMode) 
+        {
+            boolean result = false;
+            int comp = StringRope.compare(operand1, operand2);
 
-                return switch (op) {
-                    case "=" -> value1 == value2;
-                    case "<>" -> value1 != value2;
-                    case "<" -> value1 < value2;
-                    case "<=" -> value1 <= value2;
-                    case ">" -> value1 > value2;
-                    case ">=" -> value1 >= value2;
-                    default -> false;
-                };
-            }
-            else if (realMode)
-            {
-                double value1 = type1 == Predefined.integerType
-                        ? (Integer) operand1 : (Double) operand1;
-                double value2 = type2 == Predefined.integerType
-                        ? (Integer) operand2 : (Double) operand2;
-
-                return switch (op) {
-                    case "=" -> value1 == value2;
-                    case "<>" -> value1 != value2;
-                    case "<" -> value1 < value2;
-                    case "<=" -> value1 <= value2;
-                    case ">" -> value1 > value2;
-                    case ">=" -> value1 >= value2;
-                    default -> false;
-                };
-            }
-            else  // stringMode) 
-            {
-                String value1 = (String) operand1;
-                String value2 = (String) operand2;
-                boolean result = false;
-                int comp = value1.compareTo(value2);
-
-                switch (op) {
-                    case "=" -> result = comp == 0;
-                    case "<>" -> result = comp != 0;
-                    case "<" -> result = comp < 0;
-                    case "<=" -> result = comp <= 0;
-                    case ">" -> result = comp > 0;
-                    case ">=" -> result = comp >= 0;
-                }
-                
-                return result;
+            switch (op) {
+                case "=" -> result = comp == 0;
+                case "<>" -> result = comp != 0;
+                case "<" -> result = comp < 0;
+                case "<=" -> result = comp <= 0;
+                case ">" -> result = comp > 0;
+                case ">=" -> result = comp >= 0;
             }
+            
+            return result;
         }
-        
-        return operand1;
     }
 
     @Override 
     public Object visitSimpleExpression(PascalParser.SimpleExpressionContext ctx) 
     {
+        // Use the typed evaluation paths where possible.
+        if (ctx.type == Predefined.integerType) return evaluateInteger(ctx);
+        if (ctx.type == Predefined.realType)    return evaluateReal(ctx);
+        if (ctx.type == Predefined.booleanType) return evaluateBoolean(ctx);
+        
         int count = ctx.term().size();
         boolean negate =    (ctx.sign() != null)
                          && ctx.sign().getText().equals("-");
@@ -533,7 +1071,7 @@ public class Executor extends PascalBaseVisitor<Object>
             }
             else  // stringMode
             {
-                operand1 = operand1 + ((String) operand2);
+                operand1 = StringRope.concat(operand1, operand2, governor, termCtx2);
             }
         }
         
@@ -543,6 +1081,11 @@ public class Executor extends PascalBaseVisitor<Object>
     @Override 
     public Object visitTerm(PascalParser.TermContext ctx) 
     {
+        // Use the typed evaluation paths where possible.
+        if (ctx.type == Predefined.integerType) return evaluateInteger(ctx);
+        if (ctx.type == Predefined.realType)    return evaluateReal(ctx);
+        if (ctx.type == Predefined.booleanType) return evaluateBoolean(ctx);
+        
         int count = ctx.factor().size();
         
         // First factor.
@@ -630,6 +1173,414 @@ public class Executor extends PascalBaseVisitor<Object>
         return operand1;
     }
 
+    /**
+     * Count the terms of a simple expression without creating the
+     * list that SimpleExpressionContext.term() would return.
+     * @param ctx the SimpleExpressionContext.
+     * @return the number of terms.
+     */
+    private static int termCount(PascalParser.SimpleExpressionContext ctx)
+    {
+        int children = ctx.getChildCount() - (ctx.sign() != null ? 1 : 0);
+        return (children + 1)/2;
+    }
+    
+    /**
+     * Count the factors of a term without creating the
+     * list that TermContext.factor() would return.
+     * @param ctx the TermContext.
+     * @return the number of factors.
+     */
+    private static int factorCount(PascalParser.TermContext ctx)
+    {
+        return (ctx.getChildCount() + 1)/2;
+    }
+    
+    /**
+     * Evaluate an integer expression without boxing.
+     * @param ctx the ExpressionContext.
+     * @return the integer value.
+     */
+    private int evaluateInteger(PascalParser.ExpressionContext ctx)
+    {
+        // An integer expression has no relational operator.
+        return evaluateInteger(ctx.simpleExpression(0));
+    }
+    
+    /**
+     * Evaluate an integer simple expression without boxing.
+     * @param ctx the SimpleExpressionContext.
+     * @return the integer value.
+     */
+    private int evaluateInteger(PascalParser.SimpleExpressionContext ctx)
+    {
+        int count = termCount(ctx);
+        int value = evaluateInteger(ctx.term(0));
+        
+        if ((ctx.sign() != null) && (ctx.sign().getStart().getType() == MINUS))
+        {
+            value = -value;
+        }
+        
+        // Loop over the subsequent terms.
+        for (int i = 1; i < count; i++)
+        {
+            int op = ctx.addOp(i-1).getStart().getType();
+            int value2 = evaluateInteger(ctx.term(i));
+            
+            value = (op == PLUS) ? value + value2 : value - value2;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate an integer term without boxing.
+     * @param ctx the TermContext.
+     * @return the integer value.
+     */
+    private int evaluateInteger(PascalParser.TermContext ctx)
+    {
+        int count = factorCount(ctx);
+        int value = evaluateInteger(ctx.factor(0));
+        
+        // Loop over the subsequent factors.
+        for (int i = 1; i < count; i++)
+        {
+            int op = ctx.mulOp(i-1).getStart().getType();
+            PascalParser.FactorContext factorCtx2 = ctx.factor(i);
+            int value2 = evaluateInteger(factorCtx2);
+            
+            if (op == STAR) value *= value2;
+            
+            // Check for division by zero.
+            else if (value2 == 0) error.flag(DIVISION_BY_ZERO, factorCtx2);
+            
+            else if (op == PascalParser.DIV) value /= value2;
+            else                             value %= value2;  // mod
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate an integer factor without boxing.
+     * @param ctx the FactorContext.
+     * @return the integer value.
+     */
+    private int evaluateInteger(PascalParser.FactorContext ctx)
+    {
+        if (ctx instanceof PascalParser.VariableFactorContext varFactorCtx)
+        {
+            PascalParser.VariableContext varCtx = varFactorCtx.variable();
+            Kind kind = varCtx.entry.getKind();
+            
+            if ((kind == CONSTANT) || (kind == ENUMERATION_CONSTANT))
+            {
+                return (Integer) varCtx.entry.getValue();
+            }
+            else
+            {
+                return ((Cell) visit(varCtx)).getInteger();
+            }
+        }
+        else if (ctx instanceof PascalParser.ParenthesizedFactorContext parenCtx)
+        {
+            return evaluateInteger(parenCtx.expression());
+        }
+        else if (isStandardCall(ctx))
+        {
+            return standardInteger((PascalParser.FunctionCallFactorContext) ctx);
+        }
+        else
+        {
+            return (Integer) visit(ctx);
+        }
+    }
+    
+    /**
+     * Evaluate an integer or character expression, such as a FOR limit
+     * or an array subscript, as an integer value.
+     * @param ctx the ExpressionContext.
+     * @return the integer value.
+     */
+    private int evaluateOrdinal(PascalParser.ExpressionContext ctx)
+    {
+        if (ctx.type == Predefined.integerType) return evaluateInteger(ctx);
+        
+        Object value = visit(ctx);
+        return (value instanceof Character) ? (Character) value 
+                                            : (Integer) value;
+    }
+    
+    /**
+     * Evaluate a real or integer expression as a real value without boxing.
+     * @param ctx the ExpressionContext.
+     * @return the real value.
+     */
+    private double evaluateReal(PascalParser.ExpressionContext ctx)
+    {
+        // A real expression has no relational operator.
+        return evaluateReal(ctx.simpleExpression(0));
+    }
+    
+    /**
+     * Evaluate a real or integer simple expression as a real value
+     * without boxing.
+     * @param ctx the SimpleExpressionContext.
+     * @return the real value.
+     */
+    private double evaluateReal(PascalParser.SimpleExpressionContext ctx)
+    {
+        if (ctx.type != Predefined.realType) return evaluateInteger(ctx);
+        
+        int count = termCount(ctx);
+        double value = evaluateReal(ctx.term(0));
+        
+        if ((ctx.sign() != null) && (ctx.sign().getStart().getType() == MINUS))
+        {
+            value = -value;
+        }
+        
+        // Loop over the subsequent terms.
+        for (int i = 1; i < count; i++)
+        {
+            int op = ctx.addOp(i-1).getStart().getType();
+            double value2 = evaluateReal(ctx.term(i));
+            
+            value = (op == PLUS) ? value + value2 : value - value2;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate a real or integer term as a real value without boxing.
+     * @param ctx the TermContext.
+     * @return the real value.
+     */
+    private double evaluateReal(PascalParser.TermContext ctx)
+    {
+        if (ctx.type != Predefined.realType) return evaluateInteger(ctx);
+        
+        int count = factorCount(ctx);
+        double value = evaluateReal(ctx.factor(0));
+        
+        // Loop over the subsequent factors.
+        for (int i = 1; i < count; i++)
+        {
+            int op = ctx.mulOp(i-1).getStart().getType();
+            PascalParser.FactorContext factorCtx2 = ctx.factor(i);
+            double value2 = evaluateReal(factorCtx2);
+            
+            if (op == STAR) value *= value2;
+            
+            // Check for division by zero.
+            else if (value2 == 0)
+            {
+                error.flag(DIVISION_BY_ZERO, factorCtx2);
+                value = 0;
+            }
+            else value /= value2;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate a real or integer factor as a real value without boxing.
+     * @param ctx the FactorContext.
+     * @return the real value.
+     */
+    private double evaluateReal(PascalParser.FactorContext ctx)
+    {
+        if (ctx.type != Predefined.realType) return evaluateInteger(ctx);
+        
+        if (ctx instanceof PascalParser.VariableFactorContext varFactorCtx)
+        {
+            PascalParser.VariableContext varCtx = varFactorCtx.variable();
+            Kind kind = varCtx.entry.getKind();
+            
+            if (kind == CONSTANT)
+            {
+                return ((Number) varCtx.entry.getValue()).doubleValue();
+            }
+            else
+            {
+                return ((Cell) visit(varCtx)).getReal();
+            }
+        }
+        else if (ctx instanceof PascalParser.ParenthesizedFactorContext parenCtx)
+        {
+            return evaluateReal(parenCtx.expression());
+        }
+        else if (isStandardCall(ctx))
+        {
+            return standardReal((PascalParser.FunctionCallFactorContext) ctx);
+        }
+        else
+        {
+            return (Double) visit(ctx);
+        }
+    }
+    
+    /**
+     * Evaluate a boolean expression without boxing.
+     * @param ctx the ExpressionContext.
+     * @return the boolean value.
+     */
+    private boolean evaluateBoolean(PascalParser.ExpressionContext ctx)
+    {
+        PascalParser.RelOpContext relOpCtx = ctx.relOp();
+        PascalParser.SimpleExpressionContext simpleCtx1 = ctx.simpleExpression(0);
+        
+        if (relOpCtx == null) return evaluateBoolean(simpleCtx1);
+        
+        PascalParser.SimpleExpressionContext simpleCtx2 = ctx.simpleExpression(1);
+        Typespec type1 = simpleCtx1.type;
+        Typespec type2 = simpleCtx2.type;
+        int op = relOpCtx.getStart().getType();
+        
+        if (integerValued(type1) && integerValued(type2)) 
+        {
+            int value1 = evaluateInteger(simpleCtx1);
+            int value2 = evaluateInteger(simpleCtx2);
+            
+            return compare(op, Integer.compare(value1, value2));
+        }
+        else if (   (   (type1 == Predefined.realType) 
+                     || (type2 == Predefined.realType))
+                 && (   (type1 == Predefined.integerType) 
+                     || (type1 == Predefined.realType))
+                 && (   (type2 == Predefined.integerType) 
+                     || (type2 == Predefined.realType)))
+        {
+            double value1 = evaluateReal(simpleCtx1);
+            double value2 = evaluateReal(simpleCtx2);
+            
+            return   (op == EQ) ? value1 == value2
+                   : (op == NE) ? value1 != value2
+                   : (op == LT) ? value1 <  value2
+                   : (op == LE) ? value1 <= value2
+                   : (op == GT) ? value1 >  value2
+                   : (op == GE) && (value1 >= value2);
+        }
+        else
+        {
+            return evaluateComparison(ctx);
+        }
+    }
+    
+    /**
+     * Determine whether values of a type are kept as integers,
+     * namely integer, subrange, and enumeration values other than booleans.
+     * @param type the type.
+     * @return true if so.
+     */
+    private static boolean integerValued(Typespec type)
+    {
+        Typespec baseType = type.baseType();
+        
+        return    (baseType == Predefined.integerType)
+               || (   (baseType.getForm() == ENUMERATION)
+                   && (baseType != Predefined.booleanType));
+    }
+    
+    /**
+     * Apply a relational operator to the result of a comparison.
+     * @param op the token type of the relational operator.
+     * @param comp the comparison result, negative, zero, or positive.
+     * @return the boolean value.
+     */
+    private boolean compare(int op, int comp)
+    {
+        return   (op == EQ) ? comp == 0
+               : (op == NE) ? comp != 0
+               : (op == LT) ? comp <  0
+               : (op == LE) ? comp <= 0
+               : (op == GT) ? comp >  0
+               : (op == GE) && (comp >= 0);
+    }
+    
+    /**
+     * Evaluate a boolean simple expression without boxing.
+     * @param ctx the SimpleExpressionContext.
+     * @return the boolean value.
+     */
+    private boolean evaluateBoolean(PascalParser.SimpleExpressionContext ctx)
+    {
+        int count = termCount(ctx);
+        boolean value = evaluateBoolean(ctx.term(0));
+        
+        // Loop over the subsequent OR terms.
+        for (int i = 1; i < count; i++)
+        {
+            boolean value2 = evaluateBoolean(ctx.term(i));
+            value = value || value2;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate a boolean term without boxing.
+     * @param ctx the TermContext.
+     * @return the boolean value.
+     */
+    private boolean evaluateBoolean(PascalParser.TermContext ctx)
+    {
+        int count = factorCount(ctx);
+        boolean value = evaluateBoolean(ctx.factor(0));
+        
+        // Loop over the subsequent AND factors.
+        for (int i = 1; i < count; i++)
+        {
+            boolean value2 = evaluateBoolean(ctx.factor(i));
+            value = value && value2;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Evaluate a boolean factor without boxing.
+     * @param ctx the FactorContext.
+     * @return the boolean value.
+     */
+    private boolean evaluateBoolean(PascalParser.FactorContext ctx)
+    {
+        if (ctx instanceof PascalParser.VariableFactorContext varFactorCtx)
+        {
+            PascalParser.VariableContext varCtx = varFactorCtx.variable();
+            Kind kind = varCtx.entry.getKind();
+            
+            if ((kind == CONSTANT) || (kind == ENUMERATION_CONSTANT))
+            {
+                return (Integer) varCtx.entry.getValue() != 0;
+            }
+            else
+            {
+                return ((Cell) visit(varCtx)).getBoolean();
+            }
+        }
+        else if (ctx instanceof PascalParser.NotFactorContext notCtx)
+        {
+            return !evaluateBoolean(notCtx.factor());
+        }
+        else if (ctx instanceof PascalParser.ParenthesizedFactorContext parenCtx)
+        {
+            return evaluateBoolean(parenCtx.expression());
+        }
+        else if (isStandardCall(ctx))
+        {
+            return standardBoolean((PascalParser.FunctionCallFactorContext) ctx);
+        }
+        else
+        {
+            return (Boolean) visit(ctx);
+        }
+    }
+
     @Override 
     public Object visitVariableFactor(PascalParser.VariableFactorContext ctx) 
     {
@@ -658,18 +1609,19 @@ public class Executor extends PascalBaseVisitor<Object>
     }
 
     @Override 
-    @SuppressWarnings("unchecked")
     public Object visitVariable(PascalParser.VariableContext ctx) 
     {
         SymTableEntry variableId = ctx.entry;
-        String variableName = variableId.getName();
         Typespec variableType = variableId.getType();
         int nestingLevel = variableId.getSymTable().getNestingLevel();
 
         // Get the variable reference from the appropriate activation record.
         StackFrame frame = runtimeStack.getTopmost(nestingLevel);
-        Cell variableCell = frame.getCell(variableName);
+        Cell variableCell = frame.getCell(variableId.getSlotNumber());
 
+        // A simple variable has no modifiers.
+        if (ctx.getChildCount() == 1) return variableCell;
+        
         // Execute any array subscripts or record fields.
         for (PascalParser.ModifierContext modCtx : ctx.modifier()) 
         {
@@ -688,10 +1640,17 @@ public class Executor extends PascalBaseVisitor<Object>
                         minIndex = indexType.getSubrangeMinValue();
                     }
                     
-                    int value = (Integer) visit(indexCtx.expression());
+                    int value = evaluateOrdinal(indexCtx.expression());
                     int index = value - minIndex;
                     
-                    variableCell = ((Cell[]) variableCell.getValue())[index];
+                    // Check the subscript against its own dimension,
+                    // or it could select an element of another row.
+                    if ((index < 0) || (index >= variableType.getArrayElementCount()))
+                    {
+                        error.abort(VALUE_RANGE, indexCtx);
+                    }
+                    
+                    variableCell = ((ArrayValue) variableCell.getValue()).getCell(index);
                     variableType = variableType.getArrayElementType();
                 }
             }
@@ -700,12 +1659,10 @@ public class Executor extends PascalBaseVisitor<Object>
             else 
             {
                 SymTableEntry fieldId = modCtx.field().entry;
-                String fieldName = fieldId.getName();
 
                 // Compute a new reference for the field.
-                HashMap<String, Cell> map =
-                                (HashMap<String, Cell>) variableCell.getValue();
-                variableCell = map.get(fieldName);
+                RecordValue record = (RecordValue) variableCell.getValue();
+                variableCell = record.getField(fieldId.getSlotNumber());
                 variableType = fieldId.getType();
             }
         }
@@ -717,6 +1674,10 @@ public class Executor extends PascalBaseVisitor<Object>
     public Object visitNumberFactor(PascalParser.NumberFactorContext ctx) 
     {
         Typespec type = ctx.type;
+        Object value = ctx.number().value;
+        
+        // The value converted by Semantics.
+        if (value != null) return value;
         
         if (type == Predefined.integerType)
         {
@@ -757,36 +1718,174 @@ public class Executor extends PascalBaseVisitor<Object>
                                     PascalParser.FunctionCallFactorContext ctx) 
     {
         PascalParser.FunctionCallContext callCtx = ctx.functionCall();
-        SymTableEntry routineId = callCtx.functionName().entry;
-        PascalParser.ArgumentListContext argListCtx = callCtx.argumentList();
-        StackFrame newFrame = new StackFrame(routineId);
+        SymTableEntry functionId = callCtx.functionName().entry;
         
-        // Execute any call arguments and initialize
-        // the parameters in the routine's new stack frame.
-        if (argListCtx != null) 
+        if (functionId.getRoutineCode() != Routine.DECLARED)
         {
-            ArrayList<SymTableEntry> params = routineId.getRoutineParameters();
-            executeCallArguments(argListCtx, params, newFrame);
+            Typespec type = ctx.type;
+            
+            if      (type == Predefined.realType)    return standardReal(ctx);
+            else if (type == Predefined.booleanType) return standardBoolean(ctx);
+            else if (type == Predefined.charType)    return (char) standardInteger(ctx);
+            else                                     return standardInteger(ctx);
         }
+        
+        CallSite site = callSite(ctx, functionId, callCtx.argumentList());
+        
+        return executeCall(site, ctx);
+    }
 
-        // Push the routine's stack frame onto the runtime stack 
-        // and execute the procedure.
-        runtimeStack.push(newFrame);
+    /**
+     * Determine whether a factor is a call of a standard function.
+     * @param ctx the FactorContext.
+     * @return true if so.
+     */
+    private static boolean isStandardCall(PascalParser.FactorContext ctx)
+    {
+        return (ctx instanceof PascalParser.FunctionCallFactorContext callCtx)
+            && (callCtx.functionCall().functionName().entry.getRoutineCode() 
+                    != Routine.DECLARED);
+    }
 
-        // Execute the routine.
-        PascalParser.CompoundStatementContext stmtCtx = 
-            (PascalParser.CompoundStatementContext) routineId.getExecutable();
-        visit(stmtCtx);
+    /**
+     * Execute a call of a standard function whose value is integer,
+     * character, or enumeration, without a stack frame or boxing.
+     * @param ctx the FunctionCallFactorContext.
+     * @return the function value.
+     */
+    private int standardInteger(PascalParser.FunctionCallFactorContext ctx)
+    {
+        PascalParser.FunctionCallContext callCtx = ctx.functionCall();
+        Routine function = callCtx.functionName().entry.getRoutineCode();
+        PascalParser.ExpressionContext argCtx = 
+                                    callCtx.argumentList().argument(0).expression();
         
-        // Get the function value from its associated variable.
-        String functionName = routineId.getName();
-        Cell valueCell = newFrame.getCell(functionName);
-        Object functionValue = valueCell.getValue();
+        switch (function)
+        {
+            case ABS: return Math.abs(evaluateInteger(argCtx));
+            
+            case SQR:
+            {
+                int value = evaluateInteger(argCtx);
+                return value*value;
+            }
+            
+            case CHR:
+            {
+                int value = evaluateInteger(argCtx);
+                
+                if ((value < Character.MIN_VALUE) || (value > Character.MAX_VALUE))
+                {
+                    error.flag(INVALID_STANDARD_FUNCTION_ARGUMENT, ctx);
+                    return 0;
+                }
+                
+                return value;
+            }
+            
+            case ORD: return standardOrdinal(argCtx);
+            
+            case PRED:
+            case SUCC:
+            {
+                int value = standardOrdinal(argCtx);
+                int next = (function == Routine.SUCC) ? value + 1 : value - 1;
+                Typespec type = argCtx.type.baseType();
+                int max = (type.getForm() == ENUMERATION) 
+                                ? type.getEnumerationConstants().size() - 1
+                        : (type == Predefined.charType) ? Character.MAX_VALUE
+                        : Integer.MAX_VALUE;
+                
+                if (   (type != Predefined.integerType) 
+                    && ((next < 0) || (next > max)))
+                {
+                    error.flag(VALUE_RANGE, ctx);
+                    return value;
+                }
+                
+                return next;
+            }
+            
+            case ROUND:
+            {
+                double value = evaluateReal(argCtx);
+                return (int) ((value < 0) ? -Math.round(-value) : Math.round(value));
+            }
+            
+            case TRUNC: return (int) evaluateReal(argCtx);
+            
+            default: 
+                throw new IllegalStateException("Not an integer function: " + function);
+        }
+    }
 
-        // Pop off the routine's stack frame.
-        runtimeStack.pop();
+    /**
+     * Execute a call of a standard function whose value is real,
+     * without a stack frame or boxing.
+     * @param ctx the FunctionCallFactorContext.
+     * @return the function value.
+     */
+    private double standardReal(PascalParser.FunctionCallFactorContext ctx)
+    {
+        PascalParser.FunctionCallContext callCtx = ctx.functionCall();
+        Routine function = callCtx.functionName().entry.getRoutineCode();
+        double value = evaluateReal(callCtx.argumentList().argument(0).expression());
         
-        return functionValue;
+        switch (function)
+        {
+            case ABS:    return Math.abs(value);
+            case SQR:    return value*value;
+            case ARCTAN: return Math.atan(value);
+            case COS:    return Math.cos(value);
+            case EXP:    return Math.exp(value);
+            case SIN:    return Math.sin(value);
+            
+            case LN:
+            case SQRT:
+            {
+                if ((value < 0) || ((value == 0) && (function == Routine.LN)))
+                {
+                    error.flag(INVALID_STANDARD_FUNCTION_ARGUMENT, ctx);
+                    return 0;
+                }
+                
+                return (function == Routine.LN) ? Math.log(value) : Math.sqrt(value);
+            }
+            
+            default:
+                throw new IllegalStateException("Not a real function: " + function);
+        }
+    }
+
+    /**
+     * Execute a call of a standard function whose value is boolean:
+     * odd, or pred or succ of a boolean value.
+     * @param ctx the FunctionCallFactorContext.
+     * @return the function value.
+     */
+    private boolean standardBoolean(PascalParser.FunctionCallFactorContext ctx)
+    {
+        PascalParser.FunctionCallContext callCtx = ctx.functionCall();
+        
+        if (callCtx.functionName().entry.getRoutineCode() == Routine.ODD)
+        {
+            return (evaluateInteger(callCtx.argumentList().argument(0).expression()) & 1) 
+                        != 0;
+        }
+        
+        return standardInteger(ctx) != 0;
+    }
+
+    /**
+     * Evaluate the argument of ord, pred, or succ as an ordinal value.
+     * @param ctx the ExpressionContext.
+     * @return the ordinal value.
+     */
+    private int standardOrdinal(PascalParser.ExpressionContext ctx)
+    {
+        return (ctx.type.baseType() == Predefined.booleanType) 
+                ? (evaluateBoolean(ctx) ? 1 : 0)
+                : evaluateOrdinal(ctx);
     }
 
     @Override 
@@ -807,7 +1906,7 @@ public class Executor extends PascalBaseVisitor<Object>
     public Object visitWritelnStatement(PascalParser.WritelnStatementContext ctx) 
     {
         visitChildren(ctx);
-        System.out.println();
+        output.println();
         
         return null;
     }
@@ -818,67 +1917,13 @@ public class Executor extends PascalBaseVisitor<Object>
         // Loop over each argument.
         for (PascalParser.WriteArgumentContext argCtx : ctx.writeArgument())
         {
-            Typespec type = argCtx.expression().type;
-            String argText = argCtx.getText();
+            // Compile the argument's format at its first execution.
+            WriteFormat format = 
+                    writeFormats.computeIfAbsent(argCtx, WriteFormat::of);
             
-            // Print any literal strings.
-            if (argText.charAt(0) == '\'') 
-            {
-                System.out.print(convertString(argText));
-            }
-            
-            // For any other expression, print its value with a format specifier.
-            else
-            {
-                Object value = visit(argCtx.expression());
-                StringBuilder format = new StringBuilder("%");
-                
-                // Create the format string.
-                PascalParser.FieldWidthContext fwCtx = argCtx.fieldWidth();              
-                if (fwCtx != null)
-                {
-                    String sign = (   (fwCtx.sign() != null) 
-                                   && (fwCtx.sign().getText().equals("-"))) 
-                                ? "-" : "";
-                    format.append(sign)
-                          .append(fwCtx.integerConstant().getText());
-                    
-                    PascalParser.DecimalPlacesContext dpCtx = 
-                                                        fwCtx.decimalPlaces();
-                    if (dpCtx != null)
-                    {
-                        format.append(".")
-                              .append(dpCtx.integerConstant().getText());
-                    }
-                }
-                
-                // Use the format string with printf.
-                if (type == Predefined.integerType)
-                {
-                    format.append("d");
-                    System.out.printf(format.toString(), value);
-                }
-                else if (type == Predefined.realType)
-                {
-                    format.append("f");
-                    System.out.printf(format.toString(), value);
-                }
-                else if (type == Predefined.booleanType)
-                {
-                    format.append("b");
-                    System.out.printf(format.toString(), value);
-                }
-                else if (type == Predefined.charType)
-                {
-                    format.append("c");
-                    System.out.printf(format.toString(), value);
-                }
-                else  // string
-                {
-                    format.append("s");
-                    System.out.printf(format.toString(), value);
-                }
-            }
+            // Print any literal string, or else the expression's value.
+            Object value = format.isLiteral() ? null : visit(argCtx.expression());
+            format.write(output, value);
         }
 
         return null;
@@ -888,7 +1933,7 @@ public class Executor extends PascalBaseVisitor<Object>
     public Object visitReadlnStatement(PascalParser.ReadlnStatementContext ctx) 
     {
         visitChildren(ctx);
-        scanner.nextLine();
+        input.skipLine();
         
         return null;
     }
@@ -904,36 +1949,149 @@ public class Executor extends PascalBaseVisitor<Object>
             PascalParser.VariableContext varCtx = ctx.variable().get(i);
             Typespec varType = varCtx.type;
             
-            if (varType == Predefined.integerType)
+            try
+            {
+                if (varType == Predefined.integerType)
+                {
+                    int value = input.readInteger();
+                    assignValue(varCtx, value, Predefined.integerType);
+                }
+                else if (varType == Predefined.realType)
+                {
+                    double value = input.readReal();
+                    assignValue(varCtx, value, Predefined.realType);
+                }
+                else if (varType == Predefined.booleanType)
+                {
+                    boolean value = input.readBoolean();
+                    assignValue(varCtx, value, Predefined.booleanType);
+                }
+                else if (varType == Predefined.charType)
+                {
+                    char value = input.readCharacter();
+                    assignValue(varCtx, value, Predefined.charType);
+                }
+                else  // string
+                {
+                    String value = input.readString();
+                    assignValue(varCtx, value, Predefined.stringType);
+                }
+            }
+            catch (NoSuchElementException ex)
+            {
+                error.flag(INVALID_INPUT, varCtx);
+            }
+        }
+        
+        return null;
+    }
+
+    /**
+     * How an argument is passed to its parameter.
+     */
+    private enum Passing
+    {
+        INTEGER,    // integer value, evaluated unboxed
+        REAL,       // integer or real value to a real, evaluated unboxed
+        BOOLEAN,    // boolean value, evaluated unboxed
+        VALUE,      // any other value, with the assignment conversions
+        REFERENCE   // the cell of a variable
+    }
+
+    /**
+     * A call of a routine, resolved at its first execution: the frame
+     * template, and each argument's parameter slot and how it is passed.
+     */
+    private static class CallSite
+    {
+        private final SymTableEntry routineId;  // the called routine
+        private final FrameTemplate template;   // the routine's frame template
+        private final MemoTable memo;           // the function's memo table, or null
+        private final PascalParser.CompoundStatementContext body;
+        private final int valueSlot;            // slot of the function value, or -1
+        private final int[] slots;              // parameter slot of each argument
+        private final Passing[] passing;        // how each argument is passed
+        private final Typespec[] types;         // datatype of each parameter
+        private final PascalParser.ExpressionContext[] expressions;  // by value
+        private final PascalParser.VariableContext[] variables;      // by reference
+
+        CallSite(FrameTemplate template, MemoTable memo,
+                 PascalParser.ArgumentListContext argListCtx)
+        {
+            SymTableEntry routineId = template.getRoutineId();
+            ArrayList<SymTableEntry> parameters = routineId.getRoutineParameters();
+            int count = (argListCtx != null) ? parameters.size() : 0;
+            
+            this.routineId = routineId;
+            this.template = template;
+            this.memo = memo;
+            this.body = (PascalParser.CompoundStatementContext) 
+                                                routineId.getExecutable();
+            this.valueSlot = (routineId.getKind() == FUNCTION)
+                    ? routineId.getRoutineSymTable()
+                               .lookup(routineId.getName()).getSlotNumber()
+                    : -1;
+            this.slots = new int[count];
+            this.passing = new Passing[count];
+            this.types = new Typespec[count];
+            this.expressions = new PascalParser.ExpressionContext[count];
+            this.variables = new PascalParser.VariableContext[count];
+            
+            for (int i = 0; i < count; i++)
             {
-                int value = scanner.nextInt();
-                assignValue(varCtx, value, Predefined.integerType);
+                SymTableEntry paramId = parameters.get(i);
+                PascalParser.ExpressionContext exprCtx = 
+                                        argListCtx.argument().get(i).expression();
+                
+                slots[i] = paramId.getSlotNumber();
+                types[i] = paramId.getType();
+                
+                if (paramId.getKind() == VALUE_PARAMETER)
+                {
+                    expressions[i] = exprCtx;
+                    passing[i] = passing(types[i], exprCtx.type);
+                }
+                else
+                {
+                    PascalParser.FactorContext factorCtx =
+                            exprCtx.simpleExpression().get(0)
+                                   .term().get(0).factor().get(0);
+                    
+                    variables[i] = 
+                        ((PascalParser.VariableFactorContext) factorCtx).variable();
+                    passing[i] = Passing.REFERENCE;
+                }
             }
-            else if (varType == Predefined.realType)
+        }
+
+        /**
+         * Determine how a value argument is passed, as assignValue does.
+         * @param targetType the datatype of the parameter.
+         * @param valueType the datatype of the argument.
+         * @return how the argument is passed.
+         */
+        private static Passing passing(Typespec targetType, Typespec valueType)
+        {
+            if (   (targetType == Predefined.integerType)
+                && (valueType  == Predefined.integerType))
             {
-                double value = scanner.nextDouble();
-                assignValue(varCtx, value, Predefined.realType);
+                return Passing.INTEGER;
             }
-            else if (varType == Predefined.booleanType)
+            else if (   (targetType == Predefined.realType)
+                     && (   (valueType == Predefined.integerType)
+                         || (valueType == Predefined.realType)))
             {
-                boolean value = scanner.nextBoolean();
-                assignValue(varCtx, value, Predefined.booleanType);
+                return Passing.REAL;
             }
-            else if (varType == Predefined.charType)
+            else if (   (targetType == Predefined.booleanType)
+                     && (valueType  == Predefined.booleanType))
             {
-                scanner.useDelimiter("");
-                char value = scanner.next().charAt(0);
-                scanner.reset();
-                
-                assignValue(varCtx, value, Predefined.charType);
+                return Passing.BOOLEAN;
             }
-            else  // string
+            else
             {
-                String value = scanner.next();
-                assignValue(varCtx, value, Predefined.stringType);
+                return Passing.VALUE;
             }
         }
-        
-        return null;
     }
 }
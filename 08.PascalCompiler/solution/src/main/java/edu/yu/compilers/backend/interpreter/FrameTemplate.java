@@ -0,0 +1,181 @@
+/**
+ * <h1>FrameTemplate</h1>
+ * <p>The layout of a routine's stack frames, computed once from the
+ * routine's symbol table, and a pool of the routine's frames that
+ * have been popped and can be used for later calls.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import edu.yu.compilers.intermediate.symtable.SymTable;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+import java.util.ArrayList;
+
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ARRAY;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.RECORD;
+
+public class FrameTemplate {
+    private static final int MAX_POOLED = 64;  // most frames kept for reuse
+
+    private final SymTableEntry routineId;  // symbol table entry of the routine's name
+    private final int nestingLevel;         // scope nesting level of the frames
+    private final int size;                 // number of slots of a frame
+    private final int[] valueSlots;         // slots of variables, value parameters,
+                                            // and the function value
+    private final Typespec[] valueTypes;    // array or record type of each value slot,
+                                            // or null for a scalar
+    private final int[] referenceSlots;     // slots of reference parameters
+    private final long cellCount;           // cells of a frame, including the
+                                            // elements of its arrays and records
+
+    private final StackFrame[] pool;  // frames available for reuse
+    private int pooled;               // number of frames in the pool
+
+    /**
+     * Constructor.
+     *
+     * @param routineId the symbol table entry of the routine's name.
+     */
+    public FrameTemplate(SymTableEntry routineId) {
+        SymTable symTable = routineId.getRoutineSymTable();
+        ArrayList<Integer> values = new ArrayList<>();
+        ArrayList<Typespec> types = new ArrayList<>();
+        ArrayList<Integer> references = new ArrayList<>();
+
+        for (SymTableEntry entry : symTable.values()) {
+            switch (entry.getKind()) {
+                case VARIABLE, VALUE_PARAMETER -> {
+                    Typespec type = entry.getType();
+                    boolean aggregate =    (type.getForm() == ARRAY)
+                                        || (type.getForm() == RECORD);
+
+                    values.add(entry.getSlotNumber());
+                    types.add(aggregate ? type : null);
+                }
+                case REFERENCE_PARAMETER -> references.add(entry.getSlotNumber());
+                default -> {}
+            }
+        }
+
+        this.routineId = routineId;
+        this.nestingLevel = symTable.getNestingLevel();
+        this.size = symTable.getMaxSlotNumber() + 1;
+        this.valueSlots = values.stream().mapToInt(Integer::intValue).toArray();
+        this.valueTypes = types.toArray(new Typespec[0]);
+        this.referenceSlots = references.stream().mapToInt(Integer::intValue).toArray();
+
+        long cells = size;
+        for (Typespec type : valueTypes) {
+            if (type != null) cells += cellCount(type);
+        }
+        this.cellCount = cells;
+        this.pool = new StackFrame[MAX_POOLED];
+        this.pooled = 0;
+    }
+
+    /**
+     * Get the symbol table entry of the routine's name.
+     *
+     * @return the symbol table entry.
+     */
+    public SymTableEntry getRoutineId() {
+        return routineId;
+    }
+
+    /**
+     * Get the scope nesting level of the frames.
+     *
+     * @return the nesting level.
+     */
+    public int getNestingLevel() {
+        return nestingLevel;
+    }
+
+    /**
+     * Get the number of memory cells of a frame, counting each element
+     * of an array or record as a cell.
+     *
+     * @return the count.
+     */
+    public long getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Count the cells of a value, as above.
+     *
+     * @param type the value's type.
+     * @return the count.
+     */
+    private static long cellCount(Typespec type) {
+        return switch (type.getForm()) {
+            case ARRAY -> type.getArrayElementCount()*cellCount(type.getArrayElementType());
+            case RECORD -> {
+                long count = 0;
+                for (SymTableEntry fieldId : type.getRecordSymTable().values()) {
+                    count += cellCount(fieldId.getType());
+                }
+                yield count;
+            }
+            default -> 1;
+        };
+    }
+
+    /**
+     * Get a stack frame for a call of the routine, reusing a pooled
+     * frame if there is one. Its scalar cells are uninitialized and
+     * its arrays and records are newly allocated.
+     *
+     * @return the stack frame.
+     */
+    public StackFrame newFrame() {
+        if (pooled == 0) return new StackFrame(this);
+
+        StackFrame frame = pool[--pooled];
+        pool[pooled] = null;
+
+        for (int i = 0; i < valueSlots.length; i++) {
+            Cell cell = frame.getCell(valueSlots[i]);
+            Typespec type = valueTypes[i];
+
+            // An array or record value may have been assigned to
+            // another variable, so it cannot be reused.
+            if (type == null) cell.clear();
+            else cell.setValue(Cell.allocateValue(type));
+        }
+
+        return frame.createBacklink(null);
+    }
+
+    /**
+     * Return a popped stack frame to the pool. The frame's cells keep
+     * their values until the frame is reused by the next newFrame().
+     *
+     * @param frame the stack frame.
+     */
+    public void release(StackFrame frame) {
+        if (pooled < MAX_POOLED) pool[pooled++] = frame;
+    }
+
+    /**
+     * Allocate the memory cells of a new frame.
+     *
+     * @return the cells indexed by slot number.
+     */
+    Cell[] allocateCells() {
+        Cell[] cells = new Cell[size];
+
+        for (int i = 0; i < valueSlots.length; i++) {
+            Typespec type = valueTypes[i];
+            cells[valueSlots[i]] = new Cell((type != null) ? Cell.allocateValue(type)
+                                                           : null);
+        }
+
+        // Replaced by the argument's cell when the routine is called.
+        for (int slot : referenceSlots) cells[slot] = new Cell(null);
+
+        return cells;
+    }
+}
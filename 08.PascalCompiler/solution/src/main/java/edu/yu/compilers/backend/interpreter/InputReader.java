@@ -0,0 +1,331 @@
+/**
+ * <h1>InputReader</h1>
+ * <p>The interpreter's runtime input for READ and READLN.</p>
+ * <p>Input is read as bytes from a buffer. Standard input that is
+ * redirected from a regular file is memory-mapped, and other input is
+ * read in large blocks. Integers, reals, booleans, and strings are read
+ * as tokens separated by white space, and a character is the next
+ * character of the input, which may be white space. Characters are
+ * decoded from UTF-8.</p>
+ * <p>A value that is not valid for its datatype, or that is missing at the
+ * end of the input, throws an InputMismatchException or a
+ * NoSuchElementException, as Scanner does.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+public class InputReader {
+    private static final int BLOCK_SIZE = 1 << 16;  // bytes read at a time
+
+    private final InputStream in;   // the input stream, or null if mapped
+    private final OutputSink tied;  // output to flush before waiting for input
+    private final ByteBuffer buffer;       // unread input
+    private final StringBuilder token;     // the token being read
+
+    /**
+     * Constructor for input read in blocks from a stream.
+     *
+     * @param in   the input stream.
+     * @param tied the output to flush before waiting for input, such as
+     *             a prompt, or null.
+     */
+    public InputReader(InputStream in, OutputSink tied) {
+        this.in = in;
+        this.tied = tied;
+        this.buffer = ByteBuffer.allocate(BLOCK_SIZE).limit(0);
+        this.token = new StringBuilder();
+    }
+
+    /**
+     * Constructor for input that is all in a buffer.
+     *
+     * @param mapped the buffer.
+     */
+    private InputReader(ByteBuffer mapped) {
+        this.in = null;
+        this.tied = null;
+        this.buffer = mapped;
+        this.token = new StringBuilder();
+    }
+
+    /**
+     * Create the reader of standard input. If standard input is
+     * redirected from a regular file, the rest of the file is mapped.
+     *
+     * @param tied the output to flush before waiting for input, or null.
+     * @return the reader.
+     */
+    public static InputReader standardInput(OutputSink tied) {
+        return open(new FileInputStream(FileDescriptor.in), System.in, tied);
+    }
+
+    /**
+     * Create the reader of an open file. If the file is a regular file,
+     * the rest of it is mapped, and otherwise another stream is read.
+     *
+     * @param file   the open file.
+     * @param stream the stream to read if the file is not mapped, such
+     *               as a buffered stream of the same file.
+     * @param tied   the output to flush before waiting for input, or null.
+     * @return the reader.
+     */
+    public static InputReader open(FileInputStream file, InputStream stream, OutputSink tied) {
+        try {
+            FileChannel channel = file.getChannel();
+            long position = channel.position();  // fails unless a regular file
+            long size = channel.size() - position;
+
+            if ((size > 0) && (size <= Integer.MAX_VALUE)) {
+                return new InputReader(channel.map(FileChannel.MapMode.READ_ONLY,
+                                                   position, size));
+            }
+        } catch (IOException | UnsupportedOperationException ignored) {
+            // A terminal or a pipe is read as a stream.
+        }
+
+        return new InputReader(stream, tied);
+    }
+
+    /**
+     * Read an integer value.
+     *
+     * @return the value.
+     */
+    public int readInteger() {
+        String text = nextToken();
+        int i = ((text.charAt(0) == '-') || (text.charAt(0) == '+')) ? 1 : 0;
+        long value = 0;
+
+        if (i == text.length()) throw new InputMismatchException(text);
+
+        for (; i < text.length(); i++) {
+            char ch = text.charAt(i);
+
+            if ((ch < '0') || (ch > '9')) throw new InputMismatchException(text);
+
+            value = 10*value + (ch - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) throw new InputMismatchException(text);
+        }
+
+        if (text.charAt(0) == '-') value = -value;
+        if (value > Integer.MAX_VALUE) throw new InputMismatchException(text);
+
+        return (int) value;
+    }
+
+    /**
+     * Read a real value: digits with an optional decimal point and
+     * exponent, NaN, or Infinity, optionally signed.
+     *
+     * @return the value.
+     */
+    public double readReal() {
+        String text = nextToken();
+
+        if (!isReal(text)) throw new InputMismatchException(text);
+
+        return Double.parseDouble(text);
+    }
+
+    /**
+     * Read a boolean value, true or false in any case.
+     *
+     * @return the value.
+     */
+    public boolean readBoolean() {
+        String text = nextToken();
+
+        if (text.equalsIgnoreCase("true")) return true;
+        if (text.equalsIgnoreCase("false")) return false;
+
+        throw new InputMismatchException(text);
+    }
+
+    /**
+     * Read the next character, which may be white space.
+     *
+     * @return the character.
+     */
+    public char readCharacter() {
+        int ch = nextChar();
+
+        if (ch < 0) throw new NoSuchElementException();
+
+        return (char) ch;
+    }
+
+    /**
+     * Read a string, which is the next token.
+     *
+     * @return the string.
+     */
+    public String readString() {
+        return nextToken();
+    }
+
+    /**
+     * Skip the rest of the current line and its line terminator.
+     */
+    public void skipLine() {
+        int ch;
+
+        while (((ch = nextByte()) >= 0) && (ch != '\n')) {
+            if (ch == '\r') {
+                if (peekByte() == '\n') nextByte();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Determine whether the input is at its end.
+     *
+     * @return true if so.
+     */
+    public boolean atEof() {
+        return peekByte() < 0;
+    }
+
+    /**
+     * Determine whether the input is at the end of a line.
+     *
+     * @return true if so, which includes the end of the input.
+     */
+    public boolean atEoln() {
+        int ch = peekByte();
+        return (ch < 0) || (ch == '\n') || (ch == '\r');
+    }
+
+    /**
+     * Read the next token, which is delimited by white space.
+     *
+     * @return the token.
+     */
+    private String nextToken() {
+        int ch;
+
+        while (isWhitespace(ch = peekByte())) nextByte();
+        if (ch < 0) throw new NoSuchElementException();
+
+        token.setLength(0);
+        while (((ch = peekByte()) >= 0) && !isWhitespace(ch)) {
+            token.append((char) nextChar());
+        }
+
+        return token.toString();
+    }
+
+    /**
+     * Read the next character, decoding UTF-8.
+     *
+     * @return the character, or -1 at the end of the input.
+     */
+    private int nextChar() {
+        int b = nextByte();
+        if (b < 0x80) return b;
+
+        int count = (b >= 0xF0) ? 3 : (b >= 0xE0) ? 2 : (b >= 0xC0) ? 1 : 0;
+        int ch = b & (0x3F >> count);
+
+        for (int i = 0; i < count; i++) {
+            int next = peekByte();
+            if ((next & 0xC0) != 0x80) return '\uFFFD';
+
+            ch = (ch << 6) | (nextByte() & 0x3F);
+        }
+
+        return ((count == 0) || (ch > Character.MAX_VALUE)) ? '\uFFFD' : ch;
+    }
+
+    /**
+     * Read the next byte.
+     *
+     * @return the byte, or -1 at the end of the input.
+     */
+    private int nextByte() {
+        return (buffer.hasRemaining() || fill()) ? buffer.get() & 0xFF : -1;
+    }
+
+    /**
+     * Look at the next byte without reading it.
+     *
+     * @return the byte, or -1 at the end of the input.
+     */
+    private int peekByte() {
+        return (buffer.hasRemaining() || fill()) ? buffer.get(buffer.position()) & 0xFF : -1;
+    }
+
+    /**
+     * Read the next block of a stream into the empty buffer.
+     *
+     * @return false at the end of the input.
+     */
+    private boolean fill() {
+        if (in == null) return false;
+        if (tied != null) tied.flush();
+
+        try {
+            int count = in.read(buffer.array(), 0, buffer.capacity());
+
+            buffer.position(0).limit(Math.max(count, 0));
+            return count > 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Determine whether a byte is white space.
+     *
+     * @param ch the byte.
+     * @return true if so.
+     */
+    private static boolean isWhitespace(int ch) {
+        return (ch == ' ') || ((ch >= '\t') && (ch <= '\r')) || ((ch >= 0x1C) && (ch <= 0x1F));
+    }
+
+    /**
+     * Determine whether a token is a real number.
+     *
+     * @param text the token.
+     * @return true if so.
+     */
+    private static boolean isReal(String text) {
+        int i = ((text.charAt(0) == '-') || (text.charAt(0) == '+')) ? 1 : 0;
+        String unsigned = text.substring(i);
+
+        if (unsigned.equals("NaN") || unsigned.equals("Infinity")) return true;
+
+        int digits = 0;
+        while ((i < text.length()) && Character.isDigit(text.charAt(i))) { i++; digits++; }
+
+        if ((i < text.length()) && (text.charAt(i) == '.')) {
+            i++;
+            while ((i < text.length()) && Character.isDigit(text.charAt(i))) { i++; digits++; }
+        }
+
+        if (digits == 0) return false;
+
+        if ((i < text.length()) && ((text.charAt(i) == 'e') || (text.charAt(i) == 'E'))) {
+            i++;
+            if ((i < text.length()) && ((text.charAt(i) == '-') || (text.charAt(i) == '+'))) i++;
+
+            int exponentDigits = 0;
+            while ((i < text.length()) && Character.isDigit(text.charAt(i))) { i++; exponentDigits++; }
+
+            if (exponentDigits == 0) return false;
+        }
+
+        return i == text.length();
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * <h1>JumpTable</h1>
+ * <p>The interpreter's jump table of a CASE statement, which maps each
+ * CASE constant value to its branch.</p>
+ * <p>Integer, character, and enumeration constants are int keys. If
+ * their range is compact, the branches are in an array indexed by the
+ * key minus the smallest constant. Otherwise, they are in a hash table
+ * with int keys, so that a lookup does not box the value. String
+ * constants are in a HashMap, and a rope value is flattened to look
+ * it up.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class JumpTable<T> {
+    private static final int MIN_DENSE_RANGE = 16;  // range that is always dense
+    private static final int DENSITY = 4;           // max range per constant if dense
+
+    private final int min;                  // smallest key of the dense table
+    private final T[] dense;                // branches indexed by key - min, or null
+    private final int[] keys;               // keys of the hash table, or null
+    private final T[] values;               // branches of the hash table
+    private final int shift;                // hash bits discarded for a slot index
+    private final HashMap<Object, T> other; // branches of string constants, or null
+
+    /**
+     * Constructor.
+     *
+     * @param branches the branch of each CASE constant value.
+     */
+    @SuppressWarnings("unchecked")
+    public JumpTable(Map<Object, T> branches) {
+        boolean intKeys = true;
+        long low = Integer.MAX_VALUE;
+        long high = Integer.MIN_VALUE;
+
+        for (Object constant : branches.keySet()) {
+            if ((constant instanceof Integer) || (constant instanceof Character)) {
+                int key = keyOf(constant);
+                low = Math.min(low, key);
+                high = Math.max(high, key);
+            } else {
+                intKeys = false;
+            }
+        }
+
+        long range = high - low + 1;
+        int count = branches.size();
+
+        if (!intKeys) {
+            this.min = 0;
+            this.dense = null;
+            this.keys = null;
+            this.values = null;
+            this.shift = 0;
+            this.other = new HashMap<>(branches);
+        } else if (range <= Math.max(MIN_DENSE_RANGE, (long) DENSITY*count)) {
+            this.min = (count > 0) ? (int) low : 0;
+            this.dense = (T[]) new Object[(count > 0) ? (int) range : 0];
+            this.keys = null;
+            this.values = null;
+            this.shift = 0;
+            this.other = null;
+
+            for (Map.Entry<Object, T> entry : branches.entrySet()) {
+                dense[keyOf(entry.getKey()) - min] = entry.getValue();
+            }
+        } else {
+            int capacity = Integer.highestOneBit(2*count - 1) << 1;
+
+            this.min = 0;
+            this.dense = null;
+            this.keys = new int[capacity];
+            this.values = (T[]) new Object[capacity];
+            this.shift = Integer.numberOfLeadingZeros(capacity - 1);
+            this.other = null;
+
+            for (Map.Entry<Object, T> entry : branches.entrySet()) {
+                int key = keyOf(entry.getKey());
+                int i = slot(key);
+
+                while (values[i] != null) i = (i + 1) & (capacity - 1);
+
+                keys[i] = key;
+                values[i] = entry.getValue();
+            }
+        }
+    }
+
+    /**
+     * Get the int key of an integer, character, or enumeration value.
+     *
+     * @param value the value.
+     * @return the key.
+     */
+    private static int keyOf(Object value) {
+        return (value instanceof Character ch) ? ch : (Integer) value;
+    }
+
+    /**
+     * Get the first hash table slot to probe for a key.
+     *
+     * @param key the key.
+     * @return the slot index.
+     */
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Determine whether the CASE constants are int keys.
+     *
+     * @return true if so, false if they are strings.
+     */
+    public boolean hasIntKeys() {
+        return other == null;
+    }
+
+    /**
+     * Get the branch of an integer, character, or enumeration value.
+     *
+     * @param key the value as an int.
+     * @return the branch, or null if no constant has the value.
+     */
+    public T get(int key) {
+        if (dense != null) {
+            int index = key - min;
+            return ((index >= 0) && (index < dense.length)) ? dense[index] : null;
+        }
+
+        if (keys == null) return null;
+
+        for (int i = slot(key); values[i] != null; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) return values[i];
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the branch of a value of any datatype.
+     *
+     * @param value the value.
+     * @return the branch, or null if no constant has the value.
+     */
+    public T get(Object value) {
+        if (other != null) {
+            return other.get((value instanceof StringRope) ? value.toString() : value);
+        }
+
+        return ((value instanceof Integer) || (value instanceof Character))
+                ? get(keyOf(value)) : null;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * <h1>MemoTable</h1>
+ * <p>The interpreter's cache of the values of a pure function, which
+ * the semantic analysis has marked as such, indexed by the arguments.</p>
+ * <p>The arguments are packed into a long key: 32 bits for each integer,
+ * boolean, character, or enumeration argument, and 64 bits for a real
+ * argument. A function whose arguments do not fit is not memoized.
+ * The table has a fixed number of entries and each key has one slot,
+ * so that a value evicts the value of any other key in its slot.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+
+import java.util.ArrayList;
+
+public class MemoTable {
+    public static final int DEFAULT_CAPACITY = 1 << 16;  // entries per function
+    private static final int MAX_CAPACITY = 1 << 26;     // largest table
+
+    private final int[] slots;       // stack frame slot of each parameter
+    private final boolean[] reals;   // true for each real parameter
+    private final long[] keys;       // key of each entry
+    private final Object[] values;   // value of each entry, or null if empty
+    private final int shift;         // hash bits discarded for an entry index
+
+    /**
+     * Constructor.
+     *
+     * @param slots    the stack frame slot of each parameter.
+     * @param reals    true for each real parameter.
+     * @param capacity the number of entries, a power of 2.
+     */
+    private MemoTable(int[] slots, boolean[] reals, int capacity) {
+        this.slots = slots;
+        this.reals = reals;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /**
+     * Create the memo table of a function.
+     *
+     * @param routineId the function's symbol table entry.
+     * @param capacity  the maximum number of entries, rounded up to a power of 2.
+     * @return the table, or null if the function is not pure
+     *         or its arguments do not fit in a key.
+     */
+    public static MemoTable create(SymTableEntry routineId, int capacity) {
+        if (!routineId.isPure()) return null;
+
+        ArrayList<SymTableEntry> parameters = routineId.getRoutineParameters();
+        int count = (parameters != null) ? parameters.size() : 0;
+        int[] slots = new int[count];
+        boolean[] reals = new boolean[count];
+        int bits = 0;
+
+        for (int i = 0; i < count; i++) {
+            SymTableEntry paramId = parameters.get(i);
+
+            slots[i] = paramId.getSlotNumber();
+            reals[i] = paramId.getType().baseType() == Predefined.realType;
+            bits += reals[i] ? 64 : 32;
+        }
+
+        if (bits > 64) return null;
+
+        int entries = Integer.highestOneBit(Math.max(2, Math.min(capacity, MAX_CAPACITY)) - 1) << 1;
+        return new MemoTable(slots, reals, entries);
+    }
+
+    /**
+     * Pack the arguments of a call into a key.
+     *
+     * @param frame the called function's stack frame with the arguments.
+     * @return the key.
+     */
+    public long key(StackFrame frame) {
+        long key = 0;
+
+        for (int i = 0; i < slots.length; i++) {
+            Cell cell = frame.getCell(slots[i]);
+            key = reals[i] ? Double.doubleToLongBits(cell.getReal())
+                           : (key << 32) | (cell.getInteger() & 0xFFFFFFFFL);
+        }
+
+        return key;
+    }
+
+    /**
+     * Get the cached value of a key.
+     *
+     * @param key the key.
+     * @return the value, or null if it is not cached.
+     */
+    public Object get(long key) {
+        int index = index(key);
+        return (keys[index] == key) ? values[index] : null;
+    }
+
+    /**
+     * Cache the value of a key, evicting the value of any other key
+     * in its slot.
+     *
+     * @param key   the key.
+     * @param value the value, or null if the function did not set it.
+     */
+    public void put(long key, Object value) {
+        if (value == null) return;
+
+        int index = index(key);
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Get the entry index of a key.
+     *
+     * @param key the key.
+     * @return the index.
+     */
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
@@ -0,0 +1,153 @@
+package edu.yu.compilers.backend.interpreter;
+
+import antlr4.PascalParser;
+import edu.yu.compilers.backend.interpreter.nodes.NodeBuilder;
+import edu.yu.compilers.backend.interpreter.nodes.StatementNode;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * Execute Pascal programs by first building executable nodes from the
+ * decorated parse tree, and then executing the nodes. Routines that are
+ * called often enough are compiled to bytecode by a RoutineCompiler,
+ * except when the execution is profiled or governed by resource limits.
+ */
+public class NodeExecutor {
+    private long elapsedTime = 0L;              // elapsed execution time in ms
+    private final SymTableEntry programId;      // program identifier's symbol table entry
+    private final RuntimeStack runtimeStack;    // runtime stack
+    private final InputReader input;            // runtime input
+    private final OutputSink output;            // runtime output
+    private final RuntimeErrorHandler error;    // runtime error handler
+    private final RoutineCompiler compiler;     // compiles hot routines, or null
+    private Profiler profiler;                  // execution profile, or null
+    private int memoCapacity;                   // entries per memo table, or 0
+    private ResourceLimits limits;              // execution limits, or null
+
+    public NodeExecutor(SymTableEntry programId) {
+        this(programId, RoutineCompiler.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param programId        the program identifier's symbol table entry.
+     * @param compileThreshold the number of calls after which a routine
+     *                         is compiled, or 0 to never compile.
+     */
+    public NodeExecutor(SymTableEntry programId, int compileThreshold) {
+        this(programId, compileThreshold, new OutputSink());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param programId        the program identifier's symbol table entry.
+     * @param compileThreshold the number of calls after which a routine
+     *                         is compiled, or 0 to never compile.
+     * @param output           the runtime output.
+     */
+    public NodeExecutor(SymTableEntry programId, int compileThreshold, OutputSink output) {
+        this(programId, compileThreshold, output, new InputReader(System.in, output));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param programId        the program identifier's symbol table entry.
+     * @param compileThreshold the number of calls after which a routine
+     *                         is compiled, or 0 to never compile.
+     * @param output           the runtime output.
+     * @param input            the runtime input.
+     */
+    public NodeExecutor(SymTableEntry programId, int compileThreshold,
+                        OutputSink output, InputReader input) {
+        this.programId = programId;
+        this.output = output;
+        this.input = input;
+        runtimeStack = new RuntimeStack();
+        error = new RuntimeErrorHandler(output);
+        compiler = (compileThreshold > 0)
+                ? new RoutineCompiler(programId.getName(), compileThreshold) : null;
+    }
+
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Profile the execution. Routines are then always interpreted,
+     * so that every call and statement is recorded.
+     *
+     * @param profiler the execution profile.
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Set the maximum depth of routine calls.
+     *
+     * @param maxDepth the maximum number of unfinished calls.
+     */
+    public void setMaxCallDepth(int maxDepth) {
+        runtimeStack.setMaxDepth(maxDepth);
+    }
+
+    /**
+     * Memoize the pure functions.
+     *
+     * @param memoCapacity the number of entries of each function's
+     *                     memo table, or 0 to not memoize.
+     */
+    public void setMemoCapacity(int memoCapacity) {
+        this.memoCapacity = memoCapacity;
+    }
+
+    /**
+     * Govern the execution by resource limits. Hot routines are then
+     * not compiled, since compiled code is not governed.
+     *
+     * @param limits the limits.
+     */
+    public void setLimits(ResourceLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Build the executable nodes of a program and execute them.
+     *
+     * @param tree the program's decorated parse tree.
+     */
+    public void execute(ParseTree tree) {
+        ResourceGovernor governor = (limits != null) ? new ResourceGovernor(limits, output, error)
+                                                     : null;
+        boolean compiling = (profiler == null) && (governor == null);
+        NodeBuilder builder = new NodeBuilder(runtimeStack, error, input, output,
+                                              compiling ? compiler : null, profiler);
+        builder.setMemoCapacity(memoCapacity);
+        builder.setGovernor(governor);
+        StatementNode programNode = builder.buildStatement((PascalParser.ProgramContext) tree);
+
+        long startTime = System.currentTimeMillis();
+
+        FrameTemplate programTemplate = new FrameTemplate(programId);
+        if (governor != null) governor.allocate(programTemplate, (ParserRuleContext) tree);
+
+        StackFrame programFrame = programTemplate.newFrame();
+        runtimeStack.push(programFrame);
+
+        try {
+            if (profiler != null) profiler.enter(programId);
+            programNode.execute();
+            if (profiler != null) profiler.exit();
+        } catch (StackOverflowError ex) {
+            error.abortOverflow((ParserRuleContext) tree);
+        } finally {
+            output.flush();
+        }
+
+        elapsedTime = System.currentTimeMillis() - startTime;
+    }
+}
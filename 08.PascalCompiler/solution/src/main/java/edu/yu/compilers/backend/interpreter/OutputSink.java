@@ -0,0 +1,156 @@
+/**
+ * <h1>OutputSink</h1>
+ * <p>The interpreter's buffered runtime output.</p>
+ * <p>WRITE and WRITELN append to a buffer, which is written to the
+ * output stream according to the flush policy. The buffer is also
+ * flushed when the program waits for input, when a runtime error is
+ * reported, and when execution ends.</p>
+ * <p>The output can be limited to a number of characters, after which
+ * it is cut off. Runtime error messages are not limited.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import java.io.PrintStream;
+
+public class OutputSink {
+    public static final int DEFAULT_CAPACITY = 1 << 16;  // buffered characters
+
+    private final PrintStream out;        // the output stream
+    private final Flush flush;            // when to flush
+    private final int capacity;           // buffer size that triggers a SIZE flush
+    private final StringBuilder buffer;   // unwritten output
+    private long flushed;                 // characters flushed, including any cut off
+    private long limit = Long.MAX_VALUE;  // most characters to write
+
+    /**
+     * Constructor for output to System.out flushed by size.
+     */
+    public OutputSink() {
+        this(System.out, Flush.SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param out      the output stream.
+     * @param flush    when to flush, in addition to the required flushes.
+     * @param capacity the buffer size that triggers a SIZE flush.
+     */
+    public OutputSink(PrintStream out, Flush flush, int capacity) {
+        this.out = out;
+        this.flush = flush;
+        this.capacity = capacity;
+        this.buffer = new StringBuilder(Math.min(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Limit the number of characters written to the output stream.
+     *
+     * @param limit the most characters to write.
+     */
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Get the number of characters output so far, including any that
+     * were cut off.
+     *
+     * @return the count.
+     */
+    public long getCount() {
+        return flushed + buffer.length();
+    }
+
+    /**
+     * Get the buffer to append output to. The caller must call
+     * written() after appending.
+     *
+     * @return the buffer.
+     */
+    StringBuilder buffer() {
+        return buffer;
+    }
+
+    /**
+     * Flush the buffer if it has reached its capacity and
+     * the flush policy is SIZE.
+     */
+    void written() {
+        if ((flush == Flush.SIZE) && (buffer.length() >= capacity)) flush();
+    }
+
+    /**
+     * Append a string.
+     *
+     * @param text the string.
+     */
+    public void print(String text) {
+        buffer.append(text);
+        written();
+    }
+
+    /**
+     * End the current line, and flush if the flush policy is LINE.
+     */
+    public void println() {
+        buffer.append(System.lineSeparator());
+
+        if (flush == Flush.LINE) flush();
+        else written();
+    }
+
+    /**
+     * Write the buffer to the output stream.
+     */
+    public void flush() {
+        if (buffer.length() > 0) {
+            long room = Math.max(0, limit - flushed);
+
+            if (buffer.length() <= room) out.append(buffer);
+            else out.append(buffer, 0, (int) room);
+
+            flushed += buffer.length();
+            buffer.setLength(0);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Write a runtime message after flushing the buffer. The message
+     * is not counted or limited.
+     *
+     * @param text the message.
+     */
+    public void message(String text) {
+        flush();
+        out.append(text);
+        out.flush();
+    }
+
+    /**
+     * When the buffer is written to the output stream,
+     * other than the required flushes.
+     */
+    public enum Flush {
+        LINE,   // at the end of each line
+        SIZE,   // when the buffer reaches its capacity
+        EXIT;   // only when execution ends
+
+        /**
+         * Get the flush policy with the given name.
+         *
+         * @param name the name, in any case.
+         * @return the policy, or null if there is none.
+         */
+        public static Flush named(String name) {
+            for (Flush policy : values()) {
+                if (policy.name().equalsIgnoreCase(name)) return policy;
+            }
+
+            return null;
+        }
+    }
+}
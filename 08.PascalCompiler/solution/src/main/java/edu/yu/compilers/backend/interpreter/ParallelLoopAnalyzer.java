@@ -0,0 +1,530 @@
+/**
+ * <h1>ParallelLoopAnalyzer</h1>
+ * <p>Dependence analysis of a FOR statement with an integer control
+ * variable, to determine whether its iterations are independent, so
+ * that they can be executed in parallel in any order.</p>
+ * <p>The body may do no input or output, call no procedures, and call
+ * only pure functions and the standard functions other than eof and
+ * eoln. It may use only scalar variables and arrays, and it may assign
+ * only to array elements and to scalar local variables of the routine
+ * that contains the loop.</p>
+ * <p>Each assigned array must be subscripted at some position by the
+ * same expression c*i + d in all its uses, where i is the control
+ * variable, c is a nonzero integer constant, and d does not change in
+ * the loop, so that each iteration uses only its own elements. Each
+ * assigned scalar variable, including the control variable of a nested
+ * FOR statement, must be assigned in an iteration before the iteration
+ * uses it, so that each iteration can have its own copy. A variable
+ * assigned by both branches of an IF statement is assigned after it.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import antlr4.PascalBaseVisitor;
+import antlr4.PascalParser;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine.*;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.*;
+
+public class ParallelLoopAnalyzer extends PascalBaseVisitor<Object> {
+    private final SymTableEntry controlId;   // the loop's control variable
+    private final int nestingLevel;          // nesting level of the routine's variables
+    private final ArrayDeque<HashSet<SymTableEntry>> defined;  // assigned scalars by scope
+    private final LinkedHashSet<SymTableEntry> scalars;  // assigned scalars
+    private final HashSet<SymTableEntry> exposed;        // scalars used before assigned
+    private final LinkedHashMap<SymTableEntry, List<List<PascalParser.IndexContext>>> arrays;
+    private final HashSet<SymTableEntry> assignedArrays; // arrays with assigned elements
+    private final HashSet<SymTableEntry> wholeArrays;    // arrays used without subscripts
+    private boolean independent;             // false once a dependence is possible
+    private boolean heavy;                   // true if the body has a loop or a call
+
+    /**
+     * Constructor.
+     *
+     * @param controlId    the control variable's symbol table entry.
+     * @param nestingLevel the nesting level of the routine that contains the loop.
+     */
+    private ParallelLoopAnalyzer(SymTableEntry controlId, int nestingLevel) {
+        this.controlId = controlId;
+        this.nestingLevel = nestingLevel;
+        this.defined = new ArrayDeque<>();
+        this.scalars = new LinkedHashSet<>();
+        this.exposed = new HashSet<>();
+        this.arrays = new LinkedHashMap<>();
+        this.assignedArrays = new HashSet<>();
+        this.wholeArrays = new HashSet<>();
+        this.independent = true;
+        this.heavy = false;
+    }
+
+    /**
+     * Analyze a FOR statement.
+     *
+     * @param ctx          the ForStatementContext.
+     * @param nestingLevel the nesting level of the routine that contains the loop.
+     * @return the parallel loop, or null if its iterations may depend on each other.
+     */
+    public static ParallelLoop analyze(PascalParser.ForStatementContext ctx, int nestingLevel) {
+        PascalParser.VariableContext controlCtx = ctx.variable();
+        SymTableEntry controlId = controlCtx.entry;
+
+        if (   (controlId == null) || (controlCtx.type == null)
+            || (controlCtx.type.baseType() != Predefined.integerType)
+            || !isLocalScalar(controlCtx, nestingLevel)) {
+            return null;
+        }
+
+        ParallelLoopAnalyzer analyzer = new ParallelLoopAnalyzer(controlId, nestingLevel);
+        analyzer.defined.push(new HashSet<>());
+        analyzer.visit(ctx.statement());
+
+        return analyzer.result();
+    }
+
+    /**
+     * Determine whether a variable without modifiers is a scalar local
+     * variable of the routine, other than a string.
+     *
+     * @param ctx          the VariableContext.
+     * @param nestingLevel the routine's nesting level.
+     * @return true if so.
+     */
+    private static boolean isLocalScalar(PascalParser.VariableContext ctx, int nestingLevel) {
+        SymTableEntry variableId = ctx.entry;
+        Typespec type = variableId.getType();
+
+        return    ctx.modifier().isEmpty()
+               && (variableId.getKind() == VARIABLE)
+               && (variableId.getSymTable().getNestingLevel() == nestingLevel)
+               && (type != null) && (type.baseType() != Predefined.stringType)
+               && (   (type.getForm() == SCALAR) || (type.getForm() == ENUMERATION)
+                   || (type.getForm() == SUBRANGE));
+    }
+
+    /**
+     * Determine the parallel loop after visiting the body.
+     *
+     * @return the parallel loop, or null if there may be a dependence.
+     */
+    private ParallelLoop result() {
+        if (!independent) return null;
+
+        for (SymTableEntry scalarId : scalars) {
+            if (exposed.contains(scalarId)) return null;
+        }
+
+        for (SymTableEntry arrayId : assignedArrays) {
+            if (wholeArrays.contains(arrayId) || !partitioned(arrays.get(arrayId))) return null;
+        }
+
+        ArrayList<SymTableEntry> privates = new ArrayList<>(scalars);
+        privates.add(0, controlId);
+
+        return new ParallelLoop(privates, new ArrayList<>(arrays.keySet()),
+                                new ArrayList<>(assignedArrays), heavy);
+    }
+
+    /**
+     * Determine whether some subscript position has the same expression
+     * c*i + d in all the uses of an array.
+     *
+     * @param uses the subscripts of each use.
+     * @return true if so.
+     */
+    private boolean partitioned(List<List<PascalParser.IndexContext>> uses) {
+        int positions = Integer.MAX_VALUE;
+        for (List<PascalParser.IndexContext> subscripts : uses) {
+            positions = Math.min(positions, subscripts.size());
+        }
+
+        for (int position = 0; position < positions; position++) {
+            PascalParser.ExpressionContext exprCtx = uses.get(0).get(position).expression();
+            String text = exprCtx.getText();
+            boolean same = true;
+
+            for (List<PascalParser.IndexContext> subscripts : uses) {
+                same = same && text.equals(subscripts.get(position).getText());
+            }
+
+            if (same && isAffine(exprCtx)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Determine whether an expression is c*i + d, where i is the control
+     * variable, c is a nonzero integer constant, and d is invariant.
+     *
+     * @param ctx the ExpressionContext.
+     * @return true if so.
+     */
+    private boolean isAffine(PascalParser.ExpressionContext ctx) {
+        if (ctx.relOp() != null) return false;
+
+        PascalParser.SimpleExpressionContext simpleCtx = ctx.simpleExpression(0);
+        int controlTerms = 0;
+
+        for (PascalParser.AddOpContext addOpCtx : simpleCtx.addOp()) {
+            if (addOpCtx.OR() != null) return false;
+        }
+
+        for (PascalParser.TermContext termCtx : simpleCtx.term()) {
+            if (isInvariant(termCtx)) continue;
+            if (!isScaledControl(termCtx)) return false;
+
+            controlTerms++;
+        }
+
+        return controlTerms == 1;
+    }
+
+    /**
+     * Determine whether a term is i, or i multiplied by nonzero integer
+     * constants.
+     *
+     * @param ctx the TermContext.
+     * @return true if so.
+     */
+    private boolean isScaledControl(PascalParser.TermContext ctx) {
+        int controls = 0;
+
+        for (PascalParser.MulOpContext mulOpCtx : ctx.mulOp()) {
+            if (!mulOpCtx.getText().equals("*")) return false;
+        }
+
+        for (PascalParser.FactorContext factorCtx : ctx.factor()) {
+            if (   (factorCtx instanceof PascalParser.VariableFactorContext varFactorCtx)
+                && (varFactorCtx.variable().entry == controlId)
+                && varFactorCtx.variable().modifier().isEmpty()) {
+                controls++;
+            } else if (   !(factorCtx instanceof PascalParser.NumberFactorContext numberCtx)
+                       || !(numberCtx.number().value instanceof Integer value)
+                       || (value == 0)) {
+                return false;
+            }
+        }
+
+        return controls == 1;
+    }
+
+    /**
+     * Determine whether the value of a subtree does not change in the
+     * loop: it uses no variable or array that the loop assigns.
+     *
+     * @param tree the subtree.
+     * @return true if so.
+     */
+    private boolean isInvariant(ParseTree tree) {
+        if (tree instanceof PascalParser.VariableContext varCtx) {
+            SymTableEntry variableId = varCtx.entry;
+
+            if (   (variableId == controlId) || scalars.contains(variableId)
+                || assignedArrays.contains(variableId)) {
+                return false;
+            }
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!isInvariant(tree.getChild(i))) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object visitAssignmentStatement(PascalParser.AssignmentStatementContext ctx) {
+        PascalParser.VariableContext varCtx = ctx.lhs().variable();
+
+        visit(ctx.rhs());
+        for (PascalParser.ModifierContext modCtx : varCtx.modifier()) visit(modCtx);
+
+        if (varCtx.modifier().isEmpty()) assignScalar(varCtx);
+        else if (useArray(varCtx)) assignedArrays.add(varCtx.entry);
+
+        return null;
+    }
+
+    @Override
+    public Object visitForStatement(PascalParser.ForStatementContext ctx) {
+        heavy = true;
+
+        for (PascalParser.ExpressionContext exprCtx : ctx.expression()) visit(exprCtx);
+        assignScalar(ctx.variable());
+
+        defined.push(new HashSet<>());
+        visit(ctx.statement());
+        defined.pop();
+
+        return null;
+    }
+
+    @Override
+    public Object visitIfStatement(PascalParser.IfStatementContext ctx) {
+        visit(ctx.expression());
+
+        defined.push(new HashSet<>());
+        visit(ctx.trueStatement());
+        HashSet<SymTableEntry> trueDefined = defined.pop();
+
+        if (ctx.falseStatement() != null) {
+            defined.push(new HashSet<>());
+            visit(ctx.falseStatement());
+            HashSet<SymTableEntry> bothDefined = defined.pop();
+
+            // A variable assigned by both branches is assigned after the IF.
+            bothDefined.retainAll(trueDefined);
+            defined.peek().addAll(bothDefined);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object visitCaseStatement(PascalParser.CaseStatementContext ctx) {
+        visit(ctx.expression());
+
+        for (PascalParser.CaseBranchContext branchCtx : ctx.caseBranchList().caseBranch()) {
+            if (branchCtx.statement() != null) {
+                defined.push(new HashSet<>());
+                visit(branchCtx.statement());
+                defined.pop();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object visitWhileStatement(PascalParser.WhileStatementContext ctx) {
+        heavy = true;
+        visit(ctx.expression());
+
+        defined.push(new HashSet<>());
+        visit(ctx.statement());
+        defined.pop();
+
+        return null;
+    }
+
+    @Override
+    public Object visitRepeatStatement(PascalParser.RepeatStatementContext ctx) {
+        heavy = true;
+
+        // The body is executed before the condition is evaluated.
+        defined.push(new HashSet<>());
+        visit(ctx.statementList());
+        visit(ctx.expression());
+        defined.pop();
+
+        return null;
+    }
+
+    @Override
+    public Object visitVariable(PascalParser.VariableContext ctx) {
+        SymTableEntry variableId = ctx.entry;
+
+        if ((variableId == null) || (variableId.getType() == null)) {
+            independent = false;
+            return null;
+        }
+
+        switch (variableId.getKind()) {
+            case CONSTANT, ENUMERATION_CONSTANT -> {
+                return null;
+            }
+            case VARIABLE, VALUE_PARAMETER, REFERENCE_PARAMETER -> {
+            }
+            default -> {
+                independent = false;
+                return null;
+            }
+        }
+
+        Typespec.Form form = variableId.getType().getForm();
+
+        if (form == ARRAY) {
+            if (ctx.modifier().isEmpty()) wholeArrays.add(variableId);
+            else useArray(ctx);
+        } else if (form == RECORD) {
+            independent = false;
+        } else if ((variableId != controlId) && !isDefined(variableId)) {
+            exposed.add(variableId);
+        }
+
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitFunctionCall(PascalParser.FunctionCallContext ctx) {
+        SymTableEntry functionId = ctx.functionName().entry;
+
+        if (functionId == null) {
+            independent = false;
+        } else if (functionId.getRoutineCode() == DECLARED) {
+            heavy = true;
+            independent = independent && functionId.isPure();
+        } else if ((functionId.getRoutineCode() == EOF) || (functionId.getRoutineCode() == EOLN)) {
+            independent = false;
+        }
+
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitProcedureCallStatement(PascalParser.ProcedureCallStatementContext ctx) {
+        independent = false;
+        return null;
+    }
+
+    @Override
+    public Object visitReadStatement(PascalParser.ReadStatementContext ctx) {
+        independent = false;
+        return null;
+    }
+
+    @Override
+    public Object visitReadlnStatement(PascalParser.ReadlnStatementContext ctx) {
+        independent = false;
+        return null;
+    }
+
+    @Override
+    public Object visitWriteStatement(PascalParser.WriteStatementContext ctx) {
+        independent = false;
+        return null;
+    }
+
+    @Override
+    public Object visitWritelnStatement(PascalParser.WritelnStatementContext ctx) {
+        independent = false;
+        return null;
+    }
+
+    /**
+     * Record an assignment to a scalar variable, which must be a local
+     * variable of the routine other than the control variable.
+     *
+     * @param ctx the VariableContext of the assigned variable.
+     */
+    private void assignScalar(PascalParser.VariableContext ctx) {
+        SymTableEntry variableId = ctx.entry;
+
+        if (   (variableId == null) || (variableId == controlId)
+            || !isLocalScalar(ctx, nestingLevel)) {
+            independent = false;
+            return;
+        }
+
+        scalars.add(variableId);
+        defined.peek().add(variableId);
+    }
+
+    /**
+     * Record a use of array elements, whose subscripts must all precede
+     * any record field.
+     *
+     * @param ctx the VariableContext of the use.
+     * @return true if the use was recorded.
+     */
+    private boolean useArray(PascalParser.VariableContext ctx) {
+        SymTableEntry arrayId = ctx.entry;
+        ArrayList<PascalParser.IndexContext> subscripts = new ArrayList<>();
+
+        if ((arrayId == null) || (arrayId.getType().getForm() != ARRAY)) {
+            independent = false;
+            return false;
+        }
+
+        for (PascalParser.ModifierContext modCtx : ctx.modifier()) {
+            if (modCtx.indexList() == null) break;
+            subscripts.addAll(modCtx.indexList().index());
+        }
+
+        arrays.computeIfAbsent(arrayId, id -> new ArrayList<>()).add(subscripts);
+        return true;
+    }
+
+    /**
+     * Determine whether a scalar variable was assigned earlier in the
+     * iteration, in the current scope or an enclosing one.
+     *
+     * @param variableId the variable's symbol table entry.
+     * @return true if so.
+     */
+    private boolean isDefined(SymTableEntry variableId) {
+        for (HashSet<SymTableEntry> scope : defined) {
+            if (scope.contains(variableId)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * A FOR statement whose iterations are independent.
+     */
+    public static class ParallelLoop {
+        private final List<SymTableEntry> privates;  // the control variable first
+        private final List<SymTableEntry> arrays;    // arrays used
+        private final List<SymTableEntry> assigned;  // arrays with assigned elements
+        private final boolean heavy;                 // the body has a loop or a call
+
+        ParallelLoop(List<SymTableEntry> privates, List<SymTableEntry> arrays,
+                     List<SymTableEntry> assigned, boolean heavy) {
+            this.privates = privates;
+            this.arrays = arrays;
+            this.assigned = assigned;
+            this.heavy = heavy;
+        }
+
+        /**
+         * Get the scalar variables that each iteration assigns before
+         * using, and so can have its own copies of.
+         *
+         * @return the local variables, with the control variable first.
+         */
+        public List<SymTableEntry> getPrivates() {
+            return privates;
+        }
+
+        /**
+         * Get the arrays whose elements the body uses.
+         *
+         * @return the arrays' symbol table entries.
+         */
+        public List<SymTableEntry> getArrays() {
+            return arrays;
+        }
+
+        /**
+         * Get the arrays whose elements the body assigns.
+         *
+         * @return the arrays' symbol table entries.
+         */
+        public List<SymTableEntry> getAssignedArrays() {
+            return assigned;
+        }
+
+        /**
+         * Determine whether the body has a loop or calls a declared
+         * function, so that even a few iterations are worth forking.
+         *
+         * @return true if so.
+         */
+        public boolean isHeavy() {
+            return heavy;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * <h1>Profiler</h1>
+ * <p>The interpreter's execution profile of a Pascal program.</p>
+ * <p>The executors report each routine's entry and exit and each
+ * executed statement's source line. The profiler records each routine's
+ * call count and its inclusive and exclusive times in nanoseconds, and
+ * each line's hit count. Exclusive times are also recorded per call path,
+ * which is the sequence of routines from the program to the callee, for
+ * a collapsed-stack file that flame graph tools read.</p>
+ * <p>An executor without a profiler does none of this work.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+
+public class Profiler {
+    private static final int HOT_LINES = 20;  // lines listed in the report
+
+    private final CallPath top;     // parent of the program's call path
+    private CallPath current;       // call path of the executing routine
+    private final LinkedHashMap<SymTableEntry, RoutineProfile> routines;
+    private long[] lineHits;        // hit counts indexed by source line
+
+    /**
+     * Constructor.
+     */
+    public Profiler() {
+        this.top = new CallPath(null, null);
+        this.current = top;
+        this.routines = new LinkedHashMap<>();
+        this.lineHits = new long[256];
+    }
+
+    /**
+     * Record the entry into a routine or the program.
+     *
+     * @param routineId the routine's symbol table entry.
+     */
+    public void enter(SymTableEntry routineId) {
+        RoutineProfile routine = routines.computeIfAbsent(routineId, RoutineProfile::new);
+        CallPath path = current.child(routineId);
+
+        routine.calls++;
+        routine.active++;
+        path.childTime = 0;
+        path.start = System.nanoTime();
+        current = path;
+    }
+
+    /**
+     * Record the exit from the most recently entered routine.
+     * The time of a recursive call is included in the inclusive
+     * time of only its outermost activation.
+     */
+    public void exit() {
+        long elapsed = System.nanoTime() - current.start;
+        long self = elapsed - current.childTime;
+        RoutineProfile routine = routines.get(current.routineId);
+
+        current.selfTime += self;
+        routine.exclusive += self;
+        if (--routine.active == 0) routine.inclusive += elapsed;
+
+        current = current.parent;
+        current.childTime += elapsed;
+    }
+
+    /**
+     * Record the execution of a statement.
+     *
+     * @param line the statement's source line number.
+     */
+    public void countLine(int line) {
+        if (line >= lineHits.length) {
+            lineHits = Arrays.copyOf(lineHits, Math.max(2*lineHits.length, line + 1));
+        }
+
+        lineHits[line]++;
+    }
+
+    /**
+     * Print the hot-spot report: the routines sorted by exclusive time,
+     * and the most executed source lines.
+     *
+     * @param out the output stream.
+     */
+    public void report(PrintStream out) {
+        ArrayList<RoutineProfile> sorted = new ArrayList<>(routines.values());
+        sorted.sort(Comparator.comparingLong((RoutineProfile r) -> r.exclusive).reversed());
+
+        long total = 0;
+        for (RoutineProfile routine : sorted) total += routine.exclusive;
+
+        out.println();
+        out.println("===== PROFILE =====");
+        out.println();
+        out.printf("%-20s %10s %14s %14s %7s%n",
+                   "Routine", "Calls", "Inclusive ms", "Exclusive ms", "Excl %");
+        out.printf("%-20s %10s %14s %14s %7s%n",
+                   "-------", "-----", "------------", "------------", "------");
+
+        for (RoutineProfile routine : sorted) {
+            out.printf("%-20s %10d %14.3f %14.3f %6.1f%%%n",
+                       routine.routineId.getName(), routine.calls,
+                       routine.inclusive/1e6, routine.exclusive/1e6,
+                       (total > 0) ? 100.0*routine.exclusive/total : 0.0);
+        }
+
+        ArrayList<Integer> lines = new ArrayList<>();
+        for (int line = 0; line < lineHits.length; line++) {
+            if (lineHits[line] > 0) lines.add(line);
+        }
+        lines.sort(Comparator.comparingLong((Integer line) -> lineHits[line]).reversed()
+                             .thenComparing(Comparator.naturalOrder()));
+
+        out.println();
+        out.printf("%-6s %14s%n", "Line", "Hits");
+        out.printf("%-6s %14s%n", "----", "----");
+
+        for (int line : lines.subList(0, Math.min(HOT_LINES, lines.size()))) {
+            out.printf("%03d    %14d%n", line, lineHits[line]);
+        }
+    }
+
+    /**
+     * Write the collapsed-stack file: one line per call path with the
+     * routine names separated by semicolons, followed by the path's
+     * exclusive time in microseconds.
+     *
+     * @param fileName the file name.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeCollapsed(String fileName) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(fileName)))) {
+            for (CallPath path : top.children.values()) {
+                writeCollapsed(writer, path, path.routineId.getName());
+            }
+        }
+    }
+
+    /**
+     * Write the lines of a call path and its descendants.
+     *
+     * @param writer the file writer.
+     * @param path   the call path.
+     * @param stack  the path's routine names.
+     */
+    private void writeCollapsed(PrintWriter writer, CallPath path, String stack) {
+        long micros = path.selfTime/1000;
+        if (micros > 0) writer.println(stack + " " + micros);
+
+        for (CallPath child : path.children.values()) {
+            writeCollapsed(writer, child, stack + ";" + child.routineId.getName());
+        }
+    }
+
+    /**
+     * The profile of a routine.
+     */
+    private static class RoutineProfile {
+        private final SymTableEntry routineId;  // the routine's symbol table entry
+        private long calls;      // number of calls
+        private long inclusive;  // time including callees, in ns
+        private long exclusive;  // time excluding callees, in ns
+        private int active;      // number of unfinished activations
+
+        RoutineProfile(SymTableEntry routineId) {
+            this.routineId = routineId;
+        }
+    }
+
+    /**
+     * A sequence of routine calls from the program. Since a path
+     * identifies the entire call stack, at most one activation of it
+     * is executing at a time.
+     */
+    private static class CallPath {
+        private final SymTableEntry routineId;  // the last routine called
+        private final CallPath parent;          // path of the caller, or null
+        private final LinkedHashMap<SymTableEntry, CallPath> children;
+        private long selfTime;   // time excluding callees, in ns
+        private long start;      // start time of the current activation
+        private long childTime;  // callee time of the current activation
+
+        CallPath(SymTableEntry routineId, CallPath parent) {
+            this.routineId = routineId;
+            this.parent = parent;
+            this.children = new LinkedHashMap<>();
+        }
+
+        /**
+         * Get the path that extends this one with a call.
+         *
+         * @param calleeId the called routine's symbol table entry.
+         * @return the path.
+         */
+        CallPath child(SymTableEntry calleeId) {
+            CallPath child = children.get(calleeId);
+
+            if (child == null) {
+                child = new CallPath(calleeId, this);
+                children.put(calleeId, child);
+            }
+
+            return child;
+        }
+    }
+}
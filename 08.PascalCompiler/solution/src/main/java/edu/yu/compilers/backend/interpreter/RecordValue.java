@@ -0,0 +1,100 @@
+/**
+ * <h1>RecordValue</h1>
+ * <p>The interpreter's runtime value of a Pascal record.</p>
+ * <p>A record has a fixed layout: its fields are memory cells indexed
+ * by the slot numbers that Semantics assigned to the fields in the
+ * record type's symbol table. An element of an array of records is
+ * kept in the array's columns, and its record value is a view whose
+ * cells access those columns.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import edu.yu.compilers.intermediate.symtable.SymTable;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+public class RecordValue {
+    private final Typespec type;  // the record type
+    private final Cell[] fields;  // field cells indexed by slot number
+
+    /**
+     * Constructor.
+     * Allocate a cell for each field of a record.
+     *
+     * @param type the record type.
+     */
+    public RecordValue(Typespec type) {
+        SymTable symTable = type.getRecordSymTable();
+
+        this.type = type;
+        this.fields = new Cell[fieldCount(type)];
+
+        for (SymTableEntry fieldId : symTable.values()) {
+            fields[fieldId.getSlotNumber()] = new Cell(Cell.allocateValue(fieldId.getType()));
+        }
+    }
+
+    /**
+     * Constructor for a view of a record whose fields are kept elsewhere.
+     *
+     * @param type   the record type.
+     * @param fields the field cells indexed by slot number.
+     */
+    RecordValue(Typespec type, Cell[] fields) {
+        this.type = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the number of field slots of a record type.
+     *
+     * @param type the record type.
+     * @return the count.
+     */
+    public static int fieldCount(Typespec type) {
+        return type.getRecordSymTable().getMaxSlotNumber() + 1;
+    }
+
+    /**
+     * Get the record type.
+     *
+     * @return the type.
+     */
+    public Typespec getType() {
+        return type;
+    }
+
+    /**
+     * Get the memory cell of a field.
+     *
+     * @param index the field's slot number.
+     * @return the cell.
+     */
+    public Cell getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Copy the field values of another record of the same type into
+     * this record. Array and record fields are copied element by element
+     * and field by field, and uninitialized fields are not copied.
+     *
+     * @param source the other record.
+     */
+    public void copyFrom(RecordValue source) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) continue;
+
+            Object value = source.fields[i].getValue();
+
+            if (value instanceof ArrayValue array) {
+                ((ArrayValue) fields[i].getValue()).copyFrom(array);
+            } else if (value instanceof RecordValue record) {
+                ((RecordValue) fields[i].getValue()).copyFrom(record);
+            } else if (value != null) {
+                fields[i].setValue(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * <h1>ResourceGovernor</h1>
+ * <p>Enforce the resource limits of one execution. A limit that is
+ * exceeded is a runtime error that aborts the execution, each with
+ * its own error code.</p>
+ * <p>The statement count is compared with its limit exactly, but the
+ * clock and the output count are only checked every CHECK_INTERVAL
+ * statements, so that governing costs little more than counting.
+ * The output is also cut off at its limit as it is written. The memory
+ * cells of a stack frame, including the elements of its arrays and
+ * records, are counted before the frame is allocated, so that a huge
+ * array is never allocated. So is the buffer of a string built by
+ * concatenation, a cell per character, but since the garbage collector
+ * frees it, it is not counted afterwards: each string must fit in the
+ * cells that the frames leave.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.MEMORY_LIMIT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.OUTPUT_LIMIT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.STATEMENT_LIMIT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.TIME_LIMIT;
+
+public class ResourceGovernor {
+    public static final int CHECK_INTERVAL = 1 << 12;  // statements between checks
+
+    private final ResourceLimits limits;      // the limits
+    private final OutputSink output;          // runtime output
+    private final RuntimeErrorHandler error;  // runtime error handler
+    private final long deadline;              // System.nanoTime() of the time limit
+    private long statements;                  // statements counted by countStatement()
+    private long nextCheck;                   // statement count of the next check
+    private long cells;                       // cells of the frames on the stack
+
+    /**
+     * Constructor. The time limit starts now.
+     *
+     * @param limits the limits.
+     * @param output the runtime output, which is cut off at its limit.
+     * @param error  the runtime error handler.
+     */
+    public ResourceGovernor(ResourceLimits limits, OutputSink output, RuntimeErrorHandler error) {
+        long maxNanos = limits.getMaxMillis();
+        maxNanos = (maxNanos < Long.MAX_VALUE/1_000_000) ? maxNanos*1_000_000 : Long.MAX_VALUE/2;
+
+        this.limits = limits;
+        this.output = output;
+        this.error = error;
+        this.deadline = System.nanoTime() + maxNanos;
+        this.statements = 0;
+        this.nextCheck = Math.min(CHECK_INTERVAL, limits.getMaxStatements());
+        this.cells = 0;
+
+        output.setLimit(limits.getMaxOutput());
+    }
+
+    /**
+     * Count a statement about to be executed, for an executor that
+     * does not count statements itself.
+     *
+     * @param ctx the statement's context.
+     */
+    public void countStatement(ParserRuleContext ctx) {
+        if (++statements > nextCheck) nextCheck = check(statements, ctx);
+    }
+
+    /**
+     * Check the limits.
+     *
+     * @param count the number of statements executed, including the
+     *              statement about to be executed.
+     * @param ctx   the statement's context.
+     * @return the statement count at which to check again.
+     */
+    public long check(long count, ParserRuleContext ctx) {
+        if (count > limits.getMaxStatements()) error.abort(STATEMENT_LIMIT, ctx);
+        if (System.nanoTime() - deadline > 0) error.abort(TIME_LIMIT, ctx);
+        if (output.getCount() > limits.getMaxOutput()) error.abort(OUTPUT_LIMIT, ctx);
+
+        return Math.min(count + CHECK_INTERVAL, limits.getMaxStatements());
+    }
+
+    /**
+     * Count the cells of a stack frame about to be allocated.
+     *
+     * @param template the layout of the frame.
+     * @param ctx      the context of the call.
+     */
+    public void allocate(FrameTemplate template, ParserRuleContext ctx) {
+        cells += template.getCellCount();
+        if (cells > limits.getMaxCells()) error.abort(MEMORY_LIMIT, ctx);
+    }
+
+    /**
+     * Check that a string about to be built by concatenation fits in
+     * the cells that the frames on the stack leave, a cell per character.
+     *
+     * @param length the string's length.
+     * @param ctx    the context of the concatenation.
+     * @return the most characters that the string's buffer may have.
+     */
+    public int allocateChars(long length, ParserRuleContext ctx) {
+        long room = limits.getMaxCells() - cells;
+        if (length > room) error.abort(MEMORY_LIMIT, ctx);
+
+        return (int) Math.min(room, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Uncount the cells of a stack frame that was popped.
+     *
+     * @param template the layout of the frame.
+     */
+    public void free(FrameTemplate template) {
+        cells -= template.getCellCount();
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * <h1>ResourceLimits</h1>
+ * <p>The limits of a governed execution: the number of statements
+ * executed, the elapsed time, the number of memory cells of the
+ * stack frames, and the number of output characters. Each limit is
+ * unlimited unless it is set. The limits are not changed by an
+ * execution, so they can be shared by concurrent executions.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+public class ResourceLimits {
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private long maxStatements = UNLIMITED;  // statements executed
+    private long maxMillis = UNLIMITED;      // elapsed time in ms
+    private long maxCells = UNLIMITED;       // cells of the frames on the stack
+    private long maxOutput = UNLIMITED;      // characters of output
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public ResourceLimits setMaxStatements(long maxStatements) {
+        this.maxStatements = maxStatements;
+        return this;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public ResourceLimits setMaxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+        return this;
+    }
+
+    public long getMaxCells() {
+        return maxCells;
+    }
+
+    public ResourceLimits setMaxCells(long maxCells) {
+        this.maxCells = maxCells;
+        return this;
+    }
+
+    public long getMaxOutput() {
+        return maxOutput;
+    }
+
+    public ResourceLimits setMaxOutput(long maxOutput) {
+        this.maxOutput = maxOutput;
+        return this;
+    }
+
+    /**
+     * Determine whether any limit is set.
+     *
+     * @return true if so.
+     */
+    public boolean isLimited() {
+        return    (maxStatements != UNLIMITED) || (maxMillis != UNLIMITED)
+               || (maxCells != UNLIMITED) || (maxOutput != UNLIMITED);
+    }
+}
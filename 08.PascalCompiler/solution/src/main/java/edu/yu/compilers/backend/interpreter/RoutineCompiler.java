@@ -0,0 +1,356 @@
+package edu.yu.compilers.backend.interpreter;
+
+import antlr4.PascalParser;
+import edu.yu.compilers.backend.compiler.Compiler;
+import edu.yu.compilers.backend.compiler.ProgramGenerator;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTable;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind;
+import edu.yu.compilers.intermediate.type.Typespec;
+import jasmin.ClassFile;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine.DECLARED;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
+
+/**
+ * Compile frequently called routines to JVM bytecode while a program
+ * is being interpreted. A routine and the routines it calls are compiled
+ * by the Compiler backend, assembled in memory by Jasmin, and loaded
+ * by a private class loader.
+ * <p>
+ * Only routines whose effects the interpreter never needs to see are
+ * compiled: their parameters are integer or boolean value parameters,
+ * their function values are integer or boolean, and they use only their
+ * own integer, boolean, or enumeration variables and constants. They do no
+ * input or output, have no nested routines, and call only routines that
+ * are compilable themselves or the standard functions abs, sqr, odd,
+ * ord, pred, and succ of integer values. Routines with VAR parameters, program
+ * variables, or real values (which the compiled code keeps as floats)
+ * are always interpreted.
+ * <p>
+ * The compiled routines count down the calls left before the maximum
+ * call depth in a static field of their class, which the interpreter
+ * sets before each call, and throw a StackOverflowError when there
+ * are none left.
+ */
+public class RoutineCompiler {
+    public static final int DEFAULT_THRESHOLD = 1000;
+
+    private final String programName;  // name of the compiled classes
+    private final int threshold;       // call count at which to compile
+
+    // Routines called by each routine that was checked,
+    // or null if the routine itself is not compilable.
+    private final HashMap<SymTableEntry, Set<SymTableEntry>> callees;
+
+    /**
+     * Constructor.
+     *
+     * @param programName the program name.
+     * @param threshold   the call count at which a routine is compiled.
+     */
+    public RoutineCompiler(String programName, int threshold) {
+        this.programName = programName;
+        this.threshold = threshold;
+        this.callees = new HashMap<>();
+    }
+
+    /**
+     * Get the call count at which a routine is compiled.
+     *
+     * @return the count.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Compile a routine and the routines it calls, and load them.
+     *
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the compiled routine, or null if it cannot be compiled.
+     */
+    public CompiledRoutine compile(SymTableEntry routineId) {
+        LinkedHashSet<SymTableEntry> routineIds = new LinkedHashSet<>();
+        if (!collect(routineId, routineIds)) return null;
+
+        List<PascalParser.RoutineDefinitionContext> routineCtxs = new ArrayList<>();
+        for (SymTableEntry id : routineIds) routineCtxs.add(definition(id));
+
+        try {
+            StringWriter objectCode = new StringWriter();
+            new Compiler(programName, new PrintWriter(objectCode)).compileRoutines(routineCtxs);
+
+            ClassFile classFile = new ClassFile();
+            classFile.readJasmin(new StringReader(objectCode.toString()), programName, false);
+            if (classFile.errorCount() > 0) return null;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            classFile.write(bytes);
+
+            // Loading with initialization verifies the bytecode.
+            RoutineClassLoader loader = new RoutineClassLoader(programName, bytes.toByteArray());
+            Class<?> routineClass = Class.forName(programName, true, loader);
+
+            Method method = routineClass.getDeclaredMethod(routineId.getName(),
+                                                           parameterClasses(routineId));
+            Field callsLeft = routineClass.getDeclaredField(ProgramGenerator.CALLS_LEFT_FIELD);
+            method.setAccessible(true);
+            callsLeft.setAccessible(true);
+
+            return new CompiledRoutine(method, callsLeft);
+        } catch (Exception | LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Collect a routine and all the routines it calls.
+     *
+     * @param routineId  the symbol table entry of the routine's name.
+     * @param routineIds the routines collected so far.
+     * @return true if all the routines are compilable, else false.
+     */
+    private boolean collect(SymTableEntry routineId, Set<SymTableEntry> routineIds) {
+        if (!routineIds.add(routineId)) return true;
+
+        if (!callees.containsKey(routineId)) callees.put(routineId, check(routineId));
+
+        Set<SymTableEntry> calleeIds = callees.get(routineId);
+        if (calleeIds == null) return false;
+
+        for (SymTableEntry calleeId : calleeIds) {
+            if (!collect(calleeId, routineIds)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether a routine by itself is compilable.
+     *
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the routines that it calls, or null if not compilable.
+     */
+    private Set<SymTableEntry> check(SymTableEntry routineId) {
+        if (!(routineId.getExecutable() instanceof PascalParser.CompoundStatementContext)) return null;
+        if (!routineId.getSubroutines().isEmpty()) return null;
+
+        // The function value.
+        if ((routineId.getKind() == FUNCTION) && !isParameterType(routineId.getType())) return null;
+
+        // Parameters and local variables.
+        SymTable symTable = routineId.getRoutineSymTable();
+        for (SymTableEntry id : symTable.sortedEntries()) {
+            Kind kind = id.getKind();
+
+            if (kind == REFERENCE_PARAMETER) return null;
+            if ((kind == VALUE_PARAMETER) && !isParameterType(id.getType())) return null;
+            if ((kind == VARIABLE) && !isScalarType(id.getType())) return null;
+        }
+
+        Set<SymTableEntry> calleeIds = new LinkedHashSet<>();
+
+        return check(definition(routineId).block(), symTable, calleeIds) ? calleeIds : null;
+    }
+
+    /**
+     * Check whether a subtree of a routine's parse tree is compilable.
+     *
+     * @param node      the root of the subtree.
+     * @param symTable  the routine's symbol table.
+     * @param calleeIds to collect the routines called in the subtree.
+     * @return true if compilable, else false.
+     */
+    private boolean check(ParseTree node, SymTable symTable, Set<SymTableEntry> calleeIds) {
+        if (node instanceof PascalParser.StatementContext stmtCtx) {
+            if (   (stmtCtx.writeStatement() != null) || (stmtCtx.writelnStatement() != null)
+                || (stmtCtx.readStatement() != null) || (stmtCtx.readlnStatement() != null)) {
+                return false;
+            }
+        } else if (node instanceof PascalParser.ExpressionContext exprCtx) {
+            if (!isScalarType(exprCtx.type)) return false;
+        } else if (node instanceof PascalParser.SimpleExpressionContext simpleCtx) {
+            if (!isScalarType(simpleCtx.type)) return false;
+        } else if (node instanceof PascalParser.TermContext termCtx) {
+            if (!isScalarType(termCtx.type)) return false;
+        } else if (node instanceof PascalParser.FactorContext factorCtx) {
+            if (!isScalarType(factorCtx.type)) return false;
+        } else if (node instanceof PascalParser.VariableContext varCtx) {
+            SymTableEntry id = varCtx.entry;
+            Kind kind = id.getKind();
+
+            if (!varCtx.modifier().isEmpty() || !isScalarType(varCtx.type)) return false;
+            if (   (kind != CONSTANT) && (kind != ENUMERATION_CONSTANT)
+                && (id.getSymTable() != symTable)) {
+                return false;
+            }
+        } else if (node instanceof PascalParser.ProcedureCallStatementContext callCtx) {
+            calleeIds.add(callCtx.procedureName().entry);
+        } else if (node instanceof PascalParser.FunctionCallContext callCtx) {
+            SymTableEntry functionId = callCtx.functionName().entry;
+
+            if (functionId.getRoutineCode() == DECLARED) calleeIds.add(functionId);
+            else if (!isCompilableStandardCall(callCtx)) return false;
+        }
+
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!check(node.getChild(i), symTable, calleeIds)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Determine whether a call of a standard function is compiled with
+     * the same value as the interpreter's, and with no runtime errors
+     * that the interpreter would flag. The argument's type is checked
+     * with the rest of the expressions.
+     *
+     * @param callCtx the FunctionCallContext.
+     * @return true if so.
+     */
+    private static boolean isCompilableStandardCall(PascalParser.FunctionCallContext callCtx) {
+        PascalParser.ExpressionContext argCtx = callCtx.argumentList().argument(0).expression();
+
+        return switch (callCtx.functionName().entry.getRoutineCode()) {
+            case ABS, SQR, ODD, ORD -> true;
+            case PRED, SUCC -> argCtx.type.baseType() == Predefined.integerType;
+            default -> false;
+        };
+    }
+
+    /**
+     * Determine whether a type is one that the compiled calling
+     * convention passes and returns: integer or boolean.
+     *
+     * @param type the type.
+     * @return true if so.
+     */
+    private static boolean isParameterType(Typespec type) {
+        return (type == Predefined.integerType) || (type == Predefined.booleanType);
+    }
+
+    /**
+     * Determine whether a type's values are kept in an int by both the
+     * interpreter and the compiled code: integer, boolean, and enumeration.
+     *
+     * @param type the type.
+     * @return true if so.
+     */
+    private static boolean isScalarType(Typespec type) {
+        if (type == null) return false;
+
+        Typespec baseType = type.baseType();
+
+        return (baseType == Predefined.integerType) || (baseType.getForm() == ENUMERATION);
+    }
+
+    /**
+     * Get the JVM parameter classes of a compiled routine.
+     *
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the classes.
+     */
+    private static Class<?>[] parameterClasses(SymTableEntry routineId) {
+        ArrayList<SymTableEntry> parameters = routineId.getRoutineParameters();
+        int count = (parameters != null) ? parameters.size() : 0;
+        Class<?>[] classes = new Class<?>[count];
+
+        for (int i = 0; i < count; i++) {
+            classes[i] = (parameters.get(i).getType() == Predefined.booleanType)
+                    ? boolean.class : int.class;
+        }
+
+        return classes;
+    }
+
+    /**
+     * Get a routine's definition from its executable compound statement.
+     *
+     * @param routineId the symbol table entry of the routine's name.
+     * @return the RoutineDefinitionContext.
+     */
+    private static PascalParser.RoutineDefinitionContext definition(SymTableEntry routineId) {
+        PascalParser.CompoundStatementContext stmtCtx =
+                (PascalParser.CompoundStatementContext) routineId.getExecutable();
+
+        return (PascalParser.RoutineDefinitionContext) stmtCtx.getParent().getParent();
+    }
+
+    /**
+     * A compiled routine.
+     */
+    public static class CompiledRoutine {
+        private final Method method;     // the routine's method
+        private final Field callsLeft;   // calls left before the maximum depth
+
+        private CompiledRoutine(Method method, Field callsLeft) {
+            this.method = method;
+            this.callsLeft = callsLeft;
+        }
+
+        /**
+         * Call the routine.
+         *
+         * @param calls     the number of calls, including this one, that
+         *                  can be made before the maximum call depth.
+         * @param arguments the argument values.
+         * @return the function value, or null for a procedure.
+         * @throws InvocationTargetException if the routine throws an exception,
+         *                                   such as a StackOverflowError.
+         */
+        public Object invoke(int calls, Object[] arguments) throws InvocationTargetException {
+            try {
+                callsLeft.setInt(null, calls);
+                return method.invoke(null, arguments);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Class loader for the class of one compilation. It defines the class
+     * itself rather than delegating, since the class has the program's name.
+     */
+    private static class RoutineClassLoader extends ClassLoader {
+        private final String className;   // the compiled class's name
+        private final byte[] classBytes;  // the compiled class file
+
+        RoutineClassLoader(String className, byte[] classBytes) {
+            super(RoutineClassLoader.class.getClassLoader());
+            this.className = className;
+            this.classBytes = classBytes;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+                throws ClassNotFoundException {
+            if (!name.equals(className)) return super.loadClass(name, resolve);
+
+            Class<?> routineClass = findLoadedClass(name);
+            if (routineClass == null) {
+                routineClass = defineClass(name, classBytes, 0, classBytes.length);
+            }
+
+            return routineClass;
+        }
+    }
+}
@@ -8,10 +8,34 @@ package edu.yu.compilers.backend.interpreter;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 
+import java.util.ArrayList;
 
 public class RuntimeErrorHandler {
     private static final int MAX_ERRORS = 5;
     private int count = 0;    // count of runtime errors
+    private final OutputSink output;  // runtime output, or null if deferred
+    private final ArrayList<Deferred> deferred;  // errors to report later, or null
+    private ParserRuleContext overflowCtx;       // call where the stack overflowed, or null
+
+    /**
+     * Constructor.
+     *
+     * @param output the runtime output, which the messages follow.
+     */
+    public RuntimeErrorHandler(OutputSink output) {
+        this.output = output;
+        this.deferred = null;
+    }
+
+    /**
+     * Constructor for a handler that keeps its errors to be reported
+     * later by another handler, in the order that they would have
+     * occurred.
+     */
+    public RuntimeErrorHandler() {
+        this.output = null;
+        this.deferred = new ArrayList<>();
+    }
 
     /**
      * Getter
@@ -23,22 +47,97 @@ public class RuntimeErrorHandler {
     }
 
     /**
-     * Flag a runtime error.
+     * Flag a runtime error. After too many errors, end the execution
+     * by throwing an ExecutionAbortedException.
      *
      * @param code the runtime error code.
      * @param ctx  the context node.
      */
     public void flag(Code code, ParserRuleContext ctx) {
-        System.out.printf("\n*** RUNTIME ERROR at line %03d: %s\n", ctx.getStart().getLine(), code.message);
+        if (deferred != null) {
+            deferred.add(new Deferred(code, ctx, false));
+            if (++count > MAX_ERRORS) throw new ExecutionAbortedException("Too many runtime errors");
+            return;
+        }
+
+        output.message(String.format("\n*** RUNTIME ERROR at line %03d: %s\n", ctx.getStart().getLine(), code.message));
 
         if (++count > MAX_ERRORS) {
-            System.out.println("*** ABORTED AFTER TOO MANY RUNTIME ERRORS.");
-            System.exit(-1);
+            output.message("*** ABORTED AFTER TOO MANY RUNTIME ERRORS." + System.lineSeparator());
+            throw new ExecutionAbortedException("Too many runtime errors");
+        }
+    }
+
+    /**
+     * Flag a runtime error after which execution cannot continue,
+     * and end the execution by throwing an ExecutionAbortedException.
+     *
+     * @param code the runtime error code.
+     * @param ctx  the context node.
+     */
+    public void abort(Code code, ParserRuleContext ctx) {
+        if (deferred != null) {
+            deferred.add(new Deferred(code, ctx, true));
+            throw new ExecutionAbortedException(code.message);
+        }
+
+        output.message(String.format("\n*** RUNTIME ERROR at line %03d: %s\n", ctx.getStart().getLine(), code.message));
+        output.message("*** EXECUTION ABORTED." + System.lineSeparator());
+        throw new ExecutionAbortedException(code.message);
+    }
+
+    /**
+     * Note a stack overflow at a routine call, to be reported by
+     * abortOverflow once the stack has unwound, since formatting the
+     * message on the exhausted stack could overflow it again. The
+     * deepest call, which is noted first, is the one reported.
+     *
+     * @param ctx the context of the call.
+     */
+    public void noteOverflow(ParserRuleContext ctx) {
+        if (overflowCtx == null) overflowCtx = ctx;
+    }
+
+    /**
+     * Report the stack overflow noted by noteOverflow, and end the
+     * execution by throwing an ExecutionAbortedException.
+     *
+     * @param ctx the context to report if no call was noted.
+     */
+    public void abortOverflow(ParserRuleContext ctx) {
+        abort(Code.STACK_OVERFLOW, (overflowCtx != null) ? overflowCtx : ctx);
+    }
+
+    /**
+     * Report the errors kept by a deferring handler as if they had
+     * occurred here.
+     *
+     * @param other the deferring handler.
+     */
+    public void report(RuntimeErrorHandler other) {
+        for (Deferred error : other.deferred) {
+            if (error.abort) abort(error.code, error.ctx);
+            else flag(error.code, error.ctx);
+        }
+    }
+
+    /**
+     * A runtime error kept to be reported later.
+     */
+    private static class Deferred {
+        private final Code code;               // the runtime error code
+        private final ParserRuleContext ctx;   // the context node
+        private final boolean abort;           // true if execution cannot continue
+
+        Deferred(Code code, ParserRuleContext ctx, boolean abort) {
+            this.code = code;
+            this.ctx = ctx;
+            this.abort = abort;
         }
     }
 
     public enum Code {
-        UNINITIALIZED_VALUE("Uninitialized value"), VALUE_RANGE("Value out of range"), INVALID_CASE_EXPRESSION_VALUE("Invalid CASE expression value"), DIVISION_BY_ZERO("Division by zero"), INVALID_STANDARD_FUNCTION_ARGUMENT("Invalid standard function argument"), INVALID_INPUT("Invalid input"), STACK_OVERFLOW("Runtime stack overflow"), UNIMPLEMENTED_FEATURE("Unimplemented runtime feature");
+        UNINITIALIZED_VALUE("Uninitialized value"), VALUE_RANGE("Value out of range"), INVALID_CASE_EXPRESSION_VALUE("Invalid CASE expression value"), DIVISION_BY_ZERO("Division by zero"), INVALID_STANDARD_FUNCTION_ARGUMENT("Invalid standard function argument"), INVALID_INPUT("Invalid input"), STACK_OVERFLOW("Runtime stack overflow"), STATEMENT_LIMIT("Statement limit exceeded"), TIME_LIMIT("Time limit exceeded"), MEMORY_LIMIT("Memory limit exceeded"), OUTPUT_LIMIT("Output limit exceeded"), UNIMPLEMENTED_FEATURE("Unimplemented runtime feature");
 
         private final String message;  // error message
 
@@ -10,13 +10,45 @@ import java.util.ArrayList;
 
 
 public class RuntimeStack extends ArrayList<StackFrame> {
+    public static final int DEFAULT_MAX_DEPTH = 1_000_000;  // routine calls
+
     private final RuntimeDisplay display;  // runtime display
+    private int maxDepth;                  // maximum depth of routine calls
 
     /**
      * Constructor.
      */
     public RuntimeStack() {
         display = new RuntimeDisplay();
+        maxDepth = DEFAULT_MAX_DEPTH;
+    }
+
+    /**
+     * Get the maximum depth of routine calls.
+     *
+     * @return the maximum number of unfinished calls.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Set the maximum depth of routine calls.
+     *
+     * @param maxDepth the maximum number of unfinished calls.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Determine whether another routine call would exceed the maximum
+     * depth. The program's stack frame is not a call.
+     *
+     * @return true if so.
+     */
+    public boolean isFull() {
+        return size() > maxDepth;
     }
 
     /**
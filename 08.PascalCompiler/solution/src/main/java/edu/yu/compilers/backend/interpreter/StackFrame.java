@@ -7,15 +7,12 @@
 
 package edu.yu.compilers.backend.interpreter;
 
-import edu.yu.compilers.intermediate.symtable.SymTable;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 
-import java.util.ArrayList;
-
 public class StackFrame {
     private final SymTableEntry routineId;  // symbol table entry of the routine's name
     private final int nestingLevel;       // scope nesting level of this frame
-    private final MemoryMap memoryMap;    // memory map of this stack frame
+    private final Cell[] cells;           // memory cells indexed by slot number
     private StackFrame backlink;    // backlink to the previous frame
 
     /**
@@ -24,12 +21,34 @@ public class StackFrame {
      * @param routineId the symbol table entry of the routine's name.
      */
     public StackFrame(SymTableEntry routineId) {
-        SymTable symTable = routineId.getRoutineSymTable();
+        this(new FrameTemplate(routineId));
+    }
 
-        this.routineId = routineId;
+    /**
+     * Constructor.
+     * Allocate a cell for each variable, parameter, and function value
+     * at the slot number that Semantics assigned to its entry.
+     *
+     * @param template the layout of the routine's frames.
+     */
+    StackFrame(FrameTemplate template) {
+        this.routineId = template.getRoutineId();
         this.backlink = null;
-        this.nestingLevel = symTable.getNestingLevel();
-        this.memoryMap = new MemoryMap(symTable);
+        this.nestingLevel = template.getNestingLevel();
+        this.cells = template.allocateCells();
+    }
+
+    /**
+     * Constructor for a copy of a frame that shares its memory cells,
+     * until a cell of the copy is replaced.
+     *
+     * @param frame the frame to copy.
+     */
+    StackFrame(StackFrame frame) {
+        this.routineId = frame.routineId;
+        this.backlink = null;
+        this.nestingLevel = frame.nestingLevel;
+        this.cells = frame.cells.clone();
     }
 
     /**
@@ -42,32 +61,23 @@ public class StackFrame {
     }
 
     /**
-     * Get the memory cell for the given name from the memory map.
+     * Get the memory cell at the given slot number.
      *
-     * @param name the name.
+     * @param slot the slot number.
      * @return the cell.
      */
-    public Cell getCell(String name) {
-        return memoryMap.getCell(name);
+    public Cell getCell(int slot) {
+        return cells[slot];
     }
 
     /**
-     * Replace the memory cell with the given name in the memory map.
+     * Replace the memory cell at the given slot number.
      *
-     * @param name the name.
+     * @param slot the slot number.
      * @param cell the replacement cell.
      */
-    public void replaceCell(String name, Cell cell) {
-        memoryMap.replaceCell(name, cell);
-    }
-
-    /**
-     * Get the list of all the names in the memory map.
-     *
-     * @return the list of names.
-     */
-    public ArrayList<String> getAllNames() {
-        return memoryMap.getAllNames();
+    public void replaceCell(int slot, Cell cell) {
+        cells[slot] = cell;
     }
 
     /**
@@ -0,0 +1,172 @@
+/**
+ * <h1>StringRope</h1>
+ * <p>The interpreter's value of a string built by concatenation.</p>
+ * <p>A rope is a prefix of a character buffer that is filled by appending.
+ * Concatenating onto the longest rope of a buffer with room appends
+ * to the buffer in place, and the new rope is a longer prefix of it.
+ * Since a buffer is only appended to, the prefix of an existing rope
+ * never changes. A new buffer has room for the concatenation twice over,
+ * so an accumulation loop such as <code>s := s + c</code> takes linear
+ * time, instead of copying the whole string each time. Concatenating
+ * onto any other value copies it into a new buffer.</p>
+ * <p>A rope claims the end of its buffer with a compare-and-set of the
+ * buffer's end before it appends. Of the ropes that could append to
+ * a buffer, even in concurrent threads such as the iterations of a
+ * parallel loop, only one appends in place and the others copy.</p>
+ * <p>In a governed execution, a new buffer is counted against the
+ * memory limit before it is allocated, and it has no more room than
+ * the limit leaves, so that a string doubled in a loop is an error
+ * instead of exhausting the JVM's memory.</p>
+ * <p>Ropes are compared a character at a time. A rope is flattened
+ * into a String only when its text is needed, such as to print it,
+ * and the String is kept for the next time.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class StringRope implements CharSequence {
+    private static final int MIN_CAPACITY = 16;                     // capacity of a new buffer
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;  // largest buffer the JVM allocates
+
+    private final char[] chars;         // buffer shared by extending ropes
+    private final AtomicInteger end;    // length of the buffer's longest rope
+    private final int length;           // length of this rope's prefix
+    private String flat;                // the flattened string, or null
+
+    /**
+     * Constructor.
+     *
+     * @param chars  the character buffer.
+     * @param end    the length of the buffer's longest rope.
+     * @param length the length of the prefix.
+     */
+    private StringRope(char[] chars, AtomicInteger end, int length) {
+        this.chars = chars;
+        this.end = end;
+        this.length = length;
+    }
+
+    /**
+     * Concatenate two string or character values.
+     *
+     * @param value1 the left value.
+     * @param value2 the right value.
+     * @return the rope of the concatenation.
+     */
+    public static StringRope concat(Object value1, Object value2) {
+        return concat(value1, value2, null, null);
+    }
+
+    /**
+     * Concatenate two string or character values in an execution that
+     * may be governed by resource limits.
+     *
+     * @param value1   the left value.
+     * @param value2   the right value.
+     * @param governor enforces the memory limit, or null.
+     * @param ctx      the context of the concatenation, for runtime errors.
+     * @return the rope of the concatenation.
+     */
+    public static StringRope concat(Object value1, Object value2,
+                                    ResourceGovernor governor, ParserRuleContext ctx) {
+        CharSequence right = chars(value2);
+
+        if (value1 instanceof StringRope rope) {
+            long length = (long) rope.length + right.length();
+
+            if (   (length <= rope.chars.length)
+                && rope.end.compareAndSet(rope.length, (int) length)) {
+                copy(right, rope.chars, rope.length);
+                return new StringRope(rope.chars, rope.end, (int) length);
+            }
+        }
+
+        CharSequence left = chars(value1);
+        long length = (long) left.length() + right.length();
+        int maxCapacity = MAX_CAPACITY;
+
+        if (governor != null) maxCapacity = Math.min(maxCapacity, governor.allocateChars(length, ctx));
+        if (length > maxCapacity) throw new OutOfMemoryError("String too long");
+
+        char[] buffer = new char[(int) Math.max(MIN_CAPACITY, Math.min(2*length, maxCapacity))];
+
+        copy(left, buffer, 0);
+        copy(right, buffer, left.length());
+        return new StringRope(buffer, new AtomicInteger((int) length), (int) length);
+    }
+
+    /**
+     * Compare two string or character values lexicographically,
+     * as String.compareTo does.
+     *
+     * @param value1 the left value.
+     * @param value2 the right value.
+     * @return negative, zero, or positive if the left value is less than,
+     *         equal to, or greater than the right value.
+     */
+    public static int compare(Object value1, Object value2) {
+        if ((value1 instanceof String string1) && (value2 instanceof String string2)) {
+            return string1.compareTo(string2);
+        }
+
+        return CharSequence.compare(chars(value1), chars(value2));
+    }
+
+    /**
+     * Get the characters of a value.
+     *
+     * @param value a string, rope, or character value.
+     * @return the characters.
+     */
+    private static CharSequence chars(Object value) {
+        return (value instanceof CharSequence sequence) ? sequence : String.valueOf(value);
+    }
+
+    /**
+     * Copy the characters of a value into a buffer.
+     *
+     * @param sequence the characters of the value.
+     * @param buffer   the buffer.
+     * @param offset   the buffer index of the first character.
+     */
+    private static void copy(CharSequence sequence, char[] buffer, int offset) {
+        if (sequence instanceof StringRope rope) {
+            System.arraycopy(rope.chars, 0, buffer, offset, rope.length);
+        } else if (sequence instanceof String string) {
+            string.getChars(0, string.length(), buffer, offset);
+        } else {
+            for (int i = 0; i < sequence.length(); i++) buffer[offset + i] = sequence.charAt(i);
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars[Objects.checkIndex(index, length)];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Flatten the rope.
+     *
+     * @return the string.
+     */
+    @Override
+    public String toString() {
+        if (flat == null) flat = new String(chars, 0, length);
+        return flat;
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * <h1>WriteFormat</h1>
+ * <p>The format of one WRITE or WRITELN argument, compiled once from
+ * its field width, decimal places, and datatype.</p>
+ * <p>Values are formatted as printf would with the argument's format
+ * specifier, but without parsing the specifier for each value. An
+ * unusual specifier, such as a width with leading zeros, or a value
+ * of an unexpected class is formatted by printf.</p>
+ */
+
+package edu.yu.compilers.backend.interpreter;
+
+import antlr4.PascalParser;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class WriteFormat {
+    private static final int REAL_PLACES = 6;  // printf's default precision
+
+    private final Kind kind;          // how the value is formatted
+    private final String text;        // the literal string or the printf specifier
+    private final int width;          // minimum field width, or 0
+    private final int precision;      // decimal places or maximum length, or -1
+    private final boolean leftAlign;  // true to pad on the right
+    private final boolean direct;     // false to always format with printf
+
+    /**
+     * Constructor.
+     */
+    private WriteFormat(Kind kind, String text, int width, int precision,
+                        boolean leftAlign, boolean direct) {
+        this.kind = kind;
+        this.text = text;
+        this.width = width;
+        this.precision = precision;
+        this.leftAlign = leftAlign;
+        this.direct = direct;
+    }
+
+    /**
+     * Compile the format of a write argument.
+     *
+     * @param argCtx the WriteArgumentContext.
+     * @return the format.
+     */
+    public static WriteFormat of(PascalParser.WriteArgumentContext argCtx) {
+        String argText = argCtx.getText();
+
+        // A literal string is printed as is.
+        if (argText.charAt(0) == '\'') {
+            String unquoted = argText.substring(1, argText.length() - 1);
+            return new WriteFormat(Kind.LITERAL, unquoted.replace("''", "'"),
+                                   0, -1, false, true);
+        }
+
+        Typespec type = argCtx.expression().type;
+        PascalParser.FieldWidthContext fwCtx = argCtx.fieldWidth();
+        StringBuilder format = new StringBuilder("%");
+        String widthText = "";
+        String placesText = "";
+        boolean leftAlign = false;
+
+        if (fwCtx != null) {
+            leftAlign = (fwCtx.sign() != null) && fwCtx.sign().getText().equals("-");
+            widthText = fwCtx.integerConstant().getText();
+
+            if (leftAlign) format.append("-");
+            format.append(widthText);
+
+            PascalParser.DecimalPlacesContext dpCtx = fwCtx.decimalPlaces();
+            if (dpCtx != null) {
+                placesText = dpCtx.integerConstant().getText();
+                format.append(".").append(placesText);
+            }
+        }
+
+        Kind kind;
+        if (type == Predefined.integerType) kind = Kind.INTEGER;
+        else if (type == Predefined.realType) kind = Kind.REAL;
+        else if (type == Predefined.booleanType) kind = Kind.BOOLEAN;
+        else if (type == Predefined.charType) kind = Kind.CHARACTER;
+        else kind = Kind.STRING;
+
+        format.append(kind.conversion);
+
+        // printf treats a leading zero as a flag, rejects a precision
+        // for integers and characters, and may reject large numbers.
+        boolean direct =    plainNumber(widthText) && plainNumber(placesText)
+                         && (placesText.isEmpty() || kind.allowsPrecision);
+
+        int width = direct && !widthText.isEmpty() ? Integer.parseInt(widthText) : 0;
+        int precision = direct && !placesText.isEmpty() ? Integer.parseInt(placesText) : -1;
+
+        return new WriteFormat(kind, format.toString(), width, precision, leftAlign, direct);
+    }
+
+    /**
+     * Determine whether the digits of a field width or decimal places
+     * are empty or a small number without leading zeros.
+     *
+     * @param digits the digits.
+     * @return true if so.
+     */
+    private static boolean plainNumber(String digits) {
+        return digits.isEmpty() || ((digits.charAt(0) != '0') && (digits.length() <= 6));
+    }
+
+    /**
+     * Determine whether this is the format of a literal string,
+     * which has no value.
+     *
+     * @return true if so.
+     */
+    public boolean isLiteral() {
+        return kind == Kind.LITERAL;
+    }
+
+    /**
+     * Write a value with this format.
+     *
+     * @param output the runtime output.
+     * @param value  the value, or null for a literal string.
+     */
+    public void write(OutputSink output, Object value) {
+        StringBuilder buffer = output.buffer();
+
+        if (kind == Kind.LITERAL) buffer.append(text);
+        else if (!direct) buffer.append(String.format(text, value));
+        else {
+            String digits = switch (kind) {
+                case INTEGER -> (value instanceof Integer i) ? Integer.toString(i)
+                              : (value == null) ? "null" : null;
+                case REAL -> (value instanceof Double d) ? formatReal(d)
+                           : (value == null) ? "null" : null;
+                case BOOLEAN -> truncate((value instanceof Boolean b) ? b.toString()
+                                                                      : Boolean.toString(value != null));
+                case CHARACTER -> (value instanceof Character c) ? c.toString()
+                                : (value == null) ? "null" : null;
+                default -> truncate(String.valueOf(value));
+            };
+
+            if (digits == null) buffer.append(String.format(text, value));
+            else pad(buffer, digits);
+        }
+
+        output.written();
+    }
+
+    /**
+     * Format a real value as printf's %f conversion does: the shortest
+     * decimal that identifies the value, rounded half up.
+     *
+     * @param value the value.
+     * @return the formatted value.
+     */
+    private String formatReal(double value) {
+        if (Double.isNaN(value)) return "NaN";
+
+        boolean negative = Double.compare(value, 0.0) < 0;
+        double magnitude = Math.abs(value);
+        String digits = Double.isInfinite(magnitude)
+                ? "Infinity"
+                : new BigDecimal(Double.toString(magnitude))
+                        .setScale((precision >= 0) ? precision : REAL_PLACES, RoundingMode.HALF_UP)
+                        .toPlainString();
+
+        return negative ? "-" + digits : digits;
+    }
+
+    /**
+     * Truncate a string to the precision, which is its maximum length.
+     *
+     * @param string the string.
+     * @return the truncated string.
+     */
+    private String truncate(String string) {
+        return ((precision >= 0) && (precision < string.length()))
+                ? string.substring(0, precision) : string;
+    }
+
+    /**
+     * Append a formatted value padded with blanks to the field width.
+     *
+     * @param buffer the output buffer.
+     * @param digits the formatted value.
+     */
+    private void pad(StringBuilder buffer, String digits) {
+        int blanks = width - digits.length();
+
+        if (leftAlign) buffer.append(digits);
+        for (int i = 0; i < blanks; i++) buffer.append(' ');
+        if (!leftAlign) buffer.append(digits);
+    }
+
+    private enum Kind {
+        LITERAL(""), INTEGER("d"), REAL("f"), BOOLEAN("b"), CHARACTER("c"), STRING("s");
+
+        private final String conversion;         // printf conversion character
+        private final boolean allowsPrecision;   // false if printf rejects a precision
+
+        Kind(String conversion) {
+            this.conversion = conversion;
+            this.allowsPrecision = !conversion.equals("d") && !conversion.equals("c");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A binary arithmetic operation that has not executed yet.
+ * On its first execution it evaluates its operands generically and then
+ * replaces itself with a node specialized for the operand values it saw:
+ * integer, real, or string. It falls back to a GenericArithmeticNode only
+ * if the values are not ones that the operands' datatypes guarantee.
+ */
+public class ArithmeticNode extends ExpressionNode {
+    private final Operator op;               // the operator
+    private ExpressionNode left;             // left operand
+    private ExpressionNode right;            // right operand
+    private final RuntimeErrorHandler error; // runtime error handler
+    private final ResourceGovernor governor; // enforces resource limits, or null
+
+    /**
+     * Constructor.
+     *
+     * @param ctx      the context of the right operand, for runtime errors.
+     * @param type     the result datatype.
+     * @param op       the operator.
+     * @param left     the left operand.
+     * @param right    the right operand.
+     * @param error    the runtime error handler.
+     * @param governor enforces resource limits, or null.
+     */
+    public ArithmeticNode(ParserRuleContext ctx, Typespec type, Operator op,
+                          ExpressionNode left, ExpressionNode right,
+                          RuntimeErrorHandler error, ResourceGovernor governor) {
+        super(ctx, type);
+        this.op = op;
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.error = error;
+        this.governor = governor;
+    }
+
+    @Override
+    public Object execute() {
+        Object value1 = left.execute();
+        Object value2 = right.execute();
+        Object result = GenericArithmeticNode.apply(op, value1, value2, ctx, error, governor);
+
+        replace(specialize(value1, value2));
+
+        return result;
+    }
+
+    /**
+     * Create the specialized node for the first operand values.
+     *
+     * @param value1 the left operand's value.
+     * @param value2 the right operand's value.
+     * @return the specialized node.
+     */
+    private ExpressionNode specialize(Object value1, Object value2) {
+        StoreKind kind1 = StoreKind.of(left);
+        StoreKind kind2 = StoreKind.of(right);
+
+        if (   (value1 instanceof Integer) && (value2 instanceof Integer)
+            && (kind1 == StoreKind.INTEGER) && (kind2 == StoreKind.INTEGER)
+            && (op != Operator.DIVIDE)) {
+            return IntegerArithmeticNode.create(ctx, type, op, left, right, error);
+        } else if (   (value1 instanceof Number) && (value2 instanceof Number)
+                   && kind1.isNumeric() && kind2.isNumeric()) {
+            return RealArithmeticNode.create(ctx, type, op, left, right, error);
+        } else if (   (op == Operator.ADD)
+                   && ((value1 instanceof CharSequence) || (value2 instanceof CharSequence))) {
+            return new StringConcatNode(ctx, type, left, right, governor);
+        } else {
+            return new GenericArithmeticNode(ctx, type, op, left, right, error, governor);
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+
+    public enum Operator {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE, INTEGER_DIVIDE, MODULO
+    }
+}
@@ -0,0 +1,36 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * An assignment statement.
+ */
+public class AssignNode extends StatementNode {
+    private final VariableNode target;  // the target variable
+    private ExpressionNode value; // the value expression
+    private final StoreKind kind;       // how the value is stored
+
+    /**
+     * Constructor.
+     *
+     * @param ctx    the parse tree context the node was built from.
+     * @param target the target variable.
+     * @param value  the value expression.
+     */
+    public AssignNode(ParserRuleContext ctx, VariableNode target, ExpressionNode value) {
+        super(ctx);
+        this.target = target;
+        this.value = adopt(value);
+        this.kind = StoreKind.of(target.getType());
+    }
+
+    @Override
+    public void execute() {
+        kind.store(target, value);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (value == oldChild) value = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A compound statement or statement list.
+ */
+public class BlockNode extends StatementNode {
+    private final StatementNode[] statements;  // the statements in order
+
+    /**
+     * Constructor.
+     *
+     * @param ctx        the parse tree context the node was built from.
+     * @param statements the statements in order.
+     */
+    public BlockNode(ParserRuleContext ctx, StatementNode[] statements) {
+        super(ctx);
+        this.statements = statements;
+    }
+
+    @Override
+    public void execute() {
+        for (StatementNode statement : statements) statement.execute();
+    }
+}
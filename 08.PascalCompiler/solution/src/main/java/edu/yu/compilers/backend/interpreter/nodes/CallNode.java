@@ -0,0 +1,234 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.Cell;
+import edu.yu.compilers.backend.interpreter.MemoTable;
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler.CompiledRoutine;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.RuntimeStack;
+import edu.yu.compilers.backend.interpreter.StackFrame;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A call to a declared procedure or function. As an expression,
+ * it evaluates to the function's value. Once the routine is compiled,
+ * the call executes the compiled code instead of the routine's body.
+ * A call of a memoized function with the arguments of an earlier call
+ * gets the function value from the memo table instead.
+ * A call that exceeds the runtime stack's maximum depth, or the JVM
+ * thread's stack, aborts the execution with a stack overflow error,
+ * which is reported once the stack has unwound. An overflow in compiled
+ * code is reported at the call that entered the compiled code.
+ */
+public class CallNode extends ExpressionNode {
+    private final RuntimeStack runtimeStack;  // runtime stack
+    private final RoutineNode routine;        // the called routine
+    private final ExpressionNode[] arguments; // VariableNodes for VAR parameters
+    private final RuntimeErrorHandler error;  // runtime error handler
+    private final ResourceGovernor governor;  // enforces resource limits, or null
+
+    /**
+     * Constructor.
+     *
+     * @param ctx          the parse tree context the node was built from.
+     * @param type         the function's return type, or null for a procedure.
+     * @param runtimeStack the runtime stack.
+     * @param routine      the called routine.
+     * @param arguments    the argument expressions.
+     * @param error        the runtime error handler.
+     * @param governor     enforces resource limits, or null.
+     */
+    public CallNode(ParserRuleContext ctx, Typespec type,
+                    RuntimeStack runtimeStack, RoutineNode routine,
+                    ExpressionNode[] arguments, RuntimeErrorHandler error,
+                    ResourceGovernor governor) {
+        super(ctx, type);
+        this.runtimeStack = runtimeStack;
+        this.routine = routine;
+        this.arguments = arguments;
+        this.error = error;
+        this.governor = governor;
+
+        for (ExpressionNode argument : arguments) adopt(argument);
+    }
+
+    /**
+     * Initialize a new stack frame from the arguments, then push it,
+     * execute the routine's body, and pop the frame. For a memoized
+     * function whose value for the arguments is in the memo table, set
+     * the value in the frame instead.
+     *
+     * @return the routine's popped stack frame.
+     */
+    public StackFrame call() {
+        if (governor != null) governor.allocate(routine.getFrames(), ctx);
+        StackFrame newFrame = routine.getFrames().newFrame();
+
+        for (int i = 0; i < arguments.length; i++) {
+            int slot = routine.getParameterSlot(i);
+            StoreKind kind = routine.getStoreKind(i);
+
+            // Reference parameter: Share the argument's cell.
+            if (kind == null) {
+                newFrame.replaceCell(slot, ((VariableNode) arguments[i]).getCell());
+            }
+
+            // Value parameter: Copy the argument's value.
+            else {
+                kind.store(newFrame.getCell(slot), arguments[i]);
+            }
+        }
+
+        MemoTable memo = routine.getMemo();
+        if (memo == null) return call(newFrame);
+
+        long key = memo.key(newFrame);
+        Object value = memo.get(key);
+        Cell valueCell = newFrame.getCell(routine.getValueSlot());
+
+        if (value != null) {
+            valueCell.setValue(value);
+            routine.getFrames().release(newFrame);
+            if (governor != null) governor.free(routine.getFrames());
+        } else {
+            call(newFrame);
+            memo.put(key, valueCell.getValue());
+        }
+
+        return newFrame;
+    }
+
+    /**
+     * Push an initialized stack frame, execute the routine's body,
+     * and pop the frame. The popped frame goes back to the routine's
+     * pool, but its cells keep their values, such as the function value,
+     * until the next call of the routine reuses it.
+     *
+     * @param newFrame the initialized stack frame.
+     * @return the popped stack frame.
+     */
+    private StackFrame call(StackFrame newFrame) {
+        if (runtimeStack.isFull()) {
+            error.noteOverflow(ctx);
+            throw new StackOverflowError();
+        }
+
+        runtimeStack.push(newFrame);
+
+        try {
+            routine.getBody().execute();
+        } catch (StackOverflowError ex) {
+            error.noteOverflow(ctx);
+            throw ex;
+        }
+
+        runtimeStack.pop();
+        routine.getFrames().release(newFrame);
+        if (governor != null) governor.free(routine.getFrames());
+
+        return newFrame;
+    }
+
+    /**
+     * Call the routine's compiled code. The interpreter evaluates the
+     * arguments, which are all value parameters, and passes them as JVM
+     * arguments. The compiled code returns the function value and leaves
+     * no other effects, so no stack frame is pushed, but it counts its
+     * calls against the runtime stack's maximum depth. If the compiled
+     * code throws an ArithmeticException, the call is interpreted instead
+     * with the same argument values, to flag the runtime error.
+     *
+     * @param compiled the compiled routine.
+     * @return the function value, or null for a procedure.
+     */
+    private Object callCompiled(CompiledRoutine compiled) {
+        Object[] values = new Object[arguments.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = (routine.getStoreKind(i) == StoreKind.BOOLEAN)
+                    ? (Object) arguments[i].executeBoolean()
+                    : (Object) arguments[i].executeInteger();
+        }
+
+        // The program's stack frame is not a call.
+        int callsLeft = runtimeStack.getMaxDepth() - (runtimeStack.size() - 1);
+
+        try {
+            return compiled.invoke(callsLeft, values);
+        } catch (InvocationTargetException ex) {
+            Throwable cause = ex.getCause();
+
+            if (cause instanceof StackOverflowError) error.noteOverflow(ctx);
+            if (cause instanceof Error error) throw error;
+            if (!(cause instanceof ArithmeticException)) throw (RuntimeException) cause;
+        }
+
+        if (governor != null) governor.allocate(routine.getFrames(), ctx);
+        StackFrame newFrame = routine.getFrames().newFrame();
+        for (int i = 0; i < values.length; i++) {
+            newFrame.getCell(routine.getParameterSlot(i)).setValue(values[i]);
+        }
+
+        call(newFrame);
+
+        int valueSlot = routine.getValueSlot();
+        return (valueSlot >= 0) ? newFrame.getCell(valueSlot).getValue() : null;
+    }
+
+    /**
+     * Call the routine as a procedure.
+     */
+    public void callProcedure() {
+        CompiledRoutine compiled = routine.countCall();
+
+        if (compiled != null) callCompiled(compiled);
+        else call();
+    }
+
+    @Override
+    public Object execute() {
+        CompiledRoutine compiled = routine.countCall();
+
+        return (compiled != null) ? callCompiled(compiled)
+                                : call().getCell(routine.getValueSlot()).getValue();
+    }
+
+    @Override
+    public int executeInteger() {
+        CompiledRoutine compiled = routine.countCall();
+
+        return (compiled != null) ? (Integer) callCompiled(compiled)
+                                : call().getCell(routine.getValueSlot()).getInteger();
+    }
+
+    @Override
+    public double executeReal() {
+        CompiledRoutine compiled = routine.countCall();
+
+        return (compiled != null) ? (Integer) callCompiled(compiled)
+                                : call().getCell(routine.getValueSlot()).getReal();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        CompiledRoutine compiled = routine.countCall();
+
+        return (compiled != null) ? (Boolean) callCompiled(compiled)
+                                : call().getCell(routine.getValueSlot()).getBoolean();
+    }
+
+    @Override
+    public char executeCharacter() {
+        return call().getCell(routine.getValueSlot()).getCharacter();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == oldChild) arguments[i] = (ExpressionNode) newChild;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.JumpTable;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A CASE statement with its jump table built once. An integer,
+ * enumeration, or character CASE expression is evaluated as an int
+ * to index the jump table without boxing.
+ */
+public class CaseNode extends StatementNode {
+    private ExpressionNode expression;                // the CASE expression
+    private final JumpTable<StatementNode> jumpTable; // constant value to branch
+    private final StoreKind kind;                     // how the expression is evaluated
+
+    /**
+     * Constructor.
+     *
+     * @param ctx        the parse tree context the node was built from.
+     * @param expression the CASE expression.
+     * @param jumpTable  the jump table.
+     */
+    public CaseNode(ParserRuleContext ctx, ExpressionNode expression,
+                    JumpTable<StatementNode> jumpTable) {
+        super(ctx);
+        this.expression = adopt(expression);
+        this.jumpTable = jumpTable;
+        this.kind = jumpTable.hasIntKeys() ? StoreKind.of(expression) : StoreKind.OBJECT;
+    }
+
+    @Override
+    public void execute() {
+        StatementNode branch = switch (kind) {
+            case INTEGER -> jumpTable.get(expression.executeInteger());
+            case CHARACTER -> jumpTable.get(expression.executeCharacter());
+            default -> jumpTable.get(expression.execute());
+        };
+
+        if (branch != null) branch.execute();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (expression == oldChild) expression = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A literal or named constant, with its unboxed views computed once.
+ */
+public class ConstantNode extends ExpressionNode {
+    private final Object value;     // boxed value
+    private final int intValue;     // integer, boolean, or character value
+    private final double realValue; // real value
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the parse tree context the node was built from.
+     * @param type  the constant's datatype.
+     * @param value the constant's value.
+     */
+    public ConstantNode(ParserRuleContext ctx, Typespec type, Object value) {
+        super(ctx, type);
+
+        if (value instanceof Number number) {
+            this.intValue = number.intValue();
+            this.realValue = number.doubleValue();
+            this.value = (value instanceof Float) ? (Object) realValue : value;
+        } else if (value instanceof Character character) {
+            this.intValue = character;
+            this.realValue = character;
+            this.value = value;
+        } else if (value instanceof Boolean bool) {
+            this.intValue = bool ? 1 : 0;
+            this.realValue = intValue;
+            this.value = value;
+        } else {
+            this.intValue = 0;
+            this.realValue = 0;
+            this.value = value;
+        }
+    }
+
+    @Override
+    public Object execute() {
+        return value;
+    }
+
+    @Override
+    public int executeInteger() {
+        return intValue;
+    }
+
+    @Override
+    public double executeReal() {
+        return realValue;
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        return intValue != 0;
+    }
+
+    @Override
+    public char executeCharacter() {
+        return (char) intValue;
+    }
+}
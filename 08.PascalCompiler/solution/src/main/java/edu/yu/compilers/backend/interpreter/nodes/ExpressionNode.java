@@ -0,0 +1,76 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * An executable expression. Subclasses override the typed execute methods
+ * so that integer, real, boolean, and character values need not be boxed.
+ */
+public abstract class ExpressionNode extends Node {
+    protected final Typespec type;  // the expression's datatype
+
+    /**
+     * Constructor.
+     *
+     * @param ctx  the parse tree context the node was built from.
+     * @param type the expression's datatype.
+     */
+    protected ExpressionNode(ParserRuleContext ctx, Typespec type) {
+        super(ctx);
+        this.type = type;
+    }
+
+    /**
+     * Get the expression's datatype.
+     *
+     * @return the datatype.
+     */
+    public Typespec getType() {
+        return type;
+    }
+
+    /**
+     * Evaluate the expression.
+     *
+     * @return the boxed value.
+     */
+    public abstract Object execute();
+
+    /**
+     * Evaluate an integer, enumeration, or character expression.
+     *
+     * @return the integer value.
+     */
+    public int executeInteger() {
+        Object value = execute();
+        return (value instanceof Character) ? (Character) value : (Integer) value;
+    }
+
+    /**
+     * Evaluate a real or integer expression.
+     *
+     * @return the real value.
+     */
+    public double executeReal() {
+        return ((Number) execute()).doubleValue();
+    }
+
+    /**
+     * Evaluate a boolean expression.
+     *
+     * @return the boolean value.
+     */
+    public boolean executeBoolean() {
+        return (Boolean) execute();
+    }
+
+    /**
+     * Evaluate a character expression.
+     *
+     * @return the character value.
+     */
+    public char executeCharacter() {
+        return (Character) execute();
+    }
+}
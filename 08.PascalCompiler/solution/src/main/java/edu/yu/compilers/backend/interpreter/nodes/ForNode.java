@@ -0,0 +1,71 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.Cell;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A FOR statement with an integer, enumeration, or character control variable.
+ */
+public class ForNode extends StatementNode {
+    private final VariableNode control;  // the control variable
+    private ExpressionNode start;  // the initial value
+    private ExpressionNode stop;   // the terminal value
+    private final boolean to;            // true for TO, false for DOWNTO
+    private final StoreKind kind;        // how the control value is stored
+    private final StatementNode body;    // the loop body
+
+    /**
+     * Constructor.
+     *
+     * @param ctx     the parse tree context the node was built from.
+     * @param control the control variable.
+     * @param start   the initial value.
+     * @param stop    the terminal value.
+     * @param to      true for TO, false for DOWNTO.
+     * @param body    the loop body.
+     */
+    public ForNode(ParserRuleContext ctx, VariableNode control,
+                   ExpressionNode start, ExpressionNode stop, boolean to,
+                   StatementNode body) {
+        super(ctx);
+        this.control = control;
+        this.start = adopt(start);
+        this.stop = adopt(stop);
+        this.to = to;
+        this.kind = StoreKind.of(control.getType());
+        this.body = body;
+    }
+
+    @Override
+    public void execute() {
+        Cell controlCell = control.getCell();
+        int value = start.executeInteger();
+        int stopValue = stop.executeInteger();
+        int step = to ? 1 : -1;
+
+        setControl(controlCell, value);
+
+        while (to ? value <= stopValue : value >= stopValue) {
+            body.execute();
+            value += step;
+            setControl(controlCell, value);
+        }
+    }
+
+    /**
+     * Set the control variable's value.
+     *
+     * @param cell  the control variable's cell.
+     * @param value the new value.
+     */
+    private void setControl(Cell cell, int value) {
+        if (kind == StoreKind.CHARACTER) cell.setCharacter((char) value);
+        else cell.setInteger(value);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (start == oldChild) start = (ExpressionNode) newChild;
+        if (stop == oldChild) stop = (ExpressionNode) newChild;
+    }
+}
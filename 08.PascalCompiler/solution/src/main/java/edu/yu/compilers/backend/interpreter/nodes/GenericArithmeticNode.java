@@ -0,0 +1,114 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.StringRope;
+import edu.yu.compilers.backend.interpreter.nodes.ArithmeticNode.Operator;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.DIVISION_BY_ZERO;
+
+/**
+ * A binary arithmetic operation that examines its operand values
+ * every time it executes.
+ */
+public class GenericArithmeticNode extends ExpressionNode {
+    private final Operator op;               // the operator
+    private ExpressionNode left;             // left operand
+    private ExpressionNode right;            // right operand
+    private final RuntimeErrorHandler error; // runtime error handler
+    private final ResourceGovernor governor; // enforces resource limits, or null
+
+    /**
+     * Constructor.
+     *
+     * @param ctx      the context of the right operand, for runtime errors.
+     * @param type     the result datatype.
+     * @param op       the operator.
+     * @param left     the left operand.
+     * @param right    the right operand.
+     * @param error    the runtime error handler.
+     * @param governor enforces resource limits, or null.
+     */
+    public GenericArithmeticNode(ParserRuleContext ctx, Typespec type, Operator op,
+                                 ExpressionNode left, ExpressionNode right,
+                                 RuntimeErrorHandler error, ResourceGovernor governor) {
+        super(ctx, type);
+        this.op = op;
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.error = error;
+        this.governor = governor;
+    }
+
+    @Override
+    public Object execute() {
+        return apply(op, left.execute(), right.execute(), ctx, error, governor);
+    }
+
+    /**
+     * Apply an arithmetic operator to boxed operand values.
+     *
+     * @param op       the operator.
+     * @param value1   the left operand's value.
+     * @param value2   the right operand's value.
+     * @param ctx      the context of the right operand, for runtime errors.
+     * @param error    the runtime error handler.
+     * @param governor enforces resource limits, or null.
+     * @return the boxed result.
+     */
+    static Object apply(Operator op, Object value1, Object value2,
+                        ParserRuleContext ctx, RuntimeErrorHandler error,
+                        ResourceGovernor governor) {
+        // String concatenation.
+        if (   (op == Operator.ADD)
+            && ((value1 instanceof CharSequence) || (value2 instanceof CharSequence))) {
+            return StringRope.concat(value1, value2, governor, ctx);
+        }
+
+        // Integer arithmetic.
+        if (   (value1 instanceof Integer i1) && (value2 instanceof Integer i2)
+            && (op != Operator.DIVIDE)) {
+            switch (op) {
+                case ADD:      return i1 + i2;
+                case SUBTRACT: return i1 - i2;
+                case MULTIPLY: return i1 * i2;
+                default:       break;
+            }
+
+            // Check for division by zero.
+            if (i2 == 0) {
+                error.flag(DIVISION_BY_ZERO, ctx);
+                return i1;
+            }
+
+            return (op == Operator.MODULO) ? i1 % i2 : i1 / i2;
+        }
+
+        // Real arithmetic.
+        double d1 = ((Number) value1).doubleValue();
+        double d2 = ((Number) value2).doubleValue();
+
+        switch (op) {
+            case ADD:      return d1 + d2;
+            case SUBTRACT: return d1 - d2;
+            case MULTIPLY: return d1 * d2;
+            default:       break;
+        }
+
+        // Check for division by zero.
+        if (d2 == 0) {
+            error.flag(DIVISION_BY_ZERO, ctx);
+            return 0.0;
+        }
+
+        return d1 / d2;
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.StringRope;
+import edu.yu.compilers.backend.interpreter.nodes.RelationalNode.Operator;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A relational operation that examines its operand values
+ * every time it executes.
+ */
+public class GenericRelationalNode extends ExpressionNode {
+    private final Operator op;     // the operator
+    private ExpressionNode left;   // left operand
+    private ExpressionNode right;  // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the parse tree context the node was built from.
+     * @param type  the result datatype (boolean).
+     * @param op    the operator.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    public GenericRelationalNode(ParserRuleContext ctx, Typespec type, Operator op,
+                                 ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.op = op;
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    @Override
+    public Object execute() {
+        return executeBoolean();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        return apply(op, left.execute(), right.execute());
+    }
+
+    /**
+     * Apply a relational operator to boxed operand values.
+     *
+     * @param op     the operator.
+     * @param value1 the left operand's value.
+     * @param value2 the right operand's value.
+     * @return the boolean result.
+     */
+    static boolean apply(Operator op, Object value1, Object value2) {
+        if ((value1 instanceof Integer i1) && (value2 instanceof Integer i2)) {
+            return op.test(Integer.compare(i1, i2));
+        } else if ((value1 instanceof Number n1) && (value2 instanceof Number n2)) {
+            return op.test(n1.doubleValue(), n2.doubleValue());
+        } else if ((value1 instanceof Character c1) && (value2 instanceof Character c2)) {
+            return op.test(Character.compare(c1, c2));
+        } else if ((value1 instanceof Boolean b1) && (value2 instanceof Boolean b2)) {
+            return op.test(Boolean.compare(b1, b2));
+        } else {
+            return op.test(StringRope.compare(value1, value2));
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,34 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A statement that is counted by the resource governor each time
+ * before it executes. The NodeBuilder wraps statements only when
+ * the execution is governed by resource limits.
+ */
+public class GovernedStatementNode extends StatementNode {
+    private final StatementNode statement;    // the governed statement
+    private final ResourceGovernor governor;  // enforces the limits
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the statement's context.
+     * @param statement the governed statement.
+     * @param governor  enforces the resource limits.
+     */
+    public GovernedStatementNode(ParserRuleContext ctx, StatementNode statement,
+                                 ResourceGovernor governor) {
+        super(ctx);
+        this.statement = adopt(statement);
+        this.governor = governor;
+    }
+
+    @Override
+    public void execute() {
+        governor.countStatement(ctx);
+        statement.execute();
+    }
+}
@@ -0,0 +1,39 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * An IF statement.
+ */
+public class IfNode extends StatementNode {
+    private ExpressionNode condition;  // the boolean condition
+    private final StatementNode trueNode;    // the THEN statement
+    private final StatementNode falseNode;   // the ELSE statement, or null
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the parse tree context the node was built from.
+     * @param condition the boolean condition.
+     * @param trueNode  the THEN statement.
+     * @param falseNode the ELSE statement, or null.
+     */
+    public IfNode(ParserRuleContext ctx, ExpressionNode condition,
+                  StatementNode trueNode, StatementNode falseNode) {
+        super(ctx);
+        this.condition = adopt(condition);
+        this.trueNode = trueNode;
+        this.falseNode = falseNode;
+    }
+
+    @Override
+    public void execute() {
+        if (condition.executeBoolean()) trueNode.execute();
+        else if (falseNode != null) falseNode.execute();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (condition == oldChild) condition = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.nodes.ArithmeticNode.Operator;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.DIVISION_BY_ZERO;
+
+/**
+ * A binary arithmetic operation specialized for integer operands,
+ * with a subclass for each operator.
+ */
+public abstract class IntegerArithmeticNode extends ExpressionNode {
+    protected ExpressionNode left;   // left operand
+    protected ExpressionNode right;  // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the context of the right operand, for runtime errors.
+     * @param type  the result datatype.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    protected IntegerArithmeticNode(ParserRuleContext ctx, Typespec type,
+                                    ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    /**
+     * Create the node for an operator.
+     *
+     * @param ctx   the context of the right operand, for runtime errors.
+     * @param type  the result datatype.
+     * @param op    the operator, which is not DIVIDE.
+     * @param left  the left operand.
+     * @param right the right operand.
+     * @param error the runtime error handler.
+     * @return the node.
+     */
+    static IntegerArithmeticNode create(ParserRuleContext ctx, Typespec type, Operator op,
+                                        ExpressionNode left, ExpressionNode right,
+                                        RuntimeErrorHandler error) {
+        return switch (op) {
+            case ADD -> new Add(ctx, type, left, right);
+            case SUBTRACT -> new Subtract(ctx, type, left, right);
+            case MULTIPLY -> new Multiply(ctx, type, left, right);
+            default -> new Divide(ctx, type, op == Operator.MODULO, left, right, error);
+        };
+    }
+
+    @Override
+    public Object execute() {
+        return executeInteger();
+    }
+
+    @Override
+    public double executeReal() {
+        return executeInteger();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+
+    static final class Add extends IntegerArithmeticNode {
+        Add(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public int executeInteger() {
+            return left.executeInteger() + right.executeInteger();
+        }
+    }
+
+    static final class Subtract extends IntegerArithmeticNode {
+        Subtract(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public int executeInteger() {
+            return left.executeInteger() - right.executeInteger();
+        }
+    }
+
+    static final class Multiply extends IntegerArithmeticNode {
+        Multiply(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public int executeInteger() {
+            return left.executeInteger() * right.executeInteger();
+        }
+    }
+
+    /**
+     * DIV or MOD.
+     */
+    static final class Divide extends IntegerArithmeticNode {
+        private final boolean modulo;             // true for MOD
+        private final RuntimeErrorHandler error;  // runtime error handler
+
+        Divide(ParserRuleContext ctx, Typespec type, boolean modulo,
+               ExpressionNode left, ExpressionNode right, RuntimeErrorHandler error) {
+            super(ctx, type, left, right);
+            this.modulo = modulo;
+            this.error = error;
+        }
+
+        @Override
+        public int executeInteger() {
+            int value1 = left.executeInteger();
+            int value2 = right.executeInteger();
+
+            // Check for division by zero.
+            if (value2 == 0) {
+                error.flag(DIVISION_BY_ZERO, ctx);
+                return value1;
+            }
+
+            return modulo ? value1 % value2 : value1 / value2;
+        }
+    }
+}
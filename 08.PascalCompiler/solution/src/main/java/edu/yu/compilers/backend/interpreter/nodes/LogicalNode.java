@@ -0,0 +1,50 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A boolean AND or OR. Both operands are always evaluated,
+ * as in the parse tree Executor.
+ */
+public class LogicalNode extends ExpressionNode {
+    private final boolean and;          // true for AND, false for OR
+    private ExpressionNode left;  // left operand
+    private ExpressionNode right; // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the parse tree context the node was built from.
+     * @param type  the result datatype (boolean).
+     * @param and   true for AND, false for OR.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    public LogicalNode(ParserRuleContext ctx, Typespec type, boolean and,
+                       ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.and = and;
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    @Override
+    public Object execute() {
+        return executeBoolean();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        boolean value1 = left.executeBoolean();
+        boolean value2 = right.executeBoolean();
+
+        return and ? value1 && value2 : value1 || value2;
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,46 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * Arithmetic negation of an integer or real operand.
+ */
+public class NegateNode extends ExpressionNode {
+    private ExpressionNode operand;  // the operand
+    private final boolean real;            // true if the operand is real
+
+    /**
+     * Constructor.
+     *
+     * @param ctx     the parse tree context the node was built from.
+     * @param type    the operand's datatype.
+     * @param operand the operand.
+     */
+    public NegateNode(ParserRuleContext ctx, Typespec type, ExpressionNode operand) {
+        super(ctx, type);
+        this.operand = adopt(operand);
+        this.real = type.baseType() == Predefined.realType;
+    }
+
+    @Override
+    public Object execute() {
+        return real ? (Object) executeReal() : (Object) executeInteger();
+    }
+
+    @Override
+    public int executeInteger() {
+        return -operand.executeInteger();
+    }
+
+    @Override
+    public double executeReal() {
+        return -operand.executeReal();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (operand == oldChild) operand = (ExpressionNode) newChild;
+    }
+}
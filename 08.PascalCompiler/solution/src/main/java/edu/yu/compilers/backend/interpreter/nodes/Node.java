@@ -0,0 +1,69 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * Base class of the executable nodes that the NodeBuilder creates
+ * from the decorated parse tree. A node can replace itself in its
+ * parent with a more specialized node.
+ */
+public abstract class Node {
+    protected final ParserRuleContext ctx;  // source context for runtime errors
+    private Node parent;                    // the node that holds this one
+
+    /**
+     * Constructor.
+     *
+     * @param ctx the parse tree context the node was built from.
+     */
+    protected Node(ParserRuleContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Get the parse tree context the node was built from.
+     *
+     * @return the context.
+     */
+    public ParserRuleContext getContext() {
+        return ctx;
+    }
+
+    /**
+     * Make this node the parent of a child node.
+     *
+     * @param child the child node, or null.
+     * @return the child node.
+     */
+    protected <T extends Node> T adopt(T child) {
+        if (child != null) ((Node) child).parent = this;
+        return child;
+    }
+
+    /**
+     * Replace this node in its parent.
+     *
+     * @param newNode the replacement node.
+     * @return the replacement node.
+     */
+    protected <T extends Node> T replace(T newNode) {
+        if (parent != null) {
+            parent.replaceChild(this, newNode);
+            ((Node) newNode).parent = parent;
+        }
+
+        return newNode;
+    }
+
+    /**
+     * Replace a child node with a new node. Nodes that have
+     * expression children override this.
+     *
+     * @param oldChild the child node to replace.
+     * @param newChild the replacement node.
+     */
+    protected void replaceChild(Node oldChild, Node newChild) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " cannot replace a child node");
+    }
+}
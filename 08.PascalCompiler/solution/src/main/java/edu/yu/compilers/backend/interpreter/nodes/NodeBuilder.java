@@ -0,0 +1,632 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import antlr4.PascalBaseVisitor;
+import antlr4.PascalParser;
+import edu.yu.compilers.backend.interpreter.ArrayValue;
+import edu.yu.compilers.backend.interpreter.InputReader;
+import edu.yu.compilers.backend.interpreter.JumpTable;
+import edu.yu.compilers.backend.interpreter.MemoTable;
+import edu.yu.compilers.backend.interpreter.OutputSink;
+import edu.yu.compilers.backend.interpreter.Profiler;
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.RuntimeStack;
+import edu.yu.compilers.backend.interpreter.WriteFormat;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine;
+import edu.yu.compilers.intermediate.type.TypeChecker;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.CONSTANT;
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.ENUMERATION_CONSTANT;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.SUBRANGE;
+
+/**
+ * Build executable nodes from the parse tree decorated by Semantics.
+ * Operators, result types, and variable locations are resolved here
+ * once, so that executing the nodes does no parse tree lookups.
+ */
+public class NodeBuilder extends PascalBaseVisitor<Object> {
+    private final RuntimeStack runtimeStack;          // runtime stack
+    private final RuntimeErrorHandler error;          // runtime error handler
+    private final InputReader input;                  // runtime input
+    private final OutputSink output;                  // runtime output
+    private final RoutineCompiler compiler;           // compiles hot routines, or null
+    private final Profiler profiler;                  // execution profile, or null
+    private final HashMap<SymTableEntry, RoutineNode> routines;  // built routines
+    private int memoCapacity;                         // entries per memo table, or 0
+    private ResourceGovernor governor;                // enforces resource limits, or null
+
+    /**
+     * Constructor.
+     *
+     * @param runtimeStack the runtime stack the nodes will execute on.
+     * @param error        the runtime error handler.
+     * @param input        the runtime input.
+     * @param output       the runtime output.
+     * @param compiler     the compiler of hot routines, or null to always interpret.
+     * @param profiler     the execution profile, or null to not profile.
+     */
+    public NodeBuilder(RuntimeStack runtimeStack, RuntimeErrorHandler error,
+                       InputReader input, OutputSink output, RoutineCompiler compiler,
+                       Profiler profiler) {
+        this.runtimeStack = runtimeStack;
+        this.error = error;
+        this.input = input;
+        this.output = output;
+        this.compiler = compiler;
+        this.profiler = profiler;
+        this.routines = new HashMap<>();
+    }
+
+    /**
+     * Memoize the pure functions.
+     *
+     * @param memoCapacity the number of entries of each function's
+     *                     memo table, or 0 to not memoize.
+     */
+    public void setMemoCapacity(int memoCapacity) {
+        this.memoCapacity = memoCapacity;
+    }
+
+    /**
+     * Govern the execution by resource limits. The compiler of hot
+     * routines must be null, since compiled code is not governed.
+     *
+     * @param governor enforces the limits.
+     */
+    public void setGovernor(ResourceGovernor governor) {
+        this.governor = governor;
+    }
+
+    /**
+     * Build the node for a statement.
+     *
+     * @param ctx the statement's context.
+     * @return the statement node.
+     */
+    public StatementNode buildStatement(ParserRuleContext ctx) {
+        return (StatementNode) visit(ctx);
+    }
+
+    /**
+     * Build the node for an expression.
+     *
+     * @param ctx the expression's context.
+     * @return the expression node.
+     */
+    public ExpressionNode buildExpression(ParserRuleContext ctx) {
+        return (ExpressionNode) visit(ctx);
+    }
+
+    @Override
+    public Object visitProgram(PascalParser.ProgramContext ctx) {
+        return buildStatement(ctx.block().compoundStatement());
+    }
+
+    @Override
+    public Object visitStatement(PascalParser.StatementContext ctx) {
+        StatementNode statement = buildStatement((ParserRuleContext) ctx.getChild(0));
+
+        if (governor != null) statement = new GovernedStatementNode(ctx, statement, governor);
+
+        return (profiler != null) ? new ProfiledStatementNode(ctx, statement, profiler)
+                                  : statement;
+    }
+
+    @Override
+    public Object visitCompoundStatement(PascalParser.CompoundStatementContext ctx) {
+        return buildStatement(ctx.statementList());
+    }
+
+    @Override
+    public Object visitStatementList(PascalParser.StatementListContext ctx) {
+        List<PascalParser.StatementContext> statementCtxs = ctx.statement();
+        StatementNode[] statements = new StatementNode[statementCtxs.size()];
+
+        for (int i = 0; i < statements.length; i++) {
+            statements[i] = buildStatement(statementCtxs.get(i));
+        }
+
+        return new BlockNode(ctx, statements);
+    }
+
+    @Override
+    public Object visitEmptyStatement(PascalParser.EmptyStatementContext ctx) {
+        return new BlockNode(ctx, new StatementNode[0]);
+    }
+
+    @Override
+    public Object visitAssignmentStatement(PascalParser.AssignmentStatementContext ctx) {
+        VariableNode target = buildVariable(ctx.lhs().variable());
+        ExpressionNode value = buildExpression(ctx.rhs().expression());
+
+        return new AssignNode(ctx, target, value);
+    }
+
+    @Override
+    public Object visitIfStatement(PascalParser.IfStatementContext ctx) {
+        ExpressionNode condition = buildExpression(ctx.expression());
+        StatementNode trueNode = buildStatement(ctx.trueStatement().statement());
+        StatementNode falseNode = (ctx.falseStatement() != null)
+                ? buildStatement(ctx.falseStatement().statement()) : null;
+
+        return new IfNode(ctx, condition, trueNode, falseNode);
+    }
+
+    @Override
+    public Object visitCaseStatement(PascalParser.CaseStatementContext ctx) {
+        ExpressionNode expression = buildExpression(ctx.expression());
+        HashMap<Object, StatementNode> jumpTable = new HashMap<>();
+
+        // Loop over the CASE branches.
+        for (PascalParser.CaseBranchContext branchCtx : ctx.caseBranchList().caseBranch()) {
+            PascalParser.CaseConstantListContext constListCtx = branchCtx.caseConstantList();
+
+            if (constListCtx != null) {
+                StatementNode branch = buildStatement(branchCtx.statement());
+
+                // Every constant of the branch jumps to the same node.
+                for (PascalParser.CaseConstantContext caseConstCtx : constListCtx.caseConstant()) {
+                    jumpTable.put(caseConstCtx.value, branch);
+                }
+            }
+        }
+
+        return new CaseNode(ctx, expression, new JumpTable<>(jumpTable));
+    }
+
+    @Override
+    public Object visitRepeatStatement(PascalParser.RepeatStatementContext ctx) {
+        StatementNode body = buildStatement(ctx.statementList());
+        ExpressionNode condition = buildExpression(ctx.expression());
+
+        return new RepeatNode(ctx, body, condition);
+    }
+
+    @Override
+    public Object visitWhileStatement(PascalParser.WhileStatementContext ctx) {
+        ExpressionNode condition = buildExpression(ctx.expression());
+        StatementNode body = buildStatement(ctx.statement());
+
+        return new WhileNode(ctx, condition, body);
+    }
+
+    @Override
+    public Object visitForStatement(PascalParser.ForStatementContext ctx) {
+        VariableNode control = buildVariable(ctx.variable());
+        ExpressionNode start = buildExpression(ctx.expression(0));
+        ExpressionNode stop = buildExpression(ctx.expression(1));
+        StatementNode body = buildStatement(ctx.statement());
+
+        return new ForNode(ctx, control, start, stop, ctx.TO() != null, body);
+    }
+
+    @Override
+    public Object visitProcedureCallStatement(PascalParser.ProcedureCallStatementContext ctx) {
+        SymTableEntry routineId = ctx.procedureName().entry;
+        CallNode call = buildCall(ctx, routineId, ctx.argumentList(), null);
+
+        return new ProcedureCallNode(ctx, call);
+    }
+
+    @Override
+    public Object visitWriteStatement(PascalParser.WriteStatementContext ctx) {
+        return buildWrite(ctx, ctx.writeArguments(), false);
+    }
+
+    @Override
+    public Object visitWritelnStatement(PascalParser.WritelnStatementContext ctx) {
+        return buildWrite(ctx, ctx.writeArguments(), true);
+    }
+
+    /**
+     * Build a WRITE or WRITELN node with the format
+     * of each argument compiled once.
+     *
+     * @param ctx     the statement's context.
+     * @param argsCtx the WriteArgumentsContext, or null.
+     * @param newline true for WRITELN.
+     * @return the write node.
+     */
+    private WriteNode buildWrite(ParserRuleContext ctx,
+                                 PascalParser.WriteArgumentsContext argsCtx,
+                                 boolean newline) {
+        List<PascalParser.WriteArgumentContext> argCtxs =
+                (argsCtx != null) ? argsCtx.writeArgument() : new ArrayList<>();
+        ExpressionNode[] values = new ExpressionNode[argCtxs.size()];
+        WriteFormat[] formats = new WriteFormat[argCtxs.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            PascalParser.WriteArgumentContext argCtx = argCtxs.get(i);
+
+            // Literal strings have no value to execute.
+            formats[i] = WriteFormat.of(argCtx);
+            if (!formats[i].isLiteral()) values[i] = buildExpression(argCtx.expression());
+        }
+
+        return new WriteNode(ctx, values, formats, newline, output);
+    }
+
+    @Override
+    public Object visitReadStatement(PascalParser.ReadStatementContext ctx) {
+        return buildRead(ctx, ctx.readArguments(), false);
+    }
+
+    @Override
+    public Object visitReadlnStatement(PascalParser.ReadlnStatementContext ctx) {
+        return buildRead(ctx, ctx.readArguments(), true);
+    }
+
+    /**
+     * Build a READ or READLN node.
+     *
+     * @param ctx     the statement's context.
+     * @param argsCtx the ReadArgumentsContext.
+     * @param readln  true for READLN.
+     * @return the read node.
+     */
+    private ReadNode buildRead(ParserRuleContext ctx,
+                               PascalParser.ReadArgumentsContext argsCtx,
+                               boolean readln) {
+        List<PascalParser.VariableContext> varCtxs = argsCtx.variable();
+        VariableNode[] variables = new VariableNode[varCtxs.size()];
+
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = buildVariable(varCtxs.get(i));
+        }
+
+        return new ReadNode(ctx, input, variables, readln, error);
+    }
+
+    @Override
+    public Object visitExpression(PascalParser.ExpressionContext ctx) {
+        PascalParser.SimpleExpressionContext simpleCtx1 = ctx.simpleExpression(0);
+        ExpressionNode left = buildExpression(simpleCtx1);
+
+        if (ctx.relOp() == null) return left;
+
+        PascalParser.SimpleExpressionContext simpleCtx2 = ctx.simpleExpression(1);
+        ExpressionNode right = buildExpression(simpleCtx2);
+        Typespec type1 = simpleCtx1.type;
+        Typespec type2 = simpleCtx2.type;
+
+        RelationalNode.Operator op = switch (ctx.relOp().getText()) {
+            case "=" -> RelationalNode.Operator.EQ;
+            case "<>" -> RelationalNode.Operator.NE;
+            case "<" -> RelationalNode.Operator.LT;
+            case "<=" -> RelationalNode.Operator.LE;
+            case ">" -> RelationalNode.Operator.GT;
+            default -> RelationalNode.Operator.GE;
+        };
+
+        return new RelationalNode(ctx, Predefined.booleanType, op, left, right);
+    }
+
+    @Override
+    public Object visitSimpleExpression(PascalParser.SimpleExpressionContext ctx) {
+        List<PascalParser.TermContext> termCtxs = ctx.term();
+        PascalParser.TermContext termCtx1 = termCtxs.get(0);
+        ExpressionNode node = buildExpression(termCtx1);
+        Typespec type1 = termCtx1.type;
+
+        if ((ctx.sign() != null) && ctx.sign().getText().equals("-")) {
+            node = new NegateNode(ctx, type1, node);
+        }
+
+        // Loop over the subsequent terms.
+        for (int i = 1; i < termCtxs.size(); i++) {
+            String op = ctx.addOp(i - 1).getText().toLowerCase();
+            PascalParser.TermContext termCtx2 = termCtxs.get(i);
+            ExpressionNode right = buildExpression(termCtx2);
+            Typespec type2 = termCtx2.type;
+
+            if (op.equals("or")) {
+                node = new LogicalNode(termCtx2, Predefined.booleanType, false, node, right);
+            } else {
+                ArithmeticNode.Operator operator = op.equals("+")
+                        ? ArithmeticNode.Operator.ADD : ArithmeticNode.Operator.SUBTRACT;
+                node = arithmetic(termCtx2, operator, node, type1, right, type2);
+            }
+
+            type1 = node.getType();
+        }
+
+        return node;
+    }
+
+    @Override
+    public Object visitTerm(PascalParser.TermContext ctx) {
+        List<PascalParser.FactorContext> factorCtxs = ctx.factor();
+        PascalParser.FactorContext factorCtx1 = factorCtxs.get(0);
+        ExpressionNode node = buildExpression(factorCtx1);
+        Typespec type1 = factorCtx1.type;
+
+        // Loop over the subsequent factors.
+        for (int i = 1; i < factorCtxs.size(); i++) {
+            String op = ctx.mulOp(i - 1).getText().toLowerCase();
+            PascalParser.FactorContext factorCtx2 = factorCtxs.get(i);
+            ExpressionNode right = buildExpression(factorCtx2);
+            Typespec type2 = factorCtx2.type;
+
+            if (op.equals("and")) {
+                node = new LogicalNode(factorCtx2, Predefined.booleanType, true, node, right);
+            } else {
+                ArithmeticNode.Operator operator = switch (op) {
+                    case "*" -> ArithmeticNode.Operator.MULTIPLY;
+                    case "/" -> ArithmeticNode.Operator.DIVIDE;
+                    case "div" -> ArithmeticNode.Operator.INTEGER_DIVIDE;
+                    default -> ArithmeticNode.Operator.MODULO;
+                };
+                node = arithmetic(factorCtx2, operator, node, type1, right, type2);
+            }
+
+            type1 = node.getType();
+        }
+
+        return node;
+    }
+
+    /**
+     * Create an arithmetic node with its result type resolved
+     * from the operand types. The node specializes itself for its
+     * operand values when it first executes.
+     *
+     * @param ctx   the context of the right operand.
+     * @param op    the operator.
+     * @param left  the left operand.
+     * @param type1 the left operand's type.
+     * @param right the right operand.
+     * @param type2 the right operand's type.
+     * @return the arithmetic node.
+     */
+    private ExpressionNode arithmetic(ParserRuleContext ctx, ArithmeticNode.Operator op,
+                                      ExpressionNode left, Typespec type1,
+                                      ExpressionNode right, Typespec type2) {
+        if (   (op == ArithmeticNode.Operator.INTEGER_DIVIDE)
+            || (op == ArithmeticNode.Operator.MODULO)
+            || (   (op != ArithmeticNode.Operator.DIVIDE)
+                && TypeChecker.areBothInteger(type1, type2))) {
+            return new ArithmeticNode(ctx, Predefined.integerType, op, left, right, error, governor);
+        } else if (TypeChecker.isIntegerOrReal(type1) && TypeChecker.isIntegerOrReal(type2)) {
+            return new ArithmeticNode(ctx, Predefined.realType, op, left, right, error, governor);
+        } else {
+            return new ArithmeticNode(ctx, Predefined.stringType, op, left, right, error, governor);
+        }
+    }
+
+    @Override
+    public Object visitVariableFactor(PascalParser.VariableFactorContext ctx) {
+        PascalParser.VariableContext varCtx = ctx.variable();
+        Kind kind = varCtx.entry.getKind();
+
+        // A constant's value from its symbol table entry.
+        if ((kind == CONSTANT) || (kind == ENUMERATION_CONSTANT)) {
+            Object value = varCtx.entry.getValue();
+
+            if (varCtx.type == Predefined.booleanType) {
+                value = (Integer) value != 0;
+            }
+
+            return new ConstantNode(ctx, ctx.type, value);
+        }
+
+        return buildVariable(varCtx);
+    }
+
+    /**
+     * Build a variable node with its nesting level, slot number,
+     * subscripts, and fields resolved.
+     *
+     * @param ctx the VariableContext.
+     * @return the variable node.
+     */
+    public VariableNode buildVariable(PascalParser.VariableContext ctx) {
+        SymTableEntry variableId = ctx.entry;
+        Typespec type = variableId.getType();
+        int nestingLevel = variableId.getSymTable().getNestingLevel();
+        ArrayList<VariableNode.Modifier> modifiers = new ArrayList<>();
+        ArrayList<ExpressionNode> indexes = new ArrayList<>();
+        ArrayList<Integer> minIndexes = new ArrayList<>();
+        ArrayList<Integer> counts = new ArrayList<>();
+        ArrayList<Integer> strides = new ArrayList<>();
+
+        for (PascalParser.ModifierContext modCtx : ctx.modifier()) {
+            // Subscripts: Consecutive subscripts are combined
+            //             to index the array's flattened storage.
+            if (modCtx.indexList() != null) {
+                for (PascalParser.IndexContext indexCtx : modCtx.indexList().index()) {
+                    Typespec indexType = type.getArrayIndexType();
+                    int minIndex = (indexType.getForm() == SUBRANGE)
+                            ? indexType.getSubrangeMinValue() : 0;
+
+                    counts.add(type.getArrayElementCount());
+                    type = type.getArrayElementType();
+                    indexes.add(buildExpression(indexCtx.expression()));
+                    minIndexes.add(minIndex);
+                    strides.add(ArrayValue.flatCount(type));
+                }
+            }
+
+            // Record field.
+            else {
+                addSubscripts(modifiers, indexes, minIndexes, counts, strides, type);
+
+                SymTableEntry fieldId = modCtx.field().entry;
+
+                modifiers.add(new VariableNode.Field(fieldId.getSlotNumber()));
+                type = fieldId.getType();
+            }
+        }
+
+        addSubscripts(modifiers, indexes, minIndexes, counts, strides, type);
+
+        return new VariableNode(ctx, type, runtimeStack, nestingLevel,
+                                variableId.getSlotNumber(),
+                                modifiers.toArray(new VariableNode.Modifier[0]));
+    }
+
+    /**
+     * Add a modifier for the consecutive subscripts collected so far,
+     * if any, and clear the collected subscripts.
+     *
+     * @param modifiers    the modifiers.
+     * @param indexes      the collected subscript expressions.
+     * @param minIndexes   the minimum values of their index types.
+     * @param counts       the numbers of values of their index types.
+     * @param strides      the number of storage elements per index step.
+     * @param selectedType the type of the selected element or subarray.
+     */
+    private void addSubscripts(ArrayList<VariableNode.Modifier> modifiers,
+                               ArrayList<ExpressionNode> indexes,
+                               ArrayList<Integer> minIndexes,
+                               ArrayList<Integer> counts,
+                               ArrayList<Integer> strides,
+                               Typespec selectedType) {
+        if (indexes.isEmpty()) return;
+
+        modifiers.add(new VariableNode.Subscripts(
+                indexes.toArray(new ExpressionNode[0]),
+                minIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                counts.stream().mapToInt(Integer::intValue).toArray(),
+                strides.stream().mapToInt(Integer::intValue).toArray(),
+                selectedType, error));
+
+        indexes.clear();
+        minIndexes.clear();
+        counts.clear();
+        strides.clear();
+    }
+
+    @Override
+    public Object visitNumberFactor(PascalParser.NumberFactorContext ctx) {
+        Object value = ctx.number().value;
+
+        if (value == null) {
+            value = (ctx.type == Predefined.integerType)
+                    ? (Object) Integer.parseInt(ctx.getText())
+                    : (Object) Double.parseDouble(ctx.getText());
+        }
+
+        return new ConstantNode(ctx, ctx.type, value);
+    }
+
+    @Override
+    public Object visitCharacterFactor(PascalParser.CharacterFactorContext ctx) {
+        return new ConstantNode(ctx, ctx.type, ctx.getText().charAt(1));
+    }
+
+    @Override
+    public Object visitStringFactor(PascalParser.StringFactorContext ctx) {
+        String pascalString = ctx.stringConstant().STRING().getText();
+        return new ConstantNode(ctx, ctx.type, convertString(pascalString));
+    }
+
+    /**
+     * Convert a Pascal string to a Java string.
+     *
+     * @param pascalString the Pascal string.
+     * @return the Java string.
+     */
+    private static String convertString(String pascalString) {
+        String unquoted = pascalString.substring(1, pascalString.length() - 1);
+        return unquoted.replace("''", "'");
+    }
+
+    @Override
+    public Object visitFunctionCallFactor(PascalParser.FunctionCallFactorContext ctx) {
+        PascalParser.FunctionCallContext callCtx = ctx.functionCall();
+        SymTableEntry routineId = callCtx.functionName().entry;
+
+        if (routineId.getRoutineCode() != Routine.DECLARED) {
+            PascalParser.ExpressionContext exprCtx = callCtx.argumentList().argument(0).expression();
+            return new StandardFunctionNode(ctx, ctx.type, routineId.getRoutineCode(),
+                                            buildExpression(exprCtx), error);
+        }
+
+        return buildCall(ctx, routineId, callCtx.argumentList(), ctx.type);
+    }
+
+    /**
+     * Build a call node for a declared procedure or function.
+     *
+     * @param ctx        the call's context.
+     * @param routineId  the routine's symbol table entry.
+     * @param argListCtx the ArgumentListContext, or null.
+     * @param type       the function's return type, or null for a procedure.
+     * @return the call node.
+     */
+    private CallNode buildCall(ParserRuleContext ctx, SymTableEntry routineId,
+                               PascalParser.ArgumentListContext argListCtx,
+                               Typespec type) {
+        RoutineNode routine = buildRoutine(routineId);
+        int count = (argListCtx != null) ? argListCtx.argument().size() : 0;
+        ExpressionNode[] arguments = new ExpressionNode[count];
+
+        for (int i = 0; i < count; i++) {
+            PascalParser.ExpressionContext exprCtx = argListCtx.argument(i).expression();
+
+            // Reference parameter: The argument must be a variable.
+            if (routine.getStoreKind(i) == null) {
+                PascalParser.FactorContext factorCtx =
+                        exprCtx.simpleExpression(0).term(0).factor(0);
+                PascalParser.VariableContext varCtx =
+                        ((PascalParser.VariableFactorContext) factorCtx).variable();
+
+                arguments[i] = buildVariable(varCtx);
+            }
+
+            // Value parameter.
+            else {
+                arguments[i] = buildExpression(exprCtx);
+            }
+        }
+
+        return new CallNode(ctx, type, runtimeStack, routine, arguments, error, governor);
+    }
+
+    /**
+     * Get the node of a declared routine, building its body the first time.
+     * The node is registered before its body is built so that
+     * recursive calls share it.
+     *
+     * @param routineId the routine's symbol table entry.
+     * @return the routine node.
+     */
+    private RoutineNode buildRoutine(SymTableEntry routineId) {
+        RoutineNode routine = routines.get(routineId);
+
+        if (routine == null) {
+            routine = new RoutineNode(routineId, compiler);
+            routines.put(routineId, routine);
+
+            if (memoCapacity > 0) routine.setMemo(MemoTable.create(routineId, memoCapacity));
+
+            ParserRuleContext bodyCtx = (ParserRuleContext) routineId.getExecutable();
+            StatementNode body = buildStatement(bodyCtx);
+
+            routine.setBody((profiler != null) ? new ProfiledBodyNode(body, routineId, profiler)
+                                               : body);
+        }
+
+        return routine;
+    }
+
+    @Override
+    public Object visitNotFactor(PascalParser.NotFactorContext ctx) {
+        return new NotNode(ctx, Predefined.booleanType, buildExpression(ctx.factor()));
+    }
+
+    @Override
+    public Object visitParenthesizedFactor(PascalParser.ParenthesizedFactorContext ctx) {
+        return buildExpression(ctx.expression());
+    }
+}
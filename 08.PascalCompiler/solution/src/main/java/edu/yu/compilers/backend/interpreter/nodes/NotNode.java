@@ -0,0 +1,38 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * Boolean NOT.
+ */
+public class NotNode extends ExpressionNode {
+    private ExpressionNode operand;  // the operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx     the parse tree context the node was built from.
+     * @param type    the result datatype (boolean).
+     * @param operand the operand.
+     */
+    public NotNode(ParserRuleContext ctx, Typespec type, ExpressionNode operand) {
+        super(ctx, type);
+        this.operand = adopt(operand);
+    }
+
+    @Override
+    public Object execute() {
+        return executeBoolean();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        return !operand.executeBoolean();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (operand == oldChild) operand = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,26 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A procedure call statement.
+ */
+public class ProcedureCallNode extends StatementNode {
+    private final CallNode call;  // the call
+
+    /**
+     * Constructor.
+     *
+     * @param ctx  the parse tree context the node was built from.
+     * @param call the call.
+     */
+    public ProcedureCallNode(ParserRuleContext ctx, CallNode call) {
+        super(ctx);
+        this.call = call;
+    }
+
+    @Override
+    public void execute() {
+        call.callProcedure();
+    }
+}
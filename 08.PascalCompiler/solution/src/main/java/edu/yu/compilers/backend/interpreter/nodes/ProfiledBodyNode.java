@@ -0,0 +1,39 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.Profiler;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+
+/**
+ * The body of a routine that records its entry and exit in the profile.
+ * The NodeBuilder wraps routine bodies only when profiling.
+ */
+public class ProfiledBodyNode extends StatementNode {
+    private final StatementNode body;       // the routine's body
+    private final SymTableEntry routineId;  // the routine's symbol table entry
+    private final Profiler profiler;        // the execution profile
+
+    /**
+     * Constructor.
+     *
+     * @param body      the routine's body.
+     * @param routineId the routine's symbol table entry.
+     * @param profiler  the execution profile.
+     */
+    public ProfiledBodyNode(StatementNode body, SymTableEntry routineId, Profiler profiler) {
+        super(body.getContext());
+        this.body = adopt(body);
+        this.routineId = routineId;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void execute() {
+        profiler.enter(routineId);
+
+        try {
+            body.execute();
+        } finally {
+            profiler.exit();
+        }
+    }
+}
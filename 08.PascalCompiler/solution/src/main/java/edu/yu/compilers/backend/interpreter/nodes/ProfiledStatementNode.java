@@ -0,0 +1,36 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.Profiler;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A statement that counts its source line in the profile each time
+ * before it executes. The NodeBuilder wraps statements only when
+ * profiling.
+ */
+public class ProfiledStatementNode extends StatementNode {
+    private final StatementNode statement;  // the profiled statement
+    private final Profiler profiler;        // the execution profile
+    private final int line;                 // the statement's source line
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the statement's context.
+     * @param statement the profiled statement.
+     * @param profiler  the execution profile.
+     */
+    public ProfiledStatementNode(ParserRuleContext ctx, StatementNode statement,
+                                 Profiler profiler) {
+        super(ctx);
+        this.statement = adopt(statement);
+        this.profiler = profiler;
+        this.line = ctx.getStart().getLine();
+    }
+
+    @Override
+    public void execute() {
+        profiler.countLine(line);
+        statement.execute();
+    }
+}
@@ -0,0 +1,66 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.Cell;
+import edu.yu.compilers.backend.interpreter.InputReader;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import java.util.NoSuchElementException;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.INVALID_INPUT;
+
+/**
+ * A READ or READLN statement. An invalid or missing value is flagged
+ * and leaves its variable unchanged.
+ */
+public class ReadNode extends StatementNode {
+    private final InputReader input;         // runtime input
+    private final VariableNode[] variables;  // the target variables
+    private final StoreKind[] kinds;         // how each value is stored
+    private final boolean readln;            // true for READLN
+    private final RuntimeErrorHandler error; // runtime error handler
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the parse tree context the node was built from.
+     * @param input     the runtime input.
+     * @param variables the target variables.
+     * @param readln    true for READLN.
+     * @param error     the runtime error handler.
+     */
+    public ReadNode(ParserRuleContext ctx, InputReader input,
+                    VariableNode[] variables, boolean readln, RuntimeErrorHandler error) {
+        super(ctx);
+        this.error = error;
+        this.input = input;
+        this.variables = variables;
+        this.kinds = new StoreKind[variables.length];
+        this.readln = readln;
+
+        for (int i = 0; i < variables.length; i++) {
+            kinds[i] = StoreKind.of(variables[i].getType());
+        }
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < variables.length; i++) {
+            Cell cell = variables[i].getCell();
+
+            try {
+                switch (kinds[i]) {
+                    case INTEGER -> cell.setInteger(input.readInteger());
+                    case REAL -> cell.setReal(input.readReal());
+                    case BOOLEAN -> cell.setBoolean(input.readBoolean());
+                    case CHARACTER -> cell.setCharacter(input.readCharacter());
+                    default -> cell.setValue(input.readString());
+                }
+            } catch (NoSuchElementException ex) {
+                error.flag(INVALID_INPUT, ctx);
+            }
+        }
+
+        if (readln) input.skipLine();
+    }
+}
@@ -0,0 +1,122 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.nodes.ArithmeticNode.Operator;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.DIVISION_BY_ZERO;
+
+/**
+ * A binary arithmetic operation specialized for real operands
+ * (or an integer and a real operand), with a subclass for each operator.
+ */
+public abstract class RealArithmeticNode extends ExpressionNode {
+    protected ExpressionNode left;   // left operand
+    protected ExpressionNode right;  // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the context of the right operand, for runtime errors.
+     * @param type  the result datatype.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    protected RealArithmeticNode(ParserRuleContext ctx, Typespec type,
+                                 ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    /**
+     * Create the node for an operator.
+     *
+     * @param ctx   the context of the right operand, for runtime errors.
+     * @param type  the result datatype.
+     * @param op    the operator: ADD, SUBTRACT, MULTIPLY, or DIVIDE.
+     * @param left  the left operand.
+     * @param right the right operand.
+     * @param error the runtime error handler.
+     * @return the node.
+     */
+    static RealArithmeticNode create(ParserRuleContext ctx, Typespec type, Operator op,
+                                     ExpressionNode left, ExpressionNode right,
+                                     RuntimeErrorHandler error) {
+        return switch (op) {
+            case ADD -> new Add(ctx, type, left, right);
+            case SUBTRACT -> new Subtract(ctx, type, left, right);
+            case MULTIPLY -> new Multiply(ctx, type, left, right);
+            default -> new Divide(ctx, type, left, right, error);
+        };
+    }
+
+    @Override
+    public Object execute() {
+        return executeReal();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+
+    static final class Add extends RealArithmeticNode {
+        Add(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public double executeReal() {
+            return left.executeReal() + right.executeReal();
+        }
+    }
+
+    static final class Subtract extends RealArithmeticNode {
+        Subtract(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public double executeReal() {
+            return left.executeReal() - right.executeReal();
+        }
+    }
+
+    static final class Multiply extends RealArithmeticNode {
+        Multiply(ParserRuleContext ctx, Typespec type, ExpressionNode left, ExpressionNode right) {
+            super(ctx, type, left, right);
+        }
+
+        @Override
+        public double executeReal() {
+            return left.executeReal() * right.executeReal();
+        }
+    }
+
+    static final class Divide extends RealArithmeticNode {
+        private final RuntimeErrorHandler error;  // runtime error handler
+
+        Divide(ParserRuleContext ctx, Typespec type,
+               ExpressionNode left, ExpressionNode right, RuntimeErrorHandler error) {
+            super(ctx, type, left, right);
+            this.error = error;
+        }
+
+        @Override
+        public double executeReal() {
+            double value1 = left.executeReal();
+            double value2 = right.executeReal();
+
+            // Check for division by zero.
+            if (value2 == 0) {
+                error.flag(DIVISION_BY_ZERO, ctx);
+                return 0;
+            }
+
+            return value1 / value2;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.nodes.RelationalNode.Operator;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A relational operation specialized for real operands
+ * (or an integer and a real operand).
+ */
+public class RealCompareNode extends ExpressionNode {
+    private final Operator op;     // the operator
+    private ExpressionNode left;   // left operand
+    private ExpressionNode right;  // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the parse tree context the node was built from.
+     * @param type  the result datatype (boolean).
+     * @param op    the operator.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    public RealCompareNode(ParserRuleContext ctx, Typespec type, Operator op,
+                           ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.op = op;
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    @Override
+    public Object execute() {
+        return executeBoolean();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        return op.test(left.executeReal(), right.executeReal());
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+}
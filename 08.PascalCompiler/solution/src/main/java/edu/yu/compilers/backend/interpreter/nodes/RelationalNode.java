@@ -0,0 +1,125 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A relational operation that has not executed yet.
+ * On its first execution it compares its operand values generically and
+ * then replaces itself with a node specialized for the values it saw:
+ * integer (including character and enumeration), real, boolean, or string.
+ * It falls back to a GenericRelationalNode only if the values are not ones
+ * that the operands' datatypes guarantee.
+ */
+public class RelationalNode extends ExpressionNode {
+    private final Operator op;     // the operator
+    private ExpressionNode left;   // left operand
+    private ExpressionNode right;  // right operand
+
+    /**
+     * Constructor.
+     *
+     * @param ctx   the parse tree context the node was built from.
+     * @param type  the result datatype (boolean).
+     * @param op    the operator.
+     * @param left  the left operand.
+     * @param right the right operand.
+     */
+    public RelationalNode(ParserRuleContext ctx, Typespec type, Operator op,
+                          ExpressionNode left, ExpressionNode right) {
+        super(ctx, type);
+        this.op = op;
+        this.left = adopt(left);
+        this.right = adopt(right);
+    }
+
+    @Override
+    public Object execute() {
+        return executeBoolean();
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        Object value1 = left.execute();
+        Object value2 = right.execute();
+        boolean result = GenericRelationalNode.apply(op, value1, value2);
+
+        replace(specialize(value1, value2));
+
+        return result;
+    }
+
+    /**
+     * Create the specialized node for the first operand values.
+     *
+     * @param value1 the left operand's value.
+     * @param value2 the right operand's value.
+     * @return the specialized node.
+     */
+    private ExpressionNode specialize(Object value1, Object value2) {
+        StoreKind kind1 = StoreKind.of(left);
+        StoreKind kind2 = StoreKind.of(right);
+
+        if (   (   (value1 instanceof Integer) && (value2 instanceof Integer)
+                && (kind1 == StoreKind.INTEGER) && (kind2 == StoreKind.INTEGER))
+            || (   (value1 instanceof Character) && (value2 instanceof Character)
+                && (kind1 == StoreKind.CHARACTER) && (kind2 == StoreKind.CHARACTER))) {
+            return new IntegerCompareNode(ctx, type, op, left, right);
+        } else if (   (value1 instanceof Number) && (value2 instanceof Number)
+                   && kind1.isNumeric() && kind2.isNumeric()) {
+            return new RealCompareNode(ctx, type, op, left, right);
+        } else if (   (value1 instanceof Boolean) && (value2 instanceof Boolean)
+                   && (kind1 == StoreKind.BOOLEAN) && (kind2 == StoreKind.BOOLEAN)) {
+            return new BooleanCompareNode(ctx, type, op, left, right);
+        } else if ((value1 instanceof CharSequence) && (value2 instanceof CharSequence)) {
+            return new StringCompareNode(ctx, type, op, left, right);
+        } else {
+            return new GenericRelationalNode(ctx, type, op, left, right);
+        }
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+
+    public enum Operator {
+        EQ, NE, LT, LE, GT, GE;
+
+        /**
+         * Apply the operator to the result of a comparison.
+         *
+         * @param comp the comparison result: negative, zero, or positive.
+         * @return the boolean value.
+         */
+        public boolean test(int comp) {
+            return switch (this) {
+                case EQ -> comp == 0;
+                case NE -> comp != 0;
+                case LT -> comp < 0;
+                case LE -> comp <= 0;
+                case GT -> comp > 0;
+                case GE -> comp >= 0;
+            };
+        }
+
+        /**
+         * Apply the operator to two real values.
+         *
+         * @param value1 the left value.
+         * @param value2 the right value.
+         * @return the boolean value.
+         */
+        public boolean test(double value1, double value2) {
+            return switch (this) {
+                case EQ -> value1 == value2;
+                case NE -> value1 != value2;
+                case LT -> value1 < value2;
+                case LE -> value1 <= value2;
+                case GT -> value1 > value2;
+                case GE -> value1 >= value2;
+            };
+        }
+    }
+}
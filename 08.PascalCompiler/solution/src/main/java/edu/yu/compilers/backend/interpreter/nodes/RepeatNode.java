@@ -0,0 +1,36 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A REPEAT statement.
+ */
+public class RepeatNode extends StatementNode {
+    private final StatementNode body;        // the loop body
+    private ExpressionNode condition;  // the UNTIL condition
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the parse tree context the node was built from.
+     * @param body      the loop body.
+     * @param condition the UNTIL condition.
+     */
+    public RepeatNode(ParserRuleContext ctx, StatementNode body, ExpressionNode condition) {
+        super(ctx);
+        this.body = body;
+        this.condition = adopt(condition);
+    }
+
+    @Override
+    public void execute() {
+        do {
+            body.execute();
+        } while (!condition.executeBoolean());
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (condition == oldChild) condition = (ExpressionNode) newChild;
+    }
+}
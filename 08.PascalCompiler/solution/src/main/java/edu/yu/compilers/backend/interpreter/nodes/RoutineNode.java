@@ -0,0 +1,175 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.FrameTemplate;
+import edu.yu.compilers.backend.interpreter.MemoTable;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler.CompiledRoutine;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+
+import java.util.ArrayList;
+
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.FUNCTION;
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.REFERENCE_PARAMETER;
+
+/**
+ * A declared procedure or function: its executable body and the
+ * slot numbers and store kinds of its parameters and function value,
+ * and the template of its stack frames. Each routine has a single
+ * RoutineNode that all its call sites share. The node counts the
+ * routine's calls, and once the count reaches the routine compiler's
+ * threshold, has the routine compiled to bytecode. A memoized function
+ * is always interpreted, so that its recursive calls use the memo table.
+ */
+public class RoutineNode {
+    private final SymTableEntry routineId;  // the routine's symbol table entry
+    private final int[] parameterSlots;     // slot number of each parameter
+    private final StoreKind[] storeKinds;   // store kind of each value parameter,
+                                            // or null for a VAR parameter
+    private final int valueSlot;            // slot number of the function value
+    private final FrameTemplate frames;     // layout and pool of the stack frames
+    private StatementNode body;             // the routine's executable body
+    private final RoutineCompiler compiler; // compiles the routine when hot, or null
+    private int callCount;                  // number of calls so far
+    private CompiledRoutine compiled;       // the compiled routine, or null
+    private MemoTable memo;                 // values of a memoized function, or null
+
+    /**
+     * Constructor.
+     *
+     * @param routineId the routine's symbol table entry.
+     * @param compiler  the routine compiler, or null to always interpret.
+     */
+    public RoutineNode(SymTableEntry routineId, RoutineCompiler compiler) {
+        ArrayList<SymTableEntry> parameters = routineId.getRoutineParameters();
+        int count = (parameters != null) ? parameters.size() : 0;
+
+        this.routineId = routineId;
+        this.compiler = compiler;
+        this.frames = new FrameTemplate(routineId);
+        this.parameterSlots = new int[count];
+        this.storeKinds = new StoreKind[count];
+
+        for (int i = 0; i < count; i++) {
+            SymTableEntry paramId = parameters.get(i);
+
+            parameterSlots[i] = paramId.getSlotNumber();
+            storeKinds[i] = (paramId.getKind() == REFERENCE_PARAMETER)
+                    ? null : StoreKind.of(paramId.getType());
+        }
+
+        if (routineId.getKind() == FUNCTION) {
+            String name = routineId.getName();
+            valueSlot = routineId.getRoutineSymTable().lookup(name).getSlotNumber();
+        } else {
+            valueSlot = -1;
+        }
+    }
+
+    /**
+     * Get the routine's symbol table entry.
+     *
+     * @return the entry.
+     */
+    public SymTableEntry getRoutineId() {
+        return routineId;
+    }
+
+    /**
+     * Get the template of the routine's stack frames.
+     *
+     * @return the frame template.
+     */
+    public FrameTemplate getFrames() {
+        return frames;
+    }
+
+    /**
+     * Get the number of parameters.
+     *
+     * @return the count.
+     */
+    public int getParameterCount() {
+        return parameterSlots.length;
+    }
+
+    /**
+     * Get the slot number of a parameter.
+     *
+     * @param i the parameter index.
+     * @return the slot number.
+     */
+    public int getParameterSlot(int i) {
+        return parameterSlots[i];
+    }
+
+    /**
+     * Get the store kind of a parameter.
+     *
+     * @param i the parameter index.
+     * @return the store kind, or null for a VAR parameter.
+     */
+    public StoreKind getStoreKind(int i) {
+        return storeKinds[i];
+    }
+
+    /**
+     * Get the slot number of the function value.
+     *
+     * @return the slot number, or -1 for a procedure.
+     */
+    public int getValueSlot() {
+        return valueSlot;
+    }
+
+    /**
+     * Get the routine's executable body.
+     *
+     * @return the body.
+     */
+    public StatementNode getBody() {
+        return body;
+    }
+
+    /**
+     * Set the body after it is built, which may be after
+     * recursive calls to the routine were built.
+     *
+     * @param body the routine's executable body.
+     */
+    public void setBody(StatementNode body) {
+        this.body = body;
+    }
+
+    /**
+     * Get the memo table of a memoized pure function.
+     *
+     * @return the table, or null if the routine is not memoized.
+     */
+    public MemoTable getMemo() {
+        return memo;
+    }
+
+    /**
+     * Memoize a pure function.
+     *
+     * @param memo the function's memo table, or null to not memoize.
+     */
+    public void setMemo(MemoTable memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Count a call of the routine, and compile the routine
+     * when the count reaches the compiler's threshold.
+     *
+     * @return the compiled routine, or null if it is interpreted.
+     */
+    public CompiledRoutine countCall() {
+        if (   (compiled == null) && (compiler != null) && (memo == null)
+            && (++callCount == compiler.getThreshold())) {
+            compiled = compiler.compile(routineId);
+        }
+
+        return compiled;
+    }
+}
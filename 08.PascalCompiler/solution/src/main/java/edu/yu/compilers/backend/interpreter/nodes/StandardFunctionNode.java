@@ -0,0 +1,159 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.INVALID_STANDARD_FUNCTION_ARGUMENT;
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.VALUE_RANGE;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
+
+/**
+ * A call of a standard function such as sqrt or succ. The function is
+ * computed directly from the argument's unboxed value, without a stack
+ * frame. An invalid argument is a runtime error, after which the value
+ * is 0 or, for pred and succ, the argument's value.
+ */
+public class StandardFunctionNode extends ExpressionNode {
+    private final Routine function;           // which standard function
+    private ExpressionNode argument;          // the argument
+    private final Typespec argumentType;      // the argument's base type
+    private final int maxOrdinal;             // largest enumeration value, or -1
+    private final RuntimeErrorHandler error;  // runtime error handler
+
+    /**
+     * Constructor.
+     *
+     * @param ctx      the parse tree context the node was built from.
+     * @param type     the function value's datatype.
+     * @param function the standard function's routine code.
+     * @param argument the argument.
+     * @param error    the runtime error handler.
+     */
+    public StandardFunctionNode(ParserRuleContext ctx, Typespec type, Routine function,
+                                ExpressionNode argument, RuntimeErrorHandler error) {
+        super(ctx, type);
+        this.function = function;
+        this.argument = adopt(argument);
+        this.argumentType = argument.getType().baseType();
+        this.maxOrdinal = (argumentType.getForm() == ENUMERATION)
+                ? argumentType.getEnumerationConstants().size() - 1
+                : -1;
+        this.error = error;
+    }
+
+    @Override
+    public Object execute() {
+        if (type == Predefined.realType) return executeReal();
+        if (type == Predefined.booleanType) return executeBoolean();
+        if (type == Predefined.charType) return executeCharacter();
+
+        return executeInteger();
+    }
+
+    @Override
+    public int executeInteger() {
+        return switch (function) {
+            case ABS -> Math.abs(argument.executeInteger());
+            case SQR -> {
+                int value = argument.executeInteger();
+                yield value*value;
+            }
+            case CHR -> executeCharacter();
+            case ORD -> ordinal();
+            case PRED, SUCC -> successor(function == Routine.SUCC ? 1 : -1);
+            case ROUND -> {
+                double value = argument.executeReal();
+                yield (int) ((value < 0) ? -Math.round(-value) : Math.round(value));
+            }
+            case TRUNC -> (int) argument.executeReal();
+            default -> throw new IllegalStateException("Not an integer function: " + function);
+        };
+    }
+
+    @Override
+    public double executeReal() {
+        if (type != Predefined.realType) return executeInteger();
+
+        double value = argument.executeReal();
+
+        return switch (function) {
+            case ABS -> Math.abs(value);
+            case SQR -> value*value;
+            case ARCTAN -> Math.atan(value);
+            case COS -> Math.cos(value);
+            case EXP -> Math.exp(value);
+            case SIN -> Math.sin(value);
+            case LN -> (value > 0) ? Math.log(value) : invalid();
+            case SQRT -> (value >= 0) ? Math.sqrt(value) : invalid();
+            default -> throw new IllegalStateException("Not a real function: " + function);
+        };
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        if (function == Routine.ODD) return (argument.executeInteger() & 1) != 0;
+
+        return successor(function == Routine.SUCC ? 1 : -1) != 0;
+    }
+
+    @Override
+    public char executeCharacter() {
+        if (function != Routine.CHR) return (char) successor(function == Routine.SUCC ? 1 : -1);
+
+        int value = argument.executeInteger();
+        if ((value < Character.MIN_VALUE) || (value > Character.MAX_VALUE)) return (char) invalid();
+
+        return (char) value;
+    }
+
+    /**
+     * Evaluate the argument as an ordinal value.
+     *
+     * @return the value.
+     */
+    private int ordinal() {
+        if (argumentType == Predefined.booleanType) return argument.executeBoolean() ? 1 : 0;
+        if (argumentType == Predefined.charType) return argument.executeCharacter();
+
+        return argument.executeInteger();
+    }
+
+    /**
+     * Compute the predecessor or successor of the argument's value,
+     * which must also be a value of the argument's type.
+     *
+     * @param step -1 for the predecessor or 1 for the successor.
+     * @return the ordinal value.
+     */
+    private int successor(int step) {
+        int value = ordinal();
+        int next = value + step;
+
+        if (   ((maxOrdinal >= 0) && ((next < 0) || (next > maxOrdinal)))
+            || ((argumentType == Predefined.charType)
+                    && ((next < Character.MIN_VALUE) || (next > Character.MAX_VALUE)))) {
+            error.flag(VALUE_RANGE, ctx);
+            return value;
+        }
+
+        return next;
+    }
+
+    /**
+     * Flag an invalid argument.
+     *
+     * @return the function value 0.
+     */
+    private int invalid() {
+        error.flag(INVALID_STANDARD_FUNCTION_ARGUMENT, ctx);
+        return 0;
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (argument == oldChild) argument = (ExpressionNode) newChild;
+    }
+}
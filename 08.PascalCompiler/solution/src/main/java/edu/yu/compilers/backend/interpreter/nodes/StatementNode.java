@@ -0,0 +1,22 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * An executable statement.
+ */
+public abstract class StatementNode extends Node {
+    /**
+     * Constructor.
+     *
+     * @param ctx the parse tree context the node was built from.
+     */
+    protected StatementNode(ParserRuleContext ctx) {
+        super(ctx);
+    }
+
+    /**
+     * Execute the statement.
+     */
+    public abstract void execute();
+}
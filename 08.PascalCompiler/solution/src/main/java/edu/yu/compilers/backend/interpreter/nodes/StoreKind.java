@@ -0,0 +1,96 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ArrayValue;
+import edu.yu.compilers.backend.interpreter.Cell;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
+
+/**
+ * How a value is stored into a memory cell, chosen once from the
+ * target's datatype. Integer values are converted to real and
+ * character values to integer as the assignment requires.
+ */
+public enum StoreKind {
+    INTEGER, REAL, BOOLEAN, CHARACTER, OBJECT;
+
+    /**
+     * Choose the store kind for a target datatype.
+     *
+     * @param targetType the target's datatype.
+     * @return the store kind.
+     */
+    public static StoreKind of(Typespec targetType) {
+        Typespec baseType = targetType.baseType();
+
+        if (baseType == Predefined.integerType) return INTEGER;
+        if (baseType == Predefined.realType) return REAL;
+        if (baseType == Predefined.booleanType) return BOOLEAN;
+        if (baseType == Predefined.charType) return CHARACTER;
+        if (baseType.getForm() == ENUMERATION) return INTEGER;
+
+        return OBJECT;
+    }
+
+    /**
+     * Choose the store kind for an expression's value from its datatype.
+     *
+     * @param node the expression node.
+     * @return the store kind, OBJECT if the datatype is unknown.
+     */
+    public static StoreKind of(ExpressionNode node) {
+        return (node.getType() != null) ? of(node.getType()) : OBJECT;
+    }
+
+    /**
+     * Determine whether values of this kind are integer or real.
+     *
+     * @return true if so.
+     */
+    public boolean isNumeric() {
+        return (this == INTEGER) || (this == REAL);
+    }
+
+    /**
+     * Evaluate an expression and store its value into a cell.
+     *
+     * @param cell  the target cell.
+     * @param value the expression.
+     */
+    public void store(Cell cell, ExpressionNode value) {
+        switch (this) {
+            case INTEGER -> cell.setInteger(value.executeInteger());
+            case REAL -> cell.setReal(value.executeReal());
+            case BOOLEAN -> cell.setBoolean(value.executeBoolean());
+            case CHARACTER -> cell.setCharacter(value.executeCharacter());
+            default -> cell.setValue(value.execute());
+        }
+    }
+
+    /**
+     * Evaluate an expression and store its value into a variable.
+     * An array element is stored directly into the array's storage.
+     *
+     * @param target the target variable.
+     * @param value  the expression.
+     */
+    public void store(VariableNode target, ExpressionNode value) {
+        if (!target.isElement()) {
+            store(target.getCell(), value);
+            return;
+        }
+
+        ArrayValue array = target.getArray();
+        int index = target.getElementIndex(array);
+        array = target.getElementStorage(array);
+
+        switch (this) {
+            case INTEGER -> array.setInteger(index, value.executeInteger());
+            case REAL -> array.setReal(index, value.executeReal());
+            case BOOLEAN -> array.setBoolean(index, value.executeBoolean());
+            case CHARACTER -> array.setCharacter(index, value.executeCharacter());
+            default -> array.setValue(index, value.execute());
+        }
+    }
+}
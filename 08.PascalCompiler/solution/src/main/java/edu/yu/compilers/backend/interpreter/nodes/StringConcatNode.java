@@ -0,0 +1,44 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ResourceGovernor;
+import edu.yu.compilers.backend.interpreter.StringRope;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * String concatenation with +, which builds a rope.
+ */
+public class StringConcatNode extends ExpressionNode {
+    private ExpressionNode left;              // left operand
+    private ExpressionNode right;             // right operand
+    private final ResourceGovernor governor;  // enforces resource limits, or null
+
+    /**
+     * Constructor.
+     *
+     * @param ctx      the parse tree context the node was built from.
+     * @param type     the result datatype (string).
+     * @param left     the left operand.
+     * @param right    the right operand.
+     * @param governor enforces resource limits, or null.
+     */
+    public StringConcatNode(ParserRuleContext ctx, Typespec type,
+                            ExpressionNode left, ExpressionNode right,
+                            ResourceGovernor governor) {
+        super(ctx, type);
+        this.left = adopt(left);
+        this.right = adopt(right);
+        this.governor = governor;
+    }
+
+    @Override
+    public Object execute() {
+        return StringRope.concat(left.execute(), right.execute(), governor, ctx);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (left == oldChild) left = (ExpressionNode) newChild;
+        if (right == oldChild) right = (ExpressionNode) newChild;
+    }
+}
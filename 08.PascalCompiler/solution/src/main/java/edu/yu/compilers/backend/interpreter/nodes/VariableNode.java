@@ -0,0 +1,294 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.ArrayValue;
+import edu.yu.compilers.backend.interpreter.Cell;
+import edu.yu.compilers.backend.interpreter.RecordValue;
+import edu.yu.compilers.backend.interpreter.RuntimeErrorHandler;
+import edu.yu.compilers.backend.interpreter.RuntimeStack;
+import edu.yu.compilers.intermediate.type.Typespec;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import static edu.yu.compilers.backend.interpreter.RuntimeErrorHandler.Code.VALUE_RANGE;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ARRAY;
+
+/**
+ * A variable reference, with its nesting level and slot number
+ * and any array subscripts and record fields resolved. A reference to
+ * an array element, or to a field of a record element, that is not
+ * itself an array reads and writes the array's storage directly.
+ */
+public class VariableNode extends ExpressionNode {
+    private final RuntimeStack runtimeStack;  // runtime stack
+    private final int nestingLevel;           // nesting level of the variable's frame
+    private final int slot;                   // slot number within the frame
+    private final Modifier[] modifiers;       // subscripts and fields, in order
+    private final Subscripts element;         // the last subscripts if they select
+                                              // an element that is not an array
+                                              // and only fields follow, else null
+    private final int elementAt;              // index of the element's subscripts
+    private final int[] columns;              // slot numbers of the fields that follow
+
+    /**
+     * Constructor.
+     *
+     * @param ctx          the parse tree context the node was built from.
+     * @param type         the variable's datatype after any modifiers.
+     * @param runtimeStack the runtime stack.
+     * @param nestingLevel the nesting level of the variable's frame.
+     * @param slot         the variable's slot number.
+     * @param modifiers    the subscripts and fields.
+     */
+    public VariableNode(ParserRuleContext ctx, Typespec type,
+                        RuntimeStack runtimeStack, int nestingLevel, int slot,
+                        Modifier[] modifiers) {
+        super(ctx, type);
+        this.runtimeStack = runtimeStack;
+        this.nestingLevel = nestingLevel;
+        this.slot = slot;
+        this.modifiers = modifiers;
+
+        int at = modifiers.length - 1;
+        while ((at >= 0) && (modifiers[at] instanceof Field)) at--;
+
+        if (   (at >= 0) && (modifiers[at] instanceof Subscripts subscripts)
+            && (subscripts.selectedType.getForm() != ARRAY) && (type.getForm() != ARRAY)) {
+            this.element = subscripts;
+            this.elementAt = at;
+            this.columns = new int[modifiers.length - 1 - at];
+
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = ((Field) modifiers[at + 1 + i]).index;
+            }
+        } else {
+            this.element = null;
+            this.elementAt = -1;
+            this.columns = null;
+        }
+
+        for (Modifier modifier : modifiers) {
+            if (modifier instanceof Subscripts subscripts) {
+                for (ExpressionNode index : subscripts.indexes) adopt(index);
+            }
+        }
+    }
+
+    /**
+     * Get the variable's memory cell from the appropriate activation record.
+     *
+     * @return the cell.
+     */
+    public Cell getCell() {
+        Cell cell = runtimeStack.getTopmost(nestingLevel).getCell(slot);
+
+        for (Modifier modifier : modifiers) cell = modifier.select(cell);
+
+        return cell;
+    }
+
+    /**
+     * Determine whether the variable is an array element, or a field of
+     * a record element, that is kept in an array's storage.
+     *
+     * @return true if so.
+     */
+    public boolean isElement() {
+        return element != null;
+    }
+
+    /**
+     * Get the array of an element.
+     *
+     * @return the array.
+     */
+    public ArrayValue getArray() {
+        Cell cell = runtimeStack.getTopmost(nestingLevel).getCell(slot);
+
+        for (int i = 0; i < elementAt; i++) cell = modifiers[i].select(cell);
+
+        return (ArrayValue) cell.getValue();
+    }
+
+    /**
+     * Get the storage index of an element.
+     *
+     * @param array the element's array.
+     * @return the storage index.
+     */
+    public int getElementIndex(ArrayValue array) {
+        return element.storageIndex(array);
+    }
+
+    /**
+     * Get the storage that keeps an element's value: the array itself,
+     * or for a field of a record element, the column of the field.
+     *
+     * @param array the element's array.
+     * @return the storage.
+     */
+    public ArrayValue getElementStorage(ArrayValue array) {
+        for (int field : columns) array = array.getColumn(field);
+
+        return array;
+    }
+
+    @Override
+    public Object execute() {
+        if (element == null) return getCell().getValue();
+
+        ArrayValue array = getArray();
+        int index = element.storageIndex(array);
+        return getElementStorage(array).getValue(index);
+    }
+
+    @Override
+    public int executeInteger() {
+        if (element == null) return getCell().getInteger();
+
+        ArrayValue array = getArray();
+        int index = element.storageIndex(array);
+        return getElementStorage(array).getInteger(index);
+    }
+
+    @Override
+    public double executeReal() {
+        if (element == null) return getCell().getReal();
+
+        ArrayValue array = getArray();
+        int index = element.storageIndex(array);
+        return getElementStorage(array).getReal(index);
+    }
+
+    @Override
+    public boolean executeBoolean() {
+        if (element == null) return getCell().getBoolean();
+
+        ArrayValue array = getArray();
+        int index = element.storageIndex(array);
+        return getElementStorage(array).getBoolean(index);
+    }
+
+    @Override
+    public char executeCharacter() {
+        if (element == null) return getCell().getCharacter();
+
+        ArrayValue array = getArray();
+        int index = element.storageIndex(array);
+        return getElementStorage(array).getCharacter(index);
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        for (Modifier modifier : modifiers) {
+            if (modifier instanceof Subscripts subscripts) {
+                ExpressionNode[] indexes = subscripts.indexes;
+
+                for (int i = 0; i < indexes.length; i++) {
+                    if (indexes[i] == oldChild) indexes[i] = (ExpressionNode) newChild;
+                }
+            }
+        }
+    }
+
+    /**
+     * An array subscript or record field applied to a memory cell.
+     */
+    public static abstract class Modifier {
+        /**
+         * Select the element or field cell.
+         *
+         * @param cell the array or record cell.
+         * @return the selected cell.
+         */
+        public abstract Cell select(Cell cell);
+    }
+
+    /**
+     * Consecutive array subscripts, which index into the array's
+     * flattened storage with a stride for each subscript. Each subscript
+     * is checked against its own dimension's bounds, since a subscript
+     * out of range in one dimension could otherwise select an element
+     * of another row.
+     */
+    public static class Subscripts extends Modifier {
+        private final ExpressionNode[] indexes;  // the subscript expressions
+        private final int[] minIndexes;          // each index type's minimum value
+        private final int[] counts;              // each index type's number of values
+        private final int[] strides;             // storage elements per index step
+        private final Typespec selectedType;     // the type of the selected element
+        private final RuntimeErrorHandler error; // runtime error handler
+
+        /**
+         * Constructor.
+         *
+         * @param indexes      the subscript expressions.
+         * @param minIndexes   each index type's minimum value.
+         * @param counts       each index type's number of values.
+         * @param strides      the number of storage elements per index step.
+         * @param selectedType the type of the selected element or subarray.
+         * @param error        the runtime error handler.
+         */
+        public Subscripts(ExpressionNode[] indexes, int[] minIndexes, int[] counts,
+                          int[] strides, Typespec selectedType, RuntimeErrorHandler error) {
+            this.indexes = indexes;
+            this.minIndexes = minIndexes;
+            this.counts = counts;
+            this.strides = strides;
+            this.selectedType = selectedType;
+            this.error = error;
+        }
+
+        /**
+         * Compute the storage index of the selected element or subarray.
+         * A subscript out of its dimension's range aborts the execution.
+         *
+         * @param array the array.
+         * @return the storage index.
+         */
+        int storageIndex(ArrayValue array) {
+            int index = array.getOffset();
+
+            for (int i = 0; i < indexes.length; i++) {
+                int step = indexes[i].executeInteger() - minIndexes[i];
+
+                if ((step < 0) || (step >= counts[i])) {
+                    error.abort(VALUE_RANGE, indexes[i].getContext());
+                }
+
+                index += step*strides[i];
+            }
+
+            return index;
+        }
+
+        @Override
+        public Cell select(Cell cell) {
+            ArrayValue array = (ArrayValue) cell.getValue();
+            int index = storageIndex(array);
+
+            return (selectedType.getForm() == ARRAY)
+                    ? new Cell(array.subarray(selectedType, index))
+                    : array.elementCell(index);
+        }
+    }
+
+    /**
+     * A record field.
+     */
+    public static class Field extends Modifier {
+        private final int index;  // the field's slot number
+
+        /**
+         * Constructor.
+         *
+         * @param index the field's slot number in the record type's symbol table.
+         */
+        public Field(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Cell select(Cell cell) {
+            return ((RecordValue) cell.getValue()).getField(index);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A WHILE statement.
+ */
+public class WhileNode extends StatementNode {
+    private ExpressionNode condition;  // the boolean condition
+    private final StatementNode body;        // the loop body
+
+    /**
+     * Constructor.
+     *
+     * @param ctx       the parse tree context the node was built from.
+     * @param condition the boolean condition.
+     * @param body      the loop body.
+     */
+    public WhileNode(ParserRuleContext ctx, ExpressionNode condition, StatementNode body) {
+        super(ctx);
+        this.condition = adopt(condition);
+        this.body = body;
+    }
+
+    @Override
+    public void execute() {
+        while (condition.executeBoolean()) body.execute();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        if (condition == oldChild) condition = (ExpressionNode) newChild;
+    }
+}
@@ -0,0 +1,52 @@
+package edu.yu.compilers.backend.interpreter.nodes;
+
+import edu.yu.compilers.backend.interpreter.OutputSink;
+import edu.yu.compilers.backend.interpreter.WriteFormat;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * A WRITE or WRITELN statement with each argument's format
+ * compiled once. The output goes to the buffered runtime output.
+ */
+public class WriteNode extends StatementNode {
+    private final ExpressionNode[] values;  // argument values, or null for literal strings
+    private final WriteFormat[] formats;    // argument formats
+    private final boolean newline;          // true for WRITELN
+    private final OutputSink output;        // runtime output
+
+    /**
+     * Constructor.
+     *
+     * @param ctx     the parse tree context the node was built from.
+     * @param values  the argument values, null for each literal string.
+     * @param formats the argument formats.
+     * @param newline true for WRITELN.
+     * @param output  the runtime output.
+     */
+    public WriteNode(ParserRuleContext ctx, ExpressionNode[] values,
+                     WriteFormat[] formats, boolean newline, OutputSink output) {
+        super(ctx);
+        this.values = values;
+        this.formats = formats;
+        this.newline = newline;
+        this.output = output;
+
+        for (ExpressionNode value : values) adopt(value);
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < values.length; i++) {
+            formats[i].write(output, (values[i] != null) ? values[i].execute() : null);
+        }
+
+        if (newline) output.println();
+    }
+
+    @Override
+    protected void replaceChild(Node oldChild, Node newChild) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == oldChild) values[i] = (ExpressionNode) newChild;
+        }
+    }
+}
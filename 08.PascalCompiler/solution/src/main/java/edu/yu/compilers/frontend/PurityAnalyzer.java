@@ -0,0 +1,227 @@
+/**
+ * <h1>PurityAnalyzer</h1>
+ * <p>Side-effect analysis of the declared functions of a decorated
+ * parse tree. A function is marked pure if its value depends only on
+ * its arguments and a call has no effect other than computing the value,
+ * so that a call can be replaced by the value of an earlier call with
+ * the same arguments.</p>
+ * <p>A pure function has only value parameters of type integer, real,
+ * boolean, char, or an enumeration or subrange type. Its body uses no
+ * variables other than its own parameters and local variables, does no
+ * input or output, calls no procedures, and calls only pure functions,
+ * which may include itself.</p>
+ */
+
+package edu.yu.compilers.frontend;
+
+import antlr4.PascalBaseVisitor;
+import antlr4.PascalParser;
+import edu.yu.compilers.intermediate.symtable.Predefined;
+import edu.yu.compilers.intermediate.symtable.SymTableEntry;
+import edu.yu.compilers.intermediate.type.Typespec;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
+import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine.*;
+import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
+
+public class PurityAnalyzer extends PascalBaseVisitor<Object> {
+    private final LinkedHashMap<SymTableEntry, Effects> functions;  // analyzed functions
+    private final ArrayDeque<Effects> routines;  // enclosing routines, innermost first
+
+    /**
+     * Constructor.
+     */
+    public PurityAnalyzer() {
+        this.functions = new LinkedHashMap<>();
+        this.routines = new ArrayDeque<>();
+    }
+
+    /**
+     * Analyze the functions of a program and mark the pure ones.
+     *
+     * @param ctx the program's decorated parse tree.
+     */
+    public void analyze(PascalParser.ProgramContext ctx) {
+        visit(ctx);
+
+        // A function that calls an impure function is impure. Repeat
+        // until no more functions become impure.
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (Effects effects : functions.values()) {
+                if (effects.pure && !allPure(effects.callees)) {
+                    effects.pure = false;
+                    changed = true;
+                }
+            }
+        }
+
+        for (var entry : functions.entrySet()) {
+            entry.getKey().setPure(entry.getValue().pure);
+        }
+    }
+
+    /**
+     * Determine whether the called functions are all pure so far.
+     *
+     * @param callees the functions' symbol table entries.
+     * @return true if so.
+     */
+    private boolean allPure(HashSet<SymTableEntry> callees) {
+        for (SymTableEntry calleeId : callees) {
+            Effects effects = functions.get(calleeId);
+            if ((effects == null) || !effects.pure) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object visitRoutineDefinition(PascalParser.RoutineDefinitionContext ctx) {
+        PascalParser.RoutineIdentifierContext idCtx = (ctx.functionHead() != null)
+                ? ctx.functionHead().routineIdentifier()
+                : ctx.procedureHead().routineIdentifier();
+        SymTableEntry routineId = idCtx.entry;
+
+        // A redeclared routine was not entered.
+        if (routineId == null) return null;
+
+        Effects effects = new Effects(routineId);
+        if (routineId.getKind() == FUNCTION) functions.put(routineId, effects);
+
+        routines.push(effects);
+        visit(ctx.block());
+        routines.pop();
+
+        return null;
+    }
+
+    @Override
+    public Object visitVariable(PascalParser.VariableContext ctx) {
+        SymTableEntry variableId = ctx.entry;
+        Effects effects = routines.peek();
+
+        if ((effects != null) && (variableId != null)) {
+            switch (variableId.getKind()) {
+                case VARIABLE, VALUE_PARAMETER, REFERENCE_PARAMETER -> {
+                    if (variableId.getSymTable().getNestingLevel() != effects.nestingLevel) {
+                        effects.pure = false;
+                    }
+                }
+                case FUNCTION -> called(variableId);
+                default -> {
+                }
+            }
+        }
+
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitFunctionCallFactor(PascalParser.FunctionCallFactorContext ctx) {
+        SymTableEntry functionId = ctx.functionCall().functionName().entry;
+
+        if (functionId != null) called(functionId);
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitProcedureCallStatement(PascalParser.ProcedureCallStatementContext ctx) {
+        impure();
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitReadStatement(PascalParser.ReadStatementContext ctx) {
+        impure();
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitReadlnStatement(PascalParser.ReadlnStatementContext ctx) {
+        impure();
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitWriteStatement(PascalParser.WriteStatementContext ctx) {
+        impure();
+        return visitChildren(ctx);
+    }
+
+    @Override
+    public Object visitWritelnStatement(PascalParser.WritelnStatementContext ctx) {
+        impure();
+        return visitChildren(ctx);
+    }
+
+    /**
+     * Record a function call by the innermost routine. A declared
+     * function must be pure, and eof and eoln depend on the input.
+     *
+     * @param functionId the called function's symbol table entry.
+     */
+    private void called(SymTableEntry functionId) {
+        Effects effects = routines.peek();
+        if (effects == null) return;
+
+        if (functionId.getRoutineCode() == DECLARED) {
+            effects.callees.add(functionId);
+        } else if ((functionId.getRoutineCode() == EOF) || (functionId.getRoutineCode() == EOLN)) {
+            effects.pure = false;
+        }
+    }
+
+    /**
+     * Mark the innermost routine impure.
+     */
+    private void impure() {
+        Effects effects = routines.peek();
+        if (effects != null) effects.pure = false;
+    }
+
+    /**
+     * Determine whether a function's parameters allow it to be pure.
+     *
+     * @param routineId the function's symbol table entry.
+     * @return true if all are value parameters of a scalar type other than string.
+     */
+    private static boolean pureParameters(SymTableEntry routineId) {
+        if (routineId.getKind() != FUNCTION) return false;
+        if (routineId.getRoutineParameters() == null) return true;
+
+        for (SymTableEntry paramId : routineId.getRoutineParameters()) {
+            Typespec type = paramId.getType().baseType();
+
+            if (paramId.getKind() != VALUE_PARAMETER) return false;
+            if (   (type != Predefined.integerType) && (type != Predefined.realType)
+                && (type != Predefined.booleanType) && (type != Predefined.charType)
+                && (type.getForm() != ENUMERATION)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The effects found in a routine's body.
+     */
+    private static class Effects {
+        private final int nestingLevel;  // nesting level of the routine's own variables
+        private final HashSet<SymTableEntry> callees;  // declared functions called
+        private boolean pure;            // false once an effect is found
+
+        Effects(SymTableEntry routineId) {
+            this.nestingLevel = routineId.getRoutineSymTable().getNestingLevel();
+            this.callees = new HashSet<>();
+            this.pure = pureParameters(routineId);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package edu.yu.compilers.frontend;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 
+import java.io.PrintStream;
+
 public class SemanticErrorHandler
 {
     public enum Code
@@ -34,7 +36,19 @@ public class SemanticErrorHandler
         Code(String message) { this.message = message; }
     }
     
+    private final PrintStream out;
     private int count = 0;
+
+    /**
+     * Constructor for errors printed to standard output.
+     */
+    public SemanticErrorHandler() { this(System.out); }
+
+    /**
+     * Constructor.
+     * @param out the stream to print the errors to.
+     */
+    public SemanticErrorHandler(PrintStream out) { this.out = out; }
     
     /**
      * Get the count of semantic errors.
@@ -52,14 +66,14 @@ public class SemanticErrorHandler
     {
         if (count == 0)
         {
-            System.out.println("\n===== SEMANTIC ERRORS =====\n");
-            System.out.printf("%-4s %-40s %s\n", "Line", "Message", "Found near");
-            System.out.printf("%-4s %-40s %s\n", "----", "-------", "----------");
+            out.println("\n===== SEMANTIC ERRORS =====\n");
+            out.printf("%-4s %-40s %s\n", "Line", "Message", "Found near");
+            out.printf("%-4s %-40s %s\n", "----", "-------", "----------");
         }
         
         count++;
         
-        System.out.printf("%03d  %-40s \"%s\"\n", 
+        out.printf("%03d  %-40s \"%s\"\n", 
                           lineNumber, code.message, text);
     }
     
@@ -36,12 +36,16 @@ public class Semantics extends PascalBaseVisitor<Object> {
     private SymTableEntry programId;
 
     public Semantics(BackendMode mode) {
+        this(mode, new SemanticErrorHandler());
+    }
+
+    public Semantics(BackendMode mode, SemanticErrorHandler error) {
         // Create and initialize the symbol table stack.
         this.symTableStack = new SymTableStack();
         Predefined.initialize(symTableStack);
 
         this.mode = mode;
-        this.error = new SemanticErrorHandler();
+        this.error = error;
     }
 
     /**
@@ -80,6 +84,9 @@ public class Semantics extends PascalBaseVisitor<Object> {
         visit(ctx.block().declarations());
         visit(ctx.block().compoundStatement());
 
+        // Mark the functions that are pure.
+        if (error.getCount() == 0) new PurityAnalyzer().analyze(ctx);
+
         return null;
     }
 
@@ -188,7 +195,11 @@ public class Semantics extends PascalBaseVisitor<Object> {
 
             typeId = symTableStack.enterLocal(typeName, TYPE);
             typeId.setType(typespecCtx.type);
-            typespecCtx.type.setIdentifier(typeId);
+
+            // A type alias shares its type, which keeps its first name.
+            if (typespecCtx.type.getIdentifier() == null) {
+                typespecCtx.type.setIdentifier(typeId);
+            }
         }
 
         // Redeclared identifier.
@@ -206,7 +217,7 @@ public class Semantics extends PascalBaseVisitor<Object> {
     @Override
     public Object visitRecordTypespec(PascalParser.RecordTypespecContext ctx) {
         // Create an unnamed record type.
-        String recordTypeName = SymTable.generateUnnamedName();
+        String recordTypeName = symTableStack.generateUnnamedName();
         createRecordType(ctx, recordTypeName);
 
         return null;
@@ -272,6 +283,9 @@ public class Semantics extends PascalBaseVisitor<Object> {
 
         recordSymTable.setOwner(ownerId);
         visit(ctx.variableDeclarationsList());
+
+        // The fields keep the slot numbers they were assigned as variables,
+        // which are their indices in the interpreter's fixed record layout.
         recordSymTable.resetVariables(RECORD_FIELD);
         symTableStack.pop();
 
@@ -467,11 +481,11 @@ public class Semantics extends PascalBaseVisitor<Object> {
                 variableId = symTableStack.enterLocal(variableName, VARIABLE);
                 variableId.setType(typeCtx.type);
 
-                // Assign slot numbers to local variables.
+                // Assign slot numbers to variables. The compiler emits
+                // program variables as static fields and ignores their slots,
+                // but the interpreter indexes every stack frame and record by slot.
                 SymTable symTable = variableId.getSymTable();
-                if (symTable.getNestingLevel() > 1) {
-                    variableId.setSlotNumber(symTable.nextSlotNumber());
-                }
+                variableId.setSlotNumber(symTable.nextSlotNumber());
 
                 idCtx.entry = variableId;
             } else {
@@ -819,6 +833,16 @@ public class Semantics extends PascalBaseVisitor<Object> {
         SymTableEntry functionId = symTableStack.lookup(name);
         boolean badName = false;
 
+        // Inside a function, its name is also its value's variable.
+        // A call of the name is a recursive call of the function.
+        if ((functionId != null) && (functionId.getKind() == VARIABLE)) {
+            SymTableEntry ownerId = functionId.getSymTable().getOwner();
+
+            if ((ownerId != null) && (ownerId.getKind() == FUNCTION) && ownerId.getName().equals(name)) {
+                functionId = ownerId;
+            }
+        }
+
         ctx.type = Predefined.integerType;
 
         if (functionId == null) {
@@ -836,6 +860,12 @@ public class Semantics extends PascalBaseVisitor<Object> {
             }
         }
 
+        // Standard function.
+        else if (functionId.getRoutineCode() != DECLARED) {
+            Typespec type = checkStandardCall(callCtx, functionId);
+            if (type != null) ctx.type = type;
+        }
+
         // Good function name.
         else {
             ArrayList<SymTableEntry> parameters = functionId.getRoutineParameters();
@@ -849,6 +879,51 @@ public class Semantics extends PascalBaseVisitor<Object> {
         return null;
     }
 
+    /**
+     * Perform semantic operations on a call of a standard function.
+     * Each one has a single value argument, and the type of its value
+     * can depend on the type of the argument.
+     *
+     * @param callCtx    the FunctionCallContext.
+     * @param functionId the function's symbol table entry.
+     * @return the type of the function value, or null if there is an error.
+     */
+    private Typespec checkStandardCall(PascalParser.FunctionCallContext callCtx, SymTableEntry functionId) {
+        PascalParser.ArgumentListContext listCtx = callCtx.argumentList();
+        int argsCount = listCtx != null ? listCtx.argument().size() : 0;
+
+        if (argsCount != 1) {
+            error.flag(ARGUMENT_COUNT_MISMATCH, callCtx);
+            for (int i = 0; i < argsCount; i++) visit(listCtx.argument(i));
+            return null;
+        }
+
+        PascalParser.ExpressionContext exprCtx = listCtx.argument(0).expression();
+        visit(exprCtx);
+
+        Typespec argType = exprCtx.type;
+        boolean ordinal = TypeChecker.isInteger(argType) || TypeChecker.isChar(argType)
+                          || ((argType != null) && (argType.baseType().getForm() == ENUMERATION));
+        Typespec type = switch (functionId.getRoutineCode()) {
+            case ABS, SQR -> TypeChecker.isIntegerOrReal(argType) ? argType.baseType() : null;
+            case ARCTAN, COS, EXP, LN, SIN, SQRT ->
+                    TypeChecker.isIntegerOrReal(argType) ? Predefined.realType : null;
+            case CHR -> TypeChecker.isInteger(argType) ? Predefined.charType : null;
+            case ODD -> TypeChecker.isInteger(argType) ? Predefined.booleanType : null;
+            case ORD -> ordinal ? Predefined.integerType : null;
+            case PRED, SUCC -> ordinal ? argType.baseType() : null;
+            case ROUND, TRUNC -> TypeChecker.isIntegerOrReal(argType) ? Predefined.integerType : null;
+            default -> {
+                // The input functions eof and eoln cannot be called.
+                error.flag(NAME_MUST_BE_FUNCTION, callCtx.functionName());
+                yield Predefined.booleanType;
+            }
+        };
+
+        if (type == null) error.flag(TYPE_MISMATCH, exprCtx);
+        return type;
+    }
+
     /**
      * Perform semantic operations on procedure and function call arguments.
      *
@@ -1252,6 +1327,14 @@ public class Semantics extends PascalBaseVisitor<Object> {
 
         ctx.type = (integerCtx != null) ? Predefined.integerType : Predefined.realType;
 
+        // Convert the literal once so that the backends need not reparse it.
+        try {
+            numberCtx.value = (integerCtx != null) ? (Object) Integer.parseInt(numberCtx.getText())
+                                                   : (Object) Double.parseDouble(numberCtx.getText());
+        } catch (NumberFormatException ignored) {
+            numberCtx.value = null;
+        }
+
         return null;
     }
 
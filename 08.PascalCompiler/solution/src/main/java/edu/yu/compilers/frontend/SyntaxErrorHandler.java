@@ -4,10 +4,24 @@ import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 
+import java.io.PrintStream;
+
 public class SyntaxErrorHandler extends BaseErrorListener
 {
-    private static int count = 0;
-    private static boolean first = true;
+    private final PrintStream out;
+    private int count = 0;
+    private boolean first = true;
+
+    /**
+     * Constructor for errors printed to standard output.
+     */
+    public SyntaxErrorHandler() { this(System.out); }
+
+    /**
+     * Constructor.
+     * @param out the stream to print the errors to.
+     */
+    public SyntaxErrorHandler(PrintStream out) { this.out = out; }
     
     public int getCount() { return count; };
     
@@ -20,14 +34,14 @@ public class SyntaxErrorHandler extends BaseErrorListener
     {
         if (first)
         {
-            System.out.println("\n\n===== SYNTAX ERRORS =====\n");
-            System.out.printf("%-4s %-35s\n", "Line", "Message");
-            System.out.printf("%-4s %-35s\n", "----", "-------");
+            out.println("\n\n===== SYNTAX ERRORS =====\n");
+            out.printf("%-4s %-35s\n", "Line", "Message");
+            out.printf("%-4s %-35s\n", "----", "-------");
             
             first = false;
         }
         
         count++;
-        System.out.printf("%03d  %-35s\n", line, msg);
+        out.printf("%03d  %-35s\n", line, msg);
     }
 }
@@ -13,170 +13,121 @@ import edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine;
 import edu.yu.compilers.intermediate.type.Typespec;
 
-import java.util.ArrayList;
-
 import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Kind.*;
 import static edu.yu.compilers.intermediate.symtable.SymTableEntry.Routine.*;
 import static edu.yu.compilers.intermediate.type.Typespec.Form.ENUMERATION;
 import static edu.yu.compilers.intermediate.type.Typespec.Form.SCALAR;
 
 public class Predefined {
+    // The predefined entries that every symbol table stack copies.
+    // The types and these entries are created once and are never
+    // changed afterward, so that they can be shared by programs that
+    // are compiled or executed concurrently.
+    private static final SymTable predefined = new SymTable(0);
+
     // Predefined types.
-    public static Typespec integerType;
-    public static Typespec realType;
-    public static Typespec booleanType;
-    public static Typespec charType;
-    public static Typespec stringType;
-    public static Typespec undefinedType;
+    public static final Typespec integerType = new Typespec(SCALAR);
+    public static final Typespec realType = new Typespec(SCALAR);
+    public static final Typespec booleanType = new Typespec(ENUMERATION);
+    public static final Typespec charType = new Typespec(SCALAR);
+    public static final Typespec stringType = new Typespec(SCALAR);
+    public static final Typespec undefinedType = new Typespec(SCALAR);
 
     // Predefined identifiers.
-    public static SymTableEntry integerId;
-    public static SymTableEntry realId;
-    public static SymTableEntry booleanId;
-    public static SymTableEntry charId;
-    public static SymTableEntry stringId;
-    public static SymTableEntry falseId;
-    public static SymTableEntry trueId;
-    public static SymTableEntry readId;
-    public static SymTableEntry readlnId;
-    public static SymTableEntry writeId;
-    public static SymTableEntry writelnId;
-    public static SymTableEntry absId;
-    public static SymTableEntry arctanId;
-    public static SymTableEntry chrId;
-    public static SymTableEntry cosId;
-    public static SymTableEntry eofId;
-    public static SymTableEntry eolnId;
-    public static SymTableEntry expId;
-    public static SymTableEntry lnId;
-    public static SymTableEntry oddId;
-    public static SymTableEntry ordId;
-    public static SymTableEntry predId;
-    public static SymTableEntry roundId;
-    public static SymTableEntry sinId;
-    public static SymTableEntry sqrId;
-    public static SymTableEntry sqrtId;
-    public static SymTableEntry succId;
-    public static SymTableEntry truncId;
+    public static final SymTableEntry integerId = enterType("integer", integerType);
+    public static final SymTableEntry realId = enterType("real", realType);
+    public static final SymTableEntry booleanId = enterType("boolean", booleanType);
+    public static final SymTableEntry charId = enterType("char", charType);
+    public static final SymTableEntry stringId = enterType("string", stringType);
+    public static final SymTableEntry falseId = enterBoolean("false", 0);
+    public static final SymTableEntry trueId = enterBoolean("true", 1);
+    public static final SymTableEntry readId = enterStandard(PROCEDURE, "read", READ);
+    public static final SymTableEntry readlnId = enterStandard(PROCEDURE, "readln", READLN);
+    public static final SymTableEntry writeId = enterStandard(PROCEDURE, "write", WRITE);
+    public static final SymTableEntry writelnId = enterStandard(PROCEDURE, "writeln", WRITELN);
+    public static final SymTableEntry absId = enterStandard(FUNCTION, "abs", ABS);
+    public static final SymTableEntry arctanId = enterStandard(FUNCTION, "arctan", ARCTAN);
+    public static final SymTableEntry chrId = enterStandard(FUNCTION, "chr", CHR);
+    public static final SymTableEntry cosId = enterStandard(FUNCTION, "cos", COS);
+    public static final SymTableEntry eofId = enterStandard(FUNCTION, "eof", EOF);
+    public static final SymTableEntry eolnId = enterStandard(FUNCTION, "eoln", EOLN);
+    public static final SymTableEntry expId = enterStandard(FUNCTION, "exp", EXP);
+    public static final SymTableEntry lnId = enterStandard(FUNCTION, "ln", LN);
+    public static final SymTableEntry oddId = enterStandard(FUNCTION, "odd", ODD);
+    public static final SymTableEntry ordId = enterStandard(FUNCTION, "ord", ORD);
+    public static final SymTableEntry predId = enterStandard(FUNCTION, "pred", PRED);
+    public static final SymTableEntry roundId = enterStandard(FUNCTION, "round", ROUND);
+    public static final SymTableEntry sinId = enterStandard(FUNCTION, "sin", SIN);
+    public static final SymTableEntry sqrId = enterStandard(FUNCTION, "sqr", SQR);
+    public static final SymTableEntry sqrtId = enterStandard(FUNCTION, "sqrt", SQRT);
+    public static final SymTableEntry succId = enterStandard(FUNCTION, "succ", SUCC);
+    public static final SymTableEntry truncId = enterStandard(FUNCTION, "trunc", TRUNC);
 
     /**
      * Initialize a symbol table stack with predefined identifiers.
+     * The stack gets its own entries, so that their line numbers are
+     * its own, but the entries share the predefined types.
      *
      * @param symTableStack the symbol table stack to initialize.
      */
     public static void initialize(SymTableStack symTableStack) {
-        initializeTypes(symTableStack);
-        initializeConstants(symTableStack);
-        initializeStandardRoutines(symTableStack);
+        for (SymTableEntry predefinedId : predefined.sortedEntries()) {
+            Kind kind = predefinedId.getKind();
+            SymTableEntry id = symTableStack.enterLocal(predefinedId.getName(), kind);
+
+            id.setType(predefinedId.getType());
+            switch (kind) {
+                case ENUMERATION_CONSTANT -> id.setValue(predefinedId.getValue());
+                case PROCEDURE, FUNCTION -> id.setRoutineCode(predefinedId.getRoutineCode());
+                default -> {
+                }
+            }
+        }
     }
 
     /**
-     * Initialize the predefined types.
+     * Enter a predefined type.
      *
-     * @param symTableStack the symbol table stack to initialize.
+     * @param name the type name.
+     * @param type the type specification.
+     * @return the type identifier's entry.
      */
-    private static void initializeTypes(SymTableStack symTableStack) {
-        // Type integer.
-        integerId = symTableStack.enterLocal("integer", TYPE);
-        integerType = new Typespec(SCALAR);
-        integerType.setIdentifier(integerId);
-        integerId.setType(integerType);
-
-        // Type real.
-        realId = symTableStack.enterLocal("real", TYPE);
-        realType = new Typespec(SCALAR);
-        realType.setIdentifier(realId);
-        realId.setType(realType);
-
-        // Type boolean.
-        booleanId = symTableStack.enterLocal("boolean", TYPE);
-        booleanType = new Typespec(ENUMERATION);
-        booleanType.setIdentifier(booleanId);
-        booleanId.setType(booleanType);
+    private static SymTableEntry enterType(String name, Typespec type) {
+        SymTableEntry typeId = predefined.enter(name, TYPE);
+        type.setIdentifier(typeId);
+        typeId.setType(type);
 
-        // Type char.
-        charId = symTableStack.enterLocal("char", TYPE);
-        charType = new Typespec(SCALAR);
-        charType.setIdentifier(charId);
-        charId.setType(charType);
-
-        // Type string.
-        stringId = symTableStack.enterLocal("string", TYPE);
-        stringType = new Typespec(SCALAR);
-        stringType.setIdentifier(stringId);
-        stringId.setType(stringType);
-
-        // Undefined type.
-        undefinedType = new Typespec(SCALAR);
+        return typeId;
     }
 
     /**
-     * Initialize the predefined constant.
+     * Enter a boolean enumeration constant and add it to the boolean type.
      *
-     * @param symTabStack the symbol table stack to initialize.
+     * @param name  the constant name.
+     * @param value the constant value.
+     * @return the constant's entry.
      */
-    private static void initializeConstants(SymTableStack symTabStack) {
-        // Boolean enumeration constant false.
-        falseId = symTabStack.enterLocal("false", ENUMERATION_CONSTANT);
-        falseId.setType(booleanType);
-        falseId.setValue(0);
+    private static SymTableEntry enterBoolean(String name, int value) {
+        SymTableEntry constantId = predefined.enter(name, ENUMERATION_CONSTANT);
+        constantId.setType(booleanType);
+        constantId.setValue(value);
+        booleanType.getEnumerationConstants().add(constantId);
 
-        // Boolean enumeration constant true.
-        trueId = symTabStack.enterLocal("true", ENUMERATION_CONSTANT);
-        trueId.setType(booleanType);
-        trueId.setValue(1);
-
-        // Add false and true to the boolean enumeration type.
-        ArrayList<SymTableEntry> constants = booleanType.getEnumerationConstants();
-        constants.add(falseId);
-        constants.add(trueId);
+        return constantId;
     }
 
     /**
-     * Initialize the standard procedures and functions.
+     * Enter a standard procedure or function.
      *
-     * @param symTableStack the symbol table stack to initialize.
+     * @param kind        either PROCEDURE or FUNCTION.
+     * @param name        the procedure or function name.
+     * @param routineCode the routine code.
+     * @return the routine's entry.
      */
-    private static void initializeStandardRoutines(SymTableStack symTableStack) {
-        readId = enterStandard(symTableStack, PROCEDURE, "read", READ);
-        readlnId = enterStandard(symTableStack, PROCEDURE, "readln", READLN);
-        writeId = enterStandard(symTableStack, PROCEDURE, "write", WRITE);
-        writelnId = enterStandard(symTableStack, PROCEDURE, "writeln", WRITELN);
-
-        absId = enterStandard(symTableStack, FUNCTION, "abs", ABS);
-        arctanId = enterStandard(symTableStack, FUNCTION, "arctan", ARCTAN);
-        chrId = enterStandard(symTableStack, FUNCTION, "chr", CHR);
-        cosId = enterStandard(symTableStack, FUNCTION, "cos", COS);
-        eofId = enterStandard(symTableStack, FUNCTION, "eof", EOF);
-        eolnId = enterStandard(symTableStack, FUNCTION, "eoln", EOLN);
-        expId = enterStandard(symTableStack, FUNCTION, "exp", EXP);
-        lnId = enterStandard(symTableStack, FUNCTION, "ln", LN);
-        oddId = enterStandard(symTableStack, FUNCTION, "odd", ODD);
-        ordId = enterStandard(symTableStack, FUNCTION, "ord", ORD);
-        predId = enterStandard(symTableStack, FUNCTION, "pred", PRED);
-        roundId = enterStandard(symTableStack, FUNCTION, "round", ROUND);
-        sinId = enterStandard(symTableStack, FUNCTION, "sin", SIN);
-        sqrId = enterStandard(symTableStack, FUNCTION, "sqr", SQR);
-        sqrtId = enterStandard(symTableStack, FUNCTION, "sqrt", SQRT);
-        succId = enterStandard(symTableStack, FUNCTION, "succ", SUCC);
-        truncId = enterStandard(symTableStack, FUNCTION, "trunc", TRUNC);
-    }
-
-    /**
-     * Enter a standard procedure or function into the symbol table stack.
-     *
-     * @param symTableStack the symbol table stack to initialize.
-     * @param kind          either PROCEDURE or FUNCTION.
-     * @param name          the procedure or function name.
-     * @param routineCode   the routine code.
-     */
-    private static SymTableEntry enterStandard(SymTableStack symTableStack,
-                                               Kind kind, String name,
-                                               Routine routineCode) {
-        SymTableEntry routineId = symTableStack.enterLocal(name, kind);
+    private static SymTableEntry enterStandard(Kind kind, String name, Routine routineCode) {
+        SymTableEntry routineId = predefined.enter(name, kind);
         routineId.setRoutineCode(routineCode);
 
         return routineId;
     }
-
 }
@@ -19,7 +19,6 @@ public class SymTable
         extends TreeMap<String, SymTableEntry> {
     public static final String UNNAMED_PREFIX = "_unnamed_";
     private static final long serialVersionUID = 0L;
-    private static int unnamedIndex = 0;
     private final int nestingLevel;       // scope nesting level
     private int slotNumber;         // local variables array slot number
     private int maxSlotNumber;      // max slot number value
@@ -35,16 +34,6 @@ public class SymTable
         this.slotNumber = -1;
     }
 
-    /**
-     * Generate a name for an unnamed type.
-     *
-     * @return the name;
-     */
-    public static String generateUnnamedName() {
-        unnamedIndex++;
-        return UNNAMED_PREFIX + unnamedIndex;
-    }
-
     /**
      * Get the scope nesting level.
      *
@@ -246,6 +246,25 @@ public class SymTableEntry {
         ((RoutineInfo) info).executable = executable;
     }
 
+    /**
+     * Determine whether the routine is a pure function, whose value
+     * depends only on its arguments and which has no side effects.
+     *
+     * @return true if so.
+     */
+    public boolean isPure() {
+        return ((RoutineInfo) info).pure;
+    }
+
+    /**
+     * Set whether the routine is a pure function.
+     *
+     * @param pure true if so.
+     */
+    public void setPure(boolean pure) {
+        ((RoutineInfo) info).pure = pure;
+    }
+
     /**
      * What kind of identifier.
      */
@@ -286,5 +305,6 @@ public class SymTableEntry {
         private ArrayList<SymTableEntry> parameters;   // routine's formal parameters
         private ArrayList<SymTableEntry> subroutines;  // symTable entries of subroutines
         private Object executable;                     // routine's executable code
+        private boolean pure;                          // true if a pure function
     }
 }
@@ -17,6 +17,7 @@ public class SymTableStack extends ArrayList<SymTable> {
 
     private int currentNestingLevel;  // current scope nesting level
     private SymTableEntry programId;    // entry for the main program id
+    private int unnamedIndex;         // index of the last unnamed type name
 
     /**
      * Constructor.
@@ -53,6 +54,16 @@ public class SymTableStack extends ArrayList<SymTable> {
         this.programId = id;
     }
 
+    /**
+     * Generate a name for an unnamed type.
+     *
+     * @return the name;
+     */
+    public String generateUnnamedName() {
+        unnamedIndex++;
+        return SymTable.UNNAMED_PREFIX + unnamedIndex;
+    }
+
     /**
      * Return the local symbol table which is at the top of the stack.
      *
@@ -3,10 +3,23 @@ package edu.yu.compilers;
 import antlr4.PascalLexer;
 import antlr4.PascalParser;
 import edu.yu.compilers.backend.compiler.Compiler;
+import edu.yu.compilers.backend.compiler.ObjectCode;
 import edu.yu.compilers.backend.converter.Converter;
+import edu.yu.compilers.backend.interpreter.ExecutionAbortedException;
 import edu.yu.compilers.backend.interpreter.Executor;
+import edu.yu.compilers.backend.interpreter.InputReader;
+import edu.yu.compilers.backend.interpreter.MemoTable;
+import edu.yu.compilers.backend.interpreter.NodeExecutor;
+import edu.yu.compilers.backend.interpreter.OutputSink;
+import edu.yu.compilers.backend.interpreter.ParallelLoopAnalyzer;
+import edu.yu.compilers.backend.interpreter.ResourceLimits;
+import edu.yu.compilers.backend.interpreter.RoutineCompiler;
+import edu.yu.compilers.backend.interpreter.RuntimeStack;
+import edu.yu.compilers.backend.interpreter.StringRope;
+import edu.yu.compilers.frontend.PurityAnalyzer;
 import edu.yu.compilers.frontend.Semantics;
 import edu.yu.compilers.frontend.SyntaxErrorHandler;
+import edu.yu.compilers.intermediate.symtable.SymTable;
 import edu.yu.compilers.intermediate.symtable.SymTableEntry;
 import edu.yu.compilers.intermediate.util.BackendMode;
 import jasmin.ClassFile;
@@ -22,9 +35,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.tools.*;
 import java.io.*;
@@ -39,8 +54,15 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -81,34 +103,98 @@ class OfficialTest {
                 , Arguments.of("TestProcedure", 34)
                 , Arguments.of("TestProcedureVAR", 34)
                 , Arguments.of("TestFunction", 6)
+                , Arguments.of("TestStandard", 37)
         );
     }
 
-    private static Stream<Arguments> convertTestInput() {
+    private static Stream<Arguments> nodeExecTestInput() {
         return Stream.of(
                 Arguments.of("HelloWorld")
+                , Arguments.of("TestRecord")
                 , Arguments.of("TestCase")
                 , Arguments.of("TestFor")
                 , Arguments.of("TestIf")
                 , Arguments.of("TestWhile")
                 , Arguments.of("TestProcedure")
+                , Arguments.of("TestProcedureVAR")
                 , Arguments.of("TestFunction")
+                , Arguments.of("TestRecursion")
+                , Arguments.of("TestStandard")
         );
     }
 
-    private static Stream<Arguments> compileTestInput() {
+    private static Stream<Arguments> convertTestInput() {
         return Stream.of(
                 Arguments.of("HelloWorld")
-                ,Arguments.of("TestRecord")
                 , Arguments.of("TestCase")
                 , Arguments.of("TestFor")
                 , Arguments.of("TestIf")
                 , Arguments.of("TestWhile")
                 , Arguments.of("TestProcedure")
                 , Arguments.of("TestFunction")
+                , Arguments.of("TestStandard")
+        );
+    }
+
+    private static Stream<Arguments> compileTestInput() {
+        return Stream.of(Emitter.values())
+                .flatMap(emitter -> Stream.of(
+                        Arguments.of("HelloWorld", emitter)
+                        ,Arguments.of("TestRecord", emitter)
+                        , Arguments.of("TestCase", emitter)
+                        , Arguments.of("TestCaseSparse", emitter)
+                        , Arguments.of("TestFor", emitter)
+                        , Arguments.of("TestIf", emitter)
+                        , Arguments.of("TestWhile", emitter)
+                        , Arguments.of("TestProcedure", emitter)
+                        , Arguments.of("TestFunction", emitter)
+                        , Arguments.of("TestStandard", emitter)
+                ));
+    }
+
+    // Compiled code reports a stack overflow at the call that entered it.
+    private static Stream<Arguments> callDepthTestInput() {
+        return Stream.of(
+                Arguments.of(Engine.VISITOR, "")
+                , Arguments.of(Engine.NODES, "")
+                , Arguments.of(Engine.COMPILED, "Compiled")
         );
     }
 
+    private static Stream<Arguments> engineTestInput() {
+        return Stream.of(
+                Arguments.of(Engine.VISITOR)
+                , Arguments.of(Engine.NODES)
+                , Arguments.of(Engine.COMPILED)
+        );
+    }
+
+    // Each limit is exceeded in a routine, so that a governed execution
+    // must interpret routines that would otherwise be compiled.
+    private static Stream<Arguments> limitTestInput() {
+        Stream.Builder<Arguments> builder = Stream.builder();
+
+        for (Engine engine : Engine.values()) {
+            builder.add(Arguments.of(engine, "TestStatementLimit", new ResourceLimits().setMaxStatements(12)))
+                   .add(Arguments.of(engine, "TestTimeLimit", new ResourceLimits().setMaxMillis(200)))
+                   .add(Arguments.of(engine, "TestMemoryLimit", new ResourceLimits().setMaxCells(10_000)))
+                   .add(Arguments.of(engine, "TestStringLimit", new ResourceLimits().setMaxCells(10_000)))
+                   .add(Arguments.of(engine, "TestOutputLimit", new ResourceLimits().setMaxOutput(50)));
+        }
+
+        return builder.build();
+    }
+
+    private static Stream<Arguments> readTestInput() {
+        return Stream.of(Engine.VISITOR, Engine.NODES)
+                .flatMap(engine -> Stream.of(
+                        Arguments.of(engine, InputKind.FILE)
+                        , Arguments.of(engine, InputKind.PIPE)
+                ));
+    }
+
+    private static final int PIPE_CHUNK = 5;  // bytes written to a pipe at a time
+
     private static Path jasminPath;
 
     @BeforeEach
@@ -159,6 +245,415 @@ class OfficialTest {
         logger.info("===== END {} =====", fileName);
     }
 
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("nodeExecTestInput")
+    @DisplayName("Pascal Node Execution")
+    public void TestNodeExecution(String fileName) {
+        executeNodes(fileName, RoutineCompiler.DEFAULT_THRESHOLD);
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("nodeExecTestInput")
+    @DisplayName("Pascal Node Execution with Compiled Routines")
+    public void TestNodeExecutionCompiled(String fileName) {
+        // Compile every compilable routine at its first call.
+        executeNodes(fileName, 1);
+    }
+
+    private void executeNodes(String fileName, int compileThreshold) {
+        logger.info("===== {} =====", fileName);
+
+        var tree = parseProgram(fileName);
+        var programId = semanticChecks(tree);
+
+        final PrintStream stdout = System.out;
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final String utf8 = StandardCharsets.UTF_8.name();
+        assertDoesNotThrow(() -> {
+            try (PrintStream ps = new PrintStream(baos, true, utf8)) {
+                System.setOut(ps);
+                new NodeExecutor(programId, compileThreshold).execute(tree);
+            } finally {
+                System.setOut(stdout);
+            }
+        });
+
+        InputStreamReader isr = new InputStreamReader(new ByteArrayInputStream(baos.toByteArray()));
+        File outputFile = getResourceFile("/output/" + fileName + ".txt");
+        int breaks = checkResults(isr, outputFile);
+
+        assertEquals(0, breaks);
+        logger.info("===== END {} =====", fileName);
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("callDepthTestInput")
+    @DisplayName("Pascal Call Depth Limit")
+    public void TestCallDepthLimit(Engine engine, String outputSuffix) {
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.maxDepth = 500;
+        options.stackSize = 1 << 26;
+
+        interpretAndCheck("TestCallDepth", "TestCallDepth" + outputSuffix, options);
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("callDepthTestInput")
+    @DisplayName("Pascal JVM Stack Overflow")
+    public void TestStackOverflow(Engine engine, String outputSuffix) {
+        // The JVM stack overflows long before the default maximum depth.
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.stackSize = 1 << 18;
+
+        interpretAndCheck("TestStackOverflow", "TestStackOverflow" + outputSuffix, options);
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("callDepthTestInput")
+    @DisplayName("Pascal Runaway Recursion")
+    public void TestRunawayRecursion(Engine engine, String outputSuffix) {
+        // The default maximum depth ends the recursion on the default stack.
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.stackSize = 1L << 30;
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60),
+                () -> interpretAndCheck("TestStackOverflow", "TestStackOverflow" + outputSuffix, options));
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("engineTestInput")
+    @DisplayName("Pascal Memoized Functions")
+    public void TestMemoization(Engine engine) {
+        // Without their memo tables, fib(45) and choose(30, 15) do not finish in time.
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.memoCapacity = MemoTable.DEFAULT_CAPACITY;
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> interpretAndCheck("TestMemo", "TestMemo", options));
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("engineTestInput")
+    @DisplayName("Pascal Functions That Are Not Memoized")
+    public void TestMemoImpure(Engine engine) {
+        // A function that reads a global or calls an impure nested
+        // function gives each call's own output.
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.memoCapacity = MemoTable.DEFAULT_CAPACITY;
+
+        interpretAndCheck("TestMemoImpure", "TestMemoImpure", options);
+    }
+
+    @Test
+    @DisplayName("Pascal Purity of a Function Using eof")
+    public void TestPurityEof() {
+        // The semantic checks do not allow eof to be called yet, and they
+        // skip the purity analysis of a program with errors.
+        var tree = parseProgram("TestMemoEof");
+        var pass2 = new Semantics(BackendMode.EXECUTOR);
+        pass2.visit(tree);
+        new PurityAnalyzer().analyze((PascalParser.ProgramContext) tree);
+
+        SymTable symTable = pass2.getProgramId().getRoutineSymTable();
+        assertFalse(symTable.lookup("atend").isPure(), "Function using eof is pure");
+        assertTrue(symTable.lookup("twice").isPure(), "Function without effects is not pure");
+    }
+
+    @ParameterizedTest(name = "Test {0} {1}")
+    @MethodSource("readTestInput")
+    @DisplayName("Pascal READ and READLN")
+    public void TestRead(Engine engine, InputKind inputKind) {
+        // A mapped file and a pipe that splits tokens between reads
+        // must give the same values.
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.inputKind = inputKind;
+
+        interpretAndCheck("TestRead", "TestRead", options);
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("engineTestInput")
+    @DisplayName("Pascal Sparse CASE Constants")
+    public void TestCaseSparse(Engine engine) {
+        // The constants are too far apart for a dense jump table, so the
+        // interpreters look up each value in the open-addressing table.
+        interpretAndCheck("TestCaseSparse", "TestCaseSparse", new ExecutionOptions(engine));
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("engineTestInput")
+    @DisplayName("Pascal Standard Function Errors")
+    public void TestStandardErrors(Engine engine) {
+        // The compiled backends do not check the arguments of
+        // standard functions, so only the interpreters are tested.
+        interpretAndCheck("TestStandardErrors", "TestStandardErrors", new ExecutionOptions(engine));
+    }
+
+    @ParameterizedTest(name = "Test {0}")
+    @MethodSource("engineTestInput")
+    @DisplayName("Pascal Multidimensional Arrays")
+    public void TestMultiArray(Engine engine) {
+        // A subscript out of its own dimension's range is an error, even
+        // when the element's storage index is within the array.
+        interpretAndCheck("TestMultiArray", "TestMultiArray", new ExecutionOptions(engine));
+    }
+
+    @ParameterizedTest(name = "Test {1} {0}")
+    @MethodSource("limitTestInput")
+    @DisplayName("Pascal Resource Limits")
+    public void TestResourceLimit(Engine engine, String fileName, ResourceLimits limits) {
+        ExecutionOptions options = new ExecutionOptions(engine);
+        options.limits = limits;
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> interpretAndCheck(fileName, fileName, options));
+    }
+
+    @Test
+    @DisplayName("Pascal Parallel Loop Analysis")
+    public void TestParallelLoopAnalysis() {
+        // The loop of each routine named accept... or reject... is
+        // expected to be found independent or not.
+        var tree = parseProgram("TestParallel");
+        semanticChecks(tree);
+
+        int analyzed = 0;
+        for (var routineCtx : subtrees(tree, PascalParser.RoutineDefinitionContext.class)) {
+            SymTableEntry routineId = (routineCtx.procedureHead() != null)
+                    ? routineCtx.procedureHead().routineIdentifier().entry
+                    : routineCtx.functionHead().routineIdentifier().entry;
+            String name = routineId.getName();
+            if (!name.startsWith("accept") && !name.startsWith("reject")) continue;
+
+            int nestingLevel = routineId.getRoutineSymTable().getNestingLevel();
+            for (var forCtx : subtrees(routineCtx, PascalParser.ForStatementContext.class)) {
+                boolean parallel = ParallelLoopAnalyzer.analyze(forCtx, nestingLevel) != null;
+                assertEquals(name.startsWith("accept"), parallel, "Loop of " + name);
+                analyzed++;
+            }
+        }
+
+        assertEquals(8, analyzed, "Loops analyzed");
+    }
+
+    @ParameterizedTest(name = "Test {0} threads")
+    @ValueSource(ints = { 1, 4 })
+    @DisplayName("Pascal Parallel Loop Execution")
+    public void TestParallelExecution(int threads) {
+        // A parallel execution must have the output of the sequential one.
+        ExecutionOptions options = new ExecutionOptions(Engine.VISITOR);
+        options.parallelism = threads;
+
+        interpretAndCheck("TestParallel", "TestParallel", options);
+    }
+
+    @Test
+    @DisplayName("Concurrent String Concatenation")
+    public void TestConcurrentConcat() throws Exception {
+        // Threads that concatenate onto the same rope, as the iterations
+        // of a parallel loop can, must each get their own string.
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int round = 0; round < 1_000; round++) {
+                StringRope shared = StringRope.concat("ab", "cd");
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<String>> results = new ArrayList<>();
+
+                for (int t = 0; t < threads; t++) {
+                    String suffix = String.valueOf((char) ('w' + t)).repeat(1 << 14);
+                    results.add(pool.submit(() -> {
+                        barrier.await();
+                        return StringRope.concat(shared, suffix).toString();
+                    }));
+                }
+
+                for (int t = 0; t < threads; t++) {
+                    String suffix = String.valueOf((char) ('w' + t)).repeat(1 << 14);
+                    assertEquals("abcd" + suffix, results.get(t).get(), "Concatenation in round " + round);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Find the subtrees of a parse tree of a given type.
+     *
+     * @param tree the parse tree.
+     * @param type the type.
+     * @return the subtrees in preorder, including the tree itself.
+     */
+    private static <T extends ParseTree> List<T> subtrees(ParseTree tree, Class<T> type) {
+        List<T> found = new ArrayList<>();
+
+        if (type.isInstance(tree)) found.add(type.cast(tree));
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            found.addAll(subtrees(tree.getChild(i), type));
+        }
+
+        return found;
+    }
+
+    /**
+     * Interpret a program and compare its output, including any runtime
+     * error messages, with an expected output file.
+     *
+     * @param fileName   the name of the program's input file.
+     * @param outputName the name of the expected output file.
+     * @param options    the options of the execution.
+     */
+    private void interpretAndCheck(String fileName, String outputName, ExecutionOptions options) {
+        logger.info("===== {} =====", fileName);
+
+        String output = interpret(fileName, options);
+
+        InputStreamReader isr = new InputStreamReader(
+                new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        File outputFile = getResourceFile("/output/" + outputName + ".txt");
+        int breaks = checkResults(isr, outputFile);
+
+        assertEquals(0, breaks, "Output line compare breaks");
+        logger.info("===== END {} =====", fileName);
+    }
+
+    /**
+     * Interpret a program. An execution aborted by a runtime error
+     * ends normally, with the error messages in the output.
+     *
+     * @param fileName the name of the program's input file.
+     * @param options  the options of the execution.
+     * @return the program's output.
+     */
+    private String interpret(String fileName, ExecutionOptions options) {
+        var tree = parseProgram(fileName);
+        var programId = semanticChecks(tree);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos, true, StandardCharsets.UTF_8);
+        OutputSink output = new OutputSink(ps, OutputSink.Flush.SIZE, OutputSink.DEFAULT_CAPACITY);
+        InputReader input = openInput(fileName, options.inputKind, output);
+
+        Runnable execution = () -> {
+            try {
+                if (options.engine == Engine.VISITOR) {
+                    Executor pass3 = new Executor(programId, output, input);
+                    pass3.setMaxCallDepth(options.maxDepth);
+                    pass3.setMemoCapacity(options.memoCapacity);
+                    pass3.setLimits(options.limits);
+                    pass3.setParallelism(options.parallelism, 1 << 24);
+                    pass3.visit(tree);
+                } else {
+                    int threshold = (options.engine == Engine.COMPILED) ? 1 : RoutineCompiler.DEFAULT_THRESHOLD;
+                    NodeExecutor pass3 = new NodeExecutor(programId, threshold, output, input);
+                    pass3.setMaxCallDepth(options.maxDepth);
+                    pass3.setMemoCapacity(options.memoCapacity);
+                    pass3.setLimits(options.limits);
+                    pass3.execute(tree);
+                }
+            } catch (ExecutionAbortedException ex) {
+                // The error messages are in the output.
+            }
+        };
+
+        assertDoesNotThrow(() -> {
+            if (options.stackSize == 0) {
+                execution.run();
+            } else {
+                Throwable[] failure = new Throwable[1];
+                Thread thread = new Thread(null, () -> {
+                    try {
+                        execution.run();
+                    } catch (Throwable ex) {
+                        failure[0] = ex;
+                    }
+                }, "OfficialTest-execute", options.stackSize);
+
+                thread.start();
+                thread.join();
+                if (failure[0] != null) throw failure[0];
+            }
+        }, "Error while interpreting");
+
+        return baos.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open a program's input, the file input/&lt;fileName&gt;.in,
+     * as it is given to the program.
+     *
+     * @param fileName the name of the program's input file.
+     * @param kind     how the input is given, or null for no input.
+     * @param output   the program's output.
+     * @return the reader of the input.
+     */
+    private InputReader openInput(String fileName, InputKind kind, OutputSink output) {
+        if (kind == null) return new InputReader(InputStream.nullInputStream(), output);
+
+        File file = getResourceFile("/input/" + fileName + ".in");
+
+        return assertDoesNotThrow(() -> {
+            if (kind == InputKind.FILE) {
+                FileInputStream in = new FileInputStream(file);
+                return InputReader.open(in, in, output);
+            }
+
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            PipedInputStream in = new PipedInputStream();
+            PipedOutputStream out = new PipedOutputStream(in);
+            Thread feeder = new Thread(() -> {
+                try (out) {
+                    for (int i = 0; i < bytes.length; i += PIPE_CHUNK) {
+                        out.write(bytes, i, Math.min(PIPE_CHUNK, bytes.length - i));
+                        out.flush();
+                    }
+                } catch (IOException ex) {
+                    // The program stopped reading.
+                }
+            }, "OfficialTest-pipe");
+
+            feeder.setDaemon(true);
+            feeder.start();
+            return new InputReader(in, output);
+        }, "Error opening the input");
+    }
+
+    /**
+     * The interpreter engines.
+     */
+    enum Engine {
+        VISITOR,    // walk the parse tree
+        NODES,      // execute the executable nodes
+        COMPILED    // execute the nodes, compiling each routine at its first call
+    }
+
+    /**
+     * How a program's input is given to it.
+     */
+    enum InputKind {
+        FILE,   // a regular file, which is mapped
+        PIPE    // a pipe, which is read as a stream
+    }
+
+    /**
+     * The options of an interpreter execution.
+     */
+    private static class ExecutionOptions {
+        final Engine engine;
+        int maxDepth = RuntimeStack.DEFAULT_MAX_DEPTH;
+        int memoCapacity = 0;              // entries per memo table, or 0
+        ResourceLimits limits = null;      // execution limits, or null
+        int parallelism = 1;               // threads of a parallel FOR loop
+        long stackSize = 0;                // stack of the execution's thread, or 0 for the test's
+        InputKind inputKind = null;        // how input/<name>.in is given, or null for no input
+
+        ExecutionOptions(Engine engine) {
+            this.engine = engine;
+        }
+    }
+
     @ParameterizedTest(name = "Test {0}")
     @MethodSource("convertTestInput")
     @DisplayName("Java Conversion")
@@ -189,18 +684,24 @@ class OfficialTest {
         logger.info("===== END {} =====", fileName);
     }
 
-    @ParameterizedTest(name = "Test {0}")
+    @ParameterizedTest(name = "Test {0} {1}")
     @MethodSource("compileTestInput")
-    @DisplayName("Pascal/Jasmin Compilation")
-    public void TestCompilation(String fileName) {
+    @DisplayName("Pascal Compilation")
+    public void TestCompilation(String fileName, Emitter emitter) {
         logger.info("===== {} =====", fileName);
 
         var tree = parseProgram(fileName);
         semanticChecks(tree);
 
-        compileCodeToJasmin(fileName, tree);
-        compileJasminSource(fileName);
-        Method method = loadTheClassFiles(fileName);
+        Method method;
+        if (emitter == Emitter.JASMIN) {
+            compileCodeToJasmin(fileName, tree);
+            compileJasminSource(fileName);
+            method = loadTheClassFiles(fileName);
+        } else {
+            method = loadTheClassFiles(fileName, compileCodeToClassFiles(fileName, tree));
+        }
+
         InputStreamReader isr = executeAndCaptureOutput(() -> {
             try {
                 method.invoke(null, new Object[] { null });
@@ -350,6 +851,14 @@ class OfficialTest {
         }, "Error while compiling to Jasmin");
     }
 
+    private Map<String, byte[]> compileCodeToClassFiles(String fileName, ParseTree tree) {
+        return assertDoesNotThrow(() -> {
+            ObjectCode objectCode = new ObjectCode(true, fileName + ".pas");
+            new Compiler(fileName, objectCode).visit(tree);
+            return objectCode.assemble();
+        }, "Error while compiling to class files");
+    }
+
     private void compileJasminSource(String className) {
         assertDoesNotThrow(() -> {
             String glob = className + "*.j";
@@ -379,6 +888,29 @@ class OfficialTest {
         }, "Error loading class files");
     }
 
+    private Method loadTheClassFiles(String className, Map<String, byte[]> classFiles) {
+        return assertDoesNotThrow(() -> {
+            var classLoader = new ClassLoader(getClass().getClassLoader()) {
+                @Override
+                protected Class<?> findClass(String name) throws ClassNotFoundException {
+                    byte[] bytes = classFiles.get(name);
+                    if (bytes == null) throw new ClassNotFoundException(name);
+                    return defineClass(name, bytes, 0, bytes.length);
+                }
+            };
+            Class<?> clazz = classLoader.loadClass(className);
+            return clazz.getMethod("main", String[].class);
+        }, "Error loading class files");
+    }
+
+    /**
+     * The emitters of compiled code.
+     */
+    enum Emitter {
+        JASMIN,     // assemble Jasmin with the Jasmin assembler
+        CLASS       // emit class files directly, as -compile=class does
+    }
+
     private static class JavaSourceFromString extends SimpleJavaFileObject {
         final String code;
 
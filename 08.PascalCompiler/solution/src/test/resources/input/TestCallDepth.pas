@@ -0,0 +1,12 @@
+PROGRAM TestCallDepth;
+
+FUNCTION depth(n : integer) : integer;
+BEGIN
+    IF n = 0 THEN depth := 0 ELSE depth := depth(n - 1) + 1;
+END;
+
+BEGIN
+    writeln(depth(499));
+    writeln(depth(500));
+    writeln('not reached');
+END.
@@ -0,0 +1,51 @@
+PROGRAM TestCaseSparse;
+
+VAR
+    k, value, branch, matched, missed : integer;
+
+BEGIN
+    matched := 0;  missed := 0;
+
+    FOR k := 1 TO 32 DO BEGIN
+        CASE k OF
+             1: value := -2147483647;   2: value := -2147483646;
+             3: value := -1000001;      4: value := -1000000;
+             5: value := -999999;       6: value := -65536;
+             7: value := -65535;        8: value := -4097;
+             9: value := -4096;        10: value := -101;
+            11: value := -100;         12: value := -8;
+            13: value := -7;           14: value := -1;
+            15: value := 0;            16: value := 1;
+            17: value := 13;           18: value := 14;
+            19: value := 31;           20: value := 32;
+            21: value := 1023;         22: value := 1024;
+            23: value := 4096;         24: value := 65536;
+            25: value := 65537;        26: value := 999999;
+            27: value := 1000000;      28: value := 2147483646;
+            29: value := 2147483647;   30: value := -16;
+            31: value := 16;           32: value := 524288;
+        END;
+
+        { Sparse constants, most of them negative, which are too far
+          apart for a dense jump table. }
+        branch := 0;
+        CASE value OF
+            -2147483647:            branch := 1;
+            -1000000, -65536:       branch := 2;
+            -4097:                  branch := 3;
+            -100, -7:               branch := 4;
+            0:                      branch := 5;
+            13, 31:                 branch := 6;
+            1024, 4096, 65536:      branch := 7;
+            999999:                 branch := 8;
+            2147483647:             branch := 9;
+        END;
+
+        IF branch > 0 THEN matched := matched + 1
+                      ELSE missed := missed + 1;
+
+        writeln(value:12, ' -> ', branch:1);
+    END;
+
+    writeln('matched = ', matched, ', missed = ', missed);
+END.
@@ -0,0 +1,36 @@
+PROGRAM TestMemo;
+
+FUNCTION fib(n : integer) : integer;
+BEGIN
+    IF n < 2 THEN fib := n
+    ELSE fib := fib(n - 1) + fib(n - 2);
+END;
+
+FUNCTION choose(n, k : integer) : integer;
+BEGIN
+    IF (k = 0) OR (k = n) THEN choose := 1
+    ELSE choose := choose(n - 1, k - 1) + choose(n - 1, k);
+END;
+
+FUNCTION half(x : real) : real;
+BEGIN
+    half := x / 2;
+END;
+
+FUNCTION upper(c : char) : char;
+BEGIN
+    IF (c >= 'a') AND (c <= 'z') THEN upper := chr(ord(c) - 32)
+    ELSE upper := c;
+END;
+
+BEGIN
+    writeln('fib(45) = ', fib(45));
+    writeln('fib(10) = ', fib(10));
+    writeln('choose(30, 15) = ', choose(30, 15));
+    writeln('choose(30, 1) = ', choose(30, 1));
+    writeln('half(5.0) = ', half(5.0):6:2);
+    writeln('half(-3.0) = ', half(-3.0):6:2);
+    writeln('half(5.0) = ', half(5.0):6:2);
+    writeln('upper(''q'') = ', upper('q'));
+    writeln('upper(''Q'') = ', upper('Q'));
+END.
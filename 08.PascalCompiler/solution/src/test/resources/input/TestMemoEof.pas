@@ -0,0 +1,17 @@
+PROGRAM TestMemoEof;
+
+FUNCTION atEnd(n : integer) : integer;
+BEGIN
+    IF eof THEN atEnd := 1
+    ELSE atEnd := 0;
+END;
+
+FUNCTION twice(n : integer) : integer;
+BEGIN
+    twice := 2 * n;
+END;
+
+BEGIN
+    writeln(atEnd(0));
+    writeln(twice(1));
+END.
@@ -0,0 +1,31 @@
+PROGRAM TestMemoImpure;
+
+VAR
+    factor : integer;
+
+FUNCTION scaled(n : integer) : integer;
+BEGIN
+    scaled := n * factor;
+END;
+
+FUNCTION traced(n : integer) : integer;
+
+    FUNCTION echo(n : integer) : integer;
+    BEGIN
+        writeln('echo ', n);
+        echo := n;
+    END;
+
+BEGIN
+    traced := 2 * echo(n);
+END;
+
+BEGIN
+    factor := 2;
+    writeln('scaled(3) = ', scaled(3));
+    factor := 10;
+    writeln('scaled(3) = ', scaled(3));
+
+    writeln('traced(4) = ', traced(4));
+    writeln('traced(4) = ', traced(4));
+END.
@@ -0,0 +1,23 @@
+PROGRAM TestMemoryLimit;
+
+PROCEDURE small;
+VAR
+    a : ARRAY[1..100] OF integer;
+BEGIN
+    a[1] := 1;
+    writeln('small ', a[1]);
+END;
+
+PROCEDURE huge;
+VAR
+    a : ARRAY[1..100000000] OF integer;
+BEGIN
+    a[1] := 1;
+    writeln('huge ', a[1]);
+END;
+
+BEGIN
+    small();
+    huge();
+    writeln('not reached');
+END.
@@ -0,0 +1,47 @@
+PROGRAM TestMultiArray;
+
+TYPE
+    row  = ARRAY[1..3] OF integer;
+    grid = ARRAY[1..3] OF row;
+
+VAR
+    i, j, k, sum : integer;
+    a : ARRAY[1..3, 1..3] OF integer;
+    g : grid;
+    cube : ARRAY[-1..0, 'a'..'c', 1..2] OF integer;
+    ch : char;
+
+BEGIN
+    FOR i := 1 TO 3 DO BEGIN
+        FOR j := 1 TO 3 DO BEGIN
+            a[i, j] := 10*i + j;
+            g[i][j] := 10*j + i;
+        END
+    END;
+
+    FOR i := 1 TO 3 DO BEGIN
+        FOR j := 1 TO 3 DO write(a[i, j]:4, g[i, j]:4);
+        writeln;
+    END;
+
+    g[2] := g[3];
+    writeln('g[2] = ', g[2][1]:3, g[2, 2]:3, g[2][3]:3);
+
+    sum := 0;
+    FOR i := -1 TO 0 DO BEGIN
+        FOR ch := 'a' TO 'c' DO BEGIN
+            FOR k := 1 TO 2 DO BEGIN
+                cube[i, ch, k] := 100*(i + 2) + 10*(ord(ch) - ord('a') + 1) + k;
+                sum := sum + cube[i][ch][k];
+            END
+        END
+    END;
+    writeln('cube[0, ''b'', 2] = ', cube[0, 'b', 2]:4, ', sum = ', sum:5);
+
+    { Each subscript must be in its own dimension's range,
+      even when the element's storage index is in the array. }
+    j := 4;
+    writeln('a[1, 3] = ', a[1, 3]:3);
+    writeln('a[1, 4] = ', a[1, j]:3);
+    writeln('not reached');
+END.
@@ -0,0 +1,14 @@
+PROGRAM TestOutputLimit;
+
+PROCEDURE flood;
+VAR
+    i : integer;
+BEGIN
+    i := 0;
+    WHILE i >= 0 DO BEGIN i := i + 1; writeln('line ', i:3) END;
+END;
+
+BEGIN
+    flood();
+    writeln('not reached');
+END.
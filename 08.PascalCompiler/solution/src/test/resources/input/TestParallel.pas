@@ -0,0 +1,156 @@
+PROGRAM TestParallel;
+
+{ The loops of the routines named accept... have independent iterations,
+  and the loops of the routines named reject... do not. }
+
+CONST
+    n = 10000;
+
+TYPE
+    vector = ARRAY[1..n] OF integer;
+
+VAR
+    a, b, c : vector;
+    words : ARRAY[1..n] OF string;
+    s : string;
+    i, total : integer;
+
+FUNCTION square(x : integer) : integer;
+BEGIN
+    square := x*x;
+END;
+
+FUNCTION shifted(x : integer) : integer;
+BEGIN
+    shifted := x + total;
+END;
+
+PROCEDURE acceptBranchPrivate;
+VAR
+    i, t : integer;
+BEGIN
+    FOR i := 1 TO n DO BEGIN
+        IF odd(i) THEN BEGIN
+            t := 3*i;
+            a[i] := t + b[i];
+        END
+        ELSE a[i] := b[i];
+    END;
+END;
+
+PROCEDURE acceptBothBranchesPrivate;
+VAR
+    i, t : integer;
+BEGIN
+    FOR i := 1 TO n DO BEGIN
+        IF b[i] > 50 THEN t := b[i] - 50
+        ELSE t := 50 - b[i];
+        c[i] := 2*t + 1;
+    END;
+END;
+
+PROCEDURE acceptDownto;
+VAR
+    i : integer;
+BEGIN
+    FOR i := n DOWNTO 1 DO c[i] := c[i] + square(b[i]) MOD 1000;
+END;
+
+PROCEDURE acceptConcat;
+VAR
+    i : integer;
+BEGIN
+    FOR i := 1 TO n DO BEGIN
+        IF odd(i) THEN words[i] := s + 'xy'
+        ELSE words[i] := s + 'yz';
+    END;
+END;
+
+PROCEDURE rejectCarried;
+VAR
+    i : integer;
+BEGIN
+    FOR i := 2 TO n DO c[i] := (c[i - 1] + b[i]) MOD 1000;
+END;
+
+PROCEDURE rejectExposed;
+VAR
+    i, sum : integer;
+BEGIN
+    sum := 0;
+    FOR i := 1 TO n DO BEGIN
+        sum := (sum + b[i]) MOD 1000;
+        a[i] := sum;
+    END;
+END;
+
+PROCEDURE rejectOutput;
+VAR
+    i : integer;
+BEGIN
+    FOR i := 1 TO 3 DO writeln('row ', i);
+END;
+
+PROCEDURE rejectImpureCall;
+VAR
+    i : integer;
+BEGIN
+    FOR i := 1 TO n DO b[i] := shifted(b[i]) MOD 100;
+END;
+
+{ The loop is independent unless dst and src are the same array,
+  which the executor checks before executing it in parallel. }
+PROCEDURE shift(VAR dst, src : vector);
+VAR
+    i : integer;
+BEGIN
+    FOR i := n - 1 DOWNTO 1 DO dst[i] := src[i + 1];
+END;
+
+PROCEDURE print(name : string; VAR v : vector);
+VAR
+    i, sum : integer;
+BEGIN
+    sum := 0;
+    FOR i := 1 TO n DO sum := (31*sum + v[i]) MOD 1000003;
+    writeln(name, v[1]:6, v[2]:6, v[n - 1]:6, v[n]:6, '  checksum ', sum:7);
+END;
+
+BEGIN
+    total := 7;
+    FOR i := 1 TO n DO BEGIN
+        b[i] := (37*i) MOD 101;
+        c[i] := i MOD 13;
+    END;
+
+    s := '';
+    FOR i := 1 TO 20 DO s := s + 'ab';
+
+    acceptBranchPrivate();
+    print('a:', a);
+    acceptBothBranchesPrivate();
+    print('c:', c);
+    acceptDownto();
+    print('c:', c);
+    acceptConcat();
+    total := 0;
+    FOR i := 1 TO n DO BEGIN
+        IF odd(i) AND (words[i] = s + 'xy') THEN total := total + 1;
+        IF NOT odd(i) AND (words[i] = s + 'yz') THEN total := total + 1;
+    END;
+    writeln('words: ', total, ' ', words[1], ' ', words[n]);
+
+    total := 7;
+    rejectCarried();
+    print('c:', c);
+    rejectExposed();
+    print('a:', a);
+    rejectOutput();
+    rejectImpureCall();
+    print('b:', b);
+
+    shift(a, b);
+    print('a:', a);
+    shift(c, c);
+    print('c:', c);
+END.
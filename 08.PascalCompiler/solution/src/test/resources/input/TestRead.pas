@@ -0,0 +1,51 @@
+PROGRAM TestRead;
+
+VAR
+    i, j, k, count, sum : integer;
+    x, y : real;
+    c1, c2, c3 : char;
+    s, t : string;
+
+BEGIN
+    { Values that span lines, and READLN skipping the rest of a line. }
+    read(i, j);
+    readln(x);
+    writeln('i = ', i:4, ', j = ', j:4, ', x = ', x:8:3);
+    readln(y);
+    writeln('y = ', y:12:4);
+
+    { Characters, which include blanks but not the skipped line end. }
+    read(c1, c2, c3);
+    readln(s);
+    writeln('c1 = ''', c1, ''', c2 = ''', c2, ''', c3 = ''', c3, ''', s = ''', s, '''');
+
+    { A character read at the end of a line is the line end itself. }
+    read(c1, c2);
+    writeln('c1 = ''', c1, ''', ord(c2) = ', ord(c2));
+
+    { Strings are tokens delimited by white space. }
+    readln(s, t);
+    writeln('s = ''', s, ''', t = ''', t, '''');
+
+    { A count followed by that many integers over several lines. }
+    read(count);
+    sum := 0;
+    FOR k := 1 TO count DO BEGIN
+        read(i);
+        sum := sum + i;
+    END;
+    readln(s);
+    writeln('sum of ', count, ' = ', sum, ', then ''', s, '''');
+
+    { Invalid input is flagged, and the variable keeps its value. }
+    i := 99;
+    readln(i);
+    writeln('i = ', i);
+
+    readln(x, y);
+    writeln('x = ', x:6:2, ', y = ', y:6:2);
+
+    { Missing input at the end is flagged too. }
+    readln(j);
+    writeln('j = ', j);
+END.
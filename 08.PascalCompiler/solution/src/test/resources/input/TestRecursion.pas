@@ -0,0 +1,58 @@
+PROGRAM TestRecursion(input, output);
+
+TYPE
+    row = ARRAY[1..3] OF integer;
+
+VAR
+    count, total, i : integer;
+    saved : row;
+
+PROCEDURE walk(depth : integer; VAR nodes : integer);
+
+    VAR left, right : integer;
+
+    BEGIN
+        nodes := nodes + 1;
+        IF depth > 0 THEN BEGIN
+            left := depth - 1;
+            right := depth - 1;
+            walk(left, nodes);
+            walk(right, nodes);
+        END;
+    END;
+
+PROCEDURE nest(depth : integer; VAR sum : integer);
+
+    VAR a : row;
+        k : integer;
+
+    BEGIN
+        FOR k := 1 TO 3 DO a[k] := depth*10 + k;
+        IF depth = 2 THEN saved := a;
+        IF depth > 0 THEN nest(depth - 1, sum);
+        sum := sum + a[1] + a[2] + a[3];
+    END;
+
+FUNCTION square(n : integer) : integer;
+
+    VAR t : integer;
+
+    BEGIN
+        t := n*n;
+        square := t;
+    END;
+
+BEGIN
+    count := 0;
+    walk(10, count);
+    writeln('walk: ', count);
+
+    total := 0;
+    nest(5, total);
+    writeln('nest: ', total);
+    writeln('saved: ', saved[1]:3, saved[2]:3, saved[3]:3);
+
+    total := 0;
+    FOR i := 1 TO 10 DO total := total + square(i) - square(i - 1);
+    writeln('squares: ', total);
+END.
@@ -0,0 +1,12 @@
+PROGRAM TestStackOverflow;
+
+FUNCTION runaway(n : integer) : integer;
+BEGIN
+    runaway := runaway(n + 1);
+END;
+
+BEGIN
+    writeln('start');
+    writeln(runaway(0));
+    writeln('not reached');
+END.
@@ -0,0 +1,40 @@
+PROGRAM TestStandard;
+
+TYPE
+    color = (red, green, blue);
+
+VAR
+    i, j : integer;
+    x, y : real;
+    ch : char;
+    c : color;
+
+BEGIN
+    i := -7;  x := -2.5;  ch := 'm';  c := green;
+
+    writeln('abs   ', abs(i):6, abs(x):10:4);
+    writeln('sqr   ', sqr(i):6, sqr(x):10:4);
+    writeln('sqrt  ', sqrt(2.25):10:4, sqrt(16):10:4);
+    writeln('exp   ', exp(1.0):10:4, exp(0):10:4);
+    writeln('ln    ', ln(exp(2.0)):10:4, ln(1):10:4);
+    writeln('sin   ', sin(0.5):10:4, sin(0):10:4);
+    writeln('cos   ', cos(0.5):10:4, cos(0):10:4);
+    writeln('atan  ', arctan(1.0)*4:10:4, arctan(-1):10:4);
+
+    writeln('round ', round(2.5):4, round(-2.5):4, round(2.4):4, round(-2.6):4);
+    writeln('trunc ', trunc(2.9):4, trunc(-2.9):4);
+
+    writeln('ord   ', ord(ch):4, ord(c):4, ord('A'):4);
+    writeln('chr   ', chr(ord(ch) + 1), chr(65), chr(i + 104));
+    writeln('pred  ', pred(i):4, pred(ch), ord(pred(c)):4);
+    writeln('succ  ', succ(i):4, succ(ch), ord(succ(c)):4);
+
+    IF odd(i) THEN writeln('odd   ', i:4, ' is odd');
+    IF NOT odd(i + 1) THEN writeln('odd   ', i + 1:4, ' is even');
+
+    { Calls in expressions and as arguments of calls. }
+    j := 0;
+    FOR i := 1 TO 10 DO j := j + sqr(i) - abs(i - 5);
+    y := sqrt(sqr(3.0) + sqr(4.0));
+    writeln('sums  ', j:6, y:10:4, round(sqrt(j)):6);
+END.
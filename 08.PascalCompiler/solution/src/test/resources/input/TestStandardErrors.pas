@@ -0,0 +1,30 @@
+PROGRAM TestStandardErrors;
+
+TYPE
+    color = (red, green, blue);
+
+VAR
+    i : integer;
+    x : real;
+    ch : char;
+    c : color;
+
+BEGIN
+    { Each invalid call is flagged, and the execution continues. }
+    x := sqrt(-4.0);
+    writeln('sqrt(-4.0) = ', x:6:2);
+    writeln('ln(0) = ', ln(0):6:2);
+
+    i := 70000;
+    writeln('ord(chr(70000)) = ', ord(chr(i)));
+
+    c := red;
+    writeln('ord(pred(red)) = ', ord(pred(c)));
+    c := blue;
+    writeln('ord(succ(blue)) = ', ord(succ(c)));
+
+    { The sixth runtime error ends the execution. }
+    ch := chr(0);
+    writeln('ord(pred(chr(0))) = ', ord(pred(ch)));
+    writeln('not reached');
+END.
@@ -0,0 +1,15 @@
+PROGRAM TestStatementLimit;
+
+PROCEDURE count(n : integer);
+VAR
+    i : integer;
+BEGIN
+    FOR i := 1 TO n DO BEGIN
+        writeln('line ', i);
+    END;
+END;
+
+BEGIN
+    count(10);
+    writeln('not reached');
+END.
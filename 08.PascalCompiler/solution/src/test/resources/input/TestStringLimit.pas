@@ -0,0 +1,20 @@
+PROGRAM TestStringLimit;
+
+VAR
+    i : integer;
+
+PROCEDURE double(count : integer);
+VAR
+    i : integer;
+    s : string;
+BEGIN
+    s := 'abcdefgh';
+    FOR i := 1 TO count DO s := s + s;
+    writeln('doubled ', count);
+END;
+
+BEGIN
+    FOR i := 1 TO 3 DO double(10);
+    double(40);
+    writeln('not reached');
+END.
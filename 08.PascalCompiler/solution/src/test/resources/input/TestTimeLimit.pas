@@ -0,0 +1,15 @@
+PROGRAM TestTimeLimit;
+
+PROCEDURE spin;
+VAR
+    i : integer;
+BEGIN
+    i := 0;
+    WHILE i >= 0 DO i := (i + 1) MOD 1000;
+END;
+
+BEGIN
+    writeln('start');
+    spin();
+    writeln('not reached');
+END.